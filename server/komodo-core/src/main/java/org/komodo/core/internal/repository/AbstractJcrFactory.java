@@ -44,14 +44,27 @@ public class AbstractJcrFactory {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
     }
 
-    Session getSession(UnitOfWork transaction) {
+    JcrUowDelegate getDelegate(UnitOfWork transaction) {
         checkTransaction(transaction);
     
         UnitOfWorkDelegate delegate = transaction.getDelegate();
         if (!(delegate instanceof JcrUowDelegate))
             throw new UnsupportedOperationException();
     
-        return ((JcrUowDelegate)delegate).getImplementation();
+        return (JcrUowDelegate)delegate;
+    }
+
+    Session getSession(UnitOfWork transaction) {
+        return getDelegate(transaction).getImplementation();
+    }
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @return the cache of nodes resolved by the transaction (never <code>null</code>)
+     */
+    JcrNodeCache getNodeCache(UnitOfWork transaction) {
+        return getDelegate(transaction).getNodeCache();
     }
 
     /**
@@ -85,8 +98,12 @@ public class AbstractJcrFactory {
     Node node(UnitOfWork transaction, String absPath) throws KException {
         checkTransaction(transaction);
     
+        JcrNodeCache cache = getNodeCache(transaction);
+        Node node = cache.getNode(absPath);
+        if (node != null)
+            return node;
+
         PathNotFoundException throwEx = null;
-        Node node = null;
         Session session = getSession(transaction);
     
         try {
@@ -132,12 +149,60 @@ public class AbstractJcrFactory {
             }
     
             // return the found node
+            cache.putNode(absPath, node);
             return node;
         } catch (Exception e) {
             throw handleError(e);
         }
     }
 
+    private static String parentPath(String absPath) {
+        int index = absPath.lastIndexOf('/');
+        return (index > 0) ? absPath.substring(0, index) : "/"; //$NON-NLS-1$
+    }
+
+    /**
+     * Discards any cached properties of the node owning the property at the given path.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param absPath absolute path of the property being changed
+     */
+    void propertyChanged(UnitOfWork transaction, String absPath) {
+        getNodeCache(transaction).invalidateProperties(parentPath(absPath));
+    }
+
+    /**
+     * Implementation specific conversion from an absolute path into {@link javax.jcr.Property}
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param absPath absolute path of the property
+     *
+     * @return the underlying property
+     * @throws KException
+     *         if an error occurs
+     */
+    javax.jcr.Property property(UnitOfWork transaction, String absPath) throws KException {
+        checkTransaction(transaction);
+
+        String nodePath = parentPath(absPath);
+        String name = absPath.substring(absPath.lastIndexOf('/') + 1);
+
+        JcrNodeCache cache = getNodeCache(transaction);
+        javax.jcr.Property property = cache.getProperty(nodePath, name);
+        if (property != null)
+            return property;
+
+        try {
+            property = getSession(transaction).getProperty(absPath);
+            cache.putProperty(nodePath, name, property);
+            return property;
+        } catch (Exception e) {
+            throw handleError(e);
+        }
+    }
+
     /**
      * Implementation specific conversion from {@link KomodoObject} into {@link Node}
      *
@@ -0,0 +1,183 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.internal.repository;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.komodo.spi.repository.RepoEngine;
+import org.komodo.utils.KLog;
+
+/**
+ * A single-threaded lane of the {@link JcrEngine} that processes commit and rollback requests
+ * in the order they were accepted. Requests for the same user workspace always land on the same
+ * lane so their ordering is preserved while requests from other workspaces proceed in parallel.
+ */
+public class JcrCommitLane implements RepoEngine.CommitLane {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * Processes a request on the lane thread.
+     */
+    interface RequestHandler {
+
+        /**
+         * @param request
+         *        the request to process (never <code>null</code>)
+         */
+        void handle(RepoEngine.Request request);
+    }
+
+    private final int index;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong processed = new AtomicLong();
+
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    private final AtomicLong totalServiceNanos = new AtomicLong();
+
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * @param index
+     *        the index of this lane
+     */
+    JcrCommitLane(final int index) {
+        this.index = index;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                                               new LinkedBlockingQueue<Runnable>(),
+                                               new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "Modeshape Commit Lane " + index); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Queue the request for processing on this lane.
+     *
+     * @param request
+     *        the request (cannot be <code>null</code>)
+     * @param handler
+     *        the handler that processes the request (cannot be <code>null</code>)
+     */
+    void submit(final RepoEngine.Request request, final RequestHandler handler) {
+        final long queued = System.nanoTime();
+
+        this.executor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                final long started = System.nanoTime();
+
+                try {
+                    handler.handle(request);
+                } finally {
+                    final long finished = System.nanoTime();
+                    record(started - queued, finished - started);
+                }
+            }
+        });
+    }
+
+    private void record(final long waitNanos, final long serviceNanos) {
+        this.processed.incrementAndGet();
+        this.totalWaitNanos.addAndGet(waitNanos);
+        this.totalServiceNanos.addAndGet(serviceNanos);
+
+        final long latency = waitNanos + serviceNanos;
+        long max = this.maxLatencyNanos.get();
+        while (latency > max && !this.maxLatencyNanos.compareAndSet(max, latency)) {
+            max = this.maxLatencyNanos.get();
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("JcrCommitLane {0}: request processed in {1}ms after waiting {2}ms, queue depth = {3}", //$NON-NLS-1$
+                         this.index,
+                         TimeUnit.NANOSECONDS.toMillis(serviceNanos),
+                         TimeUnit.NANOSECONDS.toMillis(waitNanos),
+                         getQueueDepth());
+        }
+    }
+
+    /**
+     * Stop accepting requests and wait for queued requests to be processed.
+     *
+     * @param timeout
+     *        the maximum time to wait
+     * @param unit
+     *        the unit of the timeout
+     * @throws InterruptedException
+     *         if interrupted while waiting
+     */
+    void shutdown(final long timeout, final TimeUnit unit) throws InterruptedException {
+        this.executor.shutdown();
+
+        if (!this.executor.awaitTermination(timeout, unit))
+            this.executor.shutdownNow();
+    }
+
+    @Override
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return this.executor.getQueue().size();
+    }
+
+    @Override
+    public long getProcessedCount() {
+        return this.processed.get();
+    }
+
+    @Override
+    public double getAverageWaitMillis() {
+        final long count = this.processed.get();
+        return count == 0 ? 0 : (this.totalWaitNanos.get() / (double)count) / 1000000.0;
+    }
+
+    @Override
+    public double getAverageServiceMillis() {
+        final long count = this.processed.get();
+        return count == 0 ? 0 : (this.totalServiceNanos.get() / (double)count) / 1000000.0;
+    }
+
+    @Override
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxLatencyNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "JcrCommitLane [index=" + this.index + ", queueDepth=" + getQueueDepth() //$NON-NLS-1$ //$NON-NLS-2$
+               + ", processed=" + getProcessedCount() + ", avgWaitMs=" + getAverageWaitMillis() //$NON-NLS-1$ //$NON-NLS-2$
+               + ", avgServiceMs=" + getAverageServiceMillis() + ", maxLatencyMs=" + getMaxLatencyMillis() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+}
@@ -17,8 +17,13 @@
  */
 package org.komodo.core.internal.repository;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -31,11 +36,16 @@ import javax.jcr.Session;
 import org.komodo.core.KEngine;
 import org.komodo.core.KomodoLexicon.Environment;
 import org.komodo.core.KomodoLexicon.Komodo;
+import org.komodo.core.repository.ChangeJournal;
 import org.komodo.core.repository.KSequencerController;
 import org.komodo.core.repository.KSequencerListener;
 import org.komodo.core.repository.Messages;
 import org.komodo.core.repository.RepositoryImpl;
+import org.komodo.core.repository.WorkspaceTypeIndex;
+import org.komodo.spi.KException;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.query.KQueryManager;
+import org.komodo.spi.repository.ApplicationProperties;
 import org.komodo.spi.repository.KObjectFactory;
 import org.komodo.spi.repository.KPropertyFactory;
 import org.komodo.spi.repository.RepoEngine;
@@ -61,6 +71,7 @@ public class JcrEngine extends Thread implements RepoEngine {
 
         private final String name;
         private final UnitOfWorkDelegate session;
+        private final String laneKey;
 
         /**
          * @param requestType
@@ -76,6 +87,27 @@ public class JcrEngine extends Thread implements RepoEngine {
                                final RepoEngine.RequestCallback callback,
                                final UnitOfWorkDelegate requestSession,
                                final String requestName ) {
+            this(requestType, callback, requestSession, requestName, null);
+        }
+
+        /**
+         * @param requestType
+         *        the request type (cannot be <code>null</code> and must be a {@link SessionRequest session request}.
+         * @param callback
+         *        the callback (can be <code>null</code>)
+         * @param requestSession
+         *        the session the request pertains to (cannot be <code>null</code>)
+         * @param requestName
+         *        a name given to the request for logging purposes
+         * @param laneKey
+         *        the key, usually the user workspace path, used to assign the request to a commit lane.
+         *        Requests with the same key are processed in order (can be <code>null</code>)
+         */
+        public SessionRequest( final RepoEngine.RequestType requestType,
+                               final RepoEngine.RequestCallback callback,
+                               final UnitOfWorkDelegate requestSession,
+                               final String requestName,
+                               final String laneKey ) {
             super(requestType, callback);
 
             ArgCheck.isTrue(RepoEngine.RequestType.isSessionRequest(requestType), "request type is not a session request"); //$NON-NLS-1$
@@ -84,12 +116,17 @@ public class JcrEngine extends Thread implements RepoEngine {
 
             this.session = requestSession;
             this.name = requestName;
+            this.laneKey = laneKey;
         }
 
         String getName() {
             return this.name;
         }
 
+        String getLaneKey() {
+            return this.laneKey;
+        }
+
         UnitOfWorkDelegate getSession() {
             return this.session;
         }
@@ -100,6 +137,11 @@ public class JcrEngine extends Thread implements RepoEngine {
 
     private static final KLog LOGGER = KLog.getLogger();
 
+    /**
+     * The name of the change journal file in the engine data directory
+     */
+    private static final String CHANGE_JOURNAL_FILE_NAME = "changes.journal"; //$NON-NLS-1$
+
     private BlockingQueue< RepoEngine.Request > queue = new LinkedBlockingQueue< RepoEngine.Request >();
 
     private volatile boolean stop = false;
@@ -116,7 +158,32 @@ public class JcrEngine extends Thread implements RepoEngine {
 
     private final JcrQueryManager queryManager;
 
-    private KSequencerController sequencers;
+    private volatile KSequencerController sequencers;
+
+    private final WorkspaceTypeIndex typeIndex = new WorkspaceTypeIndex();
+
+    private volatile ChangeJournal changeJournal;
+
+    private volatile JcrReadSessionPool readSessionPool;
+
+    private final List<JcrCommitLane> commitLanes;
+
+    private final JcrCommitLane.RequestHandler laneHandler = new JcrCommitLane.RequestHandler() {
+
+        @Override
+        public void handle(final RepoEngine.Request request) {
+            switch (request.getRequestType()) {
+                case COMMIT_SESSION:
+                    commitSession(request);
+                    break;
+                case ROLLBACK_SESSION:
+                    rollbackSession(request, null);
+                    break;
+                default:
+                    break;
+            }
+        }
+    };
 
     private KEngine kEngine;
 
@@ -135,6 +202,68 @@ public class JcrEngine extends Thread implements RepoEngine {
         nodeFactory = new JcrNodeFactory();
         propertyFactory = nodeFactory.getPropertyFactory();
         queryManager = new JcrQueryManager((JcrNodeFactory) nodeFactory);
+
+        //
+        // With a single lane commits are processed by this thread in the order they are accepted
+        //
+        final int laneCount = ApplicationProperties.getRepositoryCommitLanes();
+        if (laneCount > 1) {
+            final List<JcrCommitLane> lanes = new ArrayList<>(laneCount);
+            for (int i = 0; i < laneCount; ++i) {
+                lanes.add(new JcrCommitLane(i));
+            }
+
+            commitLanes = Collections.unmodifiableList(lanes);
+        } else {
+            commitLanes = Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<JcrCommitLane> getCommitLanes() {
+        return this.commitLanes;
+    }
+
+    private JcrCommitLane laneFor(final RepoEngine.Request request) {
+        if (this.commitLanes.isEmpty() || !(request instanceof SessionRequest))
+            return null;
+
+        switch (request.getRequestType()) {
+            case COMMIT_SESSION:
+            case ROLLBACK_SESSION:
+                break;
+            default:
+                return null;
+        }
+
+        final String key = ((SessionRequest)request).getLaneKey();
+        final int index = (key == null) ? 0 : (key.hashCode() & Integer.MAX_VALUE) % this.commitLanes.size();
+        return this.commitLanes.get(index);
+    }
+
+    /**
+     * @return the index of the workspace objects by primary type, maintained by the sequencers from the commit events
+     */
+    public WorkspaceTypeIndex getTypeIndex() {
+        return this.typeIndex;
+    }
+
+    /**
+     * @return the journal of the committed changes, appended to by the sequencers from the commit events, or
+     *         <code>null</code> if the engine is not started
+     */
+    public ChangeJournal getChangeJournal() {
+        return this.changeJournal;
+    }
+
+    /**
+     * @return the journal kept in the engine data directory or only in memory if no data directory is defined
+     */
+    private static ChangeJournal openChangeJournal() throws IOException {
+        String dataDir = System.getProperty(SystemConstants.ENGINE_DATA_DIR);
+        File file = (dataDir == null) ? null : new File(dataDir, CHANGE_JOURNAL_FILE_NAME);
+        return new ChangeJournal(file, ApplicationProperties.getChangeJournalEntries(),
+                                 ApplicationProperties.getChangeJournalRetention());
     }
 
     @Override
@@ -152,9 +281,20 @@ public class JcrEngine extends Thread implements RepoEngine {
         return queryManager;
     }
 
+    @Override
+    public UnitOfWorkDelegate createReadOnlySession() throws KException {
+        final JcrReadSessionPool pool = this.readSessionPool;
+        if (pool == null)
+            throw new KException(Messages.getString(Messages.LocalRepository.Repository_Not_Running));
+
+        final UnitOfWorkDelegate session = pool.acquire();
+        LOGGER.debug("ModeShapeEngineThread.createReadOnlySession: {0}", session.hashCode()); //$NON-NLS-1$
+        return session;
+    }
+
     private void respondCallback(final RepoEngine.Request request, Object result) {
         if (request.getCallback() != null) {
-            LOGGER.debug("ModeshapeEngineThread: Responding to callback: " + request.getCallback().getClass().getName()); //$NON-NLS-1$
+            LOGGER.debug("ModeshapeEngineThread: Responding to callback: {0}", request.getCallback().getClass().getName()); //$NON-NLS-1$
             request.getCallback().respond(result);
         } else
             LOGGER.debug("ModeshapeEngineThread: No callback assigned"); //$NON-NLS-1$
@@ -174,7 +314,7 @@ public class JcrEngine extends Thread implements RepoEngine {
         session.complete();
     }
 
-    private synchronized void commitSession( final RepoEngine.Request request ) {
+    private void commitSession( final RepoEngine.Request request ) {
         ArgCheck.isTrue(request.getRequestType() == RepoEngine.RequestType.COMMIT_SESSION,
                         "commitSession called when request is not a commit session"); //$NON-NLS-1$
         final SessionRequest commitRequest = (SessionRequest)request;
@@ -238,7 +378,8 @@ public class JcrEngine extends Thread implements RepoEngine {
                 @Override
                 public void sequencingError(Exception exception) {
                     try {
-                        LOGGER.debug(Messages.getString(Messages.Komodo.SEQUENCING_ERROR_TRYING_TO_COMMIT, exception, commitRequest.getName()));
+                        if (LOGGER.isDebugEnabled())
+                            LOGGER.debug(Messages.getString(Messages.Komodo.SEQUENCING_ERROR_TRYING_TO_COMMIT, exception, commitRequest.getName()));
                         errorCallback(request, exception);
                     } finally {
                         logoutSession(session);
@@ -251,7 +392,11 @@ public class JcrEngine extends Thread implements RepoEngine {
                 }
             };
 
-            sequencers.addSequencerListener(sequencerListener);
+            final KSequencerController controller = sequencers;
+            if (controller == null)
+                throw new KException(Messages.getString(Messages.LocalRepository.Repository_Not_Running));
+
+            controller.addSequencerListener(sequencerListener);
 
             //
             // Save the session
@@ -292,7 +437,7 @@ public class JcrEngine extends Thread implements RepoEngine {
         return this.error;
     }
 
-    private synchronized void rollbackSession( final RepoEngine.Request request, Throwable error) {
+    private void rollbackSession( final RepoEngine.Request request, Throwable error) {
         ArgCheck.isTrue(request.getRequestType() == RepoEngine.RequestType.ROLLBACK_SESSION,
                         "rollbackSession called when request is not a rollback session"); //$NON-NLS-1$
         final SessionRequest rollbackRequest = (SessionRequest)request;
@@ -456,7 +601,11 @@ public class JcrEngine extends Thread implements RepoEngine {
             startRepository.get(5, TimeUnit.MINUTES);
 
             // Add the sequencing listener
-            sequencers = new KSequencers( identifier );
+            changeJournal = openChangeJournal();
+            sequencers = new KSequencers( identifier, typeIndex, changeJournal );
+
+            // Read-only sessions are served directly to callers rather than through the request queue
+            readSessionPool = new JcrReadSessionPool( identifier, ApplicationProperties.getRepositoryReadSessionPoolSize() );
 
             respondCallback(request, null);
         } catch (Throwable ex) {
@@ -467,11 +616,28 @@ public class JcrEngine extends Thread implements RepoEngine {
 
     private synchronized void stopEngine(RepoEngine.Request request) {
         try {
+            for (JcrCommitLane lane : commitLanes) {
+                lane.shutdown(1, TimeUnit.MINUTES);
+                LOGGER.debug("ModeShapeEngineThread.stopEngine: {0}", lane); //$NON-NLS-1$
+            }
+
+            if (readSessionPool != null) {
+                readSessionPool.dispose();
+                readSessionPool = null;
+            }
+
             if (sequencers != null) {
                 sequencers.dispose();
                 sequencers = null;
             }
 
+            typeIndex.clear();
+
+            if (changeJournal != null) {
+                changeJournal.close();
+                changeJournal = null;
+            }
+
             Future<Boolean> shutdown = msEngine.shutdown();
             // Await the shutdown
             shutdown.get();
@@ -486,6 +652,11 @@ public class JcrEngine extends Thread implements RepoEngine {
     }
 
     private synchronized void clear(RepoEngine.Request request)  throws Exception {
+        if (readSessionPool != null)
+            readSessionPool.clear();
+
+        typeIndex.clear();
+
         Session session = RepositoryUtils.createSession(identifier);
         if (session == null || !session.isLive())
             return;
@@ -615,6 +786,12 @@ public class JcrEngine extends Thread implements RepoEngine {
 
     @Override
     public void accept( RepoEngine.Request request ) {
+        final JcrCommitLane lane = laneFor(request);
+        if (lane != null) {
+            lane.submit(request, laneHandler);
+            return;
+        }
+
         try {
             queue.put(request);
         } catch (InterruptedException ex) {
@@ -0,0 +1,345 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.internal.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.jcr.Node;
+import javax.jcr.Property;
+import javax.jcr.nodetype.NodeType;
+
+import org.komodo.spi.repository.ApplicationProperties;
+import org.komodo.spi.repository.KomodoType;
+
+/**
+ * A cache of the nodes, properties and node types resolved by a single unit of work, keyed by absolute path.
+ * Object and property implementations are path-based so, without the cache, every call resolves its path
+ * against the session again.
+ * <p>
+ * The cache belongs to the session of one unit of work and is not thread-safe. Writes made through the
+ * {@link JcrNodeFactory} and {@link JcrPropertyFactory} invalidate the affected entries, and the whole cache
+ * is cleared whenever the session is refreshed.
+ */
+public class JcrNodeCache {
+
+    /**
+     * The resolved node and, once requested, its node type names.
+     */
+    private static class NodeEntry {
+
+        private final Node node;
+
+        private String primaryType;
+
+        private String[] mixins;
+
+        private KomodoType typeIdentifier;
+
+        private Map<String, Property> properties;
+
+        NodeEntry(final Node node) {
+            this.node = node;
+        }
+    }
+
+    private static final String[] NO_MIXINS = new String[0];
+
+    private final boolean enabled;
+
+    private final Map<String, NodeEntry> entries = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructs a cache that is enabled unless disabled by the application properties.
+     *
+     * @see ApplicationProperties#isRepositoryNodeCacheEnabled()
+     */
+    public JcrNodeCache() {
+        this(ApplicationProperties.isRepositoryNodeCacheEnabled());
+    }
+
+    /**
+     * @param enabled
+     *        <code>false</code> if nothing should be cached
+     */
+    public JcrNodeCache(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return <code>true</code> if lookups are being cached
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    private NodeEntry entry(final String absPath) {
+        if (!this.enabled)
+            return null;
+
+        return this.entries.get(absPath);
+    }
+
+    private void record(final boolean hit) {
+        if (hit)
+            this.hits.incrementAndGet();
+        else
+            this.misses.incrementAndGet();
+    }
+
+    /**
+     * @param absPath
+     *        the absolute path of the node (cannot be empty)
+     * @return the cached node or <code>null</code> if not cached
+     */
+    Node getNode(final String absPath) {
+        final NodeEntry entry = entry(absPath);
+        record(entry != null);
+        return (entry == null) ? null : entry.node;
+    }
+
+    /**
+     * The node is cached under both the path it was resolved from and its own path so that different
+     * spellings of the same path (i.e., encoded names) share one entry.
+     *
+     * @param absPath
+     *        the absolute path the node was resolved from (cannot be empty)
+     * @param node
+     *        the resolved node (cannot be <code>null</code>)
+     * @throws Exception
+     *         if an error occurs obtaining the path of the node
+     */
+    void putNode(final String absPath, final Node node) throws Exception {
+        if (!this.enabled || this.entries.containsKey(absPath))
+            return;
+
+        final String nodePath = node.getPath();
+        NodeEntry entry = this.entries.get(nodePath);
+
+        if (entry == null) {
+            entry = new NodeEntry(node);
+            this.entries.put(nodePath, entry);
+        }
+
+        this.entries.put(absPath, entry);
+    }
+
+    /**
+     * @param absPath
+     *        the absolute path of a cached node (cannot be empty)
+     * @param node
+     *        the node (cannot be <code>null</code>)
+     * @return the name of the primary type of the node (never empty)
+     * @throws Exception
+     *         if an error occurs reading the type
+     */
+    String getPrimaryType(final String absPath, final Node node) throws Exception {
+        final NodeEntry entry = entry(absPath);
+
+        if (entry == null || entry.node != node)
+            return node.getPrimaryNodeType().getName();
+
+        record(entry.primaryType != null);
+
+        if (entry.primaryType == null)
+            entry.primaryType = node.getPrimaryNodeType().getName();
+
+        return entry.primaryType;
+    }
+
+    /**
+     * @param absPath
+     *        the absolute path of a cached node (cannot be empty)
+     * @param node
+     *        the node (cannot be <code>null</code>)
+     * @return the names of the mixin types of the node (never <code>null</code> but can be empty)
+     * @throws Exception
+     *         if an error occurs reading the types
+     */
+    String[] getMixins(final String absPath, final Node node) throws Exception {
+        final NodeEntry entry = entry(absPath);
+
+        if (entry == null || entry.node != node)
+            return mixinNames(node);
+
+        record(entry.mixins != null);
+
+        if (entry.mixins == null)
+            entry.mixins = mixinNames(node);
+
+        return entry.mixins;
+    }
+
+    private static String[] mixinNames(final Node node) throws Exception {
+        final NodeType[] mixins = node.getMixinNodeTypes();
+
+        if (mixins == null || mixins.length == 0)
+            return NO_MIXINS;
+
+        final String[] names = new String[mixins.length];
+
+        for (int i = 0; i < mixins.length; ++i) {
+            names[i] = mixins[i].getName();
+        }
+
+        return names;
+    }
+
+    /**
+     * @param absPath
+     *        the absolute path of the node (cannot be empty)
+     * @return the cached komodo type of the node or <code>null</code> if not cached
+     */
+    KomodoType getTypeIdentifier(final String absPath) {
+        final NodeEntry entry = entry(absPath);
+        final KomodoType type = (entry == null) ? null : entry.typeIdentifier;
+        record(type != null);
+        return type;
+    }
+
+    /**
+     * The type is only cached when the node has already been cached.
+     *
+     * @param absPath
+     *        the absolute path of the node (cannot be empty)
+     * @param node
+     *        the node the type was resolved from (cannot be <code>null</code>)
+     * @param type
+     *        the komodo type of the node (cannot be <code>null</code>)
+     */
+    void putTypeIdentifier(final String absPath, final Node node, final KomodoType type) {
+        final NodeEntry entry = entry(absPath);
+
+        if (entry != null && entry.node == node)
+            entry.typeIdentifier = type;
+    }
+
+    /**
+     * @param nodePath
+     *        the absolute path of the node owning the property (cannot be empty)
+     * @param name
+     *        the name of the property (cannot be empty)
+     * @return the cached property or <code>null</code> if not cached
+     */
+    Property getProperty(final String nodePath, final String name) {
+        final NodeEntry entry = entry(nodePath);
+        final Property property = (entry == null || entry.properties == null) ? null : entry.properties.get(name);
+        record(property != null);
+        return property;
+    }
+
+    /**
+     * @param nodePath
+     *        the absolute path of the node owning the property (cannot be empty)
+     * @param name
+     *        the name of the property (cannot be empty)
+     * @param property
+     *        the resolved property (cannot be <code>null</code>)
+     * @throws Exception
+     *         if an error occurs obtaining the node of the property
+     */
+    void putProperty(final String nodePath, final String name, final Property property) throws Exception {
+        if (!this.enabled)
+            return;
+
+        NodeEntry entry = this.entries.get(nodePath);
+
+        if (entry == null) {
+            putNode(nodePath, property.getParent());
+            entry = this.entries.get(nodePath);
+        }
+
+        if (entry.properties == null)
+            entry.properties = new HashMap<>();
+
+        entry.properties.put(name, property);
+    }
+
+    /**
+     * Discards the cached node types of a node whose primary type or mixins have changed.
+     *
+     * @param absPath
+     *        the absolute path of the node (cannot be empty)
+     */
+    void invalidateTypes(final String absPath) {
+        final NodeEntry entry = entry(absPath);
+
+        if (entry != null) {
+            entry.primaryType = null;
+            entry.mixins = null;
+            entry.typeIdentifier = null;
+        }
+    }
+
+    /**
+     * Discards the cached properties of a node whose properties have been set or removed.
+     *
+     * @param absPath
+     *        the absolute path of the node (cannot be empty)
+     */
+    void invalidateProperties(final String absPath) {
+        final NodeEntry entry = entry(absPath);
+
+        if (entry != null) {
+            entry.properties = null;
+
+            // the komodo type of a constraint depends on one of its properties
+            entry.typeIdentifier = null;
+        }
+    }
+
+    /**
+     * Discards everything cached. Used when nodes are moved or removed, as that can change the paths of
+     * other nodes (i.e., same-name siblings), and when the session is refreshed.
+     */
+    public void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * @return the number of paths currently cached
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the number of lookups that had to be resolved against the session
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "JcrNodeCache [enabled=" + this.enabled + ", size=" + size() //$NON-NLS-1$ //$NON-NLS-2$
+               + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+}
@@ -31,6 +31,8 @@ import javax.jcr.nodetype.PropertyDefinition;
 import javax.jcr.query.Query;
 import javax.jcr.query.QueryResult;
 import org.komodo.core.repository.DescriptorImpl;
+import org.komodo.core.repository.KomodoTypeRegistry;
+import org.komodo.core.repository.KomodoTypeRegistry.TypeResolution;
 import org.komodo.core.repository.Messages;
 import org.komodo.core.repository.ObjectImpl;
 import org.komodo.core.repository.PropertyDescriptorImpl;
@@ -38,11 +40,13 @@ import org.komodo.core.repository.PropertyImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.lexicon.LexiconConstants.JcrLexicon;
 import org.komodo.spi.lexicon.LexiconConstants.NTLexicon;
+import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlLexicon;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
 import org.komodo.spi.repository.Descriptor;
 import org.komodo.spi.repository.KObjectFactory;
 import org.komodo.spi.repository.KPropertyFactory;
 import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.PropertyDescriptor;
 import org.komodo.spi.repository.PropertyValueType;
@@ -111,13 +115,51 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
 
         try {
             Node node = node(transaction, kObject);
-            String type = node.getPrimaryNodeType().getName();
+            String type = getNodeCache(transaction).getPrimaryType(kObject.getAbsolutePath(), node);
             return new DescriptorImpl(kObject.getRepository(), type);
         } catch (Exception ex) {
             throw handleError(ex);
         }
     }
 
+    @Override
+    public KomodoType getTypeIdentifier(UnitOfWork transaction, KomodoObject kObject) throws KException {
+        checkTransaction(transaction);
+        ArgCheck.isNotNull(kObject, "kObject");
+
+        JcrNodeCache cache = getNodeCache(transaction);
+        String path = kObject.getAbsolutePath();
+        KomodoType result = cache.getTypeIdentifier(path);
+        if (result != null)
+            return result;
+
+        try {
+            Node node = node(transaction, kObject);
+            TypeResolution resolution = KomodoTypeRegistry.getInstance().resolve(cache.getPrimaryType(path, node),
+                                                                                 cache.getMixins(path, node));
+
+            switch (resolution.getDependency()) {
+                case NAME:
+                    result = resolution.resolve(node.getName(), null);
+                    break;
+                case CONSTRAINT_TYPE:
+                    String constraintType = null;
+                    if (node.hasProperty(TeiidDdlLexicon.Constraint.TYPE))
+                        constraintType = node.getProperty(TeiidDdlLexicon.Constraint.TYPE).getString();
+
+                    result = resolution.resolve(null, constraintType);
+                    break;
+                default:
+                    result = resolution.getKomodoType();
+            }
+
+            cache.putTypeIdentifier(path, node, result);
+            return result;
+        } catch (Exception ex) {
+            throw handleError(ex);
+        }
+    }
+
     @Override
     public void setType(UnitOfWork transaction, KomodoObject kObject, String typeName) throws KException {
         checkTransaction(transaction);
@@ -126,6 +168,7 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
         try {
             String type = (StringUtils.isBlank(typeName) ? NTLexicon.NT_UNSTRUCTURED : typeName);
             node(transaction, kObject).setPrimaryType(type);
+            typesChanged(transaction, kObject);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -234,7 +277,9 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
         Node parentNode = node(transaction, parent);
         try {
             Node childNode = parentNode.getNode(childName);
-            return new ObjectImpl(parent.getRepository(), childNode.getPath(), 0);
+            String childPath = childNode.getPath();
+            getNodeCache(transaction).putNode(childPath, childNode);
+            return new ObjectImpl(parent.getRepository(), childPath, 0);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -270,9 +315,12 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
                 childNodes = parentNode.getNodes(namePatterns);
             }
 
+            JcrNodeCache cache = getNodeCache(transaction);
             while (childNodes.hasNext()) {
                 Node childNode = childNodes.nextNode();
-                children.add(new ObjectImpl(parent.getRepository(), childNode.getPath(), 0));
+                String childPath = childNode.getPath();
+                cache.putNode(childPath, childNode);
+                children.add(new ObjectImpl(parent.getRepository(), childPath, 0));
             }
 
             return children;
@@ -347,6 +395,7 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
 
             if (node.hasProperty(propertyName)) {
                 javax.jcr.Property jcrProperty = node.getProperty(propertyName);
+                getNodeCache(transaction).putProperty(kObject.getAbsolutePath(), propertyName, jcrProperty);
                 result = new PropertyImpl(kObject.getRepository(), jcrProperty.getPath());
             }
 
@@ -369,12 +418,12 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
 
         try {
             Node node = node(transaction, kObject);
-            NodeType[] nodeTypes = node.getMixinNodeTypes();
+            String[] mixins = getNodeCache(transaction).getMixins(kObject.getAbsolutePath(), node);
             Descriptor result = null;
 
-            for ( NodeType nodeType : nodeTypes ) {
-                if ( typeName.equals( nodeType.getName() ) ) {
-                    result = new DescriptorImpl(kObject.getRepository(), nodeType.getName());
+            for ( String mixin : mixins ) {
+                if ( typeName.equals( mixin ) ) {
+                    result = new DescriptorImpl(kObject.getRepository(), mixin);
                     break;
                 }
             }
@@ -396,11 +445,11 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
 
         try {
             Node node = node(transaction, kObject);
-            NodeType[] nodeTypes = node.getMixinNodeTypes();
-            List<Descriptor> result = new ArrayList<>(nodeTypes.length);
+            String[] mixins = getNodeCache(transaction).getMixins(kObject.getAbsolutePath(), node);
+            List<Descriptor> result = new ArrayList<>(mixins.length);
 
-            for (NodeType nodeType : nodeTypes) {
-                result.add(new DescriptorImpl(kObject.getRepository(), nodeType.getName()));
+            for (String mixin : mixins) {
+                result.add(new DescriptorImpl(kObject.getRepository(), mixin));
             }
 
             return result;
@@ -421,6 +470,8 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
                 ArgCheck.isNotEmpty(descriptorName, "mixin"); //$NON-NLS-1$
                 node.addMixin(descriptorName);
             }
+
+            typesChanged(transaction, kObject);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -438,6 +489,8 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
                 ArgCheck.isNotEmpty(descriptorName, "mixin"); //$NON-NLS-1$
                 node.removeMixin(descriptorName);
             }
+
+            typesChanged(transaction, kObject);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -469,20 +522,28 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
         }
     }
 
-    protected Collection<Descriptor> getAllDescriptors(Repository repository, Node node) throws Exception {
+    protected Collection<Descriptor> getAllDescriptors(UnitOfWork transaction, KomodoObject kObject, Node node) throws Exception {
+        JcrNodeCache cache = getNodeCache(transaction);
+        Repository repository = kObject.getRepository();
         List<Descriptor> descriptors = new ArrayList<>();
     
-        NodeType[] mixins = node.getMixinNodeTypes();
-        if (mixins != null) {
-            for (NodeType mixin : mixins) {
-                descriptors.add(new DescriptorImpl(repository, mixin.getName()));
-            }
+        for (String mixin : cache.getMixins(kObject.getAbsolutePath(), node)) {
+            descriptors.add(new DescriptorImpl(repository, mixin));
         }
     
-        descriptors.add(new DescriptorImpl(repository, node.getPrimaryNodeType().getName()));
+        descriptors.add(new DescriptorImpl(repository, cache.getPrimaryType(kObject.getAbsolutePath(), node)));
         return descriptors;
     }
 
+    /**
+     * Discards the cached node types and properties of an object whose primary type or mixins have changed.
+     */
+    private void typesChanged(UnitOfWork transaction, KomodoObject kObject) {
+        JcrNodeCache cache = getNodeCache(transaction);
+        cache.invalidateTypes(kObject.getAbsolutePath());
+        cache.invalidateProperties(kObject.getAbsolutePath());
+    }
+
     @Override
     public PropertyDescriptor getPropertyDescriptor(UnitOfWork transaction, KomodoObject kObject, String propName) throws KException {
         checkTransaction(transaction);
@@ -490,7 +551,7 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
 
         try {
             Node node = node(transaction, kObject);
-            for (Descriptor typeDescriptor : getAllDescriptors(kObject.getRepository(), node)) {
+            for (Descriptor typeDescriptor : getAllDescriptors(transaction, kObject, node)) {
                 for (PropertyDescriptor propDescriptor : typeDescriptor.getPropertyDescriptors(transaction)) {
                     if ((propDescriptor != null) && propName.equals(propDescriptor.getName())) {
                         return propDescriptor;
@@ -551,6 +612,9 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
 
         try {
             getSession(transaction).move(kObject.getAbsolutePath(), newPath);
+
+            // paths of the moved subtree and of any same-name siblings have changed
+            getNodeCache(transaction).clear();
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -564,6 +628,9 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
         try {
             Node node = node(transaction, kObject);
             node.remove();
+
+            // paths of the removed subtree and of any same-name siblings have changed
+            getNodeCache(transaction).clear();
         } catch (Exception e) {
             throw handleError(e);
         }
@@ -616,6 +683,9 @@ public class JcrNodeFactory extends AbstractJcrFactory implements KObjectFactory
             javax.jcr.Property inputProperty = session.getProperty(dataProperty.getAbsolutePath());
             Node outputNode = session.getNode(vdb.getAbsolutePath());
             mSession.sequence("VDB Dynamic Sequencer", inputProperty, outputNode);
+
+            // sequencing writes directly to the session
+            getNodeCache(transaction).clear();
             return vdb;
         } catch (Exception ex) {
             throw handleError(ex);
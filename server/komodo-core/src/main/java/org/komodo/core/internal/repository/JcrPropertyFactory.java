@@ -383,7 +383,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            String result = getSession(transaction).getProperty(property.getAbsolutePath()).getName();
+            String result = property(transaction, property.getAbsolutePath()).getName();
             return result;
         } catch (Exception ex) {
             throw handleError(ex);
@@ -396,7 +396,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            Node parent = getSession(transaction).getProperty(property.getAbsolutePath()).getParent();
+            Node parent = property(transaction, property.getAbsolutePath()).getParent();
             String parentPath = parent.getPath();
 
             if (!parentPath.endsWith(FORWARD_SLASH)) { //$NON-NLS-1$
@@ -417,7 +417,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         PropertyValueType propertyValueType = PropertyValueType.UNDEFINED;
 
         try {
-            javax.jcr.Property result = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property result = property(transaction, property.getAbsolutePath());
 
             int requiredType = result.getDefinition().getRequiredType();
             switch (requiredType) {
@@ -460,8 +460,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            Session session = getSession(transaction);
-            boolean result = session.getProperty(property.getAbsolutePath()).isMultiple();
+            boolean result = property(transaction, property.getAbsolutePath()).isMultiple();
             return result;
         } catch (Exception ex) {
             throw handleError(ex);
@@ -474,7 +473,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             PropertyDefinition propDefn = jcrProperty.getDefinition();
             PropertyValueType type = convert(propDefn.getRequiredType());
 
@@ -505,7 +504,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             Value value = jcrProperty.getValue();
             int propType = jcrProperty.getType();
             Object result = convert(value, propType);
@@ -526,7 +525,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             int propType = jcrProperty.getType();
             Value[] values = jcrProperty.getValues();
             Object[] objectValues = new Object[values.length];
@@ -552,7 +551,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            boolean result = getSession(transaction).getProperty(property.getAbsolutePath()).getBoolean();
+            boolean result = property(transaction, property.getAbsolutePath()).getBoolean();
             return result;
         } catch (Exception ex) {
             throw handleError(ex);
@@ -565,7 +564,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             Value[] values = jcrProperty.getValues();
             Boolean[] booleanValues = new Boolean[values.length];
             int i = 0;
@@ -586,7 +585,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            String result = getSession(transaction).getProperty(property.getAbsolutePath()).getString();
+            String result = property(transaction, property.getAbsolutePath()).getString();
             return result;
         } catch (Exception ex) {
             throw handleError(ex);
@@ -599,7 +598,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             Value[] values = jcrProperty.getValues();
             String[] stringValues = new String[values.length];
             int i = 0;
@@ -620,7 +619,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            String result = getSession(transaction).getProperty(property.getAbsolutePath()).getString();
+            String result = property(transaction, property.getAbsolutePath()).getString();
             return result;
         } catch (Exception ex) {
             throw handleError(ex);
@@ -633,7 +632,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             Value[] values = jcrProperty.getValues();
             String[] stringValues = new String[values.length];
             int i = 0;
@@ -654,7 +653,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            long result = getSession(transaction).getProperty(property.getAbsolutePath()).getLong();
+            long result = property(transaction, property.getAbsolutePath()).getLong();
             return result;
         } catch (Exception ex) {
             throw handleError(ex);
@@ -667,7 +666,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             Value[] values = jcrProperty.getValues();
             Long[] longValues = new Long[values.length];
             int i = 0;
@@ -688,7 +687,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            double result = getSession(transaction).getProperty(property.getAbsolutePath()).getDouble();
+            double result = property(transaction, property.getAbsolutePath()).getDouble();
             return result;
         } catch (Exception ex) {
             throw handleError(ex);
@@ -701,7 +700,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             Value[] values = jcrProperty.getValues();
             Double[] doubleValues = new Double[values.length];
             int i = 0;
@@ -722,7 +721,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            double result = getSession(transaction).getProperty(property.getAbsolutePath()).getDouble();
+            double result = property(transaction, property.getAbsolutePath()).getDouble();
             return (int)Math.round(result);
         } catch (Exception ex) {
             throw handleError(ex);
@@ -735,7 +734,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             Value[] values = jcrProperty.getValues();
             Integer[] intValues = new Integer[values.length];
             int i = 0;
@@ -758,7 +757,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            Calendar result = getSession(transaction).getProperty(property.getAbsolutePath()).getDate();
+            Calendar result = property(transaction, property.getAbsolutePath()).getDate();
             return result;
         } catch (Exception ex) {
             throw handleError(ex);
@@ -771,7 +770,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            javax.jcr.Property jcrProperty = getSession(transaction).getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
             Value[] values = jcrProperty.getValues();
             Calendar[] dateValues = new Calendar[values.length];
             int i = 0;
@@ -792,7 +791,7 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
         ArgCheck.isNotNull(property, "property");
 
         try {
-            Binary result = getSession(transaction).getProperty(property.getAbsolutePath()).getBinary();
+            Binary result = property(transaction, property.getAbsolutePath()).getBinary();
             if (result == null)
                 return null;
 
@@ -817,7 +816,8 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
 
         try {
             Session session = getSession(transaction);
-            javax.jcr.Property jcrProperty = session.getProperty(property.getAbsolutePath());
+            javax.jcr.Property jcrProperty = property(transaction, property.getAbsolutePath());
+            propertyChanged(transaction, property.getAbsolutePath());
 
             if (values == null) {
                 jcrProperty.remove();
@@ -907,7 +907,8 @@ public class JcrPropertyFactory extends AbstractJcrFactory implements KPropertyF
 
         try {
             Session session = getSession(transaction);
-            Node node = session.getNode(kObject.getAbsolutePath());
+            Node node = node(transaction, kObject);
+            getNodeCache(transaction).invalidateProperties(kObject.getAbsolutePath());
             ValueFactory factory = session.getValueFactory();
             boolean exists = node.hasProperty(name);
 
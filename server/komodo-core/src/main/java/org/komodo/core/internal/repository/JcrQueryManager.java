@@ -18,12 +18,15 @@
 package org.komodo.core.internal.repository;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.query.Query;
 import javax.jcr.query.QueryManager;
 import javax.jcr.query.QueryResult;
+import javax.jcr.query.RowIterator;
 import org.komodo.core.repository.ObjectImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.query.KQueryManager;
@@ -65,4 +68,81 @@ public class JcrQueryManager implements KQueryManager {
         }
     }
 
+    @Override
+    public Iterator<KomodoObject> execute(UnitOfWork transaction, final Repository repository, String queryStmt,
+                                          long offset, long limit) throws KException {
+        ArgCheck.isNotEmpty(queryStmt);
+        ArgCheck.isTrue(offset >= 0, "offset cannot be negative"); //$NON-NLS-1$
+
+        Session session = nodeFactory.getSession(transaction);
+
+        try {
+            QueryManager queryMgr = session.getWorkspace().getQueryManager();
+            Query query = queryMgr.createQuery(queryStmt, Query.JCR_SQL2);
+
+            if (offset > 0)
+                query.setOffset(offset);
+
+            if (limit >= 0)
+                query.setLimit(limit);
+
+            final NodeIterator itr = query.execute().getNodes();
+
+            return new Iterator<KomodoObject>() {
+
+                @Override
+                public boolean hasNext() {
+                    return itr.hasNext();
+                }
+
+                @Override
+                public KomodoObject next() {
+                    if (!itr.hasNext())
+                        throw new NoSuchElementException();
+
+                    Node node = itr.nextNode();
+
+                    try {
+                        return new ObjectImpl(repository, node.getPath(), node.getIndex());
+                    } catch (final Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+        } catch (final Exception e) {
+            throw nodeFactory.handleError(e);
+        }
+    }
+
+    @Override
+    public long count(UnitOfWork transaction, Repository repository, String queryStmt) throws KException {
+        ArgCheck.isNotEmpty(queryStmt);
+
+        Session session = nodeFactory.getSession(transaction);
+
+        try {
+            QueryManager queryMgr = session.getWorkspace().getQueryManager();
+            Query query = queryMgr.createQuery(queryStmt, Query.JCR_SQL2);
+            QueryResult result = query.execute();
+
+            // rows do not resolve the nodes
+            RowIterator rows = result.getRows();
+            long size = rows.getSize();
+
+            if (size < 0) {
+                // size is not known up front so count the rows
+                size = 0;
+
+                while (rows.hasNext()) {
+                    rows.nextRow();
+                    ++size;
+                }
+            }
+
+            return size;
+        } catch (final Exception e) {
+            throw nodeFactory.handleError(e);
+        }
+    }
+
 }
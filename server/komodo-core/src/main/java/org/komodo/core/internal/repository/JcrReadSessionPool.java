@@ -0,0 +1,178 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.internal.repository;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.jcr.Session;
+
+import org.komodo.spi.KException;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * A bounded pool of JCR sessions handed out to read-only units of work. Sessions are created on the
+ * calling thread rather than by the {@link JcrEngine} thread so reads never queue behind commits.
+ * A session is confined to a single unit of work at a time and, when completed, has its transient
+ * state discarded before being made available again.
+ */
+public class JcrReadSessionPool {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * A read-only delegate that returns its session to the pool when completed.
+     */
+    private class PooledUowDelegate implements JcrUowDelegate {
+
+        private final Session session;
+
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private final JcrNodeCache nodeCache = new JcrNodeCache();
+
+        PooledUowDelegate(final Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public Session getImplementation() {
+            return this.session;
+        }
+
+        @Override
+        public JcrNodeCache getNodeCache() {
+            return this.nodeCache;
+        }
+
+        @Override
+        public boolean hasPendingChanges() throws Exception {
+            return !this.released.get() && this.session.hasPendingChanges();
+        }
+
+        @Override
+        public boolean isLive() {
+            return !this.released.get() && this.session.isLive();
+        }
+
+        @Override
+        public void save() throws Exception {
+            throw new UnsupportedOperationException("read-only sessions cannot be saved"); //$NON-NLS-1$
+        }
+
+        @Override
+        public void refresh(final boolean keepChanges) throws Exception {
+            this.nodeCache.clear();
+            this.session.refresh(keepChanges);
+        }
+
+        @Override
+        public void complete() {
+            if (this.released.compareAndSet(false, true)) {
+                this.nodeCache.clear();
+                release(this.session);
+            }
+        }
+    }
+
+    private final WorkspaceIdentifier identifier;
+
+    private final BlockingQueue<Session> idle;
+
+    private volatile boolean disposed = false;
+
+    /**
+     * @param identifier
+     *        the identifier of the repository workspace (cannot be <code>null</code>)
+     * @param maxIdle
+     *        the maximum number of idle sessions retained for reuse (must be positive)
+     */
+    public JcrReadSessionPool(final WorkspaceIdentifier identifier, final int maxIdle) {
+        ArgCheck.isNotNull(identifier, "identifier"); //$NON-NLS-1$
+        ArgCheck.isTrue(maxIdle > 0, "maxIdle must be positive"); //$NON-NLS-1$
+
+        this.identifier = identifier;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * @return a read-only session, reusing an idle one where available (never <code>null</code>)
+     * @throws KException
+     *         if the repository is not running or a session could not be created
+     */
+    public JcrUowDelegate acquire() throws KException {
+        Session session;
+        while ((session = this.idle.poll()) != null) {
+            if (session.isLive())
+                return new PooledUowDelegate(session);
+        }
+
+        session = JcrUowDelegateImpl.generateSession(this.identifier);
+        return new PooledUowDelegate(session);
+    }
+
+    /**
+     * @return the number of sessions currently idle in the pool
+     */
+    public int idleCount() {
+        return this.idle.size();
+    }
+
+    private void release(final Session session) {
+        if (!session.isLive())
+            return;
+
+        try {
+            session.refresh(false);
+        } catch (final Exception ex) {
+            LOGGER.debug("JcrReadSessionPool.release: discarding session {0} that failed to refresh", session.hashCode()); //$NON-NLS-1$
+            session.logout();
+            return;
+        }
+
+        if (this.disposed || !this.idle.offer(session)) {
+            session.logout();
+            return;
+        }
+
+        // pool may have been disposed while the session was being offered
+        if (this.disposed)
+            clear();
+    }
+
+    /**
+     * Logs out all idle sessions. Sessions currently in use are logged out when released.
+     */
+    public void dispose() {
+        this.disposed = true;
+        clear();
+    }
+
+    /**
+     * Logs out all idle sessions while leaving the pool available for further use.
+     */
+    public void clear() {
+        Session session;
+        while ((session = this.idle.poll()) != null) {
+            if (session.isLive())
+                session.logout();
+        }
+    }
+}
@@ -27,4 +27,9 @@ public interface JcrUowDelegate extends UnitOfWorkDelegate {
      */
     Session getImplementation();
 
+    /**
+     * @return the cache of nodes resolved through this delegate (never <code>null</code>)
+     */
+    JcrNodeCache getNodeCache();
+
 }
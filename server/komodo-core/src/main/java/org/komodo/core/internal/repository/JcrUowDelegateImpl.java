@@ -51,6 +51,8 @@ public class JcrUowDelegateImpl implements JcrUowDelegate {
 
     private final Session session;
 
+    private final JcrNodeCache nodeCache = new JcrNodeCache();
+
     public JcrUowDelegateImpl(WorkspaceIdentifier identifier) throws Exception {
         this.session = generateSession(identifier);
     }
@@ -64,6 +66,11 @@ public class JcrUowDelegateImpl implements JcrUowDelegate {
         return session;
     }
 
+    @Override
+    public JcrNodeCache getNodeCache() {
+        return nodeCache;
+    }
+
     @Override
     public boolean hasPendingChanges() throws Exception {
         return session.hasPendingChanges();
@@ -81,11 +88,14 @@ public class JcrUowDelegateImpl implements JcrUowDelegate {
 
     @Override
     public void complete() {
+        KLog.getLogger().debug("JcrUowDelegateImpl.complete: session {0}, {1}", session.hashCode(), nodeCache); //$NON-NLS-1$
+        nodeCache.clear();
         session.logout();
     }
 
     @Override
     public void refresh(boolean keepChanges) throws Exception {
+        nodeCache.clear();
         session.refresh(keepChanges);
     }
 
@@ -17,12 +17,27 @@
  */
 package org.komodo.core.internal.repository;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.jcr.AccessDeniedException;
 import javax.jcr.ItemNotFoundException;
 import javax.jcr.Node;
@@ -37,8 +52,10 @@ import javax.jcr.observation.EventListener;
 import javax.jcr.observation.ObservationManager;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.core.Messages;
+import org.komodo.core.repository.ChangeJournal;
 import org.komodo.core.repository.KSequencerController;
 import org.komodo.core.repository.KSequencerListener;
+import org.komodo.core.repository.WorkspaceTypeIndex;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.lexicon.LexiconConstants.JcrLexicon;
 import org.komodo.spi.lexicon.datavirt.DataVirtLexicon;
@@ -46,27 +63,86 @@ import org.komodo.spi.lexicon.ddl.StandardDdlLexicon;
 import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlLexicon;
 import org.komodo.spi.lexicon.sql.teiid.TeiidSqlLexicon;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.spi.repository.ApplicationProperties;
 import org.komodo.spi.repository.UnitOfWorkDelegate;
 import org.komodo.utils.KLog;
 
 
 /**
- * Sequencers class responsible for executing all the sequencers in
- * consecutive, synchronous order.
+ * Sequencers class responsible for executing all the sequencers of a commit
+ * before its listeners are notified. The sequencing of properties with
+ * independent output nodes is executed concurrently.
  */
 public class KSequencers implements StringConstants, EventListener, KSequencerController {
 
+    /**
+     * The name prefix of the transient node the DDL sequencer output is created below before being patched onto the
+     * real output node
+     */
+    private static final String SCRATCH_NODE_PREFIX = "ksequencer-scratch-"; //$NON-NLS-1$
+
+    /**
+     * A sequenceable property found in a set of events
+     */
+    private static class SequencingJob {
+
+        private final int index;
+
+        private final SequencerType sequencerType;
+
+        private final String propertyPath;
+
+        private final String outputPath;
+
+        private final String eventUserData;
+
+        SequencingJob(int index, SequencerType sequencerType, String propertyPath, String outputPath, String eventUserData) {
+            this.index = index;
+            this.sequencerType = sequencerType;
+            this.propertyPath = propertyPath;
+            this.outputPath = outputPath;
+            this.eventUserData = eventUserData;
+        }
+
+        /**
+         * @return true if the output of either job contains the output of the other
+         */
+        boolean overlaps(SequencingJob other) {
+            return outputPath.equals(other.outputPath)
+                   || outputPath.startsWith(other.outputPath + FORWARD_SLASH)
+                   || other.outputPath.startsWith(outputPath + FORWARD_SLASH);
+        }
+    }
+
+    private static final Comparator<SequencingJob> EVENT_ORDER = new Comparator<SequencingJob>() {
+
+        @Override
+        public int compare(SequencingJob job1, SequencingJob job2) {
+            return Integer.compare(job1.index, job2.index);
+        }
+    };
+
     private final WorkspaceIdentifier identifier;
 
+    private final WorkspaceTypeIndex typeIndex;
+
+    private final ChangeJournal journal;
+
+    private final SequencerResultCache resultCache = new SequencerResultCache(ApplicationProperties.getSequencerCacheNodes());
+
+    private final ThreadPoolExecutor sequencingPool;
+
     private Session session;
 
-    // Flag switched on only when a sequencing execution is started
-    private boolean sequencingActive = false;
+    // The identifiers of the running sequencers, possibly added concurrently, by the identifier of the commit
+    // whose content they sequence. A commit is complete once it has none, whatever other commits are sequencing.
+    private final Map<String, Set<String>> runningSequencers = new HashMap<>();
 
-    // List appended to by running sequencers detailing their unique identifiers
-    private List<String> runningSequencers = new ArrayList<>();
+    // The identifier of the commit of each running sequencer
+    private final Map<String, String> sequencerCommits = new HashMap<>();
 
-    private Set<KSequencerListener> listeners = new HashSet<>();
+    // Listeners are added by the committing threads while being iterated by the observation thread
+    private Set<KSequencerListener> listeners = ConcurrentHashMap.newKeySet();
 
     /**
      * Create new instance
@@ -75,7 +151,48 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
      * @throws Exception if error occurs
      */
     public KSequencers(WorkspaceIdentifier identifier) throws Exception {
+        this(identifier, null);
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param identifier the workspace identifier
+     * @param typeIndex the index maintained from the node events or <code>null</code>
+     * @throws Exception if error occurs
+     */
+    public KSequencers(WorkspaceIdentifier identifier, WorkspaceTypeIndex typeIndex) throws Exception {
+        this(identifier, typeIndex, null);
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param identifier the workspace identifier
+     * @param typeIndex the index maintained from the node events or <code>null</code>
+     * @param journal the journal the committed changes are appended to or <code>null</code>
+     * @throws Exception if error occurs
+     */
+    public KSequencers(WorkspaceIdentifier identifier, WorkspaceTypeIndex typeIndex, ChangeJournal journal) throws Exception {
         this.identifier = identifier;
+        this.typeIndex = typeIndex;
+        this.journal = journal;
+
+        final int threads = ApplicationProperties.getSequencerThreads();
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.sequencingPool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                                                     new LinkedBlockingQueue<Runnable>(),
+                                                     new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "Komodo Sequencer " + threadCount.incrementAndGet()); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.sequencingPool.allowCoreThreadTimeOut(true);
+
         this.session = RepositoryUtils.createSession(identifier);
         KLog.getLogger().debug("KSequencers.init: session = {0}", session.hashCode()); //$NON-NLS-1$
 
@@ -104,6 +221,9 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
             session.logout();
             session = null;
         }
+
+        sequencingPool.shutdownNow();
+        resultCache.clear();
     }
 
     /**
@@ -440,19 +560,31 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
 
     private void sequence(SequencerType sequencerType, Property property,
                                                  Node outputNode, String eventId) throws Exception {
-        KLog.getLogger().debug("Executing pre-sequencing of " + sequencerType.name() + " Sequencer for property " + property.getName());  //$NON-NLS-1$//$NON-NLS-2$
+        if (KLog.getLogger().isDebugEnabled())
+            KLog.getLogger().debug("Executing pre-sequencing of {0} Sequencer for property {1}", sequencerType.name(), property.getName());  //$NON-NLS-1$
         preSequenceClean(sequencerType, outputNode);
 
         org.modeshape.jcr.api.Session seqSession = RepositoryUtils.createSession(getIdentifier());
         KLog.getLogger().debug("KSequencers.sequenceClean: session = {0}", session.hashCode()); //$NON-NLS-1$
 
         try {
-            KLog.getLogger().debug("Executing " + sequencerType.name() + " Sequencer on property " + property.getName());  //$NON-NLS-1$//$NON-NLS-2$
+            if (KLog.getLogger().isDebugEnabled())
+                KLog.getLogger().debug("Executing {0} Sequencer on property {1}", sequencerType.name(), property.getName());  //$NON-NLS-1$
 
             Property seqProperty = seqSession.getProperty(property.getPath());
             Node seqOutputNode = seqSession.getNode(outputNode.getPath());
 
-            boolean status = seqSession.sequence(sequencerType.toString(), seqProperty, seqOutputNode);
+            String cacheKey = resultCacheKey(sequencerType, seqProperty);
+            SequencerResultCache.OutputState outputState = null;
+            boolean status = cacheKey != null && materializeCachedResult(cacheKey, seqSession, seqOutputNode);
+
+            if (!status) {
+                if (cacheKey != null)
+                    outputState = new SequencerResultCache.OutputState(seqOutputNode);
+
+                status = seqSession.sequence(sequencerType.toString(), seqProperty, seqOutputNode);
+            }
+
             if (!status)
                 KLog.getLogger().error("The sequence " + sequencerType.name() + " failed in some way");
             else {
@@ -472,10 +604,13 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
 
                     // Adds the identifier to the running sequencers to indicate work has been done and need to
                     // wait for the event to run through before proclaiming eveything is complete
-                    runningSequencers.add(seqPropId);
+                    sequencerStarted(eventId, seqPropId);
 
                     try {
                         analyseSequencerResults(sequencerType, seqOutputNode);
+
+                        if (outputState != null)
+                            cacheResult(cacheKey, sequencerType, seqOutputNode, outputState);
                     } finally {
                         // Save this session
                         seqSession.save();
@@ -489,6 +624,131 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
         }
     }
 
+    /**
+     * Brings the DDL sequencer output up to date by applying only the differences between the existing output and
+     * the newly sequenced statements, so unchanged objects keep their identifiers and views whose query is unchanged
+     * are not sequenced again.
+     *
+     * @return false if the new output could not be captured or patched and the sequencer must be executed in place
+     */
+    private boolean patchDdl(Property property, Node outputNode, String eventId) throws Exception {
+        String cacheKey = resultCacheKey(SequencerType.DDL, property);
+        SequencerResultCache.Result result = (cacheKey == null) ? null : resultCache.get(cacheKey);
+
+        if (result == null) {
+            result = sequenceDetached(SequencerType.DDL, property, outputNode);
+            if (result == null)
+                return false;
+
+            if (cacheKey != null)
+                resultCache.put(cacheKey, result);
+        }
+
+        org.modeshape.jcr.api.Session seqSession = RepositoryUtils.createSession(getIdentifier());
+        String seqPropId = null;
+
+        try {
+            Node seqOutputNode = seqSession.getNode(outputNode.getPath());
+
+            if (! result.patch(seqOutputNode, TeiidDdlLexicon.Namespace.PREFIX, TeiidSqlLexicon.Namespace.PREFIX)) {
+                KLog.getLogger().debug("KSequencers: DDL output of {0} is unchanged", outputNode.getPath()); //$NON-NLS-1$
+                return true;
+            }
+
+            seqPropId = encode(eventId, SequencerType.DDL, property);
+            seqSession.getWorkspace().getObservationManager().setUserData(seqPropId);
+            sequencerStarted(eventId, seqPropId);
+            seqSession.save();
+            return true;
+        } catch (Exception ex) {
+            // Discard whatever was patched and fall back to cleaning the output and executing the sequencer
+            KLog.getLogger().warn("KSequencers: failed to patch the DDL output of {0}", ex, outputNode.getPath()); //$NON-NLS-1$
+            if (seqPropId != null)
+                sequencerWithdrawn(seqPropId);
+            if (cacheKey != null)
+                resultCache.remove(cacheKey);
+            seqSession.refresh(false);
+            return false;
+        } finally {
+            if (seqSession.isLive())
+                seqSession.logout();
+        }
+    }
+
+    /**
+     * Executes the sequencer against a transient sibling of the output node in a session that is never saved.
+     *
+     * @return the captured output or null if the sequencer did not succeed or its output cannot be captured
+     */
+    private SequencerResultCache.Result sequenceDetached(SequencerType sequencerType, Property property,
+                                                         Node outputNode) throws Exception {
+        org.modeshape.jcr.api.Session scratchSession = RepositoryUtils.createSession(getIdentifier());
+
+        try {
+            Property scratchProperty = scratchSession.getProperty(property.getPath());
+            Node scratchNode = scratchSession.getNode(outputNode.getParent().getPath())
+                                             .addNode(SCRATCH_NODE_PREFIX + UUID.randomUUID(),
+                                                      outputNode.getPrimaryNodeType().getName());
+            SequencerResultCache.OutputState outputState = new SequencerResultCache.OutputState(scratchNode);
+
+            if (! scratchSession.sequence(sequencerType.toString(), scratchProperty, scratchNode))
+                return null;
+
+            analyseSequencerResults(sequencerType, scratchNode);
+            return SequencerResultCache.capture(sequencerType, scratchNode, outputState);
+        } finally {
+            // discards the scratch node
+            scratchSession.logout();
+        }
+    }
+
+    private String resultCacheKey(SequencerType sequencerType, Property property) {
+        try {
+            return SequencerResultCache.key(sequencerType, property);
+        } catch (Exception ex) {
+            KLog.getLogger().debug("KSequencers: not caching the output for property {0}", ex, property); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the output node has been given the cached output of a previous execution of the sequencer
+     */
+    private boolean materializeCachedResult(String cacheKey, Session seqSession, Node seqOutputNode) throws RepositoryException {
+        SequencerResultCache.Result result = resultCache.get(cacheKey);
+        if (result == null)
+            return false;
+
+        try {
+            result.materialize(seqOutputNode);
+            KLog.getLogger().debug("KSequencers: materialized cached output {0} onto {1}", cacheKey, seqOutputNode.getPath()); //$NON-NLS-1$
+            return true;
+        } catch (RepositoryException ex) {
+            // Discard whatever was created and fall back to executing the sequencer
+            KLog.getLogger().warn("KSequencers: failed to materialize cached output onto {0}", ex, seqOutputNode.getPath()); //$NON-NLS-1$
+            seqSession.refresh(false);
+            return false;
+        }
+    }
+
+    private void cacheResult(String cacheKey, SequencerType sequencerType, Node seqOutputNode,
+                             SequencerResultCache.OutputState outputState) {
+        try {
+            SequencerResultCache.Result result = SequencerResultCache.capture(sequencerType, seqOutputNode, outputState);
+            if (result != null)
+                resultCache.put(cacheKey, result);
+        } catch (RepositoryException ex) {
+            KLog.getLogger().debug("KSequencers: failed to capture the output of {0}", ex, cacheKey); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * @return the cache of the sequencer output
+     */
+    public SequencerResultCache getResultCache() {
+        return resultCache;
+    }
+
     private String encode(String eventId, SequencerType sequencerType, Property property) throws Exception {
         return eventId + HYPHEN + sequencerType.name() + HYPHEN + property.getPath();
     }
@@ -508,15 +768,194 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
     }
 
     private void sequence(SequencerType sequencerType, Property property, String eventId) throws Exception {
-        sequencingActive = true;
-
         Node outputNode = property.getParent();
 
         outputNode = sequencedOutput(sequencerType, outputNode);
 
+        if (sequencerType == SequencerType.DDL && patchDdl(property, outputNode, eventId))
+            return;
+
         sequence(sequencerType, property, outputNode, eventId);
     }
 
+    /**
+     * Executes one job in its own session.
+     */
+    private void sequence(SequencingJob job) throws Exception {
+        Session jobSession = RepositoryUtils.createSession(getIdentifier());
+
+        try {
+            if (! jobSession.propertyExists(job.propertyPath))
+                return; // removed since the event
+
+            sequence(job.sequencerType, jobSession.getProperty(job.propertyPath), job.eventUserData);
+        } finally {
+            jobSession.logout();
+        }
+    }
+
+    /**
+     * Executes the jobs of a set of events. Jobs whose output nodes overlap are executed in event order by the same
+     * task. Tasks are executed concurrently and this returns once they have all finished.
+     *
+     * @throws Exception the first error of a task, once all tasks have finished
+     */
+    private void sequence(List<SequencingJob> jobs) throws Exception {
+        if (jobs.isEmpty())
+            return;
+
+        List<List<SequencingJob>> tasks = new ArrayList<>();
+        for (SequencingJob job : jobs) {
+            List<SequencingJob> task = null;
+            Iterator<List<SequencingJob>> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                List<SequencingJob> other = iterator.next();
+                boolean overlaps = false;
+                for (SequencingJob otherJob : other)
+                    overlaps |= job.overlaps(otherJob);
+
+                if (! overlaps)
+                    continue;
+
+                if (task == null)
+                    task = other;
+                else {
+                    // the job joins up two tasks
+                    task.addAll(other);
+                    iterator.remove();
+                }
+            }
+
+            if (task == null) {
+                task = new ArrayList<>();
+                tasks.add(task);
+            }
+
+            task.add(job);
+        }
+
+        if (tasks.size() == 1) {
+            sequenceInOrder(tasks.get(0));
+            return;
+        }
+
+        KLog.getLogger().debug("KSequencers: executing {0} jobs as {1} concurrent tasks", jobs.size(), tasks.size()); //$NON-NLS-1$
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (final List<SequencingJob> task : tasks) {
+            futures.add(sequencingPool.submit(new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    sequenceInOrder(task);
+                    return null;
+                }
+            }));
+        }
+
+        Exception failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException ex) {
+                if (failure == null)
+                    failure = (ex.getCause() instanceof Exception) ? (Exception) ex.getCause() : new Exception(ex.getCause());
+            }
+        }
+
+        if (failure != null)
+            throw failure;
+    }
+
+    private void sequenceInOrder(List<SequencingJob> task) throws Exception {
+        Collections.sort(task, EVENT_ORDER);
+
+        for (SequencingJob job : task)
+            sequence(job);
+    }
+
+    /**
+     * Records a sequencer whose saved output is awaited before the commit it sequences the content of is complete.
+     *
+     * @param eventId the user data of the events that caused the sequencing, either a commit or a sequencer identifier
+     * @param seqPropId the identifier of the sequencer
+     */
+    private void sequencerStarted(String eventId, String seqPropId) {
+        synchronized (runningSequencers) {
+            String commitId = sequencerCommits.containsKey(eventId) ? sequencerCommits.get(eventId) : eventId;
+            sequencerCommits.put(seqPropId, commitId);
+
+            Set<String> running = runningSequencers.get(commitId);
+            if (running == null) {
+                running = new HashSet<>();
+                runningSequencers.put(commitId, running);
+            }
+            running.add(seqPropId);
+        }
+    }
+
+    /**
+     * Forgets a sequencer whose output was not saved.
+     */
+    private void sequencerWithdrawn(String seqPropId) {
+        synchronized (runningSequencers) {
+            String commitId = sequencerCommits.remove(seqPropId);
+            Set<String> running = runningSequencers.get(commitId);
+            if (running == null)
+                return;
+
+            running.remove(seqPropId);
+            if (running.isEmpty())
+                runningSequencers.remove(commitId);
+        }
+    }
+
+    /**
+     * Called once the events with the user data have been sequenced.
+     *
+     * @return the identifier of the commit that these events complete or null if it still has running sequencers
+     */
+    private String sequencingFinished(String eventUserData) {
+        synchronized (runningSequencers) {
+            if (! sequencerCommits.containsKey(eventUserData)) {
+                // the events of a commit, complete unless they started sequencers
+                return runningSequencers.containsKey(eventUserData) ? null : eventUserData;
+            }
+
+            String commitId = sequencerCommits.remove(eventUserData);
+            KLog.getLogger().debug("Sequencer with id {0} has completed", eventUserData); //$NON-NLS-1$
+
+            Set<String> running = runningSequencers.get(commitId);
+            running.remove(eventUserData);
+            if (! running.isEmpty()) {
+                if (KLog.getLogger().isDebugEnabled())
+                    KLog.getLogger().debug("Commit {0} awaiting sequencers: {1}", commitId, running); //$NON-NLS-1$
+                return null;
+            }
+
+            runningSequencers.remove(commitId);
+            return commitId;
+        }
+    }
+
+    /**
+     * Called when the events with the user data could not be sequenced.
+     *
+     * @return the identifier of the commit that has failed, whose running sequencers are forgotten
+     */
+    private String sequencingFailed(String eventUserData) {
+        synchronized (runningSequencers) {
+            String commitId = sequencerCommits.containsKey(eventUserData) ? sequencerCommits.get(eventUserData) : eventUserData;
+            Set<String> running = runningSequencers.remove(commitId);
+            if (running != null) {
+                for (String seqPropId : running)
+                    sequencerCommits.remove(seqPropId);
+            }
+            sequencerCommits.remove(eventUserData);
+            return commitId;
+        }
+    }
+
     private void notifySequencerCompletion(String eventUserData) {
         Iterator<KSequencerListener> iterator = listeners.iterator();
         while(iterator.hasNext()) {
@@ -530,7 +969,7 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
             if (eventUserData == null || ! eventUserData.startsWith(listener.id()))
                 continue; // Listener is not listening for this event
 
-            KLog.getLogger().debug("KSequencers complete. Notifying " + listener); //$NON-NLS-1$
+            KLog.getLogger().debug("KSequencers complete. Notifying {0}", listener); //$NON-NLS-1$
             listener.sequencingCompleted();
         }
     }
@@ -548,23 +987,149 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
             if (eventUserData == null || ! eventUserData.startsWith(listener.id()))
                 continue; // Listener is not listening for this event
 
-            KLog.getLogger().debug("KSequencers error. Notifying " + listener + " of exception", exception); //$NON-NLS-1$ //$NON-NLS-2$
+            KLog.getLogger().debug("KSequencers error. Notifying {0} of exception", exception, listener); //$NON-NLS-1$
             listener.sequencingError(exception);
         }
     }
 
+    /**
+     * Applies a node event to the type index before the listeners awaiting this commit are notified.
+     * Should the event not be understood the index is discarded rather than failing the commit.
+     */
+    private void updateTypeIndex(Event event) {
+        if (typeIndex == null)
+            return;
+
+        try {
+            switch (event.getType()) {
+                case Event.NODE_ADDED:
+                {
+                    String primaryType = null;
+                    if (event instanceof org.modeshape.jcr.api.observation.Event)
+                        primaryType = ((org.modeshape.jcr.api.observation.Event) event).getPrimaryNodeType().getName();
+                    else if (session.nodeExists(event.getPath()))
+                        primaryType = session.getNode(event.getPath()).getPrimaryNodeType().getName();
+
+                    if (primaryType != null)
+                        typeIndex.nodeAdded(event.getPath(), primaryType);
+                    return;
+                }
+                case Event.NODE_REMOVED:
+                    typeIndex.nodeRemoved(event.getPath());
+                    return;
+                case Event.PROPERTY_CHANGED:
+                {
+                    String path = event.getPath();
+                    if (!path.endsWith(FORWARD_SLASH + JcrLexicon.JCR_PRIMARY_TYPE) || !session.propertyExists(path))
+                        return;
+
+                    typeIndex.nodeTypeChanged(path.substring(0, path.lastIndexOf(FORWARD_SLASH)),
+                                              session.getProperty(path).getString());
+                    return;
+                }
+                case Event.NODE_MOVED:
+                {
+                    Map<?, ?> info = event.getInfo();
+                    Object srcPath = info.get("srcAbsPath"); //$NON-NLS-1$
+                    Object destPath = info.get("destAbsPath"); //$NON-NLS-1$
+
+                    // A reordering of siblings has no source and destination paths
+                    if (srcPath != null && destPath != null)
+                        typeIndex.nodeMoved(srcPath.toString(), destPath.toString());
+                    return;
+                }
+                default:
+                    return;
+            }
+        } catch (RepositoryException ex) {
+            KLog.getLogger().error("KSequencers: discarding the type index after failing to apply an event", ex); //$NON-NLS-1$
+            typeIndex.clear();
+        }
+    }
+
+    /**
+     * Adds the change made by an event to the changes of its commit. Property events are recorded as a modification
+     * of their node.
+     */
+    private void recordChange(ChangeJournal.Batch changes, Event event) throws RepositoryException {
+        if (changes == null)
+            return;
+
+        String path = event.getPath();
+        String user = event.getUserID();
+
+        switch (event.getType()) {
+            case Event.NODE_ADDED:
+            case Event.NODE_REMOVED:
+            {
+                String primaryType = null;
+                if (event instanceof org.modeshape.jcr.api.observation.Event)
+                    primaryType = ((org.modeshape.jcr.api.observation.Event) event).getPrimaryNodeType().getName();
+
+                changes.add(event.getType() == Event.NODE_ADDED ? ChangeJournal.Operation.ADDED : ChangeJournal.Operation.REMOVED,
+                            path, null, primaryType, user);
+                return;
+            }
+            case Event.NODE_MOVED:
+            {
+                Map<?, ?> info = event.getInfo();
+                Object srcPath = info.get("srcAbsPath"); //$NON-NLS-1$
+                Object destPath = info.get("destAbsPath"); //$NON-NLS-1$
+
+                String primaryType = null;
+                if (event instanceof org.modeshape.jcr.api.observation.Event)
+                    primaryType = ((org.modeshape.jcr.api.observation.Event) event).getPrimaryNodeType().getName();
+
+                if (srcPath != null && destPath != null)
+                    changes.add(ChangeJournal.Operation.MOVED, destPath.toString(), srcPath.toString(), primaryType, user);
+                else if (path.lastIndexOf(FORWARD_SLASH) > 0)
+                    // A reordering of siblings modifies their parent
+                    changes.add(ChangeJournal.Operation.MODIFIED, path.substring(0, path.lastIndexOf(FORWARD_SLASH)), null, null, user);
+                return;
+            }
+            case Event.PROPERTY_ADDED:
+            case Event.PROPERTY_CHANGED:
+            case Event.PROPERTY_REMOVED:
+            {
+                int lastSlash = path.lastIndexOf(FORWARD_SLASH);
+                if (lastSlash > 0)
+                    changes.add(ChangeJournal.Operation.MODIFIED, path.substring(0, lastSlash), null, null, user);
+                return;
+            }
+            default:
+                return;
+        }
+    }
+
+    /**
+     * Appends the changes of a commit to the journal before the listeners awaiting the commit are notified.
+     * A journal that cannot be written to is reported rather than failing the commit.
+     */
+    private void appendChanges(ChangeJournal.Batch changes) {
+        if (changes == null)
+            return;
+
+        try {
+            journal.append(changes);
+        } catch (IOException ex) {
+            KLog.getLogger().error("KSequencers: failed to append the committed changes to the journal", ex); //$NON-NLS-1$
+        }
+    }
+
     @Override
     public void onEvent(EventIterator events) {
         KLog.getLogger().debug("KSequencers: onEvent() called"); //$NON-NLS-1$
 
         String eventUserData = null;
         try {
+            List<SequencingJob> jobs = new ArrayList<>();
+            ChangeJournal.Batch changes = (journal == null) ? null : journal.newBatch();
             int eventNo = 0;
             int systemEvents = 0;
             while (events.hasNext()) {
                 eventNo++;
 
-                KLog.getLogger().debug("KSequencers: Event in loop - " + eventNo); //$NON-NLS-1$
+                KLog.getLogger().debug("KSequencers: Event in loop - {0}", eventNo); //$NON-NLS-1$
                 Event event = events.nextEvent();
                 String eventPath = event.getPath();
                 eventUserData = event.getUserData();
@@ -579,20 +1144,24 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                     continue;
                 }
 
+                recordChange(changes, event);
+
                 switch (event.getType()) {
                     case Event.NODE_ADDED:
                     case Event.NODE_MOVED:
                     case Event.NODE_REMOVED:
                         //
-                        // Even though we do nothing with these events the
-                        // sequencer still must fire on them in order to ensure the
-                        // listeners are always notified that the sequencer has finished
+                        // The sequencer does nothing with these events other than keep
+                        // the type index current but must still fire on them in order to
+                        // ensure the listeners are always notified that the sequencer has finished
                         //
+                        updateTypeIndex(event);
                         continue;
                     case Event.PROPERTY_ADDED:
                     case Event.PROPERTY_CHANGED:
                     {
-                        KLog.getLogger().debug("KSequencers: processing event " + eventUserData + " for path " + eventPath); //$NON-NLS-1$ //$NON-NLS-2$
+                        updateTypeIndex(event);
+                        KLog.getLogger().debug("KSequencers: processing event {0} for path {1}", eventUserData, eventPath); //$NON-NLS-1$
 
                         if (! session.propertyExists(eventPath)) {
                             // property never got as far as being visible to this session
@@ -605,12 +1174,17 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                         if (sequencerType == null)
                             continue;
 
-                        sequence(sequencerType, property, eventUserData);
+                        //
+                        // Sequenced once all the events have been processed
+                        //
+                        jobs.add(new SequencingJob(jobs.size(), sequencerType, eventPath,
+                                                   sequencedOutput(sequencerType, property.getParent()).getPath(),
+                                                   eventUserData));
                         continue;
                     }
                     case Event.PROPERTY_REMOVED:
                     {
-                        KLog.getLogger().debug("KSequencers: processing property removal event " + eventUserData + " for path " + eventPath); //$NON-NLS-1$ //$NON-NLS-2$
+                        KLog.getLogger().debug("KSequencers: processing property removal event {0} for path {1}", eventUserData, eventPath); //$NON-NLS-1$
                         int lastSlash = eventPath.lastIndexOf(FORWARD_SLASH);
                         if (lastSlash == -1)
                             continue; // Not going to be a sequenceable item if path contains no slashes
@@ -639,6 +1213,9 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                 }
             }
 
+            appendChanges(changes);
+            sequence(jobs);
+
             //
             // Event looping has completed.
             //
@@ -653,61 +1230,23 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                 return;
             }
 
-            if (! sequencingActive) {
-                notifySequencerCompletion(eventUserData);
-                return; // No sequencers started so nothing further to do
-            }
-
             //
-            // Sequencers add a user-data object to their events [ see sequence(SequencerType, Property, Node) ].
-            // The object is the same as that added to runningSequencers
+            // Sequencers add a user-data object to their events [ see sequence(SequencerType, Property, Node) ]
+            // identifying the commit whose content they sequenced. The commit is complete, and its listeners
+            // notified, once the events of all its sequencers have been received.
             //
-            // If this set of events has a user-data object, try removing it from runningSequencers
-            // since this confirms that this set of events is the completion of that particular sequencer.
-            //
-            if (eventUserData != null) {
-                boolean removed = runningSequencers.remove(eventUserData);
-                if (removed)
-                    KLog.getLogger().debug("Sequencer with id " + eventUserData + " has completed"); //$NON-NLS-1$ //$NON-NLS-2$
-            }
-
-            //
-            // Determine if runningSequencers is empty. This can happen if
-            // a) no sequencers had been running (in which case sequencingActive would be false)
-            // b) the last sequencer identifier has been removed
-            //
-            if (runningSequencers.isEmpty()) {
-                //
-                // All sequencers have completed so reset sequencingActive
-                //
-                sequencingActive = false;
-
-                //
-                // Notify clients that sequencing has completed
-                //
-                notifySequencerCompletion(eventUserData);
-            } else {
-                //
-                // Still sequencers are currently executing
-                //
-                if (KLog.getLogger().isDebugEnabled()) {
-                    StringBuffer buffer = new StringBuffer("Current Sequencing Train: "); //$NON-NLS-1$
-                    for (String id : runningSequencers)
-                        buffer.append(id).append(TAB);
-
-                    KLog.getLogger().debug(buffer.toString());
-                }
-            }
+            String commitId = sequencingFinished(eventUserData);
+            if (commitId != null)
+                notifySequencerCompletion(commitId);
         } catch (Throwable t) {
-            sequencingActive = false;
-            runningSequencers.clear();
+            String commitId = sequencingFailed(eventUserData);
             Exception ex;
             if (t instanceof Exception)
                 ex = (Exception) t;
             else
                 ex = new Exception(t);
 
-            notifySequencerError(eventUserData, ex);
+            notifySequencerError(commitId, ex);
             return;
         }
     }
@@ -0,0 +1,802 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.internal.repository;
+
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.jcr.Binary;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
+import javax.jcr.PropertyType;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.Value;
+import javax.jcr.ValueFactory;
+import javax.jcr.nodetype.NodeType;
+import org.komodo.core.repository.KSequencerController.SequencerType;
+import org.komodo.metadata.DefaultMetadataInstance;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlLexicon;
+import org.komodo.spi.lexicon.sql.teiid.TeiidSqlLexicon;
+import org.komodo.utils.KLog;
+
+/**
+ * A bounded cache of the output of the DDL and Teiid SQL sequencers keyed by the sequencer type, a hash of the
+ * sequenced content and the metadata version.
+ * <p>
+ * The output is captured as the tree of nodes and properties the sequencer added below its output node. On a hit the
+ * tree is created below the new output node without running the parser. Reference and path values pointing into the
+ * tree are relocated to the new output node. A captured DDL result is also patched onto the existing output so only the
+ * objects that differ are changed. The cache is bounded by the total number of captured nodes and evicts the
+ * least recently used results first.
+ */
+public class SequencerResultCache implements StringConstants {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * The value types that are relocated when they point into the captured tree
+     */
+    private static boolean isRelocatable(final int type) {
+        return type == PropertyType.REFERENCE || type == PropertyType.WEAKREFERENCE
+               || type == org.modeshape.jcr.api.PropertyType.SIMPLE_REFERENCE || type == PropertyType.PATH;
+    }
+
+    private static class CapturedProperty {
+
+        private final String name;
+
+        private final int type;
+
+        private final boolean multiple;
+
+        private final String[] values;
+
+        /**
+         * For each value <code>true</code> if it is the path, relative to the output node, of a captured node
+         */
+        private final boolean[] relative;
+
+        CapturedProperty( final String name,
+                          final int type,
+                          final boolean multiple,
+                          final int size ) {
+            this.name = name;
+            this.type = type;
+            this.multiple = multiple;
+            this.values = new String[ size ];
+            this.relative = new boolean[ size ];
+        }
+
+        void apply( final Node node,
+                    final Node outputNode,
+                    final ValueFactory factory ) throws RepositoryException {
+            set( node, resolve( outputNode, null, factory ) );
+        }
+
+        /**
+         * @return <code>true</code> if the property of the node was changed to the captured value
+         */
+        boolean patch( final Node node,
+                       final Node outputNode,
+                       final Map< String, Node > located,
+                       final ValueFactory factory ) throws RepositoryException {
+            final Value[] jcrValues = resolve( outputNode, located, factory );
+
+            if ( node.hasProperty( this.name ) ) {
+                final Property existing = node.getProperty( this.name );
+
+                if ( existing.isMultiple() == this.multiple ) {
+                    if ( ( existing.getType() == this.type )
+                         && sameValues( this.multiple ? existing.getValues() : new Value[] { existing.getValue() }, jcrValues ) ) {
+                        return false;
+                    }
+                } else {
+                    existing.remove();
+                }
+            }
+
+            set( node, jcrValues );
+            return true;
+        }
+
+        private Value[] resolve( final Node outputNode,
+                                 final Map< String, Node > located,
+                                 final ValueFactory factory ) throws RepositoryException {
+            final Value[] jcrValues = new Value[ this.values.length ];
+
+            for ( int i = 0; i < this.values.length; ++i ) {
+                String value = this.values[ i ];
+
+                if ( this.relative[ i ] ) {
+                    Node target = ( located == null ) ? null : located.get( value );
+
+                    if ( target == null ) {
+                        target = outputNode.getNode( value );
+                    }
+
+                    value = ( this.type == PropertyType.PATH ) ? target.getPath() : target.getIdentifier();
+                }
+
+                jcrValues[ i ] = factory.createValue( value, this.type );
+            }
+
+            return jcrValues;
+        }
+
+        private void set( final Node node,
+                          final Value[] jcrValues ) throws RepositoryException {
+            if ( this.multiple ) {
+                node.setProperty( this.name, jcrValues );
+            } else {
+                node.setProperty( this.name, jcrValues[ 0 ] );
+            }
+        }
+
+        private static boolean sameValues( final Value[] values1,
+                                           final Value[] values2 ) throws RepositoryException {
+            if ( values1.length != values2.length ) {
+                return false;
+            }
+
+            for ( int i = 0; i < values1.length; ++i ) {
+                if ( !values1[ i ].getString().equals( values2[ i ].getString() ) ) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    private static class CapturedNode {
+
+        /**
+         * The index of the parent in the captured nodes or -1 if the parent is the output node
+         */
+        private final int parent;
+
+        private final String name;
+
+        private final String segment;
+
+        private final String primaryType;
+
+        private final List< String > mixins = new ArrayList<>();
+
+        private final List< CapturedProperty > properties = new ArrayList<>();
+
+        CapturedNode( final int parent,
+                      final Node node ) throws RepositoryException {
+            this.parent = parent;
+            this.name = node.getName();
+            this.segment = this.name + OPEN_SQUARE_BRACKET + node.getIndex() + CLOSE_SQUARE_BRACKET;
+            this.primaryType = node.getPrimaryNodeType().getName();
+
+            for ( final NodeType mixin : node.getMixinNodeTypes() ) {
+                this.mixins.add( mixin.getName() );
+            }
+        }
+
+        /**
+         * @return <code>true</code> if the node has the captured primary type and mixins
+         */
+        boolean sameTypes( final Node node ) throws RepositoryException {
+            if ( !this.primaryType.equals( node.getPrimaryNodeType().getName() ) ) {
+                return false;
+            }
+
+            final Set< String > nodeMixins = new HashSet<>();
+
+            for ( final NodeType mixin : node.getMixinNodeTypes() ) {
+                nodeMixins.add( mixin.getName() );
+            }
+
+            return nodeMixins.equals( new HashSet<>( this.mixins ) );
+        }
+    }
+
+    /**
+     * The output of one sequencer execution.
+     */
+    static class Result {
+
+        private final List< CapturedNode > nodes = new ArrayList<>();
+
+        private final List< String > outputMixins = new ArrayList<>();
+
+        private final List< CapturedProperty > outputProperties = new ArrayList<>();
+
+        int size() {
+            return this.nodes.size() + 1;
+        }
+
+        /**
+         * Creates the captured tree below the output node.
+         *
+         * @param outputNode
+         *        the node the sequencer output is added to (cannot be <code>null</code>)
+         * @throws RepositoryException
+         *         if an error occurs
+         */
+        void materialize( final Node outputNode ) throws RepositoryException {
+            final ValueFactory factory = outputNode.getSession().getValueFactory();
+            final Node[] created = new Node[ this.nodes.size() ];
+
+            for ( int i = 0; i < created.length; ++i ) {
+                final CapturedNode captured = this.nodes.get( i );
+                final Node parent = ( captured.parent < 0 ) ? outputNode : created[ captured.parent ];
+
+                // nodes auto-created along with their parent already exist
+                final Node node = parent.hasNode( captured.segment ) ? parent.getNode( captured.segment )
+                                                                     : parent.addNode( captured.name, captured.primaryType );
+
+                for ( final String mixin : captured.mixins ) {
+                    node.addMixin( mixin );
+                }
+
+                created[ i ] = node;
+            }
+
+            // set once all nodes exist so references into the tree can be resolved
+            for ( int i = 0; i < created.length; ++i ) {
+                for ( final CapturedProperty property : this.nodes.get( i ).properties ) {
+                    property.apply( created[ i ], outputNode, factory );
+                }
+            }
+
+            for ( final String mixin : this.outputMixins ) {
+                outputNode.addMixin( mixin );
+            }
+
+            for ( final CapturedProperty property : this.outputProperties ) {
+                property.apply( outputNode, outputNode, factory );
+            }
+        }
+
+        /**
+         * Brings the existing sequencer output below the output node into line with the captured tree. An existing node
+         * with the name and types of a captured node keeps its identifier and only has its properties updated. Other
+         * existing nodes are removed and the missing ones created. Nodes created below the output by another sequencer
+         * are left alone.
+         *
+         * @param outputNode
+         *        the node the sequencer output is added to (cannot be <code>null</code>)
+         * @param namespace
+         *        the namespace of the node types the sequencer creates directly below the output node (cannot be empty)
+         * @param foreignNamespace
+         *        the namespace of the node types another sequencer creates within the output (cannot be empty)
+         * @return <code>true</code> if anything was changed
+         * @throws RepositoryException
+         *         if an error occurs
+         */
+        boolean patch( final Node outputNode,
+                       final String namespace,
+                       final String foreignNamespace ) throws RepositoryException {
+            final ValueFactory factory = outputNode.getSession().getValueFactory();
+            final Node[] targets = new Node[ this.nodes.size() ];
+            final Map< String, Node > located = new HashMap<>();
+            final List< List< Integer > > children = new ArrayList<>();
+
+            for ( int i = 0; i <= targets.length; ++i ) {
+                children.add( new ArrayList< Integer >() );
+            }
+
+            for ( int i = 0; i < targets.length; ++i ) {
+                children.get( this.nodes.get( i ).parent + 1 ).add( i );
+            }
+
+            boolean changed = patchChildren( outputNode, -1, children, targets, namespace, foreignNamespace );
+
+            // the relative paths of the captured nodes, for resolving references once all nodes exist
+            final String[] paths = new String[ targets.length ];
+
+            for ( int i = 0; i < targets.length; ++i ) {
+                final CapturedNode captured = this.nodes.get( i );
+                paths[ i ] = ( captured.parent < 0 ) ? captured.segment : ( paths[ captured.parent ] + FORWARD_SLASH + captured.segment );
+                located.put( paths[ i ], targets[ i ] );
+            }
+
+            located.put( DOT, outputNode );
+
+            for ( int i = 0; i < targets.length; ++i ) {
+                final Set< String > names = new HashSet<>();
+
+                for ( final CapturedProperty property : this.nodes.get( i ).properties ) {
+                    names.add( property.name );
+                    changed |= property.patch( targets[ i ], outputNode, located, factory );
+                }
+
+                final List< Property > obsolete = new ArrayList<>();
+                final PropertyIterator itr = targets[ i ].getProperties();
+
+                while ( itr.hasNext() ) {
+                    final Property property = itr.nextProperty();
+
+                    if ( !names.contains( property.getName() ) && !property.getDefinition().isProtected() ) {
+                        obsolete.add( property );
+                    }
+                }
+
+                for ( final Property property : obsolete ) {
+                    property.remove();
+                    changed = true;
+                }
+            }
+
+            for ( final String mixin : this.outputMixins ) {
+                if ( !outputNode.isNodeType( mixin ) ) {
+                    outputNode.addMixin( mixin );
+                    changed = true;
+                }
+            }
+
+            for ( final CapturedProperty property : this.outputProperties ) {
+                changed |= property.patch( outputNode, outputNode, located, factory );
+            }
+
+            return changed;
+        }
+
+        private boolean patchChildren( final Node parent,
+                                       final int parentIndex,
+                                       final List< List< Integer > > children,
+                                       final Node[] targets,
+                                       final String namespace,
+                                       final String foreignNamespace ) throws RepositoryException {
+            boolean changed = false;
+
+            // the existing nodes that belong to the sequencer output, by name in document order
+            final Map< String, LinkedList< Node > > existing = new HashMap<>();
+            final NodeIterator itr = parent.getNodes();
+
+            while ( itr.hasNext() ) {
+                final Node child = itr.nextNode();
+                final boolean owned = ( parentIndex < 0 ) ? RepositoryUtils.hasTypeNamespace( child, namespace )
+                                                          : !RepositoryUtils.hasTypeNamespace( child, foreignNamespace );
+
+                if ( owned ) {
+                    existing.computeIfAbsent( child.getName(), name -> new LinkedList<>() ).add( child );
+                }
+            }
+
+            final List< String > order = new ArrayList<>();
+
+            for ( final int index : children.get( parentIndex + 1 ) ) {
+                final CapturedNode captured = this.nodes.get( index );
+                final LinkedList< Node > candidates = existing.get( captured.name );
+                Node node = ( candidates == null ) ? null : candidates.poll();
+
+                if ( ( node != null ) && !captured.sameTypes( node ) ) {
+                    node.remove();
+                    node = null;
+                }
+
+                if ( node == null ) {
+                    node = parent.addNode( captured.name, captured.primaryType );
+
+                    for ( final String mixin : captured.mixins ) {
+                        node.addMixin( mixin );
+                    }
+
+                    changed = true;
+                }
+
+                targets[ index ] = node;
+                order.add( node.getIdentifier() );
+                changed |= patchChildren( node, index, children, targets, namespace, foreignNamespace );
+            }
+
+            for ( final LinkedList< Node > unmatched : existing.values() ) {
+                for ( final Node node : unmatched ) {
+                    node.remove();
+                    changed = true;
+                }
+            }
+
+            if ( ( order.size() > 1 ) && parent.getPrimaryNodeType().hasOrderableChildNodes() ) {
+                changed |= reorder( parent, order );
+            }
+
+            return changed;
+        }
+
+        /**
+         * @return <code>true</code> if the children with the identifiers had to be reordered
+         */
+        private static boolean reorder( final Node parent,
+                                        final List< String > order ) throws RepositoryException {
+            final Set< String > ordered = new HashSet<>( order );
+            final List< String > current = new ArrayList<>();
+            final NodeIterator itr = parent.getNodes();
+
+            while ( itr.hasNext() ) {
+                final String id = itr.nextNode().getIdentifier();
+
+                if ( ordered.contains( id ) ) {
+                    current.add( id );
+                }
+            }
+
+            if ( current.equals( order ) ) {
+                return false;
+            }
+
+            final Session session = parent.getSession();
+
+            for ( final String id : order ) {
+                final Node child = session.getNodeByIdentifier( id );
+                parent.orderBefore( child.getName() + OPEN_SQUARE_BRACKET + child.getIndex() + CLOSE_SQUARE_BRACKET, null );
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * The mixins and property names of an output node before it is sequenced
+     */
+    static class OutputState {
+
+        private final Set< String > mixins = new HashSet<>();
+
+        private final Set< String > properties = new HashSet<>();
+
+        OutputState( final Node outputNode ) throws RepositoryException {
+            for ( final NodeType mixin : outputNode.getMixinNodeTypes() ) {
+                this.mixins.add( mixin.getName() );
+            }
+
+            final PropertyIterator itr = outputNode.getProperties();
+
+            while ( itr.hasNext() ) {
+                this.properties.add( itr.nextProperty().getName() );
+            }
+        }
+    }
+
+    /**
+     * @param sequencerType
+     *        the type of sequencer (cannot be <code>null</code>)
+     * @return the namespace of the node types created by the sequencer or <code>null</code> if its output is not cached
+     */
+    static String outputNamespace( final SequencerType sequencerType ) {
+        switch ( sequencerType ) {
+            case DDL:
+                return TeiidDdlLexicon.Namespace.PREFIX;
+            case TSQL:
+                return TeiidSqlLexicon.Namespace.PREFIX;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param sequencerType
+     *        the type of sequencer (cannot be <code>null</code>)
+     * @param property
+     *        the property being sequenced (cannot be <code>null</code>)
+     * @return the cache key or <code>null</code> if the output of the sequencer is not cached
+     * @throws Exception
+     *         if the content cannot be read
+     */
+    static String key( final SequencerType sequencerType,
+                       final Property property ) throws Exception {
+        if ( outputNamespace( sequencerType ) == null ) {
+            return null;
+        }
+
+        final MessageDigest digest = MessageDigest.getInstance( "SHA-256" ); //$NON-NLS-1$
+        final Binary binary = property.getBinary();
+
+        try ( InputStream stream = binary.getStream() ) {
+            final byte[] buffer = new byte[ 8192 ];
+            int read;
+
+            while ( ( read = stream.read( buffer ) ) != -1 ) {
+                digest.update( buffer, 0, read );
+            }
+        } finally {
+            binary.dispose();
+        }
+
+        final StringBuilder key = new StringBuilder( sequencerType.name() ).append( COLON )
+                                                                           .append( DefaultMetadataInstance.metadataVersion() )
+                                                                           .append( COLON );
+
+        for ( final byte b : digest.digest() ) {
+            key.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Captures the nodes and properties added by the sequencer.
+     *
+     * @param sequencerType
+     *        the type of sequencer that has been executed (cannot be <code>null</code>)
+     * @param outputNode
+     *        the output node after the sequencer has been executed (cannot be <code>null</code>)
+     * @param before
+     *        the state of the output node before the sequencer was executed (cannot be <code>null</code>)
+     * @return the captured result or <code>null</code> if the output cannot be captured
+     * @throws RepositoryException
+     *         if an error occurs
+     */
+    static Result capture( final SequencerType sequencerType,
+                           final Node outputNode,
+                           final OutputState before ) throws RepositoryException {
+        final String namespace = outputNamespace( sequencerType );
+
+        if ( namespace == null ) {
+            return null;
+        }
+
+        final Result result = new Result();
+        final String outputPrefix = outputNode.getPath() + FORWARD_SLASH;
+        final Session session = outputNode.getSession();
+
+        for ( final NodeType mixin : outputNode.getMixinNodeTypes() ) {
+            if ( !before.mixins.contains( mixin.getName() ) ) {
+                result.outputMixins.add( mixin.getName() );
+            }
+        }
+
+        final PropertyIterator props = outputNode.getProperties();
+
+        while ( props.hasNext() ) {
+            final Property property = props.nextProperty();
+
+            if ( !before.properties.contains( property.getName() ) ) {
+                if ( !capture( property, result.outputProperties, outputPrefix, session ) ) {
+                    return null;
+                }
+            }
+        }
+
+        final NodeIterator children = outputNode.getNodes();
+
+        while ( children.hasNext() ) {
+            final Node child = children.nextNode();
+
+            if ( RepositoryUtils.hasTypeNamespace( child, namespace ) && !capture( child, -1, result, outputPrefix, session ) ) {
+                return null;
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean capture( final Node node,
+                                    final int parent,
+                                    final Result result,
+                                    final String outputPrefix,
+                                    final Session session ) throws RepositoryException {
+        final CapturedNode captured = new CapturedNode( parent, node );
+        final int index = result.nodes.size();
+        result.nodes.add( captured );
+
+        final PropertyIterator props = node.getProperties();
+
+        while ( props.hasNext() ) {
+            if ( !capture( props.nextProperty(), captured.properties, outputPrefix, session ) ) {
+                return false;
+            }
+        }
+
+        final NodeIterator children = node.getNodes();
+
+        while ( children.hasNext() ) {
+            if ( !capture( children.nextNode(), index, result, outputPrefix, session ) ) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean capture( final Property property,
+                                    final List< CapturedProperty > properties,
+                                    final String outputPrefix,
+                                    final Session session ) throws RepositoryException {
+        if ( property.getDefinition().isProtected() ) {
+            return true;
+        }
+
+        final int type = property.getType();
+
+        if ( type == PropertyType.BINARY ) {
+            return false; // not worth holding in memory
+        }
+
+        final boolean multiple = property.isMultiple();
+        final Value[] values = multiple ? property.getValues() : new Value[] { property.getValue() };
+        final CapturedProperty captured = new CapturedProperty( property.getName(), type, multiple, values.length );
+
+        for ( int i = 0; i < values.length; ++i ) {
+            String value = values[ i ].getString();
+
+            if ( isRelocatable( type ) ) {
+                final String path = ( type == PropertyType.PATH ) ? value : session.getNodeByIdentifier( value ).getPath();
+
+                if ( path.startsWith( outputPrefix ) ) {
+                    value = path.substring( outputPrefix.length() );
+                    captured.relative[ i ] = true;
+                } else if ( outputPrefix.equals( path + FORWARD_SLASH ) ) {
+                    value = DOT;
+                    captured.relative[ i ] = true;
+                }
+            }
+
+            captured.values[ i ] = value;
+        }
+
+        properties.add( captured );
+        return true;
+    }
+
+    private final int maxNodes;
+
+    private final LinkedHashMap< String, Result > results = new LinkedHashMap<>( 16, 0.75f, true );
+
+    private int nodes;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxNodes
+     *        the maximum number of captured nodes held by the cache
+     */
+    public SequencerResultCache( final int maxNodes ) {
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * @param key
+     *        the key of the sequenced content (cannot be <code>null</code>)
+     * @return the cached result or <code>null</code> if not cached
+     */
+    synchronized Result get( final String key ) {
+        final Result result = this.results.get( key );
+
+        if ( result == null ) {
+            this.misses.incrementAndGet();
+        } else {
+            this.hits.incrementAndGet();
+        }
+
+        return result;
+    }
+
+    /**
+     * @param key
+     *        the key of the sequenced content (cannot be <code>null</code>)
+     * @param result
+     *        the captured result (cannot be <code>null</code>)
+     */
+    synchronized void put( final String key,
+                           final Result result ) {
+        if ( result.size() > this.maxNodes ) {
+            LOGGER.debug( "SequencerResultCache: result of {0} nodes is too large to cache", result.size() ); //$NON-NLS-1$
+            return;
+        }
+
+        final Result previous = this.results.put( key, result );
+
+        if ( previous != null ) {
+            this.nodes -= previous.size();
+        }
+
+        this.nodes += result.size();
+
+        final Iterator< Map.Entry< String, Result > > itr = this.results.entrySet().iterator();
+
+        while ( ( this.nodes > this.maxNodes ) && itr.hasNext() ) {
+            final Map.Entry< String, Result > eldest = itr.next();
+            this.nodes -= eldest.getValue().size();
+            itr.remove();
+            this.evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * @param key
+     *        the key of the sequenced content whose result is discarded (cannot be <code>null</code>)
+     */
+    synchronized void remove( final String key ) {
+        final Result previous = this.results.remove( key );
+
+        if ( previous != null ) {
+            this.nodes -= previous.size();
+        }
+    }
+
+    /**
+     * Discards all the cached results.
+     */
+    public synchronized void clear() {
+        this.results.clear();
+        this.nodes = 0;
+    }
+
+    /**
+     * @return the number of cached results
+     */
+    public synchronized int size() {
+        return this.results.size();
+    }
+
+    /**
+     * @return the number of sequencer executions answered from the cache
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the number of sequencer executions that were not cached
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * @return the number of results evicted to keep within the bound
+     */
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * @return the fraction of cacheable sequencer executions answered from the cache
+     */
+    public double getHitRate() {
+        final long hitCount = getHits();
+        final long total = hitCount + getMisses();
+        return ( total == 0 ) ? 0 : ( ( double )hitCount / total );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format( "SequencerResultCache [results=%d, nodes=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.2f]", //$NON-NLS-1$
+                              this.results.size(), this.nodes, this.maxNodes, getHits(), getMisses(), getEvictions(),
+                              getHitRate() );
+    }
+}
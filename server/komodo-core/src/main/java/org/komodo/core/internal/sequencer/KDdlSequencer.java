@@ -37,14 +37,15 @@ import org.teiid.modeshape.sequencer.ddl.node.AstNodeFactory;
 
 /**
  * Subclass that only allows the Teiid DDL dialect, avoiding confusion with other DDL parsers.
+ * <p>
+ * The parsers hold the state of the statements being parsed so, since models are sequenced concurrently,
+ * a new parser is created for every execution rather than being shared.
  */
 public class KDdlSequencer extends TeiidDdlSequencer {
 
-    private final DdlParser teiidParser = new TeiidDdlParser();
-
     @Override
     protected List<DdlParser> getParserList() {
-        return Collections.singletonList(teiidParser);
+        return Collections.singletonList(new TeiidDdlParser());
     }
 
     @Override
@@ -61,6 +62,7 @@ public class KDdlSequencer extends TeiidDdlSequencer {
             final AstNode tempNode = nodeFactory.node(StandardDdlLexicon.STATEMENTS_CONTAINER);
             Binary ddlContent = inputProperty.getBinary();
 
+            DdlParser teiidParser = new TeiidDdlParser();
             try (InputStream stream = ddlContent.getStream()) {
                 teiidParser.parse(IoUtil.read(stream), tempNode, null);
             } catch (ParsingException e) {
@@ -0,0 +1,762 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * An append-only journal of the changes committed to the repository. Every change is given a sequence number and the
+ * changes saved together share a commit number, so a client can ask for the changes made since the last one it saw
+ * rather than reading the repository again.
+ * <p>
+ * When created with a file each commit is appended, one change per line, and forced to disk before the commit is
+ * acknowledged. The most recent changes are also held in memory, older changes are read back from the file. Once the
+ * file holds twice the number of changes it retains it is compacted to the most recent of them.
+ */
+public class ChangeJournal implements StringConstants {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private static final char FIELD_SEPARATOR = '\t';
+
+    /**
+     * The kind of change made to a node
+     */
+    public enum Operation {
+
+        /**
+         * The node was added
+         */
+        ADDED,
+
+        /**
+         * The node was removed along with its descendants
+         */
+        REMOVED,
+
+        /**
+         * The node and its descendants were moved from the previous path
+         */
+        MOVED,
+
+        /**
+         * The properties or the order of the children of the node were changed
+         */
+        MODIFIED
+    }
+
+    /**
+     * A committed change
+     */
+    public static final class Change {
+
+        private final long sequence;
+
+        private final long commit;
+
+        private final long timestamp;
+
+        private final Operation operation;
+
+        private final String path;
+
+        private final String previousPath;
+
+        private final String type;
+
+        private final String user;
+
+        Change( final long sequence,
+                final long commit,
+                final long timestamp,
+                final Operation operation,
+                final String path,
+                final String previousPath,
+                final String type,
+                final String user ) {
+            this.sequence = sequence;
+            this.commit = commit;
+            this.timestamp = timestamp;
+            this.operation = operation;
+            this.path = path;
+            this.previousPath = previousPath;
+            this.type = type;
+            this.user = user;
+        }
+
+        /**
+         * @return the sequence number of the change, unique and increasing in the order changes were committed
+         */
+        public long getSequence() {
+            return this.sequence;
+        }
+
+        /**
+         * @return the number of the commit the change was saved by
+         */
+        public long getCommit() {
+            return this.commit;
+        }
+
+        /**
+         * @return the time the change was journaled in milliseconds since the epoch
+         */
+        public long getTimestamp() {
+            return this.timestamp;
+        }
+
+        /**
+         * @return the operation (never <code>null</code>)
+         */
+        public Operation getOperation() {
+            return this.operation;
+        }
+
+        /**
+         * @return the path of the changed node (never empty)
+         */
+        public String getPath() {
+            return this.path;
+        }
+
+        /**
+         * @return the path the node was moved from or <code>null</code> if it was not moved
+         */
+        public String getPreviousPath() {
+            return this.previousPath;
+        }
+
+        /**
+         * @return the primary type of the changed node or <code>null</code> if not known
+         */
+        public String getType() {
+            return this.type;
+        }
+
+        /**
+         * @return the user whose workspace or profile holds the node, otherwise the user of the committing session
+         */
+        public String getUser() {
+            return this.user;
+        }
+
+        boolean isWithin( final String parentPath ) {
+            return isWithin( this.path, parentPath ) || ( ( this.previousPath != null ) && isWithin( this.previousPath, parentPath ) );
+        }
+
+        private static boolean isWithin( final String path,
+                                         final String parentPath ) {
+            return path.equals( parentPath ) || path.startsWith( parentPath + FORWARD_SLASH );
+        }
+
+        String encode() {
+            return new StringBuilder().append( this.sequence ).append( FIELD_SEPARATOR )
+                                      .append( this.commit ).append( FIELD_SEPARATOR )
+                                      .append( this.timestamp ).append( FIELD_SEPARATOR )
+                                      .append( this.operation.name() ).append( FIELD_SEPARATOR )
+                                      .append( escape( this.path ) ).append( FIELD_SEPARATOR )
+                                      .append( escape( this.previousPath ) ).append( FIELD_SEPARATOR )
+                                      .append( escape( this.type ) ).append( FIELD_SEPARATOR )
+                                      .append( escape( this.user ) ).toString();
+        }
+
+        /**
+         * @return the change or <code>null</code> if the line is not a complete change
+         */
+        static Change decode( final String line ) {
+            final String[] fields = line.split( String.valueOf( FIELD_SEPARATOR ), -1 );
+
+            if ( fields.length != 8 ) {
+                return null;
+            }
+
+            try {
+                return new Change( Long.parseLong( fields[ 0 ] ), Long.parseLong( fields[ 1 ] ), Long.parseLong( fields[ 2 ] ),
+                                   Operation.valueOf( fields[ 3 ] ), unescape( fields[ 4 ] ), unescape( fields[ 5 ] ),
+                                   unescape( fields[ 6 ] ), unescape( fields[ 7 ] ) );
+            } catch ( final IllegalArgumentException e ) {
+                return null;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            return "Change [sequence=" + this.sequence + ", commit=" + this.commit + ", operation=" + this.operation //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                   + ", path=" + this.path + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    /**
+     * The changes found after a sequence number
+     */
+    public static final class Changes {
+
+        private final List< Change > changes;
+
+        private final long oldestSequence;
+
+        private final long lastSequence;
+
+        private final boolean missingChanges;
+
+        Changes( final List< Change > changes,
+                 final long oldestSequence,
+                 final long lastSequence,
+                 final boolean missingChanges ) {
+            this.changes = changes;
+            this.oldestSequence = oldestSequence;
+            this.lastSequence = lastSequence;
+            this.missingChanges = missingChanges;
+        }
+
+        /**
+         * @return the changes in sequence order, empty if changes are missing (never <code>null</code>)
+         */
+        public List< Change > getChanges() {
+            return this.changes;
+        }
+
+        /**
+         * @return the sequence number of the oldest change the journal retains
+         */
+        public long getOldestSequence() {
+            return this.oldestSequence;
+        }
+
+        /**
+         * @return the sequence number of the last change in the journal when the changes were found
+         */
+        public long getLastSequence() {
+            return this.lastSequence;
+        }
+
+        /**
+         * @return <code>true</code> if changes made after the sequence number are no longer retained, or the journal does
+         *         not know the sequence number, so the changes cannot be followed on from it
+         */
+        public boolean isMissingChanges() {
+            return this.missingChanges;
+        }
+    }
+
+    /**
+     * The changes of one commit, collected before being appended to the journal
+     */
+    public static final class Batch {
+
+        /**
+         * The changes yet to be given their sequence and commit numbers
+         */
+        private final List< Change > changes = new ArrayList<>();
+
+        private final Set< String > addedOrModified = new HashSet<>();
+
+        /**
+         * @param operation
+         *        the operation (cannot be <code>null</code>)
+         * @param path
+         *        the path of the changed node (cannot be empty)
+         * @param previousPath
+         *        the path the node was moved from (can be <code>null</code>)
+         * @param type
+         *        the primary type of the node (can be <code>null</code>)
+         * @param sessionUser
+         *        the user of the committing session (can be <code>null</code>)
+         */
+        public void add( final Operation operation,
+                         final String path,
+                         final String previousPath,
+                         final String type,
+                         final String sessionUser ) {
+            ArgCheck.isNotNull( operation, "operation" ); //$NON-NLS-1$
+            ArgCheck.isNotEmpty( path, "path" ); //$NON-NLS-1$
+
+            switch ( operation ) {
+                case ADDED:
+                    this.addedOrModified.add( path );
+                    break;
+                case MODIFIED:
+                    // a node added or already modified by this commit is reported once
+                    if ( !this.addedOrModified.add( path ) ) {
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            this.changes.add( new Change( 0, 0, 0, operation, path, previousPath, type, owner( path, sessionUser ) ) );
+        }
+
+        /**
+         * @return <code>true</code> if no changes have been added
+         */
+        public boolean isEmpty() {
+            return this.changes.isEmpty();
+        }
+    }
+
+    /**
+     * @return the user whose workspace or profile holds the path, otherwise the session user
+     */
+    static String owner( final String path,
+                         final String sessionUser ) {
+        if ( path.startsWith( RepositoryImpl.SEARCHES_ROOT ) ) {
+            return sessionUser;
+        }
+
+        for ( final String root : new String[] { RepositoryImpl.komodoWorkspacePath( null ), RepositoryImpl.PROFILES_ROOT } ) {
+            final String prefix = root + FORWARD_SLASH;
+
+            if ( path.startsWith( prefix ) ) {
+                final int end = path.indexOf( FORWARD_SLASH, prefix.length() );
+                return ( end == -1 ) ? path.substring( prefix.length() ) : path.substring( prefix.length(), end );
+            }
+        }
+
+        return sessionUser;
+    }
+
+    private static String escape( final String value ) {
+        if ( value == null ) {
+            return EMPTY_STRING;
+        }
+
+        final StringBuilder builder = new StringBuilder( value.length() );
+
+        for ( int i = 0; i < value.length(); ++i ) {
+            final char c = value.charAt( i );
+
+            switch ( c ) {
+                case '\\':
+                    builder.append( "\\\\" ); //$NON-NLS-1$
+                    break;
+                case '\t':
+                    builder.append( "\\t" ); //$NON-NLS-1$
+                    break;
+                case '\n':
+                    builder.append( "\\n" ); //$NON-NLS-1$
+                    break;
+                case '\r':
+                    builder.append( "\\r" ); //$NON-NLS-1$
+                    break;
+                default:
+                    builder.append( c );
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static String unescape( final String value ) {
+        if ( value.isEmpty() ) {
+            return null;
+        }
+
+        final StringBuilder builder = new StringBuilder( value.length() );
+
+        for ( int i = 0; i < value.length(); ++i ) {
+            char c = value.charAt( i );
+
+            if ( ( c == '\\' ) && ( i + 1 < value.length() ) ) {
+                switch ( value.charAt( ++i ) ) {
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    default:
+                        c = value.charAt( i );
+                }
+            }
+
+            builder.append( c );
+        }
+
+        return builder.toString();
+    }
+
+    private final File file;
+
+    private final int maxEntries;
+
+    private final int retainedEntries;
+
+    private final ArrayDeque< Change > recent = new ArrayDeque<>();
+
+    private FileOutputStream stream;
+
+    private Writer writer;
+
+    private long lastSequence;
+
+    private long lastCommit;
+
+    /**
+     * The number of changes in the file
+     */
+    private long fileEntries;
+
+    /**
+     * The sequence number of the first change in the file or 0 if it has none
+     */
+    private long oldestSequence;
+
+    /**
+     * @param file
+     *        the file the journal is appended to or <code>null</code> if the journal is only held in memory
+     * @param maxEntries
+     *        the maximum number of recent changes held in memory
+     * @param retainedEntries
+     *        the number of recent changes the file is compacted to, never fewer than those held in memory
+     * @throws IOException
+     *         if the file cannot be read or opened for appending
+     */
+    public ChangeJournal( final File file,
+                          final int maxEntries,
+                          final int retainedEntries ) throws IOException {
+        this.file = file;
+        this.maxEntries = maxEntries;
+        this.retainedEntries = Math.max( maxEntries, retainedEntries );
+
+        if ( file != null ) {
+            if ( file.exists() ) {
+                try ( BufferedReader reader = Files.newBufferedReader( file.toPath(), StandardCharsets.UTF_8 ) ) {
+                    String line;
+
+                    while ( ( line = reader.readLine() ) != null ) {
+                        final Change change = Change.decode( line );
+
+                        if ( change == null ) {
+                            // a commit interrupted while being appended
+                            LOGGER.warn( "ChangeJournal: ignoring incomplete change in {0}", file ); //$NON-NLS-1$
+                            continue;
+                        }
+
+                        if ( this.oldestSequence == 0 ) {
+                            this.oldestSequence = change.sequence;
+                        }
+
+                        ++this.fileEntries;
+                        remember( change );
+                    }
+                }
+            } else if ( file.getParentFile() != null ) {
+                file.getParentFile().mkdirs();
+            }
+
+            openWriter();
+
+            if ( endsMidLine( file ) ) {
+                // start the next change on a line of its own
+                this.writer.write( NEW_LINE );
+                this.writer.flush();
+            }
+
+            if ( this.fileEntries > this.retainedEntries ) {
+                compact();
+            }
+        }
+
+        LOGGER.debug( "ChangeJournal: opened {0} at sequence {1}", file, this.lastSequence ); //$NON-NLS-1$
+    }
+
+    private static boolean endsMidLine( final File file ) throws IOException {
+        if ( file.length() == 0 ) {
+            return false;
+        }
+
+        try ( RandomAccessFile access = new RandomAccessFile( file, "r" ) ) { //$NON-NLS-1$
+            access.seek( file.length() - 1 );
+            return access.read() != NEW_LINE.charAt( 0 );
+        }
+    }
+
+    private void openWriter() throws IOException {
+        this.stream = new FileOutputStream( this.file, true );
+        this.writer = new BufferedWriter( new OutputStreamWriter( this.stream, StandardCharsets.UTF_8 ) );
+    }
+
+    /**
+     * Rewrites the file with only the retained changes, replacing the file once they are on disk so that a failure leaves
+     * the file as it was. Readers that opened the file beforehand carry on reading the changes it held.
+     */
+    private void compact() throws IOException {
+        final long keepAfter = this.lastSequence - this.retainedEntries;
+        final File compacted = new File( this.file.getPath() + ".compact" ); //$NON-NLS-1$
+        long oldest = 0;
+        long entries = 0;
+
+        this.writer.flush();
+
+        try ( BufferedReader reader = Files.newBufferedReader( this.file.toPath(), StandardCharsets.UTF_8 );
+              FileOutputStream out = new FileOutputStream( compacted );
+              Writer compactedWriter = new BufferedWriter( new OutputStreamWriter( out, StandardCharsets.UTF_8 ) ) ) {
+            String line;
+
+            while ( ( line = reader.readLine() ) != null ) {
+                final Change change = Change.decode( line );
+
+                if ( ( change == null ) || ( change.sequence <= keepAfter ) ) {
+                    continue;
+                }
+
+                if ( oldest == 0 ) {
+                    oldest = change.sequence;
+                }
+
+                compactedWriter.write( line );
+                compactedWriter.write( NEW_LINE );
+                ++entries;
+            }
+
+            compactedWriter.flush();
+            out.getChannel().force( true );
+        }
+
+        try {
+            this.writer.close();
+            Files.move( compacted.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE );
+            this.fileEntries = entries;
+            this.oldestSequence = oldest;
+        } finally {
+            openWriter();
+        }
+
+        LOGGER.debug( "ChangeJournal: compacted {0} to {1} changes from sequence {2}", this.file, entries, oldest ); //$NON-NLS-1$
+    }
+
+    private void remember( final Change change ) {
+        this.lastSequence = change.sequence;
+        this.lastCommit = change.commit;
+        this.recent.addLast( change );
+
+        while ( this.recent.size() > this.maxEntries ) {
+            this.recent.removeFirst();
+        }
+    }
+
+    /**
+     * @return a new batch for collecting the changes of a commit (never <code>null</code>)
+     */
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * Gives the changes of the batch sequence numbers and a commit number and appends them to the journal.
+     *
+     * @param batch
+     *        the changes of one commit (cannot be <code>null</code>)
+     * @return the commit number or 0 if the batch is empty
+     * @throws IOException
+     *         if the changes cannot be written to the journal file
+     */
+    public synchronized long append( final Batch batch ) throws IOException {
+        ArgCheck.isNotNull( batch, "batch" ); //$NON-NLS-1$
+
+        if ( batch.isEmpty() ) {
+            return 0;
+        }
+
+        final long commit = this.lastCommit + 1;
+        final long timestamp = System.currentTimeMillis();
+        long sequence = this.lastSequence;
+        final List< Change > changes = new ArrayList<>( batch.changes.size() );
+
+        for ( final Change pending : batch.changes ) {
+            changes.add( new Change( ++sequence, commit, timestamp, pending.operation, pending.path, pending.previousPath,
+                                     pending.type, pending.user ) );
+        }
+
+        if ( this.file != null ) {
+            if ( this.writer == null ) {
+                throw new IOException( "The change journal " + this.file + " is closed" ); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+
+            for ( final Change change : changes ) {
+                this.writer.write( change.encode() );
+                this.writer.write( NEW_LINE );
+            }
+
+            this.writer.flush();
+            this.stream.getChannel().force( false );
+
+            if ( this.oldestSequence == 0 ) {
+                this.oldestSequence = changes.get( 0 ).sequence;
+            }
+
+            this.fileEntries += changes.size();
+        }
+
+        for ( final Change change : changes ) {
+            remember( change );
+        }
+
+        if ( this.fileEntries > 2L * this.retainedEntries ) {
+            try {
+                compact();
+            } catch ( final IOException e ) {
+                // the changes have been appended so the commit is not failed, compaction is retried by the next commit
+                LOGGER.error( "ChangeJournal: failed to compact {0}", e, this.file ); //$NON-NLS-1$
+            }
+        }
+
+        return commit;
+    }
+
+    /**
+     * @param sequence
+     *        the sequence number of the last change already seen, 0 for all changes
+     * @param parentPath
+     *        the path whose changes are wanted (cannot be empty)
+     * @param limit
+     *        the maximum number of changes returned
+     * @return the changes, in sequence order, made at or below the parent path after the sequence number, or none if
+     *         some of the changes after the sequence number are no longer retained (never <code>null</code>)
+     * @throws IOException
+     *         if the older changes cannot be read from the journal file
+     */
+    public Changes since( final long sequence,
+                          final String parentPath,
+                          final int limit ) throws IOException {
+        ArgCheck.isNotEmpty( parentPath, "parentPath" ); //$NON-NLS-1$
+        final List< Change > result = new ArrayList<>();
+        final long last;
+        final long oldest;
+        final BufferedReader older;
+
+        synchronized ( this ) {
+            last = this.lastSequence;
+
+            if ( this.file == null ) {
+                oldest = this.recent.isEmpty() ? ( last + 1 ) : this.recent.getFirst().sequence;
+            } else {
+                oldest = ( this.oldestSequence == 0 ) ? ( last + 1 ) : this.oldestSequence;
+            }
+
+            if ( ( sequence + 1 < oldest ) || ( sequence > last ) ) {
+                // the client would silently miss changes, or the journal was started again since it last looked
+                return new Changes( result, oldest, last, true );
+            }
+
+            if ( sequence == last ) {
+                return new Changes( result, oldest, last, false );
+            }
+
+            if ( ( this.file == null ) || ( this.recent.getFirst().sequence <= sequence + 1 ) ) {
+                for ( final Change change : this.recent ) {
+                    if ( result.size() == limit ) {
+                        break;
+                    }
+
+                    if ( ( change.sequence > sequence ) && change.isWithin( parentPath ) ) {
+                        result.add( change );
+                    }
+                }
+
+                return new Changes( result, oldest, last, false );
+            }
+
+            // older than the changes held in memory so read from the file, which is opened while appends are held
+            // off so that every change up to the last sequence has been written to it
+            if ( this.writer != null ) {
+                this.writer.flush();
+            }
+
+            older = Files.newBufferedReader( this.file.toPath(), StandardCharsets.UTF_8 );
+        }
+
+        // the file is read without holding off the commits appending to the journal
+        try ( BufferedReader reader = older ) {
+            String line;
+
+            while ( ( ( line = reader.readLine() ) != null ) && ( result.size() < limit ) ) {
+                final Change change = Change.decode( line );
+
+                if ( change == null ) {
+                    continue;
+                }
+
+                if ( change.sequence > last ) {
+                    // appended after the changes were asked for
+                    break;
+                }
+
+                if ( ( change.sequence > sequence ) && change.isWithin( parentPath ) ) {
+                    result.add( change );
+                }
+            }
+        }
+
+        return new Changes( result, oldest, last, false );
+    }
+
+    /**
+     * @return the sequence number of the last change or 0 if there are none
+     */
+    public synchronized long getLastSequence() {
+        return this.lastSequence;
+    }
+
+    /**
+     * Closes the journal file. Changes can no longer be appended.
+     */
+    public synchronized void close() {
+        if ( this.writer == null ) {
+            return;
+        }
+
+        try {
+            this.writer.close();
+        } catch ( final IOException e ) {
+            LOGGER.error( "ChangeJournal: failed to close {0}", e, this.file ); //$NON-NLS-1$
+        } finally {
+            this.writer = null;
+            this.stream = null;
+        }
+    }
+}
@@ -17,13 +17,21 @@
  */
 package org.komodo.core.repository;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.lexicon.datavirt.DataVirtLexicon;
+import org.komodo.spi.lexicon.ddl.DdlConstants;
 import org.komodo.spi.lexicon.ddl.StandardDdlLexicon;
+import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlConstants;
 import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlLexicon;
 import org.komodo.spi.lexicon.sql.teiid.TeiidSqlLexicon;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
@@ -87,6 +95,88 @@ public class KomodoTypeRegistry implements StringConstants {
         }
     }
 
+    /**
+     * The komodo type resolved from the primary type and mixins of a node. Some combinations of node types are shared
+     * by more than one komodo type, in which case the node itself must be consulted.
+     */
+    public static class TypeResolution {
+
+        /**
+         * What, other than its node types, the komodo type of a node depends on.
+         */
+        public enum Dependency {
+
+            /**
+             * The node types are enough to determine the komodo type.
+             */
+            NONE,
+
+            /**
+             * The node is a DDL statements container if named {@link StandardDdlLexicon#STATEMENTS_CONTAINER}.
+             */
+            NAME,
+
+            /**
+             * The komodo type is determined by the {@link TeiidDdlLexicon.Constraint#TYPE constraint type} property.
+             */
+            CONSTRAINT_TYPE
+        }
+
+        private final KomodoType kType;
+
+        private final Dependency dependency;
+
+        TypeResolution(KomodoType kType, Dependency dependency) {
+            this.kType = kType;
+            this.dependency = dependency;
+        }
+
+        /**
+         * @return the komodo type, or the type to use when the node does not satisfy its dependency (never <code>null</code>)
+         */
+        public KomodoType getKomodoType() {
+            return kType;
+        }
+
+        /**
+         * @return what else the komodo type depends on (never <code>null</code>)
+         */
+        public Dependency getDependency() {
+            return dependency;
+        }
+
+        /**
+         * @param nodeName
+         *        the name of the node (can be <code>null</code> if {@link #getDependency()} is not {@link Dependency#NAME})
+         * @param constraintType
+         *        the value of the constraint type property of the node (can be <code>null</code>)
+         * @return the komodo type of the node (never <code>null</code>)
+         */
+        public KomodoType resolve(String nodeName, String constraintType) {
+            switch (dependency) {
+                case NAME:
+                    return StandardDdlLexicon.STATEMENTS_CONTAINER.equals(nodeName) ? KomodoType.DDL_SCHEMA : kType;
+                case CONSTRAINT_TYPE:
+                    if (constraintType == null)
+                        return kType;
+                    if (TeiidDdlConstants.TeiidNonReservedWord.ACCESSPATTERN.toDdl().equals(constraintType))
+                        return KomodoType.ACCESS_PATTERN;
+                    if (DdlConstants.PRIMARY_KEY.equals(constraintType))
+                        return KomodoType.PRIMARY_KEY;
+                    if (TeiidDdlConstants.TeiidReservedWord.UNIQUE.toDdl().equals(constraintType))
+                        return KomodoType.UNIQUE_CONSTRAINT;
+                    return KomodoType.COLUMN;
+                default:
+                    return kType;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "TypeResolution [kType=" + this.kType + ", dependency=" + this.dependency + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+    }
+
     private class KTypeAdapter implements KeyFromValueAdapter<KomodoType, TypeIdentifier> {
         @Override
         public KomodoType getKey(TypeIdentifier value) {
@@ -109,6 +199,16 @@ public class KomodoTypeRegistry implements StringConstants {
     private KeyInValueMap<KomodoType, TypeIdentifier> kTypeIndex =
                     new KeyInValueMap<>(new KTypeAdapter());
 
+    /*
+     * Lexicon type -> type identifiers, built once by the constructor
+     */
+    private final Map<String, Set<TypeIdentifier>> lexiconIndex = new HashMap<>();
+
+    /*
+     * Primary type and mixins -> type resolution, filled in as combinations of node types are encountered
+     */
+    private final ConcurrentMap<String, TypeResolution> resolutions = new ConcurrentHashMap<>();
+
     private KomodoTypeRegistry() {
 
         index(KomodoType.ACCESS_PATTERN, TeiidDdlLexicon.Constraint.TABLE_ELEMENT);
@@ -209,6 +309,14 @@ public class KomodoTypeRegistry implements StringConstants {
     private void index(KomodoType kType, String lexiconType) {
         TypeIdentifier identifier = new TypeIdentifier(kType, lexiconType);
         kTypeIndex.add(identifier);
+
+        Set<TypeIdentifier> identifiers = lexiconIndex.get(lexiconType);
+        if (identifiers == null) {
+            identifiers = new LinkedHashSet<>();
+            lexiconIndex.put(lexiconType, identifiers);
+        }
+
+        identifiers.add(identifier);
     }
 
     /**
@@ -228,13 +336,12 @@ public class KomodoTypeRegistry implements StringConstants {
             return Collections.emptySet();
 
         Set<TypeIdentifier> identifiers = new HashSet<>();
-        for (TypeIdentifier identifier : kTypeIndex.values()) {
-            if (identifier.getLexiconType().equals(lexiconType))
-                identifiers.add(identifier);
-        }
+        Set<TypeIdentifier> indexed = lexiconIndex.get(lexiconType);
 
-        if (! identifiers.isEmpty())
+        if (indexed != null) {
+            identifiers.addAll(indexed);
             return identifiers;
+        }
 
         //
         // We want to return TSQL for Teiid SQL nodes
@@ -263,4 +370,93 @@ public class KomodoTypeRegistry implements StringConstants {
 
         return identifiers;
     }
+
+    /**
+     * Resolutions are computed once per combination of node types and then shared.
+     *
+     * @param primaryType
+     *        the name of the primary type of a node (cannot be empty)
+     * @param mixins
+     *        the names of the mixins of the node (can be <code>null</code> or empty)
+     * @return the resolution of the komodo type of nodes with the given node types (never <code>null</code>)
+     */
+    public TypeResolution resolve(String primaryType, String... mixins) {
+        ArgCheck.isNotEmpty(primaryType, "primaryType"); //$NON-NLS-1$
+
+        String key = primaryType;
+        if (mixins != null && mixins.length > 0) {
+            String[] sorted = mixins.clone();
+            Arrays.sort(sorted);
+            StringBuilder builder = new StringBuilder(primaryType);
+            for (String mixin : sorted) {
+                builder.append(COMMA).append(mixin);
+            }
+            key = builder.toString();
+        }
+
+        TypeResolution resolution = resolutions.get(key);
+        if (resolution == null) {
+            resolution = createResolution(primaryType, mixins);
+            TypeResolution existing = resolutions.putIfAbsent(key, resolution);
+            if (existing != null)
+                resolution = existing;
+        }
+
+        return resolution;
+    }
+
+    private TypeResolution createResolution(String primaryType, String... mixins) {
+        Set<TypeIdentifier> identifiers = new LinkedHashSet<>(getIdentifiers(primaryType));
+        if (mixins != null) {
+            for (String mixin : mixins) {
+                identifiers.addAll(getIdentifiers(mixin));
+            }
+        }
+
+        if (identifiers.isEmpty()) {
+            // No identifiers but could be DDL Statements container
+            return new TypeResolution(KomodoType.UNKNOWN, TypeResolution.Dependency.NAME);
+        }
+
+        if (identifiers.size() == 1)
+            return new TypeResolution(identifiers.iterator().next().getKomodoType(), TypeResolution.Dependency.NONE);
+
+        // Multiple identifiers all with the same lexiconType
+        String lexiconType = identifiers.iterator().next().getLexiconType();
+
+        if (TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT.equals(lexiconType)) {
+            /*
+             * TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT
+             *
+             * * STORED_PROCEDURE
+             * * VIRTUAL_PROCEDURE
+             */
+
+            // If identifiers contains virtual procedure then its one of those,
+            // otherwise its a stored procedure.
+            KomodoType kType = KomodoType.STORED_PROCEDURE;
+            for (TypeIdentifier identifier : identifiers) {
+                if (KomodoType.VIRTUAL_PROCEDURE.equals(identifier.getKomodoType())) {
+                    kType = KomodoType.VIRTUAL_PROCEDURE;
+                    break;
+                }
+            }
+
+            return new TypeResolution(kType, TypeResolution.Dependency.NONE);
+        }
+
+        if (TeiidDdlLexicon.Constraint.TABLE_ELEMENT.equals(lexiconType)) {
+            /*
+             * TeiidDdlLexicon.Constraint.TABLE_ELEMENT
+             *
+             * * ACCESS_PATTERN
+             * * COLUMN
+             * * PRIMARY_KEY
+             * * UNIQUE_CONSTRAINT
+             */
+            return new TypeResolution(KomodoType.UNKNOWN, TypeResolution.Dependency.CONSTRAINT_TYPE);
+        }
+
+        return new TypeResolution(KomodoType.UNKNOWN, TypeResolution.Dependency.NONE);
+    }
 }
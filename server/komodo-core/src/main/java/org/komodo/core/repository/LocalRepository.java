@@ -19,6 +19,7 @@ package org.komodo.core.repository;
 
 import java.net.URL;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.WeakHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -171,6 +172,24 @@ public class LocalRepository extends RepositoryImpl {
         return engine.getQueryManager();
     }
 
+    @Override
+    public WorkspaceTypeIndex getTypeIndex() {
+        final RepoEngine repoEngine = this.engine;
+        return ( repoEngine instanceof JcrEngine ) ? ( ( JcrEngine )repoEngine ).getTypeIndex() : null;
+    }
+
+    @Override
+    public ChangeJournal getChangeJournal() {
+        final RepoEngine repoEngine = this.engine;
+        return ( repoEngine instanceof JcrEngine ) ? ( ( JcrEngine )repoEngine ).getChangeJournal() : null;
+    }
+
+    @Override
+    public List<? extends RepoEngine.CommitLane> getCommitLanes() {
+        final RepoEngine repoEngine = this.engine;
+        return ( repoEngine == null ) ? super.getCommitLanes() : repoEngine.getCommitLanes();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -274,7 +293,12 @@ public class LocalRepository extends RepositoryImpl {
                                          final UnitOfWorkListener callback, String repoUser) throws KException {
         ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
         LOGGER.debug("creating transaction {0} with rollbackOnly = {1}", name, rollbackOnly); //$NON-NLS-1$
-        final UnitOfWorkDelegate session = createSession();
+
+        //
+        // Read-only transactions can never be saved so obtain their session directly
+        // rather than queueing behind commits on the engine thread
+        //
+        final UnitOfWorkDelegate session = rollbackOnly ? this.engine.createReadOnlySession() : createSession();
         final UnitOfWork uow = new LocalRepositoryTransaction(userName, name, session, rollbackOnly, callback, repoUser);
         this.sessions.put(session, uow);
         return uow;
@@ -327,6 +351,8 @@ public class LocalRepository extends RepositoryImpl {
                             } else {
                                 getCallback().errorOccurred( error );
                             }
+
+                            complete( error );
                         }
 
                         /**
@@ -343,6 +369,8 @@ public class LocalRepository extends RepositoryImpl {
                                 getCallback().respond( null );
                             } else
                                 KLog.getLogger().debug(LocalRepositoryTransaction.class.getName() + ": No callback specified"); //$NON-NLS-1$
+
+                            complete( null );
                         }
 
                     }
@@ -352,7 +380,8 @@ public class LocalRepository extends RepositoryImpl {
                     JcrEngine.SessionRequest request = new JcrEngine.SessionRequest( RepoEngine.RequestType.COMMIT_SESSION,
                                                                                                         callback,
                                                                                                         getSession(),
-                                                                                                        getName() );
+                                                                                                        getName(),
+                                                                                                        komodoWorkspacePath( this ) );
                     KLog.getLogger().debug("LocalRepository.LocalRepositoryTransaction.commit() post commit request for session: {0}",  //$NON-NLS-1$
                                            getSession().hashCode());
                     LocalRepository.this.engine.accept( request );
@@ -367,6 +396,15 @@ public class LocalRepository extends RepositoryImpl {
          */
         @Override
         public void rollback() {
+            if (isRollbackOnly()) {
+                //
+                // Read-only sessions are not owned by the engine thread and have nothing
+                // to be ordered against commits so can be rolled back on this thread
+                //
+                super.rollback();
+                return;
+            }
+
             if (this.state != State.NOT_STARTED) {
                 this.error = new KException( Messages.getString( Messages.Komodo.ERROR_TRANSACTION_FINISHED,
                                                                  this.name,
@@ -394,6 +432,8 @@ public class LocalRepository extends RepositoryImpl {
                     } else {
                         getCallback().errorOccurred( error );
                     }
+
+                    complete( error );
                 }
 
                 /**
@@ -408,6 +448,8 @@ public class LocalRepository extends RepositoryImpl {
                     if (getCallback() != null) {
                         getCallback().respond( null );
                     }
+
+                    complete( null );
                 }
 
             }
@@ -423,7 +465,8 @@ public class LocalRepository extends RepositoryImpl {
                 LocalRepository.this.engine.accept( new JcrEngine.SessionRequest( RepoEngine.RequestType.ROLLBACK_SESSION,
                                                                                                     callback,
                                                                                                     getSession(),
-                                                                                                    getName() ) );
+                                                                                                    getName(),
+                                                                                                    komodoWorkspacePath( this ) ) );
             }
         }
 
@@ -493,6 +536,8 @@ public class LocalRepository extends RepositoryImpl {
     }
 
     private void stopRepository() {
+        disposeValidationManager();
+
         RepoEngine.RequestCallback callback = new RepoEngine.RequestCallback() {
 
             /**
@@ -588,6 +633,7 @@ public class LocalRepository extends RepositoryImpl {
              */
             @Override
             public void respond( final Object results ) {
+                discardCompiledRules();
                 KEvent<Repository> event = new KEvent<Repository>(LocalRepository.this, KEvent.Type.REPOSITORY_CLEARED);
                 notifyObservers(event);
             }
@@ -21,17 +21,10 @@ package org.komodo.core.repository;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import org.komodo.core.repository.KomodoTypeRegistry.TypeIdentifier;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.lexicon.LexiconConstants.NTLexicon;
-import org.komodo.spi.lexicon.ddl.DdlConstants;
-import org.komodo.spi.lexicon.ddl.StandardDdlLexicon;
-import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlConstants;
-import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlLexicon;
 import org.komodo.spi.repository.Descriptor;
 import org.komodo.spi.repository.KObjectFactory;
 import org.komodo.spi.repository.KPropertyFactory;
@@ -831,79 +824,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         provision(transaction, OperationType.READ_OPERATION);
 
-        List<Descriptor> descriptors = new ArrayList<Descriptor>();
-
-        descriptors.add(getPrimaryType(transaction));
-        descriptors.addAll(Arrays.asList(getDescriptors(transaction)));
-
-        KomodoTypeRegistry registry  = KomodoTypeRegistry.getInstance();
-        Set<TypeIdentifier> identifiers = new HashSet<>();
-        for (Descriptor descriptor : descriptors) {
-            String name = descriptor.getName();
-            identifiers.addAll(registry.getIdentifiers(name));
-        }
-
-        KomodoType result = KomodoType.UNKNOWN;
-        if (identifiers.isEmpty()) {
-            // No identifiers but could be DDL Statements container
-            String nodeName = getName(transaction);
-            if (StandardDdlLexicon.STATEMENTS_CONTAINER.equals(nodeName))
-                result = KomodoType.DDL_SCHEMA;
-
-        } else if( identifiers.size() == 1 ) {
-            result = identifiers.iterator().next().getKomodoType();
-        } else {
-
-            // Multiple identifiers all with the same lexiconType
-            String lexiconType = identifiers.iterator().next().getLexiconType();
-
-            if (TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT.equals(lexiconType)) {
-                /*
-                 * TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT
-                 *
-                 * * STORED_PROCEDURE
-                 * * VIRTUAL_PROCEDURE
-                 */
-
-                // If identifiers contains virtual procedure then its one of those,
-                // otherwise its a stored procedure.
-                result = KomodoType.STORED_PROCEDURE;
-                for (TypeIdentifier identifier : identifiers) {
-                    if (KomodoType.VIRTUAL_PROCEDURE.equals(identifier.getKomodoType())) {
-                        result = KomodoType.VIRTUAL_PROCEDURE;
-                        break;
-                    }
-                }
-
-            } else if (TeiidDdlLexicon.Constraint.TABLE_ELEMENT.equals(lexiconType)) {
-                /*
-                 * TeiidDdlLexicon.Constraint.TABLE_ELEMENT
-                 *
-                 * * ACCESS_PATTERN
-                 * * COLUMN
-                 * * PRIMARY_KEY
-                 * * UNIQUE_CONSTRAINT
-                 */
-                String accessPatternConstraint = TeiidDdlConstants.TeiidNonReservedWord.ACCESSPATTERN.toDdl();
-                String primaryKeyConstraint = DdlConstants.PRIMARY_KEY;
-                String uniqueConstraint = TeiidDdlConstants.TeiidReservedWord.UNIQUE.toDdl();
-
-                Property constProperty = getRawProperty(transaction, TeiidDdlLexicon.Constraint.TYPE);
-                if (constProperty != null) {
-                    String constType = constProperty.getStringValue(transaction);
-                    if (accessPatternConstraint.equals(constType))
-                        result = KomodoType.ACCESS_PATTERN;
-                    else if (primaryKeyConstraint.equals(constType))
-                        result = KomodoType.PRIMARY_KEY;
-                    else if (uniqueConstraint.equals(constType))
-                        result = KomodoType.UNIQUE_CONSTRAINT;
-                    else
-                        result = KomodoType.COLUMN;
-                }
-            }
-        }
-
-        return result;
+        return getObjectFactory().getTypeIdentifier(transaction, this);
     }
 
     /**
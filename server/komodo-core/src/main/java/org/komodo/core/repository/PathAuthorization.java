@@ -0,0 +1,213 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.repository.Repository.OperationType;
+import org.komodo.utils.ArgCheck;
+
+/**
+ * The operations a transaction may perform on the repository paths, held as a trie of path segments so a path is
+ * authorized by a single walk of its segments without accessing the repository. Instances are immutable and are
+ * created with a {@link Builder}.
+ */
+public final class PathAuthorization implements StringConstants {
+
+    private static final char SEPARATOR = FORWARD_SLASH.charAt( 0 );
+
+    /**
+     * Matches any segment that has no node of its own
+     */
+    private static final String ANY_SEGMENT = "*"; //$NON-NLS-1$
+
+    private static int bit( final OperationType operationType ) {
+        return 1 << operationType.ordinal();
+    }
+
+    private static int bits( final OperationType... operationTypes ) {
+        int bits = 0;
+
+        for ( final OperationType operationType : operationTypes ) {
+            bits |= bit( operationType );
+        }
+
+        return bits;
+    }
+
+    private static class Segment {
+
+        private final Map< String, Segment > children = new HashMap<>();
+
+        private Segment any;
+
+        /**
+         * The operations allowed on the path of this segment
+         */
+        private int self;
+
+        /**
+         * The operations allowed on the descendants of this segment
+         */
+        private int below;
+
+        Segment child( final String name ) {
+            if ( ANY_SEGMENT.equals( name ) ) {
+                if ( this.any == null ) {
+                    this.any = new Segment();
+                }
+
+                return this.any;
+            }
+
+            return this.children.computeIfAbsent( name, key -> new Segment() );
+        }
+    }
+
+    /**
+     * Creates a {@link PathAuthorization}. A builder should not be used once it has built its authorization.
+     */
+    public static class Builder {
+
+        private final Segment root = new Segment();
+
+        private Segment segment( final String path ) {
+            ArgCheck.isNotNull( path, "path" ); //$NON-NLS-1$
+            Segment segment = this.root;
+
+            for ( final String name : path.split( FORWARD_SLASH ) ) {
+                if ( !name.isEmpty() ) {
+                    segment = segment.child( name );
+                }
+            }
+
+            return segment;
+        }
+
+        /**
+         * @param path
+         *        the path, a segment of which may be <code>*</code> to match any segment (cannot be <code>null</code>)
+         * @param operationTypes
+         *        the operations allowed on the path itself
+         * @return this builder
+         */
+        public Builder allow( final String path,
+                              final OperationType... operationTypes ) {
+            segment( path ).self |= bits( operationTypes );
+            return this;
+        }
+
+        /**
+         * @param path
+         *        the path, a segment of which may be <code>*</code> to match any segment (cannot be <code>null</code>)
+         * @param operationTypes
+         *        the operations allowed on the descendants of the path
+         * @return this builder
+         */
+        public Builder allowBelow( final String path,
+                                   final OperationType... operationTypes ) {
+            segment( path ).below |= bits( operationTypes );
+            return this;
+        }
+
+        /**
+         * @param path
+         *        the path, a segment of which may be <code>*</code> to match any segment (cannot be <code>null</code>)
+         * @param operationTypes
+         *        the operations allowed on the path and its descendants
+         * @return this builder
+         */
+        public Builder allowWithin( final String path,
+                                    final OperationType... operationTypes ) {
+            return allow( path, operationTypes ).allowBelow( path, operationTypes );
+        }
+
+        /**
+         * @return the authorization (never <code>null</code>)
+         */
+        public PathAuthorization build() {
+            return new PathAuthorization( this.root );
+        }
+    }
+
+    private final Segment root;
+
+    private PathAuthorization( final Segment root ) {
+        this.root = root;
+    }
+
+    /**
+     * @param path
+     *        the path of a repository node (can be <code>null</code>)
+     * @param operationType
+     *        the operation to be performed on the node (cannot be <code>null</code>)
+     * @return <code>true</code> if the operation is allowed
+     */
+    public boolean isAllowed( final String path,
+                              final OperationType operationType ) {
+        if ( path == null ) {
+            return false;
+        }
+
+        final int operation = bit( operationType );
+        final int length = path.length();
+        Segment segment = this.root;
+        int wildcardSelf = 0;
+        int start = 0;
+
+        while ( true ) {
+            while ( ( start < length ) && ( path.charAt( start ) == SEPARATOR ) ) {
+                ++start;
+            }
+
+            if ( start == length ) {
+                break;
+            }
+
+            if ( ( segment.below & operation ) != 0 ) {
+                return true;
+            }
+
+            int end = path.indexOf( SEPARATOR, start );
+
+            if ( end == -1 ) {
+                end = length;
+            }
+
+            Segment next = segment.children.get( path.substring( start, end ) );
+
+            if ( next == null ) {
+                next = segment.any;
+                wildcardSelf = 0;
+            } else {
+                // the operations allowed on a wildcard sibling also apply to a segment with a node of its own
+                wildcardSelf = ( segment.any == null ) ? 0 : segment.any.self;
+            }
+
+            if ( next == null ) {
+                return false;
+            }
+
+            segment = next;
+            start = end;
+        }
+
+        return ( ( segment.self | wildcardSelf ) & operation ) != 0;
+    }
+}
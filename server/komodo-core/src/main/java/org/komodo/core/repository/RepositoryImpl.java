@@ -20,9 +20,13 @@ package org.komodo.core.repository;
 import static org.komodo.core.repository.Messages.Komodo.ERROR_REPO_HAS_CHANGES;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import org.komodo.core.KEngine;
 import org.komodo.core.KomodoLexicon;
@@ -46,6 +50,7 @@ import org.komodo.spi.repository.KPropertyFactory;
 import org.komodo.spi.repository.UnitOfWorkDelegate;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.RepoEngine;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.RepositoryClientEvent;
 import org.komodo.spi.repository.RepositoryObserver;
@@ -189,6 +194,10 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         protected UnitOfWorkDelegate uowDelegate;
         protected State state = State.NOT_STARTED;
         protected String repositoryUser;
+        protected final CompletableFuture< UnitOfWork > completion = new CompletableFuture<>();
+        protected boolean validationRulesChanged;
+        protected PathAuthorization authorization;
+        protected boolean workspaceProvisioned;
 
         /**
          * @param userName
@@ -225,6 +234,46 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             return uowDelegate;
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.UnitOfWork#commitAsync()
+         */
+        @Override
+        public CompletionStage< UnitOfWork > commitAsync() {
+            if (this.state != State.NOT_STARTED) {
+                final CompletableFuture< UnitOfWork > finished = new CompletableFuture<>();
+                finished.completeExceptionally( new KException( Messages.getString( Messages.Komodo.ERROR_TRANSACTION_FINISHED,
+                                                                                    this.name,
+                                                                                    this.state ) ) );
+                return finished;
+            }
+
+            commit();
+            return this.completion;
+        }
+
+        /**
+         * @return <code>true</code> if this transaction has added, changed, or removed validation rules
+         */
+        public boolean hasValidationRuleChanges() {
+            return this.validationRulesChanged;
+        }
+
+        /**
+         * Completes the stage returned by {@link #commitAsync()}. Should be called after the callback has been notified.
+         *
+         * @param e
+         *        the error that occurred or <code>null</code> if the transaction completed successfully
+         */
+        protected void complete( final Throwable e ) {
+            if (e == null) {
+                this.completion.complete( this );
+            } else {
+                this.completion.completeExceptionally( e );
+            }
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -249,6 +298,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                         if (this.uowDelegate == null) {
                             this.state = State.ERROR;
                             this.error = new KException( Messages.getString( Messages.Komodo.ERROR_SESSION_IS_CLOSED, this.name ) );
+                            complete( this.error );
                         } else {
                             this.uowDelegate.save();
 
@@ -258,6 +308,8 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                             if (this.callback != null) {
                                 this.callback.respond( this );
                             }
+
+                            complete( null );
                         }
                     } catch (final Exception e) {
                         this.state = State.ERROR;
@@ -270,6 +322,8 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                         } else {
                             this.callback.errorOccurred( e );
                         }
+
+                        complete( this.error );
                     } finally {
                         if (uowDelegate.isLive()) this.uowDelegate.complete();
                         this.uowDelegate = null;
@@ -388,6 +442,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                     if (this.uowDelegate == null) {
                         this.state = State.ERROR;
                         this.error = new KException( Messages.getString( Messages.Komodo.ERROR_SESSION_IS_CLOSED, this.name ) );
+                        complete( this.error );
                     } else {
                         this.uowDelegate.refresh( false );
                         this.state = State.ROLLED_BACK;
@@ -396,6 +451,8 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                         if (this.callback != null) {
                             this.callback.respond( null );
                         }
+
+                        complete( null );
                     }
                 } catch (final Exception e) {
                     this.state = State.ERROR;
@@ -406,6 +463,8 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                     } else {
                         this.callback.errorOccurred( e );
                     }
+
+                    complete( this.error );
                 } finally {
                     if (uowDelegate.isLive()) this.uowDelegate.complete();
                     this.uowDelegate = null;
@@ -596,6 +655,29 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
     protected abstract KQueryManager getQueryManager();
 
+    /**
+     * @return the index of the workspace objects by primary type or <code>null</code> if this repository does not
+     *         maintain one
+     */
+    public WorkspaceTypeIndex getTypeIndex() {
+        return null;
+    }
+
+    /**
+     * @return the journal of the committed changes or <code>null</code> if this repository does not keep one
+     */
+    public ChangeJournal getChangeJournal() {
+        return null;
+    }
+
+    /**
+     * @return the commit lanes of the engine with their queue depth and latency metrics (never <code>null</code>
+     *         but empty if this repository does not process commits in lanes)
+     */
+    public List<? extends RepoEngine.CommitLane> getCommitLanes() {
+        return Collections.emptyList();
+    }
+
     public void registerKEngine(KEngine engine) {
     	this.kEngine = engine;
     }
@@ -624,8 +706,8 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
      * @throws KException if an error occurs
      */
     protected void provision(UnitOfWork transaction, String nodePath, OperationType operationType) throws KException {
-        String userWksp = komodoWorkspacePath(transaction);
-        String userProfile = komodoProfilePath(transaction);
+        if (operationType != OperationType.READ_OPERATION && nodePath != null && nodePath.startsWith(VALIDATION_ROOT))
+            validationRulesChanged(transaction);
 
         if (isSystemTx(transaction))
             return; // System can do what it wishes
@@ -634,96 +716,126 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
          * Ensures that a user workspace is always available so truly dynamic
          * and guarantees that the user space is available to the current tx.
          */
-        komodoWorkspace(transaction);
-
-        switch (operationType) {
-            case READ_OPERATION:
-                if (isReservedPath(nodePath)) {
-                  /*
-                   * Reserved paths can be read but not written to
-                   * allowing for absolute paths to be broken down into segments
-                   * and each segment read, eg. DefaultLabelProvider.getPath();
-                   *
-                   * However, this does not mean that these paths will return anything
-                   * useful, eg. property descriptors, as individual API methods may stop
-                   * their reading.
-                   */
-                  return;
-                }
-
-                if (nodePath.startsWith(VALIDATION_ROOT))
-                    return; // Read the group of validation rules
-
-                if (nodePath.startsWith(LIBRARY_ROOT))
-                    return; // Read the contents of the library
+        if (transaction instanceof UnitOfWorkImpl) {
+            UnitOfWorkImpl uow = (UnitOfWorkImpl)transaction;
 
-                if(nodePath.startsWith(userWksp))
-                    return; // Read the contents of the user's workspace
+            if (!uow.workspaceProvisioned) {
+                komodoWorkspace(transaction);
+                uow.workspaceProvisioned = true;
+            }
+        } else
+            komodoWorkspace(transaction);
 
-                if (nodePath.startsWith(userProfile)) {
-                    return; // Read the contents of the user's profile
-                }
+        if (authorization(transaction).isAllowed(nodePath, operationType))
+            return;
 
-                if (nodePath.startsWith(SEARCHES_ROOT))
-                    return; // Read the contents of the searches
+        String messageKey;
+        switch (operationType) {
+            case READ_OPERATION:
+                messageKey = Messages.Komodo.READ_NOT_ALLOWED;
+                break;
+            case CHILD_OPERATION:
+                messageKey = Messages.Komodo.ADD_REMOVE_CHILD_NOT_ALLOWED;
+                break;
+            case MODIFY_OPERATION:
+                messageKey = Messages.Komodo.SET_PROPERTY_NOT_ALLOWED;
+                break;
+            default:
+                messageKey = Messages.Komodo.REMOVE_NOT_ALLOWED;
+                break;
+        }
 
-                throw new KException(Messages.getString(
-                                                        Messages.Komodo.READ_NOT_ALLOWED,
-                                                        nodePath, transaction.getUserName() ));
+        throw new KException(Messages.getString(messageKey, nodePath, transaction.getUserName()));
+    }
 
-            case CHILD_OPERATION:
-                if (nodePath.startsWith(VALIDATION_ROOT))
-                    return; // Add/Remove validation rules from both the validation root and its children
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code>)
+     * @return the authorization of the transaction, created on first use when the transaction is a {@link UnitOfWorkImpl}
+     */
+    private static PathAuthorization authorization(UnitOfWork transaction) {
+        if (!(transaction instanceof UnitOfWorkImpl))
+            return createAuthorization(transaction);
 
-                // Only system can add/remove library objects through the check-in/out framework
+        UnitOfWorkImpl uow = (UnitOfWorkImpl)transaction;
+        if (uow.authorization == null)
+            uow.authorization = createAuthorization(transaction);
 
-                if (nodePath.startsWith(userWksp))
-                    return; // Add/Remove children in the user's workspace
+        return uow.authorization;
+    }
 
-                if (nodePath.startsWith(userProfile))
-                    return; // Add/Remove children in the user's profile
+    /**
+     * @param transaction
+     *        the transaction of a user other than the system user (cannot be <code>null</code>)
+     * @return the operations the user of the transaction may perform
+     */
+    static PathAuthorization createAuthorization(UnitOfWork transaction) {
+        String userWksp = komodoWorkspacePath(transaction);
+        String userProfile = komodoProfilePath(transaction);
 
-                if (nodePath.startsWith(SEARCHES_ROOT))
-                    return; // Add/Remove searches from the searches location
+        PathAuthorization.Builder builder = new PathAuthorization.Builder();
 
-                throw new KException(Messages.getString(
-                                                        Messages.Komodo.ADD_REMOVE_CHILD_NOT_ALLOWED,
-                                                        nodePath, transaction.getUserName() ));
+        /*
+         * Reserved paths can be read but not written to
+         * allowing for absolute paths to be broken down into segments
+         * and each segment read, eg. DefaultLabelProvider.getPath();
+         *
+         * However, this does not mean that these paths will return anything
+         * useful, eg. property descriptors, as individual API methods may stop
+         * their reading.
+         */
+        for (String reserved : new String[] { REPO_ROOT, KOMODO_ROOT, LIBRARY_ROOT, ENV_ROOT, SEARCHES_ROOT, VALIDATION_ROOT,
+                                              PROFILES_ROOT, WORKSPACE_ROOT, WORKSPACE_ROOT + FORWARD_SLASH + "*" }) { //$NON-NLS-1$
+            builder.allow(reserved, OperationType.READ_OPERATION);
+        }
 
-            case MODIFY_OPERATION:
-                if (nodePath.startsWith(VALIDATION_ROOT) && ! VALIDATION_ROOT.equals(nodePath))
-                    return; // Can modify validation rules
+        // Read the contents of the library
+        // Only system can add/remove library objects through the check-in/out framework
+        builder.allowWithin(LIBRARY_ROOT, OperationType.READ_OPERATION);
 
-                if(nodePath.startsWith(userWksp) && ! userWksp.equals(nodePath))
-                    return; // Can modify contents of workspace
+        // Read and add/remove validation rules from both the validation root and its children but only modify or remove the rules
+        // Likewise for the contents of the user's workspace and profile
+        for (String root : new String[] { VALIDATION_ROOT, userWksp, userProfile }) {
+            builder.allowWithin(root, OperationType.READ_OPERATION, OperationType.CHILD_OPERATION)
+                   .allowBelow(root, OperationType.MODIFY_OPERATION, OperationType.REMOVE_OPERATION);
+        }
 
-                if(nodePath.startsWith(userProfile) && ! userProfile.equals(nodePath))
-                    return; // Can modify contents of user profile
+        // Anything can be done with searches in the searches location
+        builder.allowWithin(SEARCHES_ROOT, OperationType.values());
 
-                if (nodePath.startsWith(SEARCHES_ROOT))
-                    return; // Can modify searches in the search location
+        return builder.build();
+    }
 
-                throw new KException(Messages.getString(
-                                                             Messages.Komodo.SET_PROPERTY_NOT_ALLOWED,
-                                                             nodePath, transaction.getUserName() ));
+    private void validationRulesChanged(UnitOfWork transaction) {
+        if (transaction instanceof UnitOfWorkImpl) {
+            UnitOfWorkImpl uow = (UnitOfWorkImpl)transaction;
 
-            case REMOVE_OPERATION:
-                if (nodePath.startsWith(VALIDATION_ROOT) && ! VALIDATION_ROOT.equals(nodePath))
-                    return; // Can remove validation rules
+            if (!uow.validationRulesChanged) {
+                uow.validationRulesChanged = true;
 
-                if(nodePath.startsWith(userWksp) && ! userWksp.equals(nodePath))
-                    return; // Can remove contents of workspace
+                // other transactions only see the changes once this one completes
+                uow.completion.whenComplete((result, error) -> discardCompiledRules());
+            }
+        }
 
-                if(nodePath.startsWith(userProfile) && ! userProfile.equals(nodePath))
-                    return; // Can remove contents of user profile
+        discardCompiledRules();
+    }
 
-                if (nodePath.startsWith(SEARCHES_ROOT))
-                    return; // Can remove searches in the search location
+    /**
+     * Discards the compiled validation rules. Must be called when the validation rules are changed without going through
+     * {@link #provision(UnitOfWork, String, OperationType)} (i.e., when the repository is cleared).
+     */
+    protected void discardCompiledRules() {
+        if (this.validationMgr instanceof ValidationManagerImpl)
+            ((ValidationManagerImpl)this.validationMgr).rulesChanged();
+    }
 
-                throw new KException(Messages.getString(
-                                                        Messages.Komodo.REMOVE_NOT_ALLOWED,
-                                                        nodePath, transaction.getUserName() ));
-        }
+    /**
+     * Shuts down the threads of the validation manager. Must be called when the repository is stopped.
+     */
+    protected void disposeValidationManager() {
+        if (this.validationMgr instanceof ValidationManagerImpl)
+            ((ValidationManagerImpl)this.validationMgr).dispose();
     }
 
     @Override
@@ -881,6 +993,71 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#query(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String, long,
+     *      long)
+     */
+    @Override
+    public Iterator< KomodoObject > query( final UnitOfWork transaction,
+                                           final String queryStatement,
+                                           final long offset,
+                                           final long limit ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
+        "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty(queryStatement, "Query statement cannot be empty"); //$NON-NLS-1$
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("find: transaction = {0}, query = {1}, offset = {2}, limit = {3}", //$NON-NLS-1$
+                         transaction.getName(),
+                         queryStatement,
+                         offset,
+                         limit);
+        }
+
+        try {
+            return getQueryManager().execute(transaction, this, queryStatement, offset, limit);
+        } catch (final Exception e) {
+            if (e instanceof KException) {
+                throw (KException)e;
+            }
+
+            throw new KException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#count(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String)
+     */
+    @Override
+    public long count( final UnitOfWork transaction,
+                       final String queryStatement ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
+        "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty(queryStatement, "Query statement cannot be empty"); //$NON-NLS-1$
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("count: transaction = {0}, query = {1}", //$NON-NLS-1$
+                         transaction.getName(),
+                         queryStatement);
+        }
+
+        try {
+            return getQueryManager().count(transaction, this, queryStatement);
+        } catch (final Exception e) {
+            if (e instanceof KException) {
+                throw (KException)e;
+            }
+
+            throw new KException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
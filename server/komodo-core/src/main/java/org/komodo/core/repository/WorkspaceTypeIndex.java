@@ -0,0 +1,364 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * An index of the paths of the objects in each user workspace keyed by their primary type.
+ * <p>
+ * A type is only indexed for a workspace once it has been primed with the result of a query. From then on the index is
+ * maintained from the node added, removed and moved events of committed sessions so, once a commit has been
+ * acknowledged, the index reflects it. A <code>null</code> lookup result means the type is not indexed and the caller
+ * should query the repository.
+ */
+public class WorkspaceTypeIndex implements StringConstants {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * Orders paths segment by segment, as the repository orders by path, so a subtree is a contiguous range.
+     */
+    static final Comparator< String > PATH_ORDER = new Comparator< String >() {
+
+        @Override
+        public int compare( final String path1,
+                            final String path2 ) {
+            final int length = Math.min( path1.length(), path2.length() );
+
+            for ( int i = 0; i < length; ++i ) {
+                final char c1 = path1.charAt( i );
+                final char c2 = path2.charAt( i );
+
+                if ( c1 != c2 ) {
+                    if ( c1 == '/' ) {
+                        return -1;
+                    }
+
+                    if ( c2 == '/' ) {
+                        return 1;
+                    }
+
+                    return c1 - c2;
+                }
+            }
+
+            return path1.length() - path2.length();
+        }
+    };
+
+    /**
+     * The indexed types of one workspace. Writers synchronize on the instance, readers use the concurrent sets directly.
+     */
+    private static class Workspace {
+
+        private final String prefix;
+
+        private final Map< String, NavigableSet< String > > types = new ConcurrentHashMap<>();
+
+        /**
+         * Incremented for every event within the workspace so a query racing with a commit is not used to prime the index
+         */
+        private volatile long version;
+
+        Workspace( final String path ) {
+            this.prefix = path + FORWARD_SLASH;
+        }
+
+        boolean contains( final String nodePath ) {
+            return nodePath.startsWith( this.prefix );
+        }
+    }
+
+    private final Map< String, Workspace > workspaces = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param workspacePath
+     *        the path of the workspace (cannot be empty)
+     * @param type
+     *        the primary type of the objects (cannot be empty)
+     * @param parentPath
+     *        the path whose descendants are being found (cannot be empty)
+     * @return the paths, in path order, of the objects below the parent path with the primary type or <code>null</code>
+     *         if the type has not been indexed for the workspace
+     */
+    public List< String > find( final String workspacePath,
+                                final String type,
+                                final String parentPath ) {
+        ArgCheck.isNotEmpty( workspacePath, "workspacePath" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( type, "type" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( parentPath, "parentPath" ); //$NON-NLS-1$
+
+        final Workspace workspace = this.workspaces.get( workspacePath );
+        final NavigableSet< String > paths = ( workspace == null ) ? null : workspace.types.get( type );
+
+        if ( paths == null ) {
+            this.misses.incrementAndGet();
+            return null;
+        }
+
+        this.hits.incrementAndGet();
+
+        if ( workspacePath.equals( parentPath ) ) {
+            return new ArrayList<>( paths );
+        }
+
+        final String parentPrefix = parentPath + FORWARD_SLASH;
+        final List< String > result = new ArrayList<>();
+
+        for ( final String path : paths.tailSet( parentPath, false ) ) {
+            if ( !path.startsWith( parentPrefix ) ) {
+                break;
+            }
+
+            result.add( path );
+        }
+
+        return result;
+    }
+
+    /**
+     * @param workspacePath
+     *        the path of the workspace (cannot be empty)
+     * @return the version to pass to {@link #prime(String, String, Collection, long)} when the priming query has completed
+     */
+    public long version( final String workspacePath ) {
+        ArgCheck.isNotEmpty( workspacePath, "workspacePath" ); //$NON-NLS-1$
+        return this.workspaces.computeIfAbsent( workspacePath, Workspace::new ).version;
+    }
+
+    /**
+     * Starts indexing a type of a workspace. The paths are ignored if the workspace has changed since the version was
+     * obtained, as the query may have missed the change.
+     *
+     * @param workspacePath
+     *        the path of the workspace (cannot be empty)
+     * @param type
+     *        the primary type of the objects (cannot be empty)
+     * @param paths
+     *        the paths of all the objects in the workspace with the primary type (cannot be <code>null</code>)
+     * @param version
+     *        the workspace version obtained before querying the paths
+     * @return <code>true</code> if the type is now indexed
+     */
+    public boolean prime( final String workspacePath,
+                          final String type,
+                          final Collection< String > paths,
+                          final long version ) {
+        ArgCheck.isNotEmpty( workspacePath, "workspacePath" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( type, "type" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( paths, "paths" ); //$NON-NLS-1$
+
+        final Workspace workspace = this.workspaces.computeIfAbsent( workspacePath, Workspace::new );
+
+        synchronized ( workspace ) {
+            if ( workspace.version != version ) {
+                LOGGER.debug( "WorkspaceTypeIndex: not priming {0} of {1} as the workspace changed", type, workspacePath ); //$NON-NLS-1$
+                return false;
+            }
+
+            final NavigableSet< String > indexed = new ConcurrentSkipListSet<>( PATH_ORDER );
+            indexed.addAll( paths );
+            workspace.types.put( type, indexed );
+        }
+
+        LOGGER.debug( "WorkspaceTypeIndex: primed {0} of {1} with {2} paths", type, workspacePath, paths.size() ); //$NON-NLS-1$
+        return true;
+    }
+
+    /**
+     * @param path
+     *        the path of the added node (cannot be empty)
+     * @param primaryType
+     *        the primary type of the added node (cannot be empty)
+     */
+    public void nodeAdded( final String path,
+                           final String primaryType ) {
+        for ( final Workspace workspace : this.workspaces.values() ) {
+            if ( !workspace.contains( path ) ) {
+                continue;
+            }
+
+            synchronized ( workspace ) {
+                ++workspace.version;
+
+                final NavigableSet< String > paths = workspace.types.get( primaryType );
+
+                if ( paths != null ) {
+                    paths.add( path );
+                }
+            }
+        }
+    }
+
+    /**
+     * @param path
+     *        the path of the node whose primary type was changed (cannot be empty)
+     * @param primaryType
+     *        the new primary type of the node (cannot be empty)
+     */
+    public void nodeTypeChanged( final String path,
+                                 final String primaryType ) {
+        for ( final Workspace workspace : this.workspaces.values() ) {
+            if ( !workspace.contains( path ) ) {
+                continue;
+            }
+
+            synchronized ( workspace ) {
+                ++workspace.version;
+
+                for ( final Map.Entry< String, NavigableSet< String > > entry : workspace.types.entrySet() ) {
+                    if ( entry.getKey().equals( primaryType ) ) {
+                        entry.getValue().add( path );
+                    } else {
+                        entry.getValue().remove( path );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param path
+     *        the path of the removed node whose descendants have also been removed (cannot be empty)
+     */
+    public void nodeRemoved( final String path ) {
+        for ( final Workspace workspace : this.workspaces.values() ) {
+            if ( !workspace.contains( path ) ) {
+                continue;
+            }
+
+            synchronized ( workspace ) {
+                ++workspace.version;
+
+                for ( final NavigableSet< String > paths : workspace.types.values() ) {
+                    removeSubtree( paths, path );
+                }
+            }
+        }
+    }
+
+    /**
+     * @param sourcePath
+     *        the path the node was moved from (cannot be empty)
+     * @param destinationPath
+     *        the path the node was moved to (cannot be empty)
+     */
+    public void nodeMoved( final String sourcePath,
+                           final String destinationPath ) {
+        for ( final Workspace workspace : this.workspaces.values() ) {
+            final boolean fromWorkspace = workspace.contains( sourcePath );
+            final boolean toWorkspace = workspace.contains( destinationPath );
+
+            if ( !fromWorkspace && !toWorkspace ) {
+                continue;
+            }
+
+            synchronized ( workspace ) {
+                ++workspace.version;
+
+                for ( final NavigableSet< String > paths : workspace.types.values() ) {
+                    final List< String > moved = removeSubtree( paths, sourcePath );
+
+                    if ( toWorkspace ) {
+                        for ( final String path : moved ) {
+                            paths.add( destinationPath + path.substring( sourcePath.length() ) );
+                        }
+                    }
+                }
+
+                if ( toWorkspace && !fromWorkspace ) {
+                    // the types of the nodes moved in are unknown so the index must be primed again
+                    workspace.types.clear();
+                }
+            }
+        }
+    }
+
+    private static List< String > removeSubtree( final NavigableSet< String > paths,
+                                                 final String path ) {
+        final List< String > removed = new ArrayList<>();
+        final String prefix = path + FORWARD_SLASH;
+
+        if ( paths.remove( path ) ) {
+            removed.add( path );
+        }
+
+        for ( final String descendant : paths.tailSet( path, false ) ) {
+            if ( !descendant.startsWith( prefix ) ) {
+                break;
+            }
+
+            removed.add( descendant );
+        }
+
+        paths.removeAll( removed );
+        return removed;
+    }
+
+    /**
+     * Discards all the indexed types.
+     */
+    public void clear() {
+        for ( final Workspace workspace : this.workspaces.values() ) {
+            synchronized ( workspace ) {
+                ++workspace.version;
+                workspace.types.clear();
+            }
+        }
+    }
+
+    /**
+     * @return the number of lookups answered by the index
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the number of lookups of types not indexed
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "WorkspaceTypeIndex [workspaces=" + this.workspaces.keySet() + ", hits=" + getHits() + ", misses=" + getMisses() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    }
+}
@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Pattern;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.core.repository.Messages;
 import org.komodo.core.repository.ObjectImpl;
@@ -96,6 +97,8 @@ public class RuleImpl extends ObjectImpl implements Rule {
 
     }
 
+    private final Pattern pattern;
+
     private static String getLocaleCode( final boolean includeCountry,
                                          final boolean includeVariant ) {
         final Locale locale = Locale.getDefault();
@@ -136,7 +139,30 @@ public class RuleImpl extends ObjectImpl implements Rule {
     public RuleImpl( final UnitOfWork uow,
                      final Repository repository,
                      final String path ) throws KException {
+        this( uow, repository, path, null );
+    }
+
+    /**
+     * Constructs a validation rule whose pattern has already been compiled.
+     *
+     * @param uow
+     *        the transaction (can be <code>null</code> if update should be automatically committed)
+     * @param repository
+     *        the repository where the relational object exists (cannot be <code>null</code>)
+     * @param path
+     *        the path (cannot be empty but assumed to be a path to a rule)
+     * @param pattern
+     *        the compiled value of the rule's pattern property (can be <code>null</code> if the pattern should be read from
+     *        the repository when evaluated)
+     * @throws KException
+     *         if an error occurs
+     */
+    RuleImpl( final UnitOfWork uow,
+              final Repository repository,
+              final String path,
+              final Pattern pattern ) throws KException {
         super( repository, path, 0 );
+        this.pattern = pattern;
     }
 
     /**
@@ -454,6 +480,18 @@ public class RuleImpl extends ObjectImpl implements Rule {
         return new ResultImpl( kobject.getAbsolutePath(), getName( transaction ), getSeverity( transaction ), errorMsg );
     }
     
+    private boolean matchesPattern( final UnitOfWork transaction,
+                                    final String value ) throws KException {
+        if ( this.pattern != null ) {
+            return this.pattern.matcher( value ).matches();
+        }
+
+        final Property patternProp = getProperty( transaction, KomodoLexicon.Rule.PATTERN );
+        assert ( patternProp != null );
+
+        return value.matches( patternProp.getStringValue( transaction ) );
+    }
+
     private Result evaluateNodeRule( final UnitOfWork transaction,
                                      final KomodoObject kobject,
                                      final RuleType ruleType ) throws KException {
@@ -462,12 +500,9 @@ public class RuleImpl extends ObjectImpl implements Rule {
 
         switch ( ruleType ) {
             case PATTERN: {
-                final Property patternProp = getProperty( transaction, KomodoLexicon.Rule.PATTERN );
-                assert ( patternProp != null );
-
                 final String name = kobject.getName( transaction );
 
-                if ( !name.matches( patternProp.getStringValue( transaction ) ) ) {
+                if ( !matchesPattern( transaction, name ) ) {
                     args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath() };
 
                     // Get specific message or description
@@ -531,12 +566,9 @@ public class RuleImpl extends ObjectImpl implements Rule {
         switch ( ruleType ) {
             case PATTERN: {
                 // check value against the pattern
-                final Property patternProp = getProperty( transaction, KomodoLexicon.Rule.PATTERN );
-                assert ( patternProp != null );
-
                 final String value = kobject.getProperty( transaction, propName ).getStringValue( transaction );
 
-                if ( !value.matches( patternProp.getStringValue( transaction ) ) ) {
+                if ( !matchesPattern( transaction, value ) ) {
                     args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName };
 
                     // Get specific message or description
@@ -0,0 +1,236 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.komodo.core.KomodoLexicon;
+import org.komodo.spi.KException;
+import org.komodo.spi.repository.Descriptor;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.validation.Rule;
+import org.komodo.utils.KLog;
+
+/**
+ * An immutable snapshot of the validation rules stored under the validation root. Rules are indexed by the node type they
+ * apply to so that finding the rules applicable to an object only considers the rules for its primary type and mixins.
+ * Pattern rules have their regular expression compiled once.
+ */
+final class RuleSet {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * A rule along with the parts of its definition needed to decide if it applies to an object.
+     */
+    private static final class CompiledRule {
+
+        private final int ordinal;
+        private final RuleImpl rule;
+        private final boolean enabled;
+        private final ProblemRule notEnabled;
+        private final Map< String, String > nodeRestrictions;
+
+        CompiledRule( final int ordinal,
+                      final RuleImpl rule,
+                      final String name,
+                      final boolean enabled,
+                      final Map< String, String > nodeRestrictions ) {
+            this.ordinal = ordinal;
+            this.rule = rule;
+            this.enabled = enabled;
+            this.notEnabled = enabled ? null : new ProblemRule( name, ProblemRule.Type.NOT_ENABLED );
+            this.nodeRestrictions = Collections.unmodifiableMap( nodeRestrictions );
+        }
+
+        Rule get() {
+            return this.enabled ? this.rule : this.notEnabled;
+        }
+    }
+
+    private static final Comparator< CompiledRule > BY_ORDINAL = new Comparator< CompiledRule >() {
+
+        @Override
+        public int compare( final CompiledRule thisRule,
+                            final CompiledRule thatRule ) {
+            return Integer.compare( thisRule.ordinal, thatRule.ordinal );
+        }
+    };
+
+    /**
+     * @param transaction
+     *        the transaction used to read the rules (cannot be <code>null</code>)
+     * @param repository
+     *        the repository where the rules are stored (cannot be <code>null</code>)
+     * @param validationRoot
+     *        the parent of the rules (cannot be <code>null</code>)
+     * @param version
+     *        the version of the rules being compiled
+     * @return the compiled rules (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs reading the rules
+     */
+    static RuleSet compile( final UnitOfWork transaction,
+                            final Repository repository,
+                            final KomodoObject validationRoot,
+                            final long version ) throws KException {
+        final long start = System.currentTimeMillis();
+        final List< CompiledRule > rules = new ArrayList<>();
+
+        for ( final KomodoObject kobject : validationRoot.getChildren( transaction ) ) {
+            Pattern pattern = null;
+            final Property patternProp = kobject.getProperty( transaction, KomodoLexicon.Rule.PATTERN );
+
+            if ( patternProp != null ) {
+                try {
+                    pattern = Pattern.compile( patternProp.getStringValue( transaction ) );
+                } catch ( final PatternSyntaxException e ) {
+                    // leave it to the rule to report the error when evaluated
+                }
+            }
+
+            final RuleImpl rule = new RuleImpl( transaction, repository, kobject.getAbsolutePath(), pattern );
+            rules.add( new CompiledRule( rules.size(),
+                                         rule,
+                                         rule.getName( transaction ),
+                                         rule.isEnabled( transaction ),
+                                         rule.getPropRestrictions( transaction, Rule.PropertyRestriction.NODE ) ) );
+        }
+
+        final RuleSet ruleSet = new RuleSet( transaction, rules, version );
+        LOGGER.debug( "RuleSet: compiled {0} rules (version {1}) in {2}ms", //$NON-NLS-1$
+                      rules.size(),
+                      version,
+                      System.currentTimeMillis() - start );
+        return ruleSet;
+    }
+
+    private final long version;
+    private final List< CompiledRule > rules;
+    private final Map< String, List< CompiledRule > > rulesByNodeType;
+
+    private RuleSet( final UnitOfWork transaction,
+                     final List< CompiledRule > rules,
+                     final long version ) throws KException {
+        this.version = version;
+        this.rules = Collections.unmodifiableList( rules );
+
+        final Map< String, List< CompiledRule > > index = new HashMap<>();
+
+        for ( final CompiledRule compiled : rules ) {
+            final String nodeType = compiled.rule.getNodeType( transaction );
+
+            if ( nodeType == null ) {
+                continue; // can never apply
+            }
+
+            List< CompiledRule > typeRules = index.get( nodeType );
+
+            if ( typeRules == null ) {
+                typeRules = new ArrayList<>();
+                index.put( nodeType, typeRules );
+            }
+
+            typeRules.add( compiled );
+        }
+
+        this.rulesByNodeType = index;
+    }
+
+    /**
+     * @return the version of the rules this set was compiled from
+     */
+    long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * @return all the rules, where rules that are not enabled are represented by a {@link ProblemRule} (never <code>null</code>)
+     */
+    Rule[] getAllRules() {
+        if ( this.rules.isEmpty() ) {
+            return Rule.NO_RULES;
+        }
+
+        final Rule[] result = new Rule[ this.rules.size() ];
+        int i = 0;
+
+        for ( final CompiledRule compiled : this.rules ) {
+            result[ i++ ] = compiled.get();
+        }
+
+        return result;
+    }
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code>)
+     * @param kobject
+     *        the object whose applicable rules are being requested (cannot be <code>null</code>)
+     * @return the applicable rules in the order they are stored, where rules that are not enabled are represented by a
+     *         {@link ProblemRule} (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    Rule[] getRules( final UnitOfWork transaction,
+                     final KomodoObject kobject ) throws KException {
+        List< CompiledRule > candidates = this.rulesByNodeType.get( kobject.getPrimaryType( transaction ).getName() );
+
+        for ( final Descriptor mixin : kobject.getDescriptors( transaction ) ) {
+            final List< CompiledRule > mixinRules = this.rulesByNodeType.get( mixin.getName() );
+
+            if ( mixinRules != null ) {
+                if ( candidates == null ) {
+                    candidates = mixinRules;
+                } else {
+                    final List< CompiledRule > merged = new ArrayList<>( candidates );
+                    merged.addAll( mixinRules );
+                    Collections.sort( merged, BY_ORDINAL );
+                    candidates = merged;
+                }
+            }
+        }
+
+        if ( candidates == null ) {
+            return Rule.NO_RULES;
+        }
+
+        final List< Rule > result = new ArrayList<>( candidates.size() );
+
+        for ( final CompiledRule compiled : candidates ) {
+            if ( ValidationUtils.objectPropsPassRestrictions( transaction, kobject, compiled.nodeRestrictions ) ) {
+                result.add( compiled.get() );
+            }
+        }
+
+        if ( result.isEmpty() ) {
+            return Rule.NO_RULES;
+        }
+
+        return result.toArray( new Rule[ result.size() ] );
+    }
+}
@@ -25,11 +25,19 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import org.komodo.core.Messages;
+import org.komodo.core.repository.RepositoryImpl.UnitOfWorkImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.outcome.Outcome;
+import org.komodo.spi.repository.ApplicationProperties;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
@@ -48,11 +56,134 @@ public class ValidationManagerImpl implements ValidationManager {
 
     private static final KLog LOGGER = KLog.getLogger();
 
+    /**
+     * The depth, below the object being validated, of the deepest subtrees evaluated as separate tasks (i.e., the models
+     * and tables of a VDB). Deeper subtrees are evaluated by the task of their ancestor.
+     */
+    private static final int MAX_FORK_DEPTH = 2;
+
+    /**
+     * Carries the error of a validation task out of {@link RecursiveTask#compute()}.
+     */
+    private static class ValidationTaskException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        ValidationTaskException( final KException cause ) {
+            super( cause );
+        }
+
+        @Override
+        public synchronized KException getCause() {
+            return ( KException )super.getCause();
+        }
+    }
+
+    /**
+     * Evaluates a subtree. Except for the task of the object being validated, each task uses its own read-only transaction so
+     * that subtrees can be evaluated concurrently.
+     */
+    private class EvaluationTask extends RecursiveTask< List< Result > > {
+
+        private static final long serialVersionUID = 1L;
+
+        private final UnitOfWork origin;
+        private final UnitOfWork transaction;
+        private final RuleSet rules;
+        private final KomodoObject kObject;
+        private final int depth;
+        private final ValidationStatistics statistics;
+
+        EvaluationTask( final UnitOfWork origin,
+                        final UnitOfWork transaction,
+                        final RuleSet rules,
+                        final KomodoObject kObject,
+                        final int depth,
+                        final ValidationStatistics statistics ) {
+            this.origin = origin;
+            this.transaction = transaction;
+            this.rules = rules;
+            this.kObject = kObject;
+            this.depth = depth;
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected List< Result > compute() {
+            UnitOfWork uow = this.transaction;
+
+            try {
+                if ( uow == null ) {
+                    uow = ValidationManagerImpl.this.repo.createTransaction( this.origin.getUserName(),
+                                                                             this.origin.getName() + "-validate", //$NON-NLS-1$
+                                                                             true,
+                                                                             null,
+                                                                             this.origin.getRepositoryUser() );
+                }
+
+                final List< Result > results = new ArrayList<>();
+                evaluate( uow, this.rules, this.kObject, false, results, this.statistics );
+
+                // fork the kids that have subtrees of their own and evaluate the others while those run
+                final List< Object > parts = new ArrayList<>();
+
+                for ( final KomodoObject kid : this.kObject.getChildren( uow ) ) {
+                    if ( ( this.depth < MAX_FORK_DEPTH ) && kid.hasChildren( uow ) ) {
+                        final EvaluationTask task = new EvaluationTask( this.origin,
+                                                                        null,
+                                                                        this.rules,
+                                                                        kid,
+                                                                        this.depth + 1,
+                                                                        this.statistics );
+                        task.fork();
+                        parts.add( task );
+                    } else {
+                        final List< Result > kidResults = new ArrayList<>();
+                        evaluate( uow, this.rules, kid, true, kidResults, this.statistics );
+                        parts.add( kidResults );
+                    }
+                }
+
+                // merge in the order of the kids so that results are the same as a sequential validation
+                for ( final Object part : parts ) {
+                    if ( part instanceof EvaluationTask ) {
+                        results.addAll( ( ( EvaluationTask )part ).join() );
+                    } else {
+                        @SuppressWarnings( "unchecked" )
+                        final List< Result > kidResults = ( List< Result > )part;
+                        results.addAll( kidResults );
+                    }
+                }
+
+                return results;
+            } catch ( final KException e ) {
+                throw new ValidationTaskException( e );
+            } finally {
+                if ( ( this.transaction == null ) && ( uow != null ) ) {
+                    uow.commit();
+                }
+            }
+        }
+    }
+
     private final Repository repo;
     private final String RULES_SCHEMA_FILE = "komodoValidation.xsd"; //$NON-NLS-1$
     private File rulesSchemaFile;
     private boolean defaultRulesExist = false;
     private KomodoObject validationAreaRoot;
+    private final AtomicLong rulesVersion = new AtomicLong();
+    private final AtomicReference< RuleSet > ruleSet = new AtomicReference<>();
+
+    /**
+     * The number of threads a full validation uses, read once from the configuration
+     */
+    private final int configuredParallelism = ApplicationProperties.getValidationParallelism();
+
+    /**
+     * The pools by parallelism. A pool is never replaced while the manager is in use, since validations may be running in it,
+     * and is only shut down when the manager is disposed.
+     */
+    private final Map< Integer, ForkJoinPool > pools = new HashMap<>();
 
     /**
      * @param repo
@@ -224,6 +355,38 @@ public class ValidationManagerImpl implements ValidationManager {
         return this.validationAreaRoot;
     }
 
+    /**
+     * Discards the compiled rules so that they are compiled again the next time they are needed. Called by the repository
+     * whenever a transaction changes the validation rules and again when that transaction completes.
+     */
+    public void rulesChanged() {
+        this.rulesVersion.incrementAndGet();
+    }
+
+    private RuleSet getRuleSet( final UnitOfWork transaction ) throws KException {
+        // a transaction that has changed the rules must see its own changes so the shared rules are not used
+        if ( ( transaction instanceof UnitOfWorkImpl ) && ( ( UnitOfWorkImpl )transaction ).hasValidationRuleChanges() ) {
+            return RuleSet.compile( transaction, this.repo, getValidationAreaRoot( transaction ), this.rulesVersion.get() );
+        }
+
+        while ( true ) {
+            final long version = this.rulesVersion.get();
+            final RuleSet current = this.ruleSet.get();
+
+            if ( ( current != null ) && ( current.getVersion() == version ) ) {
+                return current;
+            }
+
+            final RuleSet compiled = RuleSet.compile( transaction, this.repo, getValidationAreaRoot( transaction ), version );
+
+            // rules changed while being compiled are compiled again rather than being cached under the newer version
+            if ( this.rulesVersion.get() == version ) {
+                this.ruleSet.compareAndSet( current, compiled );
+                return compiled;
+            }
+        }
+    }
+
     protected void clearValidationRules(final UnitOfWork uow) throws Exception {
         KomodoObject defaultValidationArea = RuleFactory.getValidationDefaultAreaNode(uow, this.repo);
         KomodoObject[] rules = defaultValidationArea.getChildren(uow);
@@ -242,24 +405,7 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        final List< Rule > result = new ArrayList<>();
-        KomodoObject defaultValidationArea = getValidationAreaRoot(transaction);
-
-        // Collect all available Rules
-        for ( final KomodoObject kobject : defaultValidationArea.getChildren( transaction ) ) {
-            final Rule rule = new RuleImpl( transaction, this.repo, kobject.getAbsolutePath() );
-            if(rule.isEnabled(transaction)) {
-                result.add( rule );
-            } else {
-                result.add( new ProblemRule(rule.getName(transaction),ProblemRule.Type.NOT_ENABLED) );
-            }
-        }
-
-        if ( result.isEmpty() ) {
-            return Rule.NO_RULES;
-        }
-
-        return result.toArray( new Rule[ result.size() ] );
+        return getRuleSet( transaction ).getAllRules();
     }
 
     /**
@@ -310,26 +456,7 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        final List< Rule > result = new ArrayList<>();
-        KomodoObject defaultValidationArea = getValidationAreaRoot(transaction);
-
-        // Check all available Rules - determine if they are applicable for the supplied object.
-        for ( final KomodoObject kobject : defaultValidationArea.getChildren( transaction ) ) {
-            final Rule rule = new RuleImpl( transaction, this.repo, kobject.getAbsolutePath() );
-            if(rule.isApplicable(transaction, kObj)) {
-                if(rule.isEnabled(transaction)) {
-                    result.add( rule );
-                } else {
-                    result.add(new ProblemRule(rule.getName(transaction),ProblemRule.Type.NOT_ENABLED));
-                }
-            }
-        }
-
-        if ( result.isEmpty() ) {
-            return Rule.NO_RULES;
-        }
-
-        return result.toArray( new Rule[ result.size() ] );
+        return getRuleSet( transaction ).getRules( transaction, kObj );
     }
 
     /**
@@ -367,29 +494,112 @@ public class ValidationManagerImpl implements ValidationManager {
      */
     @Override
     public Result[] evaluate(final UnitOfWork transaction, KomodoObject kObject, boolean full ) throws KException {
-        List<Result> allResults = new ArrayList<Result>();
+        final ValidationStatistics statistics = new ValidationStatistics();
+        final Result[] results = evaluate( transaction,
+                                           kObject,
+                                           full,
+                                           this.configuredParallelism,
+                                           statistics );
+
+        if ( LOGGER.isDebugEnabled() ) {
+            LOGGER.debug( "ValidationManagerImpl: validated \"{0}\" {1}", kObject.getAbsolutePath(), statistics ); //$NON-NLS-1$
+        }
 
-        // Evaluate against all rules that are valid for this object.
-        Rule[] rules = getRules(transaction, kObject);
+        return results;
+    }
 
-        for(Rule rule : rules) {
-            Result result = rule.evaluate(transaction, kObject);
+    /**
+     * Evaluate the supplied object using all applicable rules for the object. When doing a full validation with a parallelism
+     * greater than one, the subtrees of the object (i.e., the models and tables of a VDB) are evaluated concurrently using
+     * their own read-only transactions. Since those transactions cannot see uncommitted changes, the validation is sequential
+     * if the supplied transaction has changes. Either way the results are in the same order.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param kObject
+     *        the object to validate (cannot be <code>null</code>)
+     * @param full
+     *        <code>true</code> if all descendants of the object should also be validated
+     * @param parallelism
+     *        the maximum number of threads used to validate the object
+     * @param statistics
+     *        collects the timing of the validation (cannot be <code>null</code>)
+     * @return the results from all rule validations (never <code>null</code> but can be empty)
+     * @throws KException
+     *         if an error occurs
+     */
+    public Result[] evaluate( final UnitOfWork transaction,
+                              final KomodoObject kObject,
+                              final boolean full,
+                              final int parallelism,
+                              final ValidationStatistics statistics ) throws KException {
+        ArgCheck.isNotNull( kObject, "kObject" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( statistics, "statistics" ); //$NON-NLS-1$
+
+        final long start = System.nanoTime();
+
+        // the same rules are used for the whole tree
+        final RuleSet rules = getRuleSet(transaction);
+        final List<Result> allResults;
+        int threads = 1;
+
+        if ( full && ( parallelism > 1 ) && !transaction.hasChanges() ) {
+            final ForkJoinPool forkJoinPool = getPool( parallelism );
+            threads = forkJoinPool.getParallelism();
+
+            try {
+                allResults = forkJoinPool.invoke( new EvaluationTask( transaction, transaction, rules, kObject, 0, statistics ) );
+            } catch ( final ValidationTaskException e ) {
+                throw e.getCause();
+            }
+        } else {
+            allResults = new ArrayList<Result>();
+            evaluate(transaction, rules, kObject, full, allResults, statistics);
+        }
+
+        statistics.finished( System.nanoTime() - start, threads );
+        return allResults.toArray(new Result[ allResults.size() ]);
+    }
+
+    private synchronized ForkJoinPool getPool( final int parallelism ) {
+        return this.pools.computeIfAbsent( parallelism, ForkJoinPool::new );
+    }
+
+    /**
+     * Shuts down the threads used to validate in parallel. Must be called when the repository is stopped. A later validation
+     * creates its pool again.
+     */
+    public synchronized void dispose() {
+        for ( final ForkJoinPool pool : this.pools.values() ) {
+            pool.shutdown();
+        }
+
+        this.pools.clear();
+    }
+
+    private void evaluate( final UnitOfWork transaction,
+                           final RuleSet rules,
+                           final KomodoObject kObject,
+                           final boolean full,
+                           final List< Result > allResults,
+                           final ValidationStatistics statistics ) throws KException {
+        // Evaluate against all rules that are valid for this object.
+        for(Rule rule : rules.getRules(transaction, kObject)) {
+            final long start = System.nanoTime();
+            final Result result = rule.evaluate(transaction, kObject);
+            statistics.ruleEvaluated(result.getRuleId(), System.nanoTime() - start);
             allResults.add(result);
         }
 
         // If doing full validation, also validate all children recursively
         if(full) {
-            KomodoObject[] kids = kObject.getChildren(transaction);
-            for(KomodoObject kid : kids) {
-                Result[] kidResults = evaluate(transaction, kid, full);
-                for(Result kidResult : kidResults) {
-                    allResults.add(kidResult);
-                }
-
+            for(KomodoObject kid : kObject.getChildren(transaction)) {
+                evaluate(transaction, rules, kid, full, allResults, statistics);
             }
-
         }
-        return allResults.toArray(new Result[ allResults.size() ]);
     }
 
     /**
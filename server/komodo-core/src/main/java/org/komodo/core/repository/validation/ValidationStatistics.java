@@ -0,0 +1,142 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The wall-clock time of a validation and the time spent evaluating each rule. Rules can be evaluated concurrently so
+ * the per-rule times are accumulated across threads and can add up to more than the wall-clock time.
+ */
+public class ValidationStatistics {
+
+    private static final class RuleTiming {
+
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+    }
+
+    private final ConcurrentMap< String, RuleTiming > ruleTimings = new ConcurrentHashMap<>();
+    private volatile long elapsedNanos;
+    private volatile int parallelism = 1;
+
+    void ruleEvaluated( final String ruleId,
+                        final long nanos ) {
+        RuleTiming timing = this.ruleTimings.get( ruleId );
+
+        if ( timing == null ) {
+            timing = new RuleTiming();
+            final RuleTiming existing = this.ruleTimings.putIfAbsent( ruleId, timing );
+
+            if ( existing != null ) {
+                timing = existing;
+            }
+        }
+
+        timing.evaluations.increment();
+        timing.nanos.add( nanos );
+    }
+
+    void finished( final long nanos,
+                   final int threads ) {
+        this.elapsedNanos = nanos;
+        this.parallelism = threads;
+    }
+
+    /**
+     * @return the wall-clock time of the validation in milliseconds
+     */
+    public long getElapsedTime() {
+        return TimeUnit.NANOSECONDS.toMillis( this.elapsedNanos );
+    }
+
+    /**
+     * @return the number of threads used to evaluate the rules (1 if the validation was sequential)
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * @return the identifiers of the rules that have been evaluated (never <code>null</code>)
+     */
+    public Set< String > getRuleIds() {
+        return Collections.unmodifiableSet( this.ruleTimings.keySet() );
+    }
+
+    /**
+     * @param ruleId
+     *        the rule identifier (cannot be empty)
+     * @return the number of times the rule was evaluated
+     */
+    public long getEvaluationCount( final String ruleId ) {
+        final RuleTiming timing = this.ruleTimings.get( ruleId );
+        return ( timing == null ) ? 0 : timing.evaluations.sum();
+    }
+
+    /**
+     * @param ruleId
+     *        the rule identifier (cannot be empty)
+     * @return the total time spent evaluating the rule in nanoseconds
+     */
+    public long getRuleTime( final String ruleId ) {
+        final RuleTiming timing = this.ruleTimings.get( ruleId );
+        return ( timing == null ) ? 0 : timing.nanos.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        final List< String > ruleIds = new ArrayList<>( this.ruleTimings.keySet() );
+
+        // slowest rules first
+        Collections.sort( ruleIds, new Comparator< String >() {
+
+            @Override
+            public int compare( final String thisRuleId,
+                                final String thatRuleId ) {
+                return Long.compare( getRuleTime( thatRuleId ), getRuleTime( thisRuleId ) );
+            }
+        } );
+
+        final StringBuilder text = new StringBuilder( "ValidationStatistics [elapsed=" ); //$NON-NLS-1$
+        text.append( getElapsedTime() ).append( "ms, parallelism=" ).append( this.parallelism ).append( ']' ); //$NON-NLS-1$
+
+        for ( final String ruleId : ruleIds ) {
+            text.append( "\n\t" ).append( ruleId ) //$NON-NLS-1$
+                .append( ": " ).append( getEvaluationCount( ruleId ) ).append( " evaluations, " ) //$NON-NLS-1$ //$NON-NLS-2$
+                .append( TimeUnit.NANOSECONDS.toMicros( getRuleTime( ruleId ) ) ).append( "us" ); //$NON-NLS-1$
+        }
+
+        return text.toString();
+    }
+
+}
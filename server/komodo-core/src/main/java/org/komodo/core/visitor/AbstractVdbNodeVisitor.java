@@ -0,0 +1,177 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.visitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import javax.xml.namespace.QName;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.lexicon.LexiconConstants.JcrLexicon;
+import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.spi.repository.Descriptor;
+import org.komodo.spi.repository.KObjectFactory;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.runtime.version.MetadataVersion;
+import org.komodo.spi.type.DataTypeService;
+
+/**
+ * Common support for visitors that convert a vdb kObject tree into a vdb definition.
+ */
+public abstract class AbstractVdbNodeVisitor extends AbstractNodeVisitor implements StringConstants {
+
+    /**
+     * @param version teiid version
+     * @param dataTypeService the data type service
+     */
+    public AbstractVdbNodeVisitor(MetadataVersion version, DataTypeService dataTypeService) {
+        super(version, dataTypeService);
+    }
+
+    @Override
+    protected String undefined() {
+        return null;
+    }
+
+    protected boolean isPrimaryNodeType(UnitOfWork transaction, KomodoObject kObject, String typeId) throws Exception {
+        Descriptor kObjectType = kObject.getPrimaryType(transaction);
+        return typeId.equals(kObjectType.getName());
+    }
+
+    /**
+     * Due to properties not being allowed in the sources element, sources' association connections
+     * properties must be added as properties to their parent model.
+     *
+     * Since the xml writer runs in order this must be added prior to the visiting of the sources and
+     * does not conform to the visitor pattern. Assuming that properties can be added to the source
+     * element in the future this can revert to being in the source method.
+     *
+     * @param transaction
+     * @param model
+     * @return the properties naming the connection of each of the model's sources
+     * @throws Exception
+     */
+    protected Properties sourceConnections(UnitOfWork transaction, KomodoObject model) throws Exception {
+        Properties props = new Properties();
+    
+        if (! model.hasChild(transaction, VdbLexicon.Vdb.SOURCES))
+            return props;
+
+        KomodoObject sources = model.getChild(transaction, VdbLexicon.Vdb.SOURCES);
+        for (KomodoObject source : sources.getChildrenOfType(transaction, VdbLexicon.Source.SOURCE)) {
+            if (! source.hasProperty(transaction, VdbLexicon.Source.ORIGIN_CONNECTION))
+                continue;
+
+            Property connProperty = source.getProperty(transaction, VdbLexicon.Source.ORIGIN_CONNECTION);
+            String connName = connProperty.getStringValue(transaction);
+            if (connName == null)
+                continue;
+
+            /*
+             * Add a property to the model that specifies the association
+             * between the named source and the named connection
+             */
+            props.setProperty(VdbLexicon.ManifestIds.ORIGIN_SRC_CONNECTION + "-" + source.getName(transaction), connName);
+        }
+
+        return props;
+    }
+
+    /**
+     * @param transaction
+     * @param kObject
+     * @param propertiesToIgnore
+     * @return the properties of the object that are exported as vdb, model or translator properties
+     * @throws Exception
+     */
+    protected Properties filterExportableProperties(UnitOfWork transaction, KomodoObject kObject, String... propertiesToIgnore)
+        throws Exception {
+        Properties exportableProps = new Properties();
+        List<String> propsToIgnore = Arrays.asList(propertiesToIgnore);
+
+        String[] propertyNames = kObject.getRawPropertyNames(transaction);
+        List<Property> properties = new ArrayList<>();
+        for (String propName : propertyNames) {
+            if (! kObject.hasRawProperty(transaction, propName))
+                continue;
+
+            Property property = kObject.getRawProperty(transaction, propName);
+            properties.add(property);
+        }
+
+        for (Property property : properties) {
+            String name = property.getName(transaction);
+            if (name == null)
+                continue;
+
+            if (propsToIgnore.contains(name))
+                continue;
+
+            // Ignore jcr properties since these are internal to modeshape
+            if (name.startsWith(JcrLexicon.Namespace.PREFIX))
+                continue;
+
+            String value = toString(transaction, property);
+
+            //
+            // Ignore modeshape vdb properties as <property> type properties will
+            // not have a vdb prefix but simply be the property name on its own, eg.
+            // UseConnectedMetadata or vdb-property1.
+            //
+            if (name.startsWith(VdbLexicon.Namespace.PREFIX + COLON)) {
+                //
+                // Preview is actually converted into a vdb property so need to special-case
+                // turn it back into a simple property name but we only care if the property
+                // is actually true.
+                //
+                if (name.equals(VdbLexicon.Vdb.PREVIEW) && Boolean.parseBoolean(value)) {
+                    name = VdbLexicon.ManifestIds.PREVIEW;
+                } else {
+                    continue;
+                }
+            }
+
+            name = convertNamePrefixToUri(transaction, property);
+            exportableProps.put(name, value);
+        }
+
+        return exportableProps;
+    }
+
+    private String convertNamePrefixToUri(UnitOfWork transaction, Property property) throws Exception {
+        String name = property.getName(transaction);
+        int index = name.indexOf( COLON );
+
+        // if JCR expanded name or just a local name just return the name
+        if ( index == -1 ) {
+            return name;
+        }
+
+        // convert JCR qualified name to expanded name
+        String prefix = name.substring(0, index);
+
+        KObjectFactory objectFactory = property.getRepository().getObjectFactory();
+        String uri = objectFactory.getNamespaceURI(transaction, prefix) ;
+        QName expanded = new QName( uri, name.substring( index + 1 ) );
+
+        return expanded.toString();
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.visitor;
+
+import java.util.Properties;
+import org.komodo.spi.KException;
+import org.komodo.spi.lexicon.LexiconConstants.CoreLexicon;
+import org.komodo.spi.lexicon.LexiconConstants.ModeshapeLexicon;
+import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.Repository.OperationType;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.runtime.version.MetadataVersion;
+import org.komodo.spi.type.DataTypeService;
+import org.teiid.adminapi.impl.DataPolicyMetadata;
+import org.teiid.adminapi.impl.DataPolicyMetadata.PermissionMetaData;
+import org.teiid.adminapi.impl.ModelMetaData;
+import org.teiid.adminapi.impl.VDBImportMetadata;
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.adminapi.impl.VDBTranslatorMetaData;
+
+/**
+ * Visitor that will walk a vdb kObject tree and build the teiid {@link VDBMetaData} it describes.
+ * The result is the same as that of parsing the xml written by the {@link VdbNodeVisitor} but
+ * without the vdb having to be serialized to, and parsed back from, xml.
+ */
+public class VdbMetaDataVisitor extends AbstractVdbNodeVisitor {
+
+    private static final String DEFAULT_METADATA_TYPE = "DDL"; //$NON-NLS-1$
+
+    private VDBMetaData vdb;
+
+    private ModelMetaData model;
+
+    private DataPolicyMetadata dataRole;
+
+    private PermissionMetaData permission;
+
+    /**
+     * @param version teiid version
+     * @param dataTypeService the data type service
+     */
+    public VdbMetaDataVisitor(MetadataVersion version, DataTypeService dataTypeService) {
+        super(version, dataTypeService);
+    }
+
+    /**
+     * @return the vdb built by the last visit of a vdb (can be <code>null</code> if no vdb has been visited)
+     */
+    public VDBMetaData getVdb() {
+        return this.vdb;
+    }
+
+    private String description(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        return toString(transaction, property(transaction, kObject, VdbLexicon.Vdb.DESCRIPTION));
+    }
+
+    private void mask(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        if (!isPrimaryNodeType(transaction, kObject, VdbLexicon.DataRole.Permission.Mask.MASK))
+            return;
+
+        this.permission.setMask(kObject.getName(transaction));
+
+        String order = toString(transaction, property(transaction, kObject, VdbLexicon.DataRole.Permission.Mask.ORDER));
+        if (order != null)
+            this.permission.setOrder(Integer.parseInt(order));
+    }
+
+    private void condition(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        if (!isPrimaryNodeType(transaction, kObject, VdbLexicon.DataRole.Permission.Condition.CONDITION))
+            return;
+
+        this.permission.setCondition(kObject.getName(transaction));
+
+        String constraint = toString(transaction, property(transaction, kObject, VdbLexicon.DataRole.Permission.Condition.CONSTRAINT));
+        if (constraint != null)
+            this.permission.setConstraint(Boolean.parseBoolean(constraint));
+    }
+
+    private Boolean allow(UnitOfWork transaction, KomodoObject kObject, String propName) throws Exception {
+        Property permProp = property(transaction, kObject, propName);
+        return permProp == null ? false : permProp.getBooleanValue(transaction);
+    }
+
+    private void permission(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        if (!isPrimaryNodeType(transaction, kObject, VdbLexicon.DataRole.Permission.PERMISSION))
+            return;
+
+        this.permission = new PermissionMetaData();
+        this.permission.setResourceName(kObject.getName(transaction));
+        this.permission.setAllowCreate(allow(transaction, kObject, VdbLexicon.DataRole.Permission.ALLOW_CREATE));
+        this.permission.setAllowRead(allow(transaction, kObject, VdbLexicon.DataRole.Permission.ALLOW_READ));
+        this.permission.setAllowUpdate(allow(transaction, kObject, VdbLexicon.DataRole.Permission.ALLOW_UPDATE));
+        this.permission.setAllowDelete(allow(transaction, kObject, VdbLexicon.DataRole.Permission.ALLOW_DELETE));
+        this.permission.setAllowExecute(allow(transaction, kObject, VdbLexicon.DataRole.Permission.ALLOW_EXECUTE));
+        this.permission.setAllowAlter(allow(transaction, kObject, VdbLexicon.DataRole.Permission.ALLOW_ALTER));
+
+        // Only included when true, as with the xml (see TEIIDTOOLS-224)
+        if (allow(transaction, kObject, VdbLexicon.DataRole.Permission.ALLOW_LANGUAGE))
+            this.permission.setAllowLanguage(true);
+
+        visitChild(transaction, kObject, VdbLexicon.DataRole.Permission.CONDITIONS);
+        visitChild(transaction, kObject, VdbLexicon.DataRole.Permission.MASKS);
+
+        this.dataRole.addPermission(this.permission);
+        this.permission = null;
+    }
+
+    private void dataRole(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        if (!isPrimaryNodeType(transaction, kObject, VdbLexicon.DataRole.DATA_ROLE))
+            return;
+
+        this.dataRole = new DataPolicyMetadata();
+        this.dataRole.setName(kObject.getName(transaction));
+        this.dataRole.setDescription(description(transaction, kObject));
+
+        String anyAuthenticated = toString(transaction, property(transaction, kObject, VdbLexicon.DataRole.ANY_AUTHENTICATED));
+        if (anyAuthenticated != null)
+            this.dataRole.setAnyAuthenticated(Boolean.parseBoolean(anyAuthenticated));
+
+        String tempTables = toString(transaction, property(transaction, kObject, VdbLexicon.DataRole.ALLOW_CREATE_TEMP_TABLES));
+        if (tempTables != null)
+            this.dataRole.setAllowCreateTemporaryTables(Boolean.parseBoolean(tempTables));
+
+        String grantAll = toString(transaction, property(transaction, kObject, VdbLexicon.DataRole.GRANT_ALL));
+        if (grantAll != null)
+            this.dataRole.setGrantAll(Boolean.parseBoolean(grantAll));
+
+        visitChild(transaction, kObject, VdbLexicon.DataRole.PERMISSIONS);
+
+        if (kObject.hasProperty(transaction, VdbLexicon.DataRole.MAPPED_ROLE_NAMES)) {
+            Property property = kObject.getProperty(transaction, VdbLexicon.DataRole.MAPPED_ROLE_NAMES);
+            for (Object value : property.getValues(transaction)) {
+                this.dataRole.addMappedRoleName(value.toString());
+            }
+        }
+
+        this.vdb.addDataPolicy(this.dataRole);
+        this.dataRole = null;
+    }
+
+    private void translator(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        if (!isPrimaryNodeType(transaction, kObject, VdbLexicon.Translator.TRANSLATOR))
+            return;
+
+        VDBTranslatorMetaData translator = new VDBTranslatorMetaData();
+        translator.setName(kObject.getName(transaction));
+        translator.setType(toString(transaction, property(transaction, kObject, VdbLexicon.Translator.TYPE)));
+        translator.setDescription(toString(transaction, property(transaction, kObject, VdbLexicon.Translator.DESCRIPTION)));
+
+        Properties exportableProps = filterExportableProperties(transaction,
+                                                                kObject,
+                                                                VdbLexicon.Translator.TYPE,
+                                                                VdbLexicon.Translator.DESCRIPTION);
+        for (String name : exportableProps.stringPropertyNames()) {
+            translator.addProperty(name, exportableProps.getProperty(name));
+        }
+
+        this.vdb.addOverideTranslator(translator);
+    }
+
+    private void source(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        if (!isPrimaryNodeType(transaction, kObject, VdbLexicon.Source.SOURCE))
+            return;
+
+        String translator = toString(transaction, property(transaction, kObject, VdbLexicon.Source.TRANSLATOR));
+        String jndiName = toString(transaction, property(transaction, kObject, VdbLexicon.Source.JNDI_NAME));
+        this.model.addSourceMapping(kObject.getName(transaction), translator, jndiName);
+    }
+
+    private void model(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        if (!isPrimaryNodeType(transaction, kObject, VdbLexicon.Vdb.DECLARATIVE_MODEL))
+            return;
+
+        this.model = new ModelMetaData();
+        this.model.setName(kObject.getName(transaction));
+
+        String type = toString(transaction, property(transaction, kObject, CoreLexicon.MODEL_TYPE));
+        if (type != null)
+            this.model.setModelType(type);
+
+        String path = toString(transaction, property(transaction, kObject, VdbLexicon.Model.PATH_IN_VDB));
+        if (path != null)
+            this.model.setPath(path);
+
+        String visible = toString(transaction, property(transaction, kObject, VdbLexicon.Model.VISIBLE));
+        if (visible != null)
+            this.model.setVisible(Boolean.parseBoolean(visible));
+
+        this.model.setDescription(description(transaction, kObject));
+
+        Properties exportableProps = filterExportableProperties(transaction, kObject, CoreLexicon.MODEL_TYPE);
+        exportableProps.putAll(sourceConnections(transaction, kObject));
+        for (String name : exportableProps.stringPropertyNames()) {
+            this.model.addProperty(name, exportableProps.getProperty(name));
+        }
+
+        // Sources
+        visitFilteredChildren(transaction, kObject, VdbLexicon.Vdb.SOURCES);
+
+        DdlNodeVisitor visitor = new DdlNodeVisitor(getVersion(), getDataTypeService(), false);
+        visitor.visit(transaction, kObject);
+
+        if (!visitor.getDdl().isEmpty()) {
+            String metadataType = toString(transaction, property(transaction, kObject, VdbLexicon.Model.METADATA_TYPE));
+            this.model.addSourceMetadata(metadataType == null ? DEFAULT_METADATA_TYPE : metadataType, visitor.getDdl());
+        }
+
+        this.vdb.addModel(this.model);
+        this.model = null;
+    }
+
+    private void importVdb(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        if (!isPrimaryNodeType(transaction, kObject, VdbLexicon.ImportVdb.IMPORT_VDB))
+            return;
+
+        VDBImportMetadata importVdb = new VDBImportMetadata();
+        importVdb.setName(kObject.getName(transaction));
+
+        String version = toString(transaction, property(transaction, kObject, VdbLexicon.ImportVdb.VERSION));
+        if (version != null)
+            importVdb.setVersion(version);
+
+        String dataPolicies = toString(transaction, property(transaction, kObject, VdbLexicon.ImportVdb.IMPORT_DATA_POLICIES));
+        if (dataPolicies != null)
+            importVdb.setImportDataPolicies(Boolean.parseBoolean(dataPolicies));
+
+        this.vdb.getVDBImports().add(importVdb);
+    }
+
+    private void virtualDatabase(UnitOfWork transaction, KomodoObject kObject) throws Exception {
+        this.vdb = new VDBMetaData();
+        this.vdb.setXmlDeployment(true);
+        this.vdb.setName(toString(transaction, property(transaction, kObject, VdbLexicon.Vdb.NAME)));
+
+        String version = toString(transaction, property(transaction, kObject, VdbLexicon.Vdb.VERSION));
+        if (version != null)
+            this.vdb.setVersion(version);
+
+        this.vdb.setDescription(description(transaction, kObject));
+
+        String connectionType = toString(transaction, property(transaction, kObject, VdbLexicon.Vdb.CONNECTION_TYPE));
+        if (connectionType != null)
+            this.vdb.setConnectionType(connectionType);
+
+        Properties exportableProps = filterExportableProperties(transaction,
+                                                                kObject,
+                                                                VdbLexicon.Vdb.NAME,
+                                                                VdbLexicon.Vdb.VERSION,
+                                                                VdbLexicon.Vdb.DESCRIPTION,
+                                                                VdbLexicon.Vdb.CONNECTION_TYPE,
+                                                                ModeshapeLexicon.MODE_SHA1);
+        for (String name : exportableProps.stringPropertyNames()) {
+            this.vdb.addProperty(name, exportableProps.getProperty(name));
+        }
+
+        //
+        // Visit vdb children in the same order as the xml so the result is identical
+        //
+        visitFilteredChildren(transaction, kObject, VdbLexicon.Vdb.IMPORT_VDBS);
+        visitFilteredChildren(transaction, kObject, VdbLexicon.Vdb.DECLARATIVE_MODEL);
+        visitFilteredChildren(transaction, kObject, VdbLexicon.Vdb.TRANSLATORS);
+        visitFilteredChildren(transaction, kObject, VdbLexicon.Vdb.DATA_ROLES);
+    }
+
+    @Override
+    protected void visitChild(UnitOfWork transaction, KomodoObject kObject, String relNodePath) throws Exception {
+        if (kObject.hasRawChild(transaction, relNodePath)) {
+            KomodoObject child = kObject.getChild(transaction, relNodePath);
+            child.accept(transaction, this);
+        }
+    }
+
+    @Override
+    public OperationType getRequestType() {
+        return OperationType.READ_OPERATION;
+    }
+
+    @Override
+    public Object visit(UnitOfWork transaction, KomodoObject kObject) throws KException {
+        if (kObject == null)
+            return null;
+
+        String kObjectTypeName = kObject.getPrimaryType(transaction).getName();
+        try {
+            switch (kObjectTypeName) {
+                case VdbLexicon.Vdb.VIRTUAL_DATABASE:
+                    virtualDatabase(transaction, kObject);
+                    return this.vdb;
+                case VdbLexicon.Vdb.DECLARATIVE_MODEL:
+                    model(transaction, kObject);
+                    break;
+                case VdbLexicon.ImportVdb.IMPORT_VDB:
+                    importVdb(transaction, kObject);
+                    break;
+                case VdbLexicon.Translator.TRANSLATOR:
+                    translator(transaction, kObject);
+                    break;
+                case VdbLexicon.Source.SOURCE:
+                    source(transaction, kObject);
+                    break;
+                case VdbLexicon.DataRole.DATA_ROLE:
+                    dataRole(transaction, kObject);
+                    break;
+                case VdbLexicon.DataRole.Permission.PERMISSION:
+                    permission(transaction, kObject);
+                    break;
+                case VdbLexicon.DataRole.Permission.Condition.CONDITION:
+                    condition(transaction, kObject);
+                    break;
+                case VdbLexicon.DataRole.Permission.Mask.MASK:
+                    mask(transaction, kObject);
+                    break;
+                default:
+                    // Grouping nodes, eg. sources or data roles, or nodes that may contain vdb objects
+                    visitChildren(transaction, kObject);
+            }
+
+            return null;
+        } catch (Exception ex) {
+            throw new KException(ex);
+        }
+    }
+}
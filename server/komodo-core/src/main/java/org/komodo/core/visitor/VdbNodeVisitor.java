@@ -17,23 +17,16 @@
  */
 package org.komodo.core.visitor;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import org.komodo.spi.KException;
-import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.lexicon.LexiconConstants.CoreLexicon;
-import org.komodo.spi.lexicon.LexiconConstants.JcrLexicon;
 import org.komodo.spi.lexicon.LexiconConstants.ModeshapeLexicon;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
 import org.komodo.spi.repository.Descriptor;
-import org.komodo.spi.repository.KObjectFactory;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.Repository.OperationType;
@@ -45,7 +38,7 @@ import org.komodo.spi.type.DataTypeService;
  * Visitor that will walk a vdb kObject tree and convert it to
  * the dynamic vdb xml syntax.
  */
-public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstants {
+public class VdbNodeVisitor extends AbstractVdbNodeVisitor {
 
     /**
      * Companion XML tag for permission condition
@@ -183,11 +176,6 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
         this.writer = writer;
     }
 
-    @Override
-    protected String undefined() {
-        return UNDEFINED;
-    }
-
     /**
      * Set to true to show tabs
      *
@@ -253,8 +241,7 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
 
     private boolean isPrimaryNodeType(UnitOfWork transaction, KomodoObject kObject, NodeTypeName kObjectTypeName)
         throws Exception {
-        Descriptor kObjectType = kObject.getPrimaryType(transaction);
-        return kObjectTypeName.getId().equals(kObjectType.getName());
+        return isPrimaryNodeType(transaction, kObject, kObjectTypeName.getId());
     }
 
     private void properties(UnitOfWork transaction, KomodoObject kObject, int numTabs, Properties exportableProps)
@@ -439,45 +426,6 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
         writeEndElement();
     }
 
-    /**
-     * Due to properties not being allowed in the sources element, sources' association connections
-     * properties must be added as properties to their parent model.
-     *
-     * Since the xml writer runs in order this must be added prior to the visiting of the sources and
-     * does not conform to the visitor pattern. Assuming that properties can be added to the source
-     * element in the future this can revert to being in the source method.
-     *
-     * @param transaction
-     * @param model
-     * @return
-     * @throws Exception
-     */
-    private Properties sourceConnections(UnitOfWork transaction, KomodoObject model) throws Exception {
-        Properties props = new Properties();
-    
-        if (! model.hasChild(transaction, NodeTypeName.SOURCES.getId()))
-            return props;
-
-        KomodoObject sources = model.getChild(transaction, NodeTypeName.SOURCES.getId());
-        for (KomodoObject source : sources.getChildrenOfType(transaction, NodeTypeName.SOURCE.getId())) {
-            if (! source.hasProperty(transaction, VdbLexicon.Source.ORIGIN_CONNECTION))
-                continue;
-
-            Property connProperty = source.getProperty(transaction, VdbLexicon.Source.ORIGIN_CONNECTION);
-            String connName = connProperty.getStringValue(transaction);
-            if (connName == null)
-                continue;
-
-            /*
-             * Add a property to the model that specifies the association
-             * between the named source and the named connection
-             */
-            props.setProperty(VdbLexicon.ManifestIds.ORIGIN_SRC_CONNECTION + "-" + source.getName(transaction), connName);
-        }
-
-        return props;
-    }
-
     private void model(UnitOfWork transaction, KomodoObject kObject) throws Exception {
         if (!isPrimaryNodeType(transaction, kObject, NodeTypeName.MODEL))
             return;
@@ -572,78 +520,6 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
         writeElementWithText(NodeTypeName.DESCRIPTION.getTag(), toString(transaction, property));
     }
 
-    private Properties filterExportableProperties(UnitOfWork transaction, KomodoObject kObject, String... propertiesToIgnore)
-        throws Exception {
-        Properties exportableProps = new Properties();
-        List<String> propsToIgnore = Arrays.asList(propertiesToIgnore);
-
-        String[] propertyNames = kObject.getRawPropertyNames(transaction);
-        List<Property> properties = new ArrayList<>();
-        for (String propName : propertyNames) {
-            if (! kObject.hasRawProperty(transaction, propName))
-                continue;
-
-            Property property = kObject.getRawProperty(transaction, propName);
-            properties.add(property);
-        }
-
-        for (Property property : properties) {
-            String name = property.getName(transaction);
-            if (name == null)
-                continue;
-
-            if (propsToIgnore.contains(name))
-                continue;
-
-            // Ignore jcr properties since these are internal to modeshape
-            if (name.startsWith(JcrLexicon.Namespace.PREFIX))
-                continue;
-
-            String value = toString(transaction, property);
-
-            //
-            // Ignore modeshape vdb properties as <property> type properties will
-            // not have a vdb prefix but simply be the property name on its own, eg.
-            // UseConnectedMetadata or vdb-property1.
-            //
-            if (name.startsWith(VdbLexicon.Namespace.PREFIX + COLON)) {
-                //
-                // Preview is actually converted into a vdb property so need to special-case
-                // turn it back into a simple property name but we only care if the property
-                // is actually true.
-                //
-                if (name.equals(VdbLexicon.Vdb.PREVIEW) && Boolean.parseBoolean(value)) {
-                    name = VdbLexicon.ManifestIds.PREVIEW;
-                } else {
-                    continue;
-                }
-            }
-
-            name = convertNamePrefixToUri(transaction, property);
-            exportableProps.put(name, value);
-        }
-
-        return exportableProps;
-    }
-
-    private String convertNamePrefixToUri(UnitOfWork transaction, Property property) throws Exception {
-        String name = property.getName(transaction);
-        int index = name.indexOf( COLON );
-
-        // if JCR expanded name or just a local name just return the name
-        if ( index == -1 ) {
-            return name;
-        }
-
-        // convert JCR qualified name to expanded name
-        String prefix = name.substring(0, index);
-
-        KObjectFactory objectFactory = property.getRepository().getObjectFactory();
-        String uri = objectFactory.getNamespaceURI(transaction, prefix) ;
-        QName expanded = new QName( uri, name.substring( index + 1 ) );
-
-        return expanded.toString();
-    }
     private void virtualDatabase(UnitOfWork transaction, KomodoObject kObject) throws Exception {
         // Start new document
         writeStartDocument();
@@ -20,6 +20,7 @@ package org.komodo.core.internal;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import javax.jcr.Session;
+import org.komodo.core.internal.repository.JcrNodeCache;
 import org.komodo.core.internal.repository.JcrUowDelegate;
 import org.komodo.core.repository.KSequencerController;
 import org.komodo.core.repository.KSequencerListener;
@@ -36,6 +37,8 @@ public class SynchronousSequencerListener implements KSequencerListener {
 
         private final Session session;
 
+        private final JcrNodeCache nodeCache = new JcrNodeCache(false);
+
         public ListenerUnitOfWorkDelegate(Session session) {
             this.session = session;
         }
@@ -45,6 +48,11 @@ public class SynchronousSequencerListener implements KSequencerListener {
             return session;
         }
 
+        @Override
+        public JcrNodeCache getNodeCache() {
+            return nodeCache;
+        }
+
         @Override
         public boolean hasPendingChanges() throws Exception {
             return session.hasPendingChanges();
@@ -0,0 +1,192 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.internal.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.Session;
+import org.junit.Test;
+import org.komodo.core.internal.SynchronousSequencerListener;
+import org.komodo.core.repository.KSequencerController;
+import org.komodo.spi.lexicon.sql.teiid.TeiidSqlLexicon;
+import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.utils.KLog;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestConcurrentSequencing extends AbstractTSqlSequencerTest {
+
+    private static final int MODEL_COUNT = 8;
+
+    private static final int TABLE_COUNT = 50;
+
+    private static class CountingListener extends SynchronousSequencerListener {
+
+        private final AtomicInteger completions = new AtomicInteger();
+
+        private volatile long completedAt;
+
+        CountingListener(String listenerId, Session session, KSequencerController sequencers) throws Exception {
+            super(listenerId, session, sequencers);
+        }
+
+        @Override
+        public void sequencingCompleted() {
+            completions.incrementAndGet();
+            completedAt = System.nanoTime();
+            super.sequencingCompleted();
+        }
+    }
+
+    private String createDdl(int model) {
+        StringBuilder ddl = new StringBuilder();
+        for (int i = 0; i < TABLE_COUNT; ++i) {
+            ddl.append("CREATE FOREIGN TABLE table").append(i)
+               .append(" (id integer PRIMARY KEY, name string(255), col").append(model).append(" integer);").append(NEW_LINE);
+        }
+        ddl.append("CREATE VIEW summary (id integer) AS SELECT id FROM table0;").append(NEW_LINE);
+        return ddl.toString();
+    }
+
+    private String createOwnDdl(int model) {
+        StringBuilder ddl = new StringBuilder();
+        for (int i = 0; i < TABLE_COUNT; ++i) {
+            ddl.append("CREATE FOREIGN TABLE m").append(model).append("table").append(i)
+               .append(" (m").append(model).append("id integer, m").append(model).append("name string(255));").append(NEW_LINE);
+        }
+        return ddl.toString();
+    }
+
+    private boolean hasTeiidSqlChild(Node node) throws Exception {
+        NodeIterator children = node.getNodes();
+        while (children.hasNext()) {
+            if (RepositoryUtils.hasTypeNamespace(children.nextNode(), TeiidSqlLexicon.Namespace.PREFIX))
+                return true;
+        }
+        return false;
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldSequenceModelsOfOneCommitConcurrently() throws Exception {
+        Node vdb = rootNode.addNode("concurrentVdb");
+        for (int i = 0; i < MODEL_COUNT; ++i) {
+            Node model = vdb.addNode("model" + i);
+            model.setPrimaryType(VdbLexicon.Vdb.DECLARATIVE_MODEL);
+            model.setProperty(VdbLexicon.Model.MODEL_DEFINITION, createDdl(i));
+        }
+
+        Session session = vdb.getSession();
+        CountingListener listener = new CountingListener(getClass().getName() + session.hashCode(), session, sequencers());
+
+        long start = System.currentTimeMillis();
+        session.save();
+        assertTrue(listener.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        long elapsed = System.currentTimeMillis() - start;
+        assertFalse(listener.exceptionOccurred());
+
+        for (int i = 0; i < MODEL_COUNT; ++i) {
+            Node model = vdb.getNode("model" + i);
+            assertEquals(TABLE_COUNT + 1, RepositoryUtils.childrenCount(model));
+            assertTrue(model.hasNode("table" + (TABLE_COUNT - 1) + "/col" + i));
+            assertTrue(hasTeiidSqlChild(model.getNode("summary")));
+        }
+
+        // allow any stray notification to arrive
+        Thread.sleep(1000);
+        assertEquals(1, listener.completions.get());
+
+        KLog.getLogger().info(String.format("Sequenced %d models of %d tables in one commit in %dms",
+                                            MODEL_COUNT, TABLE_COUNT, elapsed));
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldNotifyCommitWithoutSequencingWhileAnotherSequences() throws Exception {
+        Node vdb = rootNode.addNode("sequencedVdb");
+        for (int i = 0; i < MODEL_COUNT; ++i) {
+            Node model = vdb.addNode("model" + i);
+            model.setPrimaryType(VdbLexicon.Vdb.DECLARATIVE_MODEL);
+            model.setProperty(VdbLexicon.Model.MODEL_DEFINITION, createDdl(i));
+        }
+
+        Session sequencedSession = vdb.getSession();
+        CountingListener sequenced = new CountingListener(getClass().getName() + "sequenced" + sequencedSession.hashCode(),
+                                                          sequencedSession, sequencers());
+
+        Session plainSession = newSession();
+        try {
+            plainSession.getRootNode().addNode("plainNode").setProperty("description", "nothing to sequence");
+            CountingListener plain = new CountingListener(getClass().getName() + "plain" + plainSession.hashCode(),
+                                                          plainSession, sequencers());
+
+            // the second commit's events arrive while the first commit is still being sequenced
+            sequencedSession.save();
+            plainSession.save();
+
+            assertTrue(plain.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+            assertTrue(sequenced.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+            assertFalse(plain.exceptionOccurred());
+            assertFalse(sequenced.exceptionOccurred());
+
+            // the commit without sequencing is not held up until the other commit completes
+            assertTrue(plain.completedAt <= sequenced.completedAt);
+
+            // allow any stray notification to arrive
+            Thread.sleep(1000);
+            assertEquals(1, plain.completions.get());
+            assertEquals(1, sequenced.completions.get());
+        } finally {
+            plainSession.logout();
+        }
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldSequenceEachModelFromItsOwnDdl() throws Exception {
+        Node vdb = rootNode.addNode("isolatedVdb");
+        for (int i = 0; i < MODEL_COUNT; ++i) {
+            Node model = vdb.addNode("model" + i);
+            model.setPrimaryType(VdbLexicon.Vdb.DECLARATIVE_MODEL);
+            model.setProperty(VdbLexicon.Model.MODEL_DEFINITION, createOwnDdl(i));
+        }
+
+        Session session = vdb.getSession();
+        CountingListener listener = new CountingListener(getClass().getName() + session.hashCode(), session, sequencers());
+
+        session.save();
+        assertTrue(listener.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        assertFalse(listener.exceptionOccurred());
+
+        for (int i = 0; i < MODEL_COUNT; ++i) {
+            Node model = vdb.getNode("model" + i);
+            String prefix = "m" + i;
+            assertEquals(TABLE_COUNT, RepositoryUtils.childrenCount(model));
+
+            NodeIterator tables = model.getNodes();
+            while (tables.hasNext()) {
+                Node table = tables.nextNode();
+                assertTrue(table.getPath(), table.getName().startsWith(prefix + "table"));
+                assertEquals(table.getPath(), 2, RepositoryUtils.childrenCount(table));
+                assertTrue(table.getPath(), table.hasNode(prefix + "id"));
+                assertTrue(table.getPath(), table.hasNode(prefix + "name"));
+            }
+        }
+    }
+}
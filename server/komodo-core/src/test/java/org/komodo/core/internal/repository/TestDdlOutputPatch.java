@@ -0,0 +1,163 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.internal.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.TimeUnit;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import org.junit.Test;
+import org.komodo.core.internal.SynchronousSequencerListener;
+import org.komodo.core.repository.KSequencerController.SequencerType;
+import org.komodo.spi.lexicon.sql.teiid.TeiidSqlLexicon;
+import org.komodo.spi.lexicon.vdb.VdbLexicon;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestDdlOutputPatch extends AbstractTSqlSequencerTest {
+
+    private static final String CUSTOMER = "CREATE FOREIGN TABLE customer (id integer PRIMARY KEY, name string);";
+
+    private static final String VIEW = "CREATE VIEW summary (id integer) AS SELECT id FROM customer;";
+
+    private void save(Node node, String name) throws Exception {
+        Session session = node.getSession();
+        SynchronousSequencerListener listener = addSequencingListenerLatch(getClass().getName() + name + session.hashCode(), session);
+        session.save();
+
+        assertTrue(listener.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        assertFalse(listener.exceptionOccurred());
+    }
+
+    private Node sequenceDdl(String name, String ddl) throws Exception {
+        Node node = rootNode.addNode(name);
+        node.setPrimaryType(VdbLexicon.Vdb.DECLARATIVE_MODEL);
+        node.setProperty(VdbLexicon.Model.MODEL_DEFINITION, ddl);
+        save(node, name);
+        return node;
+    }
+
+    private void resequenceDdl(Node node, String ddl) throws Exception {
+        node.setProperty(VdbLexicon.Model.MODEL_DEFINITION, ddl);
+        save(node, node.getName() + System.nanoTime());
+    }
+
+    private Node teiidSqlChild(Node node) throws Exception {
+        NodeIterator children = node.getNodes();
+        while (children.hasNext()) {
+            Node child = children.nextNode();
+            if (RepositoryUtils.hasTypeNamespace(child, TeiidSqlLexicon.Namespace.PREFIX))
+                return child;
+        }
+        return null;
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldKeepIdentifiersOfUnchangedObjects() throws Exception {
+        String ordersV1 = "CREATE FOREIGN TABLE orders (id integer PRIMARY KEY, amount decimal);";
+        String ordersV2 = "CREATE FOREIGN TABLE orders (id integer PRIMARY KEY, amount decimal, note string);";
+
+        Node model = sequenceDdl("patchModel", CUSTOMER + NEW_LINE + ordersV1 + NEW_LINE + VIEW);
+
+        String customerId = model.getNode("customer").getIdentifier();
+        String customerNameId = model.getNode("customer/name").getIdentifier();
+        String ordersId = model.getNode("orders").getIdentifier();
+        String ordersAmountId = model.getNode("orders/amount").getIdentifier();
+        Node query = teiidSqlChild(model.getNode("summary"));
+        assertTrue(query != null);
+        String queryId = query.getIdentifier();
+
+        resequenceDdl(model, CUSTOMER + NEW_LINE + ordersV2 + NEW_LINE + VIEW);
+
+        assertEquals(customerId, model.getNode("customer").getIdentifier());
+        assertEquals(customerNameId, model.getNode("customer/name").getIdentifier());
+        assertEquals(ordersId, model.getNode("orders").getIdentifier());
+        assertEquals(ordersAmountId, model.getNode("orders/amount").getIdentifier());
+        assertTrue(model.hasNode("orders/note"));
+
+        // the query of the view is unchanged so it is not sequenced again
+        assertEquals(queryId, teiidSqlChild(model.getNode("summary")).getIdentifier());
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldPatchSameOutputAsFullSequencing() throws Exception {
+        String ordersV1 = "CREATE FOREIGN TABLE orders (id integer PRIMARY KEY, amount decimal);";
+        String ordersV2 = "CREATE FOREIGN TABLE orders (id integer, total decimal, customerId integer,"
+                          + " FOREIGN KEY (customerId) REFERENCES customer (id));";
+        String viewV2 = "CREATE VIEW summary (id integer) AS SELECT id FROM orders;";
+
+        Node patched = sequenceDdl("patched", CUSTOMER + NEW_LINE + ordersV1 + NEW_LINE + VIEW);
+        String queryId = teiidSqlChild(patched.getNode("summary")).getIdentifier();
+
+        resequenceDdl(patched, ordersV2 + NEW_LINE + CUSTOMER + NEW_LINE + viewV2);
+
+        Node fresh = sequenceDdl("fresh", ordersV2 + NEW_LINE + CUSTOMER + NEW_LINE + viewV2);
+
+        assertFalse(patched.hasNode("orders/amount"));
+        assertTrue(patched.hasNode("orders/total"));
+        assertEquals(RepositoryUtils.childrenCount(fresh), RepositoryUtils.childrenCount(patched));
+        assertEquals(RepositoryUtils.childrenCount(fresh.getNode("orders")), RepositoryUtils.childrenCount(patched.getNode("orders")));
+
+        // the changed query of the view is sequenced again
+        assertNotEquals(queryId, teiidSqlChild(patched.getNode("summary")).getIdentifier());
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldRemoveOutputOfRemovedStatements() throws Exception {
+        Node model = sequenceDdl("shrinking", CUSTOMER + NEW_LINE + VIEW);
+        String customerId = model.getNode("customer").getIdentifier();
+
+        resequenceDdl(model, CUSTOMER);
+
+        assertFalse(model.hasNode("summary"));
+        assertEquals(customerId, model.getNode("customer").getIdentifier());
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldFallBackToSequencingWhenPatchFails() throws Exception {
+        Node model = sequenceDdl("failingPatch", CUSTOMER);
+        model.setProperty(VdbLexicon.Model.MODEL_DEFINITION, CUSTOMER + NEW_LINE + VIEW);
+
+        // the cached output of the new DDL cannot be patched onto the model
+        String key = SequencerResultCache.key(SequencerType.DDL, model.getProperty(VdbLexicon.Model.MODEL_DEFINITION));
+        SequencerResultCache cache = ((KSequencers)sequencers()).getResultCache();
+        SequencerResultCache.Result failing = new SequencerResultCache.Result() {
+
+            @Override
+            boolean patch(Node outputNode, String namespace, String foreignNamespace) throws RepositoryException {
+                outputNode.addNode("partiallyPatched");
+                throw new RepositoryException("patch failure");
+            }
+        };
+        cache.put(key, failing);
+
+        save(model, "failingPatch" + System.nanoTime());
+
+        assertTrue(model.hasNode("customer"));
+        assertTrue(model.hasNode("summary"));
+        assertNotNull(teiidSqlChild(model.getNode("summary")));
+        assertFalse(model.hasNode("partiallyPatched"));
+        assertNotSame(failing, cache.get(key));
+    }
+}
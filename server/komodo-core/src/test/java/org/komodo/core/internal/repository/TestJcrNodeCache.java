@@ -0,0 +1,201 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.internal.repository;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+import org.komodo.core.AbstractLocalRepositoryTest;
+import org.komodo.core.repository.SynchronousCallback;
+import org.komodo.spi.constants.SystemConstants;
+import org.komodo.spi.lexicon.ddl.StandardDdlLexicon;
+import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlLexicon;
+import org.komodo.spi.repository.Descriptor;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.utils.KLog;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestJcrNodeCache extends AbstractLocalRepositoryTest {
+
+    private static final int TABLE_COUNT = 200;
+
+    private static final int COLUMN_COUNT = 5;
+
+    private static final int ITERATIONS = 10;
+
+    @After
+    public void resetNodeCache() {
+        System.clearProperty(SystemConstants.REPOSITORY_NODE_CACHE_ENABLED);
+    }
+
+    private static JcrNodeCache cache(UnitOfWork transaction) {
+        return ((JcrUowDelegate)transaction.getDelegate()).getNodeCache();
+    }
+
+    private KomodoObject createVdb() throws Exception {
+        KomodoObject workspace = _repo.komodoWorkspace(getTransaction());
+        KomodoObject vdb = workspace.addChild(getTransaction(), "vdb", null);
+        KomodoObject model = vdb.addChild(getTransaction(), "model", null);
+
+        for (int i = 0; i < TABLE_COUNT; ++i) {
+            KomodoObject table = model.addChild(getTransaction(), "table" + i, null);
+            table.addDescriptor(getTransaction(), TeiidDdlLexicon.CreateTable.TABLE_STATEMENT);
+            table.setProperty(getTransaction(), "description", "table " + i);
+
+            for (int j = 0; j < COLUMN_COUNT; ++j) {
+                KomodoObject column = table.addChild(getTransaction(), "column" + j, null);
+                column.addDescriptor(getTransaction(), TeiidDdlLexicon.CreateTable.TABLE_ELEMENT);
+                column.setProperty(getTransaction(), StandardDdlLexicon.DATATYPE_NAME, "string");
+            }
+        }
+
+        commit();
+        return vdb;
+    }
+
+    /**
+     * Reads everything a REST entity reads for each object: name, types, descriptors, property names and values.
+     */
+    private void serialize(UnitOfWork transaction, KomodoObject kObject, StringBuilder output) throws Exception {
+        output.append(kObject.getName(transaction)).append(':').append(kObject.getPrimaryType(transaction).getName());
+
+        for (Descriptor descriptor : kObject.getDescriptors(transaction)) {
+            output.append(',').append(descriptor.getName());
+        }
+
+        for (String name : kObject.getPropertyNames(transaction)) {
+            Property property = kObject.getProperty(transaction, name);
+            output.append(' ').append(property.getName(transaction)).append('=');
+            output.append(property.isMultiple(transaction) ? property.getStringValues(transaction).length
+                                                          : property.getStringValue(transaction));
+        }
+
+        output.append('\n');
+
+        if (kObject.hasChildren(transaction)) {
+            for (KomodoObject kid : kObject.getChildren(transaction)) {
+                serialize(transaction, kid, output);
+            }
+        }
+    }
+
+    private long timeSerialization(KomodoObject vdb, boolean cacheEnabled) throws Exception {
+        System.setProperty(SystemConstants.REPOSITORY_NODE_CACHE_ENABLED, Boolean.toString(cacheEnabled));
+        long total = 0;
+
+        for (int i = 0; i < ITERATIONS; ++i) {
+            UnitOfWork uow = createTransaction(TEST_USER, "serialize", true, new SynchronousCallback());
+            assertThat(cache(uow).isEnabled(), is(cacheEnabled));
+
+            long start = System.nanoTime();
+            StringBuilder output = new StringBuilder();
+            serialize(uow, vdb, output);
+            total += System.nanoTime() - start;
+
+            if (i == 0) {
+                KLog.getLogger().info(String.format("VDB serialization (cache enabled = %b): %d characters, %s", //$NON-NLS-1$
+                                                    cacheEnabled, output.length(), cache(uow)));
+            }
+
+            uow.commit();
+        }
+
+        return total / ITERATIONS;
+    }
+
+    private void read(UnitOfWork transaction, KomodoObject kobject) throws Exception {
+        assertThat(kobject.getName(transaction), is("blah"));
+        kobject.getPrimaryType(transaction);
+        kobject.getDescriptors(transaction);
+        assertThat(kobject.getProperty(transaction, "prop").getStringValue(transaction), is("value"));
+    }
+
+    @Test
+    public void shouldAnswerRepeatedLookupsFromCache() throws Exception {
+        KomodoObject kobject = _repo.add(getTransaction(), null, "blah", null);
+        kobject.setProperty(getTransaction(), "prop", "value");
+        commit();
+
+        UnitOfWork uow = createTransaction(TEST_USER, "read", true, new SynchronousCallback());
+        JcrNodeCache cache = cache(uow);
+        read(uow, kobject);
+
+        long misses = cache.getMissCount();
+        long hits = cache.getHitCount();
+        read(uow, kobject);
+
+        // second time around nothing is resolved against the session
+        assertThat(cache.getMissCount(), is(misses));
+        assertTrue(cache.getHitCount() > hits);
+
+        uow.commit();
+    }
+
+    @Test
+    public void shouldInvalidateOnWrites() throws Exception {
+        KomodoObject kobject = _repo.add(getTransaction(), null, "blah", null);
+        KomodoObject kid = kobject.addChild(getTransaction(), "kid", null);
+        kobject.setProperty(getTransaction(), "prop", "value");
+        assertThat(kobject.getProperty(getTransaction(), "prop").getStringValue(getTransaction()), is("value"));
+        assertThat(kobject.getDescriptors(getTransaction()).length, is(0));
+
+        // property changes
+        kobject.setProperty(getTransaction(), "prop", "changed");
+        assertThat(kobject.getProperty(getTransaction(), "prop").getStringValue(getTransaction()), is("changed"));
+        kobject.getProperty(getTransaction(), "prop").set(getTransaction(), "set");
+        assertThat(kobject.getProperty(getTransaction(), "prop").getStringValue(getTransaction()), is("set"));
+        kobject.setProperty(getTransaction(), "prop", (Object)null);
+        assertThat(kobject.hasProperty(getTransaction(), "prop"), is(false));
+
+        // descriptor changes
+        kobject.addDescriptor(getTransaction(), "mix:referenceable");
+        assertThat(kobject.getDescriptors(getTransaction()).length, is(1));
+        kobject.removeDescriptor(getTransaction(), "mix:referenceable");
+        assertThat(kobject.getDescriptors(getTransaction()).length, is(0));
+
+        // structural changes
+        assertThat(kid.getName(getTransaction()), is("kid"));
+        kid.remove(getTransaction());
+        assertThat(kobject.hasChild(getTransaction(), "kid"), is(false));
+        assertThat(cache(getTransaction()).size(), is(0));
+
+        commit();
+    }
+
+    /**
+     * Benchmark of serializing a 200-table VDB with the node cache disabled and enabled.
+     */
+    @Test( timeout = 300000 )
+    public void shouldSerializeLargeVdbFasterWithCache() throws Exception {
+        KomodoObject vdb = createVdb();
+
+        // warm up
+        timeSerialization(vdb, false);
+        timeSerialization(vdb, true);
+
+        long uncached = timeSerialization(vdb, false);
+        long cached = timeSerialization(vdb, true);
+
+        KLog.getLogger().info(String.format("Serializing a %d-table VDB: %.2fms without node cache, %.2fms with node cache", //$NON-NLS-1$
+                                            TABLE_COUNT, uncached / 1000000.0, cached / 1000000.0));
+    }
+}
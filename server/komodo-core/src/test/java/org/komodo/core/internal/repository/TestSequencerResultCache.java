@@ -0,0 +1,181 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.internal.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.TimeUnit;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
+import javax.jcr.PropertyType;
+import javax.jcr.Session;
+import javax.jcr.Value;
+import javax.jcr.nodetype.NodeType;
+import org.junit.Test;
+import org.komodo.core.internal.SynchronousSequencerListener;
+import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.utils.KLog;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestSequencerResultCache extends AbstractTSqlSequencerTest {
+
+    private static final int TABLE_COUNT = 500;
+
+    private SequencerResultCache cache() {
+        return ((KSequencers)sequencers()).getResultCache();
+    }
+
+    private Node sequenceDdl(String name, String ddl) throws Exception {
+        Node node = rootNode.addNode(name);
+        node.setPrimaryType(VdbLexicon.Vdb.DECLARATIVE_MODEL);
+        node.setProperty(VdbLexicon.Model.MODEL_DEFINITION, ddl);
+
+        Session session = node.getSession();
+        SynchronousSequencerListener listener = addSequencingListenerLatch(getClass().getName() + name + session.hashCode(), session);
+        session.save();
+
+        assertTrue(listener.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        assertFalse(listener.exceptionOccurred());
+        return node;
+    }
+
+    /**
+     * Describes the tree below the node with references and paths relative to the node so trees below
+     * different nodes can be compared
+     */
+    private void describe(Node node, String rootPath, StringBuilder builder) throws Exception {
+        String relativePath = node.getPath().substring(rootPath.length());
+        builder.append(relativePath).append(" ").append(node.getPrimaryNodeType().getName());
+        for (NodeType mixin : node.getMixinNodeTypes())
+            builder.append(" ").append(mixin.getName());
+        builder.append(NEW_LINE);
+
+        PropertyIterator props = node.getProperties();
+        while (props.hasNext()) {
+            Property property = props.nextProperty();
+            if (property.getDefinition().isProtected())
+                continue;
+
+            builder.append(relativePath).append("@").append(property.getName()).append("=");
+            Value[] values = property.isMultiple() ? property.getValues() : new Value[] { property.getValue() };
+            for (Value value : values) {
+                String text = value.getString();
+                if (value.getType() == PropertyType.REFERENCE || value.getType() == PropertyType.WEAKREFERENCE)
+                    text = node.getSession().getNodeByIdentifier(text).getPath();
+                if (text.startsWith(rootPath))
+                    text = text.substring(rootPath.length());
+                builder.append(text).append(",");
+            }
+            builder.append(NEW_LINE);
+        }
+
+        NodeIterator children = node.getNodes();
+        while (children.hasNext())
+            describe(children.nextNode(), rootPath, builder);
+    }
+
+    private String describe(Node node) throws Exception {
+        StringBuilder builder = new StringBuilder();
+        NodeIterator children = node.getNodes();
+        while (children.hasNext())
+            describe(children.nextNode(), node.getPath(), builder);
+        return builder.toString();
+    }
+
+    private String createTablesDdl(int count) {
+        StringBuilder ddl = new StringBuilder();
+        for (int i = 0; i < count; ++i) {
+            ddl.append("CREATE FOREIGN TABLE table").append(i)
+               .append(" (id integer PRIMARY KEY, name string(255), amount decimal, created timestamp)")
+               .append(" OPTIONS (NAMEINSOURCE 'table").append(i).append("');").append(NEW_LINE);
+        }
+        return ddl.toString();
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldMaterializeCachedDdlOutput() throws Exception {
+        String ddl = "CREATE FOREIGN TABLE customer (id integer PRIMARY KEY, name string);" + NEW_LINE
+                     + "CREATE FOREIGN TABLE orders (id integer PRIMARY KEY, customerId integer,"
+                     + " FOREIGN KEY (customerId) REFERENCES customer (id));";
+
+        long hits = cache().getHits();
+
+        Node first = sequenceDdl("first", ddl);
+        Node second = sequenceDdl("second", ddl);
+
+        assertTrue(cache().getHits() > hits);
+        assertTrue(first.hasNode("orders"));
+        assertEquals(describe(first), describe(second));
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldMaterializeCachedTeiidSqlOutput() throws Exception {
+        String ddl = "CREATE VIEW v1 (c1 string, c2 integer) AS SELECT 'a', 1;" + NEW_LINE
+                     + "CREATE VIEW v2 (c1 string) AS SELECT c1 FROM v1 WHERE c2 > 0;";
+
+        Node first = sequenceDdl("first", ddl);
+        long hits = cache().getHits();
+
+        Node second = sequenceDdl("second", ddl);
+
+        // the ddl and the query expression of each view
+        assertEquals(hits + 3, cache().getHits());
+        assertEquals(describe(first), describe(second));
+    }
+
+    @Test( timeout = 300000 )
+    public void shouldNotUseCachedOutputOfDifferentContent() throws Exception {
+        Node first = sequenceDdl("first", "CREATE FOREIGN TABLE t1 (c1 string);");
+        long hits = cache().getHits();
+
+        Node second = sequenceDdl("second", "CREATE FOREIGN TABLE t2 (c1 string);");
+
+        assertEquals(hits, cache().getHits());
+        assertTrue(first.hasNode("t1"));
+        assertTrue(second.hasNode("t2"));
+        assertFalse(second.hasNode("t1"));
+    }
+
+    /**
+     * Benchmark of sequencing the same 500 table ddl with and without a cached result.
+     */
+    @Test( timeout = 600000 )
+    public void shouldSequenceCachedDdlFaster() throws Exception {
+        String ddl = createTablesDdl(TABLE_COUNT);
+
+        long start = System.nanoTime();
+        Node parsed = sequenceDdl("parsed", ddl);
+        long parseTime = System.nanoTime() - start;
+
+        long hits = cache().getHits();
+
+        start = System.nanoTime();
+        Node cached = sequenceDdl("cached", ddl);
+        long cachedTime = System.nanoTime() - start;
+
+        assertEquals(hits + 1, cache().getHits());
+        assertTrue(cached.hasNode("table" + (TABLE_COUNT - 1)));
+        assertEquals(describe(parsed), describe(cached));
+
+        KLog.getLogger().info(String.format("Sequencing a %d table DDL: %.2fms parsed, %.2fms from the cache, %s", //$NON-NLS-1$
+                                            TABLE_COUNT, parseTime / 1000000.0, cachedTime / 1000000.0, cache()));
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.komodo.core.repository.ChangeJournal.Batch;
+import org.komodo.core.repository.ChangeJournal.Change;
+import org.komodo.core.repository.ChangeJournal.Changes;
+import org.komodo.core.repository.ChangeJournal.Operation;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public final class ChangeJournalTest {
+
+    private static final String WORKSPACE_ROOT = RepositoryImpl.komodoWorkspacePath( null );
+
+    private static final String BOB = WORKSPACE_ROOT + "/bob";
+
+    private static final String ALICE = WORKSPACE_ROOT + "/alice";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    private ChangeJournal journal;
+
+    @Before
+    public void openJournal() throws Exception {
+        this.file = new File( this.folder.getRoot(), "changes.journal" );
+        this.journal = new ChangeJournal( this.file, 100, 1000 );
+    }
+
+    @After
+    public void closeJournal() {
+        this.journal.close();
+    }
+
+    private long append( final ChangeJournal changeJournal,
+                         final String... paths ) throws Exception {
+        final Batch batch = changeJournal.newBatch();
+
+        for ( final String path : paths ) {
+            batch.add( Operation.ADDED, path, null, "nt:unstructured", "system" );
+        }
+
+        return changeJournal.append( batch );
+    }
+
+    @Test
+    public void shouldNumberChangesAndCommits() throws Exception {
+        assertThat( append( this.journal, BOB + "/vdb", BOB + "/vdb/model" ), is( 1L ) );
+        assertThat( append( this.journal, BOB + "/view" ), is( 2L ) );
+        assertThat( this.journal.getLastSequence(), is( 3L ) );
+
+        final List< Change > changes = this.journal.since( 0, BOB, 10 ).getChanges();
+        assertThat( changes.size(), is( 3 ) );
+        assertThat( changes.get( 1 ).getSequence(), is( 2L ) );
+        assertThat( changes.get( 1 ).getCommit(), is( 1L ) );
+        assertThat( changes.get( 2 ).getCommit(), is( 2L ) );
+        assertThat( changes.get( 2 ).getPath(), is( BOB + "/view" ) );
+    }
+
+    @Test
+    public void shouldNotAppendEmptyBatch() throws Exception {
+        assertThat( this.journal.append( this.journal.newBatch() ), is( 0L ) );
+        assertThat( this.journal.getLastSequence(), is( 0L ) );
+    }
+
+    @Test
+    public void shouldOnlyReturnChangesAfterSequenceWithinParent() throws Exception {
+        append( this.journal, BOB + "/vdb", ALICE + "/vdb", BOB + "/view", WORKSPACE_ROOT + "/bobby/vdb" );
+
+        final List< Change > changes = this.journal.since( 1, BOB, 10 ).getChanges();
+        assertThat( changes.size(), is( 1 ) );
+        assertThat( changes.get( 0 ).getPath(), is( BOB + "/view" ) );
+
+        assertThat( this.journal.since( 0, BOB, 1 ).getChanges().size(), is( 1 ) );
+        assertThat( this.journal.since( 4, BOB, 10 ).getChanges().isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void shouldReturnMoveIntoOrOutOfParent() throws Exception {
+        final Batch batch = this.journal.newBatch();
+        batch.add( Operation.MOVED, ALICE + "/vdb", BOB + "/vdb", null, "system" );
+        this.journal.append( batch );
+
+        final List< Change > changes = this.journal.since( 0, BOB, 10 ).getChanges();
+        assertThat( changes.size(), is( 1 ) );
+        assertThat( changes.get( 0 ).getPreviousPath(), is( BOB + "/vdb" ) );
+    }
+
+    @Test
+    public void shouldReportNodeModifiedOnceInCommit() throws Exception {
+        final Batch batch = this.journal.newBatch();
+        batch.add( Operation.ADDED, BOB + "/vdb", null, "vdb:virtualDatabase", "bob" );
+        batch.add( Operation.MODIFIED, BOB + "/vdb", null, null, "bob" );
+        batch.add( Operation.MODIFIED, BOB + "/view", null, null, "bob" );
+        batch.add( Operation.MODIFIED, BOB + "/view", null, null, "bob" );
+        this.journal.append( batch );
+
+        final List< Change > changes = this.journal.since( 0, BOB, 10 ).getChanges();
+        assertThat( changes.size(), is( 2 ) );
+        assertThat( changes.get( 0 ).getOperation(), is( Operation.ADDED ) );
+        assertThat( changes.get( 1 ).getOperation(), is( Operation.MODIFIED ) );
+    }
+
+    @Test
+    public void shouldAttributeChangeToWorkspaceOwner() throws Exception {
+        assertThat( ChangeJournal.owner( BOB + "/vdb", "system" ), is( "bob" ) );
+        assertThat( ChangeJournal.owner( BOB, "system" ), is( "bob" ) );
+        assertThat( ChangeJournal.owner( RepositoryImpl.PROFILES_ROOT + "/alice/view", "system" ), is( "alice" ) );
+        assertThat( ChangeJournal.owner( RepositoryImpl.SEARCHES_ROOT + "/search", "bob" ), is( "bob" ) );
+        assertThat( ChangeJournal.owner( RepositoryImpl.LIBRARY_ROOT + "/vdb", "bob" ), is( "bob" ) );
+    }
+
+    @Test
+    public void shouldContinueSequenceWhenReopened() throws Exception {
+        append( this.journal, BOB + "/vdb", BOB + "/vdb\tmodel" );
+        this.journal.close();
+
+        this.journal = new ChangeJournal( this.file, 100, 1000 );
+        assertThat( this.journal.getLastSequence(), is( 2L ) );
+        assertThat( this.journal.since( 1, BOB, 10 ).getChanges().get( 0 ).getPath(), is( BOB + "/vdb\tmodel" ) );
+
+        assertThat( append( this.journal, BOB + "/view" ), is( 2L ) );
+        assertThat( this.journal.getLastSequence(), is( 3L ) );
+    }
+
+    @Test
+    public void shouldIgnoreIncompleteChangeWhenReopened() throws Exception {
+        append( this.journal, BOB + "/vdb" );
+        this.journal.close();
+
+        try ( FileOutputStream stream = new FileOutputStream( this.file, true ) ) {
+            stream.write( "2\t2\t0\tADDED".getBytes( StandardCharsets.UTF_8 ) );
+        }
+
+        this.journal = new ChangeJournal( this.file, 100, 1000 );
+        assertThat( this.journal.getLastSequence(), is( 1L ) );
+
+        append( this.journal, BOB + "/view" );
+        this.journal.close();
+
+        this.journal = new ChangeJournal( this.file, 100, 1000 );
+        assertThat( this.journal.getLastSequence(), is( 2L ) );
+        assertThat( this.journal.since( 0, BOB, 10 ).getChanges().size(), is( 2 ) );
+    }
+
+    @Test
+    public void shouldReadChangesOlderThanThoseInMemoryFromFile() throws Exception {
+        this.journal.close();
+        this.journal = new ChangeJournal( this.file, 2, 100 );
+
+        for ( int i = 0; i < 5; ++i ) {
+            append( this.journal, BOB + "/vdb" + i );
+        }
+
+        final List< Change > changes = this.journal.since( 1, BOB, 10 ).getChanges();
+        assertThat( changes.size(), is( 4 ) );
+        assertThat( changes.get( 0 ).getPath(), is( BOB + "/vdb1" ) );
+    }
+
+    @Test
+    public void shouldCompactFileToRetainedChanges() throws Exception {
+        this.journal.close();
+        this.journal = new ChangeJournal( this.file, 2, 5 );
+
+        for ( int i = 1; i <= 11; ++i ) {
+            append( this.journal, BOB + "/vdb" + i );
+        }
+
+        assertThat( Files.readAllLines( this.file.toPath() ).size(), is( 5 ) );
+
+        final List< Change > changes = this.journal.since( 6, BOB, 100 ).getChanges();
+        assertThat( changes.size(), is( 5 ) );
+        assertThat( changes.get( 0 ).getSequence(), is( 7L ) );
+
+        append( this.journal, BOB + "/view" );
+        this.journal.close();
+
+        this.journal = new ChangeJournal( this.file, 2, 5 );
+        assertThat( this.journal.getLastSequence(), is( 12L ) );
+        assertThat( Files.readAllLines( this.file.toPath() ).size(), is( 5 ) );
+    }
+
+    @Test
+    public void shouldCompactFileWhenReopened() throws Exception {
+        for ( int i = 1; i <= 20; ++i ) {
+            append( this.journal, BOB + "/vdb" + i );
+        }
+
+        this.journal.close();
+        this.journal = new ChangeJournal( this.file, 2, 5 );
+
+        assertThat( this.journal.getLastSequence(), is( 20L ) );
+        assertThat( Files.readAllLines( this.file.toPath() ).size(), is( 5 ) );
+        assertThat( this.journal.since( 15, BOB, 100 ).getChanges().get( 0 ).getSequence(), is( 16L ) );
+    }
+
+    @Test
+    public void shouldHoldChangesInMemoryWithoutFile() throws Exception {
+        final ChangeJournal memory = new ChangeJournal( null, 2, 100 );
+        append( memory, BOB + "/vdb", BOB + "/view", BOB + "/model" );
+
+        assertThat( memory.getLastSequence(), is( 3L ) );
+        assertThat( memory.since( 1, BOB, 10 ).getChanges().size(), is( 2 ) );
+        memory.close();
+    }
+
+    @Test
+    public void shouldReportChangesNoLongerHeldInMemory() throws Exception {
+        final ChangeJournal memory = new ChangeJournal( null, 2, 100 );
+        append( memory, BOB + "/vdb", BOB + "/view", BOB + "/model" );
+
+        final Changes changes = memory.since( 0, BOB, 10 );
+        assertThat( changes.isMissingChanges(), is( true ) );
+        assertThat( changes.getChanges().isEmpty(), is( true ) );
+        assertThat( changes.getOldestSequence(), is( 2L ) );
+        assertThat( changes.getLastSequence(), is( 3L ) );
+
+        assertThat( memory.since( 1, BOB, 10 ).isMissingChanges(), is( false ) );
+        memory.close();
+    }
+
+    @Test
+    public void shouldReportChangesNoLongerRetainedInFile() throws Exception {
+        this.journal.close();
+        this.journal = new ChangeJournal( this.file, 2, 5 );
+
+        for ( int i = 1; i <= 11; ++i ) {
+            append( this.journal, BOB + "/vdb" + i );
+        }
+
+        assertThat( this.journal.since( 5, BOB, 100 ).isMissingChanges(), is( true ) );
+        assertThat( this.journal.since( 6, BOB, 100 ).isMissingChanges(), is( false ) );
+        assertThat( this.journal.since( 5, BOB, 100 ).getOldestSequence(), is( 7L ) );
+    }
+
+    @Test
+    public void shouldReportSequenceUnknownToJournal() throws Exception {
+        assertThat( this.journal.since( 0, BOB, 10 ).isMissingChanges(), is( false ) );
+        assertThat( this.journal.since( 1, BOB, 10 ).isMissingChanges(), is( true ) );
+
+        append( this.journal, BOB + "/vdb" );
+        assertThat( this.journal.since( 1, BOB, 10 ).isMissingChanges(), is( false ) );
+        assertThat( this.journal.since( 2, BOB, 10 ).isMissingChanges(), is( true ) );
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import org.junit.Test;
+import org.komodo.core.AbstractLocalRepositoryTest;
+import org.komodo.core.repository.KomodoTypeRegistry.TypeResolution;
+import org.komodo.spi.lexicon.LexiconConstants.NTLexicon;
+import org.komodo.spi.lexicon.ddl.DdlConstants;
+import org.komodo.spi.lexicon.ddl.StandardDdlLexicon;
+import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlLexicon;
+import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.KomodoType;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public final class KomodoTypeRegistryTest extends AbstractLocalRepositoryTest {
+
+    private static final KomodoTypeRegistry REGISTRY = KomodoTypeRegistry.getInstance();
+
+    @Test
+    public void shouldResolvePrimaryType() {
+        final TypeResolution resolution = REGISTRY.resolve(VdbLexicon.Vdb.VIRTUAL_DATABASE);
+        assertThat(resolution.getKomodoType(), is(KomodoType.VDB));
+        assertThat(resolution.getDependency(), is(TypeResolution.Dependency.NONE));
+    }
+
+    @Test
+    public void shouldResolveMixin() {
+        final TypeResolution resolution = REGISTRY.resolve(NTLexicon.NT_UNSTRUCTURED, TeiidDdlLexicon.CreateTable.TABLE_STATEMENT);
+        assertThat(resolution.getKomodoType(), is(KomodoType.TABLE));
+        assertThat(resolution.getDependency(), is(TypeResolution.Dependency.NONE));
+    }
+
+    @Test
+    public void shouldShareResolutionRegardlessOfMixinOrder() {
+        final TypeResolution resolution = REGISTRY.resolve(NTLexicon.NT_UNSTRUCTURED,
+                                                           TeiidDdlLexicon.CreateTable.TABLE_STATEMENT,
+                                                           "mix:referenceable");
+        assertThat(REGISTRY.resolve(NTLexicon.NT_UNSTRUCTURED, "mix:referenceable", TeiidDdlLexicon.CreateTable.TABLE_STATEMENT),
+                   is(sameInstance(resolution)));
+    }
+
+    @Test
+    public void shouldResolveProcedureAsVirtualProcedure() {
+        final TypeResolution resolution = REGISTRY.resolve(NTLexicon.NT_UNSTRUCTURED,
+                                                           TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT);
+        assertThat(resolution.getKomodoType(), is(KomodoType.VIRTUAL_PROCEDURE));
+    }
+
+    @Test
+    public void shouldResolveConstraintFromConstraintType() {
+        final TypeResolution resolution = REGISTRY.resolve(NTLexicon.NT_UNSTRUCTURED, TeiidDdlLexicon.Constraint.TABLE_ELEMENT);
+        assertThat(resolution.getDependency(), is(TypeResolution.Dependency.CONSTRAINT_TYPE));
+        assertThat(resolution.resolve(null, null), is(KomodoType.UNKNOWN));
+        assertThat(resolution.resolve(null, DdlConstants.PRIMARY_KEY), is(KomodoType.PRIMARY_KEY));
+    }
+
+    @Test
+    public void shouldResolveStatementsContainerFromName() {
+        final TypeResolution resolution = REGISTRY.resolve(NTLexicon.NT_UNSTRUCTURED);
+        assertThat(resolution.getDependency(), is(TypeResolution.Dependency.NAME));
+        assertThat(resolution.resolve("blah", null), is(KomodoType.UNKNOWN));
+        assertThat(resolution.resolve(StandardDdlLexicon.STATEMENTS_CONTAINER, null), is(KomodoType.DDL_SCHEMA));
+    }
+
+    @Test
+    public void shouldUpdateTypeIdentifierWhenConstraintTypeChanges() throws Exception {
+        final KomodoObject constraint = _repo.add(getTransaction(), null, "constraint", null);
+        constraint.addDescriptor(getTransaction(), TeiidDdlLexicon.Constraint.TABLE_ELEMENT);
+        assertThat(constraint.getTypeIdentifier(getTransaction()), is(KomodoType.UNKNOWN));
+
+        constraint.setProperty(getTransaction(), TeiidDdlLexicon.Constraint.TYPE, DdlConstants.PRIMARY_KEY);
+        assertThat(constraint.getTypeIdentifier(getTransaction()), is(KomodoType.PRIMARY_KEY));
+
+        constraint.removeDescriptor(getTransaction(), TeiidDdlLexicon.Constraint.TABLE_ELEMENT);
+        constraint.addDescriptor(getTransaction(), TeiidDdlLexicon.CreateTable.TABLE_STATEMENT);
+        assertThat(constraint.getTypeIdentifier(getTransaction()), is(KomodoType.TABLE));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.spi.repository.Repository.OperationType;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.mockito.Mockito;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public final class PathAuthorizationTest {
+
+    private static final String USER = "bob";
+
+    private static final String WORKSPACE_ROOT = RepositoryImpl.komodoWorkspacePath( null );
+
+    private String workspace;
+
+    private String profile;
+
+    private PathAuthorization authorization;
+
+    @Before
+    public void createAuthorization() {
+        final UnitOfWork transaction = Mockito.mock( UnitOfWork.class );
+        Mockito.when( transaction.getUserName() ).thenReturn( USER );
+        Mockito.when( transaction.getRepositoryUser() ).thenReturn( USER );
+
+        this.workspace = RepositoryImpl.komodoWorkspacePath( transaction );
+        this.profile = RepositoryImpl.komodoProfilePath( transaction );
+        this.authorization = RepositoryImpl.createAuthorization( transaction );
+    }
+
+    private void assertAllowed( final String path,
+                                final OperationType... operationTypes ) {
+        for ( final OperationType operationType : OperationType.values() ) {
+            boolean expected = false;
+
+            for ( final OperationType allowed : operationTypes ) {
+                expected |= ( allowed == operationType );
+            }
+
+            if ( expected ) {
+                assertTrue( operationType + " of " + path, this.authorization.isAllowed( path, operationType ) );
+            } else {
+                assertFalse( operationType + " of " + path, this.authorization.isAllowed( path, operationType ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyReadReservedPaths() {
+        assertAllowed( RepositoryImpl.REPO_ROOT, OperationType.READ_OPERATION );
+        assertAllowed( RepositoryImpl.KOMODO_ROOT, OperationType.READ_OPERATION );
+        assertAllowed( RepositoryImpl.ENV_ROOT, OperationType.READ_OPERATION );
+        assertAllowed( RepositoryImpl.PROFILES_ROOT, OperationType.READ_OPERATION );
+        assertAllowed( WORKSPACE_ROOT, OperationType.READ_OPERATION );
+        assertAllowed( WORKSPACE_ROOT + "/alice", OperationType.READ_OPERATION );
+        assertAllowed( WORKSPACE_ROOT + "/alice/", OperationType.READ_OPERATION );
+    }
+
+    @Test
+    public void shouldAllowAllWithinOwnWorkspaceAndProfile() {
+        for ( final String root : new String[] { this.workspace, this.profile } ) {
+            assertAllowed( root, OperationType.READ_OPERATION, OperationType.CHILD_OPERATION );
+            assertAllowed( root + "/vdb", OperationType.values() );
+            assertAllowed( root + "/vdb/model[2]", OperationType.values() );
+        }
+    }
+
+    @Test
+    public void shouldNotAllowOtherWorkspaces() {
+        assertAllowed( WORKSPACE_ROOT + "/alice/vdb" );
+        assertAllowed( RepositoryImpl.PROFILES_ROOT + "/alice/view" );
+
+        // a workspace is not the prefix of the workspace of another user
+        assertAllowed( this.workspace + "by/vdb" );
+        assertAllowed( this.workspace + "by", OperationType.READ_OPERATION );
+    }
+
+    @Test
+    public void shouldOnlyReadLibrary() {
+        assertAllowed( RepositoryImpl.LIBRARY_ROOT, OperationType.READ_OPERATION );
+        assertAllowed( RepositoryImpl.LIBRARY_ROOT + "/vdb", OperationType.READ_OPERATION );
+    }
+
+    @Test
+    public void shouldNotModifyValidationRoot() {
+        assertAllowed( RepositoryImpl.VALIDATION_ROOT, OperationType.READ_OPERATION, OperationType.CHILD_OPERATION );
+        assertAllowed( RepositoryImpl.VALIDATION_ROOT + "/rule", OperationType.values() );
+    }
+
+    @Test
+    public void shouldAllowAllWithinSearches() {
+        assertAllowed( RepositoryImpl.SEARCHES_ROOT, OperationType.values() );
+        assertAllowed( RepositoryImpl.SEARCHES_ROOT + "/search", OperationType.values() );
+    }
+
+    @Test
+    public void shouldNotAllowNullOrUnknownPaths() {
+        assertAllowed( null );
+        assertAllowed( "/jcr:system/mode:namespaces" );
+    }
+}
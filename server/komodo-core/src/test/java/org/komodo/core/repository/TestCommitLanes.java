@@ -0,0 +1,213 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.komodo.core.AbstractLocalRepositoryTest;
+import org.komodo.spi.constants.SystemConstants;
+import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.RepoEngine.CommitLane;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.Repository.UnitOfWork.State;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestCommitLanes extends AbstractLocalRepositoryTest {
+
+    private static final String[] USERS = { "alice", "bob", "carol", "dave" };
+
+    private static final int COMMITS_PER_USER = 10;
+
+    private static final int LANES = 4;
+
+    private static final long BUSY_MILLIS = 100;
+
+    static {
+        // must be set before the engine of the repository is created
+        System.setProperty(SystemConstants.REPOSITORY_COMMIT_LANES, Integer.toString(LANES));
+    }
+
+    @AfterClass
+    public static void resetCommitLanes() {
+        System.clearProperty(SystemConstants.REPOSITORY_COMMIT_LANES);
+    }
+
+    private UnitOfWork addVdbTransaction(String user, String vdbName, TestTransactionListener callback) throws Exception {
+        UnitOfWork tx = createTransaction(user, txId(user, vdbName), false, callback);
+        _repo.add(tx, RepositoryImpl.komodoWorkspacePath(tx), vdbName, VdbLexicon.Vdb.VIRTUAL_DATABASE);
+        return tx;
+    }
+
+    private void addVdb(String user, String vdbName) throws Exception {
+        commit(addVdbTransaction(user, vdbName, new TestTransactionListener()), State.COMMITTED);
+    }
+
+    /*
+     * Mirrors the assignment of a commit to a lane by the engine, ie. by the user workspace path
+     */
+    private static CommitLane laneOf(String user) {
+        String key = RepositoryImpl.komodoWorkspacePath(null) + FORWARD_SLASH + user;
+        return _repo.getCommitLanes().get((key.hashCode() & Integer.MAX_VALUE) % LANES);
+    }
+
+    private static void awaitProcessed(CommitLane lane, long count) throws Exception {
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(TIME_TO_WAIT);
+        while (lane.getProcessedCount() < count) {
+            assertTrue("Commit lane " + lane.getIndex() + " did not process its requests", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void shouldExposeCommitLanes() throws Exception {
+        List<? extends CommitLane> lanes = _repo.getCommitLanes();
+        assertThat(lanes.size(), is(LANES));
+
+        for (int i = 0; i < LANES; ++i) {
+            assertThat(lanes.get(i).getIndex(), is(i));
+        }
+    }
+
+    @Test
+    public void shouldCommitConcurrentlyFromIndependentWorkspaces() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(USERS.length);
+
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (final String user : USERS) {
+                tasks.add(new Callable<Void>() {
+
+                    @Override
+                    public Void call() throws Exception {
+                        for (int i = 0; i < COMMITS_PER_USER; ++i) {
+                            addVdb(user, "vdb" + i);
+                        }
+
+                        return null;
+                    }
+                });
+            }
+
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (String user : USERS) {
+            UnitOfWork tx = createTransaction(user, txId(user, "verify"), true, new TestTransactionListener());
+            KomodoObject workspace = _repo.komodoWorkspace(tx);
+
+            for (int i = 0; i < COMMITS_PER_USER; ++i) {
+                assertThat(workspace.hasChild(tx, "vdb" + i), is(true));
+            }
+
+            tx.commit();
+        }
+
+        for (String user : USERS) {
+            awaitProcessed(laneOf(user), COMMITS_PER_USER);
+        }
+
+        for (CommitLane lane : _repo.getCommitLanes()) {
+            assertThat(lane.getQueueDepth(), is(0));
+
+            if (lane.getProcessedCount() > 0) {
+                assertTrue(lane.getAverageServiceMillis() > 0);
+                assertTrue(lane.getAverageWaitMillis() >= 0);
+                assertTrue(lane.getMaxLatencyMillis() >= (long)lane.getAverageServiceMillis());
+            }
+        }
+
+    }
+
+    @Test
+    public void shouldCommitInOtherLaneWhileLaneIsBusy() throws Exception {
+        String busyUser = USERS[0];
+        CommitLane busyLane = laneOf(busyUser);
+
+        String otherUser = null;
+        for (String user : USERS) {
+            if (laneOf(user) != busyLane) {
+                otherUser = user;
+                break;
+            }
+        }
+        assertNotNull("All users were assigned the same commit lane", otherUser);
+
+        long busyProcessed = busyLane.getProcessedCount();
+        final CountDownLatch blocking = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        // a commit without changes responds to its callback on the lane thread so this holds the lane
+        TestTransactionListener blocker = new TestTransactionListener() {
+
+            @Override
+            public void respond(Object results) {
+                blocking.countDown();
+
+                try {
+                    release.await(TIME_TO_WAIT, TimeUnit.MINUTES);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+
+                super.respond(results);
+            }
+        };
+
+        UnitOfWork blockingTx = createTransaction(busyUser, txId(busyUser, "blocking"), false, blocker);
+        blockingTx.commit();
+        assertThat(blocking.await(TIME_TO_WAIT, TimeUnit.MINUTES), is(true));
+
+        TestTransactionListener queuedCallback = new TestTransactionListener();
+        addVdbTransaction(busyUser, "queuedVdb", queuedCallback).commit();
+        assertThat(busyLane.getQueueDepth(), is(1));
+
+        // must complete while the lane of the first user is still busy
+        addVdb(otherUser, "parallelVdb");
+        assertThat(busyLane.getQueueDepth(), is(1));
+        assertThat(queuedCallback.respondCallbackReceived(), is(false));
+
+        Thread.sleep(BUSY_MILLIS);
+        release.countDown();
+
+        assertThat(blocker.await(TIME_TO_WAIT, TimeUnit.MINUTES), is(true));
+        assertThat(queuedCallback.await(TIME_TO_WAIT, TimeUnit.MINUTES), is(true));
+        assertThat(queuedCallback.hasError(), is(false));
+        awaitProcessed(busyLane, busyProcessed + 2);
+
+        assertThat(busyLane.getQueueDepth(), is(0));
+        assertTrue(busyLane.getAverageWaitMillis() > 0);
+        assertTrue(busyLane.getMaxLatencyMillis() >= BUSY_MILLIS);
+    }
+}
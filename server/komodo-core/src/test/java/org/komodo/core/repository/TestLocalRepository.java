@@ -27,6 +27,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
@@ -502,4 +503,38 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
             assertEquals("DDL", property.getStringValue(getTransaction()));
         }
     }
+
+    @Test
+    public void shouldCompleteAsyncCommit() throws Exception {
+        _repo.komodoWorkspace(getTransaction());
+        commit();
+
+        final SynchronousCallback callback = new TestTransactionListener();
+        final UnitOfWork uow = createTransaction(TEST_USER, "asyncCommit", false, callback);
+        _repo.add(uow, RepositoryImpl.komodoWorkspacePath(uow), "asyncVdb", VdbLexicon.Vdb.VIRTUAL_DATABASE);
+
+        final UnitOfWork committed = uow.commitAsync().toCompletableFuture().get(TIME_TO_WAIT, TimeUnit.MINUTES);
+        assertThat(committed, is(uow));
+        assertThat(uow.getState(), is(State.COMMITTED));
+
+        // the callback is still notified
+        assertThat(callback.await(0, TimeUnit.SECONDS), is(true));
+        assertThat(callback.hasError(), is(false));
+
+        assertThat(_repo.komodoWorkspace(getTransaction()).hasChild(getTransaction(), "asyncVdb"), is(true));
+    }
+
+    @Test
+    public void shouldFailAsyncCommitOfFinishedTransaction() throws Exception {
+        final UnitOfWork uow = createTransaction(TEST_USER, "finished", true, new TestTransactionListener());
+        uow.commit();
+        assertThat(uow.getState(), is(State.ROLLED_BACK));
+
+        try {
+            uow.commitAsync().toCompletableFuture().get(TIME_TO_WAIT, TimeUnit.MINUTES);
+            fail("Committing a finished transaction should fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause() instanceof KException, is(true));
+        }
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.komodo.core.AbstractLocalRepositoryTest;
+import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.komodo.utils.KLog;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestReadOnlyTransactions extends AbstractLocalRepositoryTest {
+
+    private static final int VDB_COUNT = 20;
+
+    private static final int READS_PER_THREAD = 200;
+
+    private static final int[] THREAD_COUNTS = { 1, 2, 4, 8 };
+
+    private void createVdbs() throws Exception {
+        for (int i = 0; i < VDB_COUNT; ++i) {
+            _repo.add(getTransaction(), RepositoryImpl.komodoWorkspacePath(getTransaction()), "vdb" + i, VdbLexicon.Vdb.VIRTUAL_DATABASE);
+        }
+
+        commit();
+    }
+
+    private int read() throws Exception {
+        final SynchronousCallback callback = new SynchronousCallback();
+        final UnitOfWork uow = createTransaction(TEST_USER, "read-only", true, callback);
+        final KomodoObject workspace = _repo.komodoWorkspace(uow);
+
+        int count = 0;
+        for (KomodoObject kid : workspace.getChildren(uow)) {
+            kid.getName(uow);
+            kid.getPrimaryType(uow);
+            ++count;
+        }
+
+        uow.commit();
+        assertThat(callback.await(TIME_TO_WAIT, TimeUnit.MINUTES), is(true));
+        assertThat(uow.getState(), is(State.ROLLED_BACK));
+
+        return count;
+    }
+
+    @Test
+    public void shouldRollbackReadOnlyTransactionOnCallingThread() throws Exception {
+        final SynchronousCallback callback = new SynchronousCallback();
+        final UnitOfWork uow = createTransaction(TEST_USER, "read-only", true, callback);
+        _repo.komodoWorkspace(uow).getName(uow);
+
+        uow.commit();
+
+        // no engine round trip so the outcome is known as soon as commit returns
+        assertThat(uow.getState(), is(State.ROLLED_BACK));
+        assertThat(callback.await(0, TimeUnit.MILLISECONDS), is(true));
+        assertThat(callback.hasError(), is(false));
+    }
+
+    @Test
+    public void shouldDiscardChangesMadeInReadOnlyTransaction() throws Exception {
+        // ensure the user workspace exists
+        _repo.komodoWorkspace(getTransaction());
+        commit();
+
+        final UnitOfWork readOnly = createTransaction(TEST_USER, "read-only", true, new SynchronousCallback());
+        _repo.add(readOnly, RepositoryImpl.komodoWorkspacePath(readOnly), "discarded", VdbLexicon.Vdb.VIRTUAL_DATABASE);
+        readOnly.commit();
+        assertThat(readOnly.getState(), is(State.ROLLED_BACK));
+
+        // a later read-only transaction, possibly reusing the same session, must not see the change
+        final UnitOfWork reader = createTransaction(TEST_USER, "reader", true, new SynchronousCallback());
+        assertThat(_repo.komodoWorkspace(reader).hasChild(reader, "discarded"), is(false));
+        reader.commit();
+    }
+
+    @Test
+    public void shouldSeeCommittedChangesInReadOnlyTransaction() throws Exception {
+        createVdbs();
+        assertThat(read(), is(VDB_COUNT));
+
+        _repo.add(getTransaction(), RepositoryImpl.komodoWorkspacePath(getTransaction()), "another", VdbLexicon.Vdb.VIRTUAL_DATABASE);
+        commit();
+
+        assertThat(read(), is(VDB_COUNT + 1));
+    }
+
+    /**
+     * Benchmark of read-only transaction throughput as the number of request threads grows.
+     * Each read opens a read-only transaction, lists the workspace and rolls back, mirroring
+     * a REST GET endpoint.
+     */
+    @Test( timeout = 300000 )
+    public void shouldScaleReadThroughputWithThreads() throws Exception {
+        createVdbs();
+
+        // warm up
+        for (int i = 0; i < READS_PER_THREAD; ++i) {
+            read();
+        }
+
+        for (final int threads : THREAD_COUNTS) {
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            try {
+                final List<Callable<Integer>> tasks = new ArrayList<>();
+                for (int i = 0; i < threads; ++i) {
+                    tasks.add(new Callable<Integer>() {
+
+                        @Override
+                        public Integer call() throws Exception {
+                            int reads = 0;
+                            for (int j = 0; j < READS_PER_THREAD; ++j) {
+                                assertThat(read(), is(VDB_COUNT));
+                                ++reads;
+                            }
+
+                            return reads;
+                        }
+                    });
+                }
+
+                final long start = System.nanoTime();
+                int total = 0;
+
+                for (final Future<Integer> result : executor.invokeAll(tasks)) {
+                    total += result.get();
+                }
+
+                final long elapsed = System.nanoTime() - start;
+                final double opsPerSecond = total / (elapsed / 1000000000.0);
+
+                KLog.getLogger().info(String.format("Read-only transactions: %d threads, %d reads, %.0f reads/sec", //$NON-NLS-1$
+                                                    threads, total, opsPerSecond));
+                assertThat(total, is(threads * READS_PER_THREAD));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
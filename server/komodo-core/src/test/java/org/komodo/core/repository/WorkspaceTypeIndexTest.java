@@ -0,0 +1,151 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.repository;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public final class WorkspaceTypeIndexTest {
+
+    private static final String WORKSPACE = "/tko:komodo/tko:workspace/user";
+
+    private static final String OTHER_WORKSPACE = "/tko:komodo/tko:workspace/other";
+
+    private static final String VDB_TYPE = "vdb:virtualDatabase";
+
+    private static final String MODEL_TYPE = "vdb:declarativeModel";
+
+    private WorkspaceTypeIndex index;
+
+    @Before
+    public void createIndex() {
+        this.index = new WorkspaceTypeIndex();
+    }
+
+    private void prime( final String type,
+                        final String... paths ) {
+        assertTrue( this.index.prime( WORKSPACE, type, Arrays.asList( paths ), this.index.version( WORKSPACE ) ) );
+    }
+
+    @Test
+    public void shouldNotFindTypesNotPrimed() {
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE ), is( nullValue() ) );
+        assertThat( this.index.getMisses(), is( 1L ) );
+        assertThat( this.index.getHits(), is( 0L ) );
+    }
+
+    @Test
+    public void shouldFindPrimedPathsInPathOrder() {
+        prime( VDB_TYPE, WORKSPACE + "/b-c", WORKSPACE + "/a", WORKSPACE + "/b/vdb" );
+
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE ),
+                    is( Arrays.asList( WORKSPACE + "/a", WORKSPACE + "/b/vdb", WORKSPACE + "/b-c" ) ) );
+        assertThat( this.index.getHits(), is( 1L ) );
+    }
+
+    @Test
+    public void shouldFindPathsUnderParent() {
+        prime( VDB_TYPE, WORKSPACE + "/a", WORKSPACE + "/b/vdb1", WORKSPACE + "/b/c/vdb2", WORKSPACE + "/b-c" );
+
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE + "/b" ),
+                    is( Arrays.asList( WORKSPACE + "/b/c/vdb2", WORKSPACE + "/b/vdb1" ) ) );
+    }
+
+    @Test
+    public void shouldAddNodesOfIndexedTypes() {
+        prime( VDB_TYPE );
+
+        this.index.nodeAdded( WORKSPACE + "/vdb", VDB_TYPE );
+        this.index.nodeAdded( WORKSPACE + "/vdb/model", MODEL_TYPE );
+        this.index.nodeAdded( OTHER_WORKSPACE + "/vdb", VDB_TYPE );
+
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE ), is( Collections.singletonList( WORKSPACE + "/vdb" ) ) );
+        assertThat( this.index.find( WORKSPACE, MODEL_TYPE, WORKSPACE ), is( nullValue() ) );
+    }
+
+    @Test
+    public void shouldRemoveSubtree() {
+        prime( VDB_TYPE, WORKSPACE + "/folder/vdb1", WORKSPACE + "/folder/sub/vdb2", WORKSPACE + "/folder-vdb" );
+        prime( MODEL_TYPE, WORKSPACE + "/folder/vdb1/model" );
+
+        this.index.nodeRemoved( WORKSPACE + "/folder" );
+
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE ), is( Collections.singletonList( WORKSPACE + "/folder-vdb" ) ) );
+        assertThat( this.index.find( WORKSPACE, MODEL_TYPE, WORKSPACE ).isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void shouldMoveSubtree() {
+        prime( VDB_TYPE, WORKSPACE + "/vdb" );
+        prime( MODEL_TYPE, WORKSPACE + "/vdb/model" );
+
+        this.index.nodeMoved( WORKSPACE + "/vdb", WORKSPACE + "/renamed" );
+
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE ), is( Collections.singletonList( WORKSPACE + "/renamed" ) ) );
+        assertThat( this.index.find( WORKSPACE, MODEL_TYPE, WORKSPACE ),
+                    is( Collections.singletonList( WORKSPACE + "/renamed/model" ) ) );
+    }
+
+    @Test
+    public void shouldReindexNodeWhenPrimaryTypeChanged() {
+        prime( VDB_TYPE, WORKSPACE + "/node" );
+        prime( MODEL_TYPE );
+
+        this.index.nodeTypeChanged( WORKSPACE + "/node", MODEL_TYPE );
+
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE ).isEmpty(), is( true ) );
+        assertThat( this.index.find( WORKSPACE, MODEL_TYPE, WORKSPACE ), is( Collections.singletonList( WORKSPACE + "/node" ) ) );
+    }
+
+    @Test
+    public void shouldDiscardTypesWhenNodesMovedInFromOutside() {
+        prime( VDB_TYPE, WORKSPACE + "/vdb" );
+
+        this.index.nodeMoved( OTHER_WORKSPACE + "/folder", WORKSPACE + "/folder" );
+
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE ), is( nullValue() ) );
+    }
+
+    @Test
+    public void shouldNotPrimeWhenWorkspaceChangedDuringQuery() {
+        final long version = this.index.version( WORKSPACE );
+
+        // committed after the query read the workspace
+        this.index.nodeAdded( WORKSPACE + "/vdb", VDB_TYPE );
+
+        assertFalse( this.index.prime( WORKSPACE, VDB_TYPE, Collections.< String >emptyList(), version ) );
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE ), is( nullValue() ) );
+    }
+
+    @Test
+    public void shouldDiscardAllTypesWhenCleared() {
+        prime( VDB_TYPE, WORKSPACE + "/vdb" );
+
+        this.index.clear();
+
+        assertThat( this.index.find( WORKSPACE, VDB_TYPE, WORKSPACE ), is( nullValue() ) );
+    }
+}
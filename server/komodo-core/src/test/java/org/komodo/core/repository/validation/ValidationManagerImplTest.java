@@ -18,17 +18,28 @@
 package org.komodo.core.repository.validation;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.Assert.assertThat;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.komodo.core.AbstractLocalRepositoryTest;
+import org.komodo.core.repository.SynchronousCallback;
+import org.komodo.spi.lexicon.ddl.StandardDdlLexicon;
+import org.komodo.spi.lexicon.ddl.teiid.TeiidDdlLexicon;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.ValidationManager;
 import org.komodo.spi.repository.validation.Result;
 import org.komodo.spi.repository.validation.Rule;
+import org.komodo.utils.KLog;
 
 @SuppressWarnings( { "javadoc", "nls" } )
 public final class ValidationManagerImplTest extends AbstractLocalRepositoryTest {
@@ -783,4 +794,172 @@ public final class ValidationManagerImplTest extends AbstractLocalRepositoryTest
         assertThat( result.getMessage(), is( "The VDB dataRole must NOT have a 'myProp' property" ));
     }
 
+    @Test
+    public void shouldReuseCompiledRulesUntilRulesChange() throws Exception {
+        final KomodoObject kobject = _repo.add( getTransaction(), null, VDB_NAME, VDB_TYPE );
+        String testFilePath = getClass().getResource(RULES_FILE_NODE_NAME_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        // rules are compiled once and shared
+        final Rule[] rules = _validationMgr.getRules( getTransaction(), kobject );
+        assertThat( rules.length, is( 1 ) );
+        assertThat( _validationMgr.getRules( getTransaction(), kobject )[ 0 ], is( sameInstance( rules[ 0 ] ) ) );
+        commit();
+
+        // changing a rule is seen by the transaction making the change and, once committed, by everyone
+        _validationMgr.setRuleEnabled( getTransaction(), false, rules[ 0 ].getName( getTransaction() ) );
+        assertThat( _validationMgr.getRules( getTransaction(), kobject )[ 0 ], is( instanceOf( ProblemRule.class ) ) );
+        commit();
+
+        assertThat( _validationMgr.getRules( getTransaction(), kobject )[ 0 ], is( instanceOf( ProblemRule.class ) ) );
+    }
+
+    @Test
+    public void shouldOnlyApplyRulesForMatchingTypesInFullValidation() throws Exception {
+        final KomodoObject vdb = _repo.add( getTransaction(), null, "1" + VDB_NAME, VDB_TYPE );
+        vdb.addChild( getTransaction(), DATA_ROLE_NAME, DATA_ROLE_TYPE );
+        vdb.addChild( getTransaction(), "model", MODEL_TYPE );
+        String testFilePath = getClass().getResource(RULES_FILE_NODE_NAME_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        final Result[] results = _validationMgr.evaluate( getTransaction(), vdb, true );
+        assertThat( results.length, is( 1 ) );
+        assertThat( results[ 0 ].isOK(), is( false ) );
+        assertThat( results[ 0 ].getPath(), is( vdb.getAbsolutePath() ) );
+    }
+
+    private KomodoObject createLargeVdb( final int modelCount,
+                                         final int tableCount,
+                                         final int columnCount ) throws Exception {
+        final KomodoObject vdb = _repo.add( getTransaction(), null, VDB_NAME, VDB_TYPE );
+
+        for ( int i = 0; i < modelCount; ++i ) {
+            final KomodoObject model = vdb.addChild( getTransaction(), "model" + i, MODEL_TYPE );
+
+            for ( int j = 0; j < tableCount; ++j ) {
+                final KomodoObject table = model.addChild( getTransaction(), "table" + j, null );
+                table.addDescriptor( getTransaction(), TeiidDdlLexicon.CreateTable.TABLE_STATEMENT );
+
+                for ( int k = 0; k < columnCount; ++k ) {
+                    final KomodoObject column = table.addChild( getTransaction(), "column" + k, null );
+                    column.addDescriptor( getTransaction(), TeiidDdlLexicon.CreateTable.TABLE_ELEMENT );
+
+                    // leave some columns without a datatype so that there are errors
+                    if ( k != 0 ) {
+                        column.setProperty( getTransaction(), StandardDdlLexicon.DATATYPE_NAME, "string" );
+                    }
+                }
+            }
+        }
+
+        String testFilePath = getClass().getResource(RULES_FILE_RELATIONAL_RULES).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        return vdb;
+    }
+
+    private Result[] validate( final KomodoObject kobject,
+                               final int parallelism,
+                               final ValidationStatistics statistics ) throws Exception {
+        final UnitOfWork uow = _repo.createTransaction( TEST_USER, "validate", true, new SynchronousCallback(), TEST_USER );
+
+        try {
+            return ( ( ValidationManagerImpl )_validationMgr ).evaluate( uow, kobject, true, parallelism, statistics );
+        } finally {
+            uow.commit();
+        }
+    }
+
+    @Test
+    public void shouldProduceSameResultsInParallel() throws Exception {
+        final KomodoObject vdb = createLargeVdb( 5, 5, 3 );
+
+        final Result[] sequential = validate( vdb, 1, new ValidationStatistics() );
+        final ValidationStatistics statistics = new ValidationStatistics();
+        final Result[] parallel = validate( vdb, 4, statistics );
+
+        assertThat( sequential.length > 0, is( true ) );
+        assertThat( parallel.length, is( sequential.length ) );
+        assertThat( statistics.getParallelism(), is( 4 ) );
+
+        for ( int i = 0; i < sequential.length; ++i ) {
+            assertThat( parallel[ i ].getPath(), is( sequential[ i ].getPath() ) );
+            assertThat( parallel[ i ].getRuleId(), is( sequential[ i ].getRuleId() ) );
+            assertThat( parallel[ i ].getLevel(), is( sequential[ i ].getLevel() ) );
+            assertThat( parallel[ i ].getMessage(), is( sequential[ i ].getMessage() ) );
+        }
+
+        long evaluations = 0;
+
+        for ( final String ruleId : statistics.getRuleIds() ) {
+            evaluations += statistics.getEvaluationCount( ruleId );
+        }
+
+        assertThat( evaluations, is( ( long )parallel.length ) );
+    }
+
+    @Test
+    public void shouldValidateConcurrentlyWithDifferentParallelism() throws Exception {
+        final KomodoObject vdb = createLargeVdb( 5, 5, 3 );
+        final int expected = validate( vdb, 1, new ValidationStatistics() ).length;
+        final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+
+        try {
+            final List< Future< Result[] > > validations = new ArrayList<>();
+
+            for ( int i = 0; i < 8; ++i ) {
+                final int parallelism = 2 + ( i % 3 );
+                validations.add( executor.submit( () -> validate( vdb, parallelism, new ValidationStatistics() ) ) );
+            }
+
+            // a validation with another parallelism must not fail a validation already running
+            for ( final Future< Result[] > validation : validations ) {
+                assertThat( validation.get().length, is( expected ) );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldValidateInParallelAfterDispose() throws Exception {
+        final KomodoObject vdb = createLargeVdb( 3, 3, 3 );
+        final int expected = validate( vdb, 2, new ValidationStatistics() ).length;
+
+        ( ( ValidationManagerImpl )_validationMgr ).dispose();
+
+        final ValidationStatistics statistics = new ValidationStatistics();
+        assertThat( validate( vdb, 2, statistics ).length, is( expected ) );
+        assertThat( statistics.getParallelism(), is( 2 ) );
+    }
+
+    /**
+     * Benchmark of a full validation of a 50-model VDB, sequentially and in parallel.
+     */
+    @Test( timeout = 600000 )
+    public void shouldValidateLargeVdbInParallel() throws Exception {
+        final int parallelism = Math.max( 2, Runtime.getRuntime().availableProcessors() );
+        final KomodoObject vdb = createLargeVdb( 50, 10, 5 );
+
+        // warm up
+        validate( vdb, 1, new ValidationStatistics() );
+        validate( vdb, parallelism, new ValidationStatistics() );
+
+        final ValidationStatistics sequential = new ValidationStatistics();
+        final Result[] sequentialResults = validate( vdb, 1, sequential );
+        final ValidationStatistics parallel = new ValidationStatistics();
+        final Result[] parallelResults = validate( vdb, parallelism, parallel );
+
+        assertThat( parallelResults.length, is( sequentialResults.length ) );
+        KLog.getLogger().info( String.format( "Validating a 50-model VDB (%d results): %dms sequential, %dms with %d threads", //$NON-NLS-1$
+                                              sequentialResults.length,
+                                              sequential.getElapsedTime(),
+                                              parallel.getElapsedTime(),
+                                              parallelism ) );
+        KLog.getLogger().info( parallel.toString() );
+    }
+
 }
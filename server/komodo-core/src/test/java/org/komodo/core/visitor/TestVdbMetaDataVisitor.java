@@ -0,0 +1,145 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.core.visitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLOutputFactory;
+import org.junit.Test;
+import org.komodo.core.AbstractLocalRepositoryTest;
+import org.komodo.metadata.DefaultMetadataInstance;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.test.utils.TestUtilities;
+import org.komodo.utils.KLog;
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.adminapi.impl.VDBMetadataParser;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestVdbMetaDataVisitor extends AbstractLocalRepositoryTest {
+
+    private static final int ITERATIONS = 50;
+
+    private static final Pattern CDATA = Pattern.compile("<!\\[CDATA\\[(.*?)\\]\\]>", Pattern.DOTALL);
+
+    private VDBMetaData parseExportedXml(UnitOfWork transaction, KomodoObject vdb) throws Exception {
+        StringWriter writer = new StringWriter();
+        VdbNodeVisitor visitor = new VdbNodeVisitor(DefaultMetadataInstance.metadataVersion(),
+                                                    DefaultMetadataInstance.dataTypeService(),
+                                                    XMLOutputFactory.newInstance().createXMLStreamWriter(writer));
+        visitor.visit(transaction, vdb);
+
+        return VDBMetadataParser.unmarshell(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private VDBMetaData build(UnitOfWork transaction, KomodoObject vdb) throws Exception {
+        VdbMetaDataVisitor visitor = new VdbMetaDataVisitor(DefaultMetadataInstance.metadataVersion(),
+                                                            DefaultMetadataInstance.dataTypeService());
+        return (VDBMetaData)visitor.visit(transaction, vdb);
+    }
+
+    /**
+     * The xml carries the whitespace surrounding the metadata so compare the marshalled vdbs with that trimmed
+     */
+    private String marshall(VDBMetaData vdb) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VDBMetadataParser.marshell(vdb, out);
+
+        Matcher matcher = CDATA.matcher(new String(out.toByteArray(), StandardCharsets.UTF_8));
+        StringBuffer xml = new StringBuffer();
+        while (matcher.find()) {
+            matcher.appendReplacement(xml, Matcher.quoteReplacement("<![CDATA[" + matcher.group(1).trim() + "]]>"));
+        }
+        matcher.appendTail(xml);
+        return xml.toString();
+    }
+
+    private void assertSameAsParsedXml(KomodoObject vdb) throws Exception {
+        VDBMetaData parsed = parseExportedXml(getTransaction(), vdb);
+        VDBMetaData built = build(getTransaction(), vdb);
+
+        assertNotNull(built);
+        assertTrue(built.isXmlDeployment());
+        assertEquals(marshall(parsed), marshall(built));
+    }
+
+    @Test
+    public void shouldBuildAllElementsVdb() throws Exception {
+        KomodoObject workspace = _repo.komodoWorkspace(getTransaction());
+        KomodoObject vdb = TestUtilities.createAllElementsExampleNode(getTransaction(), workspace);
+        commit();
+
+        assertSameAsParsedXml(vdb);
+    }
+
+    @Test
+    public void shouldBuildPatientsVdb() throws Exception {
+        KomodoObject workspace = _repo.komodoWorkspace(getTransaction());
+        KomodoObject vdb = TestUtilities.createPatientsExampleNode(getTransaction(), workspace);
+        commit();
+
+        assertSameAsParsedXml(vdb);
+    }
+
+    @Test
+    public void shouldBuildTweetVdb() throws Exception {
+        KomodoObject workspace = _repo.komodoWorkspace(getTransaction());
+        KomodoObject vdb = TestUtilities.createTweetExampleNode(getTransaction(), workspace);
+        commit();
+
+        assertSameAsParsedXml(vdb);
+    }
+
+    /**
+     * Benchmark of producing the deployable vdb by exporting and parsing xml and by building it directly.
+     */
+    @Test( timeout = 300000 )
+    public void shouldBuildVdbFasterThanXmlRoundTrip() throws Exception {
+        KomodoObject workspace = _repo.komodoWorkspace(getTransaction());
+        KomodoObject vdb = TestUtilities.createAllElementsExampleNode(getTransaction(), workspace);
+        commit();
+
+        // warm up
+        for (int i = 0; i < ITERATIONS; ++i) {
+            parseExportedXml(getTransaction(), vdb);
+            build(getTransaction(), vdb);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; ++i) {
+            parseExportedXml(getTransaction(), vdb);
+        }
+        long roundTrip = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; ++i) {
+            build(getTransaction(), vdb);
+        }
+        long direct = (System.nanoTime() - start) / ITERATIONS;
+
+        KLog.getLogger().info(String.format("Building a deployable VDB: %.2fms via xml export and parse, %.2fms directly", //$NON-NLS-1$
+                                            roundTrip / 1000000.0, direct / 1000000.0));
+    }
+}
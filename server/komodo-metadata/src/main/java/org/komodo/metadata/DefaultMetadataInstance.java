@@ -17,6 +17,8 @@
  */
 package org.komodo.metadata;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -35,6 +37,13 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.komodo.metadata.internal.DataTypeServiceImpl;
 import org.komodo.metadata.internal.MetaArtifactFactory;
@@ -46,6 +55,7 @@ import org.komodo.spi.metadata.MetadataObserver;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.query.QSColumn;
 import org.komodo.spi.query.QSResult;
+import org.komodo.spi.query.QSResultHandler;
 import org.komodo.spi.query.QSRow;
 import org.komodo.spi.runtime.ConnectionDriver;
 import org.komodo.spi.runtime.TeiidDataSource;
@@ -64,9 +74,15 @@ import org.teiid.adminapi.PropertyDefinition;
 import org.teiid.adminapi.Translator;
 import org.teiid.adminapi.VDB;
 import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.adminapi.impl.VDBMetadataParser;
 import org.teiid.core.util.ApplicationInfo;
 import org.teiid.query.parser.QueryParser;
 import org.teiid.query.sql.LanguageObject;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.Limit;
+import org.teiid.query.sql.lang.QueryCommand;
+import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.Expression;
 
 public class DefaultMetadataInstance implements MetadataInstance {
 
@@ -106,8 +122,46 @@ public class DefaultMetadataInstance implements MetadataInstance {
         }
     }
 
+    /**
+     * Completes the futures of callers waiting for a vdb to finish deploying or to be removed.
+     */
+    private class DeploymentTracker implements VdbStatusListener {
+
+        @Override
+        public void vdbStatusChanged(String vdbName, VDB.Status status) {
+            if (status != VDB.Status.ACTIVE && status != VDB.Status.FAILED)
+                return;
+
+            CompletableFuture<Void> deployment = deployments.remove(vdbName);
+            if (deployment != null)
+                deployment.complete(null);
+        }
+
+        @Override
+        public void vdbRemoved(String vdbName) {
+            CompletableFuture<Void> undeployment = undeployments.remove(vdbName);
+            if (undeployment != null)
+                undeployment.complete(null);
+        }
+    }
+
+    /**
+     * The longest time to wait for a vdb lifecycle event before checking the vdb status again. Guards against
+     * events that are missed or never sent.
+     */
+    private static final long STATUS_POLL_INTERVAL = 250;
+
+    /**
+     * The number of rows fetched from the server at a time by queries
+     */
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
     private final Set<MetadataObserver> observers = new HashSet<>();
 
+    private final ConcurrentMap<String, CompletableFuture<Void>> deployments = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, CompletableFuture<Void>> undeployments = new ConcurrentHashMap<>();
+
     private final MetaArtifactFactory factory = new MetaArtifactFactory();
 
     private final JndiManager jndiMgr = new JndiManager();
@@ -116,6 +170,7 @@ public class DefaultMetadataInstance implements MetadataInstance {
 
     public DefaultMetadataInstance(TeiidConnectionProvider connectionProvider) {
         this.connectionProvider = connectionProvider;
+        this.connectionProvider.addVdbStatusListener(new DeploymentTracker());
     }
 
     public Admin admin() throws AdminException {
@@ -204,9 +259,35 @@ public class DefaultMetadataInstance implements MetadataInstance {
 
     @Override
     public QSResult query(String vdb, String query, int offset, int limit) throws KException {
-        checkStarted();
+        final QSResult result = new QSResult();
+
+        query(vdb, query, offset, limit, new QSResultHandler() {
 
-        QSResult result = new QSResult();
+            @Override
+            public void start(List<QSColumn> columns) {
+                for (QSColumn column : columns) {
+                    result.addColumn(column);
+                }
+            }
+
+            @Override
+            public void row(QSRow row) {
+                result.addRow(row);
+            }
+
+            @Override
+            public void end() {
+                // nothing to do
+            }
+        });
+
+        return result;
+    }
+
+    @Override
+    public void query(String vdb, String query, int offset, int limit, QSResultHandler handler) throws KException {
+        checkStarted();
+        ArgCheck.isNotNull(handler, "handler"); //$NON-NLS-1$
 
         KLog.getLogger().debug("Commencing query execution: {0}", query);
 
@@ -227,11 +308,29 @@ public class DefaultMetadataInstance implements MetadataInstance {
 
             statement = connection.createStatement();
 
+            // The offset is the position (starting at 1) of the first row to return
+            int skip = (offset > NO_OFFSET) ? offset - 1 : 0;
+
+            String sql = pushDownLimit(query, skip, limit);
+            if (!sql.equals(query)) {
+                // the source skips and limits the rows
+                skip = 0;
+            } else if (limit > 0) {
+                // stop the server producing rows that will not be returned
+                statement.setMaxRows(skip + limit);
+            }
+
+            // fetch no more rows per batch than will be returned
+            if (limit > 0 && limit < DEFAULT_FETCH_SIZE)
+                statement.setFetchSize(skip + limit);
+            else
+                statement.setFetchSize(DEFAULT_FETCH_SIZE);
+
             KLog.getLogger().debug("Executing SQL Statement for query {0} with offset of {1} and limit of {2}",
-                                   query,
+                                   sql,
                                    offset,
                                    limit);
-            rs = statement.executeQuery(query);
+            rs = statement.executeQuery(sql);
 
             ResultSetMetaData rsmd = rs.getMetaData();
             int columns = rsmd.getColumnCount();
@@ -239,41 +338,39 @@ public class DefaultMetadataInstance implements MetadataInstance {
             //
             // Populate the columns
             //
+            List<QSColumn> qsColumns = new ArrayList<>(columns);
             for (int i = 1; i <= columns; ++i) {
                 String columnName = rsmd.getColumnName(i);
                 String columnLabel = rsmd.getColumnLabel(i);
                 String colTypeName = rsmd.getColumnTypeName(i);
-                DataTypeName typeName = dataTypeService.getDataTypeName(colTypeName);
-                QSColumn column = new QSColumn(typeName, columnName, columnLabel);
-                result.addColumn(column);
+                DataTypeName typeName = dataTypeService().getDataTypeName(colTypeName);
+                qsColumns.add(new QSColumn(typeName, columnName, columnLabel));
             }
 
-            int rowNum = 0;
-            while (rs.next()) {
-                rowNum++;
+            handler.start(qsColumns);
 
-                if (offset > NO_OFFSET && rowNum < offset) {
+            int rowCount = 0;
+            while ((limit <= NO_LIMIT || rowCount < limit) && rs.next()) {
+                if (skip > 0) {
+                    --skip;
                     continue;
                 }
 
-                if (limit > NO_LIMIT && result.getRows().size() >= limit) {
-                    break;
-                }
-
                 QSRow row = new QSRow();
                 for (int i = 1; i <= columns; ++i) {
                     Object value = rs.getObject(i);
                     row.add(value);
                 }
 
-                result.addRow(row);
+                handler.row(row);
+                ++rowCount;
             }
 
-            KLog.getLogger().debug("Query executed and returning {0} results", result.getRows().size());
+            handler.end();
 
-            return result;
+            KLog.getLogger().debug("Query executed and returned {0} results", rowCount);
         } catch (Throwable t) {
-            throw new KException(t);
+            throw handleError(t);
         } finally {
             try {
                 if (rs != null)
@@ -290,6 +387,38 @@ public class DefaultMetadataInstance implements MetadataInstance {
         }
     }
 
+    /**
+     * Adds the offset and limit to the query so that the source only returns the requested rows. Only queries that
+     * parse and do not already have a limit are changed.
+     *
+     * @param query the SQL query
+     * @param skip the number of rows to skip
+     * @param limit the maximum number of rows to return or {@link #NO_LIMIT}
+     * @return the query with the limit or the original query if it could not be added
+     */
+    static String pushDownLimit(String query, int skip, int limit) {
+        if (skip <= 0 && limit <= NO_LIMIT)
+            return query;
+
+        try {
+            Command command = QueryParser.getQueryParser().parseCommand(query);
+            if (!(command instanceof QueryCommand))
+                return query;
+
+            QueryCommand queryCommand = (QueryCommand)command;
+            if (queryCommand.getLimit() != null)
+                return query;
+
+            Expression offsetExpr = (skip > 0) ? new Constant(skip) : null;
+            Expression limitExpr = (limit > NO_LIMIT) ? new Constant(limit) : null;
+            queryCommand.setLimit(new Limit(offsetExpr, limitExpr));
+            return queryCommand.toString();
+        } catch (Exception ex) {
+            // leave the query as is and skip and limit the rows as they are read
+            return query;
+        }
+    }
+
     @Override
     public Collection<ConnectionDriver> getDataSourceDrivers() throws KException {
         checkStarted();
@@ -632,13 +761,46 @@ public class DefaultMetadataInstance implements MetadataInstance {
             }
             admin().deploy(deploymentName, inStream);
 
-            // Give a 0.5 sec pause for the VDB to finish loading metadata.
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                // ignore
+            // Give the VDB up to 0.5 sec to finish loading metadata.
+            waitForVdbDeployment(vdbName, 500);
+
+        } catch (Exception ex) {
+            throw handleError(ex);
+        }
+    }
+
+    /**
+     * Deploy a dynamic vdb that has already been built, for example from the repository, rather than parsed from xml.
+     * If the server is unable to accept the vdb directly then it is deployed as xml.
+     *
+     * @param vdbName the name of the vdb
+     * @param deploymentName the deployment name of the vdb
+     * @param vdb the vdb
+     * @throws KException if the deployment fails
+     */
+    public void deployDynamicVdb(String vdbName, String deploymentName, VDBMetaData vdb) throws KException {
+        checkStarted();
+
+        try {
+            ArgCheck.isNotNull(deploymentName, "deploymentName"); //$NON-NLS-1$
+            ArgCheck.isNotNull(vdb, "vdb"); //$NON-NLS-1$
+
+            Admin admin = admin();
+            if (admin.getVDB(vdbName, "1.0") != null) { //$NON-NLS-1$
+                admin.undeploy(deploymentName);
             }
 
+            if (admin instanceof VdbDeployer) {
+                ((VdbDeployer)admin).deploy(deploymentName, vdb);
+            } else {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                VDBMetadataParser.marshell(vdb, out);
+                admin.deploy(deploymentName, new ByteArrayInputStream(out.toByteArray()));
+            }
+
+            // Give the VDB up to 0.5 sec to finish loading metadata.
+            waitForVdbDeployment(vdbName, 500);
+
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -658,6 +820,79 @@ public class DefaultMetadataInstance implements MetadataInstance {
         }
     }
 
+    @Override
+    public TeiidVdb waitForVdbDeployment(String vdbName, long timeout) throws KException {
+        checkStarted();
+        ArgCheck.isNotEmpty(vdbName, "vdbName"); //$NON-NLS-1$
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        while (true) {
+            // register before checking the status so that an event in between is not missed
+            CompletableFuture<Void> deployment = this.deployments.computeIfAbsent(vdbName, name -> new CompletableFuture<>());
+
+            TeiidVdb vdb = getVdb(vdbName);
+            if (vdb != null && (vdb.isActive() || vdb.hasFailed())) {
+                this.deployments.remove(vdbName, deployment);
+                return vdb;
+            }
+
+            if (!await(deployment, deadline)) {
+                this.deployments.remove(vdbName, deployment);
+                KLog.getLogger().debug("Timed out waiting {0}ms for vdb {1} to deploy", timeout, vdbName); //$NON-NLS-1$
+                return getVdb(vdbName);
+            }
+        }
+    }
+
+    @Override
+    public boolean waitForVdbUndeployment(String vdbName, long timeout) throws KException {
+        checkStarted();
+        ArgCheck.isNotEmpty(vdbName, "vdbName"); //$NON-NLS-1$
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        while (true) {
+            // register before checking the status so that an event in between is not missed
+            CompletableFuture<Void> undeployment = this.undeployments.computeIfAbsent(vdbName, name -> new CompletableFuture<>());
+
+            if (!hasVdb(vdbName)) {
+                this.undeployments.remove(vdbName, undeployment);
+                return true;
+            }
+
+            if (!await(undeployment, deadline)) {
+                this.undeployments.remove(vdbName, undeployment);
+                KLog.getLogger().debug("Timed out waiting {0}ms for vdb {1} to undeploy", timeout, vdbName); //$NON-NLS-1$
+                return !hasVdb(vdbName);
+            }
+        }
+    }
+
+    /**
+     * Waits for the future to complete but no longer than the poll interval, so that the caller can check the vdb
+     * status again.
+     *
+     * @return <code>false</code> if the deadline has passed
+     * @throws KException if interrupted while waiting
+     */
+    private static boolean await(CompletableFuture<Void> future, long deadline) throws KException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0)
+            return false;
+
+        try {
+            future.get(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(STATUS_POLL_INTERVAL)), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException | ExecutionException ex) {
+            // check the status again
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw handleError(ex);
+        }
+
+        return true;
+    }
+
     @Override
     public String getSchema(String vdbName, String vdbVersion, String modelName) throws KException {
         checkStarted();
@@ -0,0 +1,480 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.metadata;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+import org.teiid.adminapi.VDB;
+
+/**
+ * A pool of JDBC connections kept per VDB so that repeated queries against the same VDB do not pay for a new
+ * session each time. At most a fixed number of connections are open to each VDB, connections left idle for longer
+ * than the idle timeout are closed, and all connections to a VDB are discarded when it is redeployed or undeployed.
+ * <p>
+ * Connections handed out by the pool are returned to it when closed.
+ */
+public class TeiidConnectionPool implements VdbStatusListener {
+
+    /**
+     * Opens the physical connections held by the pool.
+     */
+    public interface ConnectionFactory {
+
+        /**
+         * @param url
+         *        the JDBC url of the VDB
+         * @return a new connection (never <code>null</code>)
+         * @throws SQLException
+         *         if the connection could not be opened
+         */
+        Connection connect(String url) throws SQLException;
+    }
+
+    /**
+     * The default time, in milliseconds, to wait for a connection when all of those to a VDB are in use.
+     */
+    public static final long DEFAULT_WAIT_TIMEOUT = 30000;
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private static final class IdleConnection {
+
+        private final Connection connection;
+
+        private final long idleSince;
+
+        IdleConnection(final Connection connection, final long idleSince) {
+            this.connection = connection;
+            this.idleSince = idleSince;
+        }
+    }
+
+    /**
+     * The connections to a single VDB url. The idle connections and generation are guarded by the instance lock.
+     */
+    private final class VdbPool {
+
+        private final String vdbName;
+
+        private final String url;
+
+        private final Semaphore permits;
+
+        // most recently used first so that surplus connections age out
+        private final Deque<IdleConnection> idle = new ArrayDeque<>();
+
+        private int generation;
+
+        VdbPool(final String vdbName, final String url) {
+            this.vdbName = vdbName;
+            this.url = url;
+            this.permits = new Semaphore(maxPerVdb, true);
+        }
+    }
+
+    /**
+     * A connection handed out by the pool that is returned to it, rather than closed, when closed.
+     */
+    private final class PooledConnection implements InvocationHandler {
+
+        private final VdbPool pool;
+
+        private final Connection connection;
+
+        private final int generation;
+
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        PooledConnection(final VdbPool pool, final Connection connection, final int generation) {
+            this.pool = pool;
+            this.connection = connection;
+            this.generation = generation;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+
+            if ("close".equals(name) && args == null) { //$NON-NLS-1$
+                if (this.closed.compareAndSet(false, true))
+                    release(this.pool, this.connection, this.generation);
+                return null;
+            }
+
+            if ("isClosed".equals(name) && args == null) //$NON-NLS-1$
+                return this.closed.get() || this.connection.isClosed();
+
+            if ("equals".equals(name) && args != null && args.length == 1) //$NON-NLS-1$
+                return proxy == args[0];
+
+            if ("hashCode".equals(name) && args == null) //$NON-NLS-1$
+                return System.identityHashCode(proxy);
+
+            if ("toString".equals(name) && args == null) //$NON-NLS-1$
+                return "Pooled " + this.connection; //$NON-NLS-1$
+
+            if (this.closed.get())
+                throw new SQLException("Connection to " + this.pool.url + " is closed"); //$NON-NLS-1$ //$NON-NLS-2$
+
+            try {
+                return method.invoke(this.connection, args);
+            } catch (final InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+    private final ConnectionFactory factory;
+
+    private final int maxPerVdb;
+
+    private final long idleTimeout;
+
+    private final long waitTimeout;
+
+    private final ConcurrentMap<String, VdbPool> pools = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService evictor;
+
+    private final LongAdder created = new LongAdder();
+
+    private final LongAdder reused = new LongAdder();
+
+    private volatile boolean closed = false;
+
+    /**
+     * @param factory
+     *        opens the physical connections (cannot be <code>null</code>)
+     * @param maxPerVdb
+     *        the maximum number of connections open to a single VDB (must be positive)
+     * @param idleTimeout
+     *        the time, in milliseconds, that a connection can remain idle before it is closed (must be positive)
+     * @param waitTimeout
+     *        the time, in milliseconds, to wait for a connection when all of those to a VDB are in use
+     */
+    public TeiidConnectionPool(final ConnectionFactory factory,
+                               final int maxPerVdb,
+                               final long idleTimeout,
+                               final long waitTimeout) {
+        ArgCheck.isNotNull(factory, "factory"); //$NON-NLS-1$
+        ArgCheck.isTrue(maxPerVdb > 0, "maxPerVdb must be positive"); //$NON-NLS-1$
+        ArgCheck.isTrue(idleTimeout > 0, "idleTimeout must be positive"); //$NON-NLS-1$
+
+        this.factory = factory;
+        this.maxPerVdb = maxPerVdb;
+        this.idleTimeout = idleTimeout;
+        this.waitTimeout = waitTimeout;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "Teiid Connection Pool Evictor"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        final long period = Math.max(idleTimeout / 2, 1000);
+        this.evictor.scheduleWithFixedDelay(new Runnable() {
+
+            @Override
+            public void run() {
+                evictIdle(System.currentTimeMillis());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param factory
+     *        opens the physical connections (cannot be <code>null</code>)
+     * @param maxPerVdb
+     *        the maximum number of connections open to a single VDB (must be positive)
+     * @param idleTimeout
+     *        the time, in milliseconds, that a connection can remain idle before it is closed (must be positive)
+     */
+    public TeiidConnectionPool(final ConnectionFactory factory, final int maxPerVdb, final long idleTimeout) {
+        this(factory, maxPerVdb, idleTimeout, DEFAULT_WAIT_TIMEOUT);
+    }
+
+    /**
+     * @param vdbName
+     *        the name of the VDB (cannot be empty)
+     * @param url
+     *        the JDBC url of the VDB (cannot be empty)
+     * @return a connection to the VDB, reusing an idle one where available, that is returned to the pool when
+     *         closed (never <code>null</code>)
+     * @throws SQLException
+     *         if the pool is closed, no connection became available within the wait timeout or a new connection
+     *         could not be opened
+     */
+    public Connection getConnection(final String vdbName, final String url) throws SQLException {
+        ArgCheck.isNotEmpty(vdbName, "vdbName"); //$NON-NLS-1$
+        ArgCheck.isNotEmpty(url, "url"); //$NON-NLS-1$
+
+        if (this.closed)
+            throw new SQLException("The connection pool has been closed"); //$NON-NLS-1$
+
+        VdbPool pool = this.pools.get(url);
+        if (pool == null) {
+            pool = new VdbPool(vdbName, url);
+            final VdbPool existing = this.pools.putIfAbsent(url, pool);
+
+            if (existing != null)
+                pool = existing;
+        }
+
+        try {
+            if (!pool.permits.tryAcquire(this.waitTimeout, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for one of the " + this.maxPerVdb //$NON-NLS-1$
+                                       + " connections to " + url); //$NON-NLS-1$
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(ex);
+        }
+
+        try {
+            final long now = System.currentTimeMillis();
+            Connection connection = null;
+            int generation;
+
+            while (true) {
+                final IdleConnection candidate;
+                synchronized (pool) {
+                    generation = pool.generation;
+                    candidate = pool.idle.pollFirst();
+                }
+
+                if (candidate == null)
+                    break;
+
+                if (now - candidate.idleSince < this.idleTimeout && isOpen(candidate.connection)) {
+                    connection = candidate.connection;
+                    break;
+                }
+
+                closeQuietly(candidate.connection);
+            }
+
+            if (connection == null) {
+                LOGGER.debug("TeiidConnectionPool: opening connection to {0}", url); //$NON-NLS-1$
+                connection = this.factory.connect(url);
+
+                if (connection == null)
+                    throw new SQLException("No connection could be opened to " + url); //$NON-NLS-1$
+
+                this.created.increment();
+            } else {
+                this.reused.increment();
+            }
+
+            return (Connection)Proxy.newProxyInstance(TeiidConnectionPool.class.getClassLoader(),
+                                                      new Class<?>[] {Connection.class},
+                                                      new PooledConnection(pool, connection, generation));
+        } catch (final SQLException | RuntimeException ex) {
+            pool.permits.release();
+            throw ex;
+        }
+    }
+
+    private void release(final VdbPool pool, final Connection connection, final int generation) {
+        boolean returned = false;
+
+        try {
+            if (!this.closed && isOpen(connection) && connection.getAutoCommit()) {
+                connection.clearWarnings();
+
+                synchronized (pool) {
+                    if (!this.closed && generation == pool.generation) {
+                        pool.idle.addFirst(new IdleConnection(connection, System.currentTimeMillis()));
+                        returned = true;
+                    }
+                }
+            }
+        } catch (final SQLException ex) {
+            LOGGER.debug("TeiidConnectionPool: discarding connection to {0} that could not be reset", pool.url); //$NON-NLS-1$
+        } finally {
+            if (!returned)
+                closeQuietly(connection);
+
+            pool.permits.release();
+        }
+    }
+
+    /**
+     * Closes the idle connections to the VDB and ensures those currently in use are closed, rather than reused,
+     * when released.
+     *
+     * @param vdbName
+     *        the name of the VDB (cannot be empty)
+     */
+    public void invalidate(final String vdbName) {
+        ArgCheck.isNotEmpty(vdbName, "vdbName"); //$NON-NLS-1$
+
+        for (final VdbPool pool : this.pools.values()) {
+            if (vdbName.equals(pool.vdbName))
+                invalidate(pool);
+        }
+    }
+
+    private void invalidate(final VdbPool pool) {
+        final List<IdleConnection> discarded;
+        synchronized (pool) {
+            ++pool.generation;
+            discarded = new ArrayList<>(pool.idle);
+            pool.idle.clear();
+        }
+
+        if (!discarded.isEmpty())
+            LOGGER.debug("TeiidConnectionPool: closing {0} connections to {1}", discarded.size(), pool.url); //$NON-NLS-1$
+
+        for (final IdleConnection idle : discarded)
+            closeQuietly(idle.connection);
+    }
+
+    /**
+     * Closes the connections that have been idle for longer than the idle timeout.
+     *
+     * @param now
+     *        the current time in milliseconds
+     */
+    void evictIdle(final long now) {
+        for (final VdbPool pool : this.pools.values()) {
+            final List<IdleConnection> expired = new ArrayList<>();
+
+            synchronized (pool) {
+                // least recently used are at the end
+                final Iterator<IdleConnection> itr = pool.idle.descendingIterator();
+                while (itr.hasNext()) {
+                    final IdleConnection idle = itr.next();
+                    if (now - idle.idleSince < this.idleTimeout)
+                        break;
+
+                    itr.remove();
+                    expired.add(idle);
+                }
+            }
+
+            for (final IdleConnection idle : expired)
+                closeQuietly(idle.connection);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A VDB starts loading when it is deployed or redeployed so any connections to a previous deployment are
+     * discarded.
+     *
+     * @see org.komodo.metadata.VdbStatusListener#vdbStatusChanged(java.lang.String, org.teiid.adminapi.VDB.Status)
+     */
+    @Override
+    public void vdbStatusChanged(final String vdbName, final VDB.Status status) {
+        if (status == VDB.Status.LOADING || status == VDB.Status.FAILED)
+            invalidate(vdbName);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.metadata.VdbStatusListener#vdbRemoved(java.lang.String)
+     */
+    @Override
+    public void vdbRemoved(final String vdbName) {
+        invalidate(vdbName);
+    }
+
+    /**
+     * Closes all idle connections and stops pooling. Connections currently in use are closed when released.
+     */
+    public void close() {
+        this.closed = true;
+        this.evictor.shutdownNow();
+
+        for (final VdbPool pool : this.pools.values())
+            invalidate(pool);
+
+        this.pools.clear();
+    }
+
+    /**
+     * @return the number of connections opened by the pool
+     */
+    public long getCreatedCount() {
+        return this.created.sum();
+    }
+
+    /**
+     * @return the number of times an idle connection was handed out rather than a new one opened
+     */
+    public long getReusedCount() {
+        return this.reused.sum();
+    }
+
+    /**
+     * @return the number of connections currently idle in the pool
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (final VdbPool pool : this.pools.values()) {
+            synchronized (pool) {
+                count += pool.idle.size();
+            }
+        }
+
+        return count;
+    }
+
+    private static boolean isOpen(final Connection connection) {
+        try {
+            return !connection.isClosed();
+        } catch (final SQLException ex) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(final Connection connection) {
+        try {
+            connection.close();
+        } catch (final SQLException ex) {
+            // ignore
+        }
+    }
+}
@@ -38,4 +38,12 @@ public interface TeiidConnectionProvider {
 	void onStart();
 	
 	void onShutdown();
+
+	/**
+	 * Registers a listener to be notified as vdbs finish deploying or are removed. Providers that cannot observe
+	 * the vdb lifecycle may ignore the listener, in which case the vdb status is polled instead.
+	 *
+	 * @param listener the listener (cannot be <code>null</code>)
+	 */
+	void addVdbStatusListener(VdbStatusListener listener);
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.metadata;
+
+import org.teiid.adminapi.AdminException;
+import org.teiid.adminapi.impl.VDBMetaData;
+
+/**
+ * Implemented by an {@link org.teiid.adminapi.Admin} able to deploy an already built vdb,
+ * avoiding the vdb being serialized to xml only to be parsed again by the server.
+ */
+public interface VdbDeployer {
+
+    /**
+     * @param deploymentName
+     *        the name of the deployment (cannot be empty)
+     * @param vdb
+     *        the vdb to deploy (cannot be <code>null</code>)
+     * @throws AdminException
+     *         if the deployment fails
+     */
+    void deploy(String deploymentName, VDBMetaData vdb) throws AdminException;
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.metadata;
+
+import org.teiid.adminapi.VDB;
+
+/**
+ * Notified by a {@link TeiidConnectionProvider} as vdbs change status in the teiid server.
+ */
+public interface VdbStatusListener {
+
+    /**
+     * @param vdbName
+     *        the name of the vdb
+     * @param status
+     *        the current status of the vdb (never <code>null</code>)
+     */
+    void vdbStatusChanged(String vdbName, VDB.Status status);
+
+    /**
+     * @param vdbName
+     *        the name of the vdb that has been removed
+     */
+    void vdbRemoved(String vdbName);
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.komodo.spi.metadata.MetadataInstance;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestQueryPushDown {
+
+    @Test
+    public void shouldAddOffsetAndLimit() {
+        String sql = DefaultMetadataInstance.pushDownLimit("SELECT * FROM Customers", 5, 10);
+        assertTrue(sql, sql.endsWith("LIMIT 5, 10"));
+    }
+
+    @Test
+    public void shouldAddLimitOnly() {
+        String sql = DefaultMetadataInstance.pushDownLimit("SELECT * FROM Customers ORDER BY id", 0, 10);
+        assertTrue(sql, sql.endsWith("ORDER BY id LIMIT 10"));
+    }
+
+    @Test
+    public void shouldAddOffsetOnly() {
+        String sql = DefaultMetadataInstance.pushDownLimit("SELECT * FROM Customers", 5, MetadataInstance.NO_LIMIT);
+        assertTrue(sql, sql.endsWith("OFFSET 5 ROWS"));
+    }
+
+    @Test
+    public void shouldNotChangeQueryWithoutOffsetOrLimit() {
+        String query = "SELECT * FROM Customers";
+        assertSame(query, DefaultMetadataInstance.pushDownLimit(query, 0, MetadataInstance.NO_LIMIT));
+    }
+
+    @Test
+    public void shouldNotChangeQueryWithLimit() {
+        String query = "SELECT * FROM Customers LIMIT 2";
+        assertEquals(query, DefaultMetadataInstance.pushDownLimit(query, 5, 10));
+    }
+
+    @Test
+    public void shouldNotChangeProcedureExecution() {
+        String query = "EXEC getCustomers()";
+        assertEquals(query, DefaultMetadataInstance.pushDownLimit(query, 5, 10));
+    }
+
+    @Test
+    public void shouldNotChangeUnparseableQuery() {
+        String query = "SELECT FROM WHERE";
+        assertEquals(query, DefaultMetadataInstance.pushDownLimit(query, 5, 10));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teiid.adminapi.VDB;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestTeiidConnectionPool {
+
+    private static final String VDB_NAME = "MyVdb";
+
+    private static final String URL = "jdbc:teiid:MyVdb.1";
+
+    private static final long IDLE_TIMEOUT = 60000;
+
+    private final List<Connection> opened = new ArrayList<>();
+
+    private TeiidConnectionPool pool;
+
+    @Before
+    public void setup() {
+        pool = new TeiidConnectionPool(new TeiidConnectionPool.ConnectionFactory() {
+
+            @Override
+            public Connection connect(String url) throws SQLException {
+                Connection connection = Mockito.mock(Connection.class);
+                Mockito.when(connection.getAutoCommit()).thenReturn(true);
+                opened.add(connection);
+                return connection;
+            }
+        }, 2, IDLE_TIMEOUT, 200);
+    }
+
+    @After
+    public void cleanup() {
+        pool.close();
+    }
+
+    @Test
+    public void shouldReuseClosedConnection() throws Exception {
+        Connection first = pool.getConnection(VDB_NAME, URL);
+        first.close();
+        assertTrue(first.isClosed());
+        assertEquals(1, pool.getIdleCount());
+
+        Connection second = pool.getConnection(VDB_NAME, URL);
+        second.createStatement();
+        second.close();
+
+        assertEquals(1, opened.size());
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getReusedCount());
+        Mockito.verify(opened.get(0)).createStatement();
+        Mockito.verify(opened.get(0), Mockito.never()).close();
+    }
+
+    @Test
+    public void shouldKeepSeparateConnectionsPerVdb() throws Exception {
+        pool.getConnection(VDB_NAME, URL).close();
+        pool.getConnection("OtherVdb", "jdbc:teiid:OtherVdb.1").close();
+
+        assertEquals(2, opened.size());
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void shouldLimitConnectionsPerVdb() throws Exception {
+        Connection first = pool.getConnection(VDB_NAME, URL);
+        pool.getConnection(VDB_NAME, URL);
+
+        try {
+            pool.getConnection(VDB_NAME, URL);
+            fail("Expected the wait for a connection to time out");
+        } catch (SQLException ex) {
+            // expected
+        }
+
+        first.close();
+        pool.getConnection(VDB_NAME, URL);
+        assertEquals(2, opened.size());
+    }
+
+    @Test
+    public void shouldNotAllowUseOfClosedConnection() throws Exception {
+        Connection connection = pool.getConnection(VDB_NAME, URL);
+        connection.close();
+
+        try {
+            connection.createStatement();
+            fail("Expected the closed connection to be unusable");
+        } catch (SQLException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldDiscardConnectionsWhenVdbIsRedeployed() throws Exception {
+        Connection inUse = pool.getConnection(VDB_NAME, URL);
+        pool.getConnection(VDB_NAME, URL).close();
+
+        pool.vdbStatusChanged(VDB_NAME, VDB.Status.LOADING);
+        assertEquals(0, pool.getIdleCount());
+        Mockito.verify(opened.get(1)).close();
+
+        // connection to the previous deployment is not reused
+        inUse.close();
+        assertEquals(0, pool.getIdleCount());
+        Mockito.verify(opened.get(0)).close();
+
+        pool.getConnection(VDB_NAME, URL).close();
+        assertEquals(3, opened.size());
+    }
+
+    @Test
+    public void shouldDiscardConnectionsWhenVdbIsRemoved() throws Exception {
+        pool.getConnection(VDB_NAME, URL).close();
+        pool.vdbStatusChanged(VDB_NAME, VDB.Status.ACTIVE);
+        assertEquals(1, pool.getIdleCount());
+
+        pool.vdbRemoved(VDB_NAME);
+        assertEquals(0, pool.getIdleCount());
+        Mockito.verify(opened.get(0)).close();
+    }
+
+    @Test
+    public void shouldEvictIdleConnections() throws Exception {
+        Connection first = pool.getConnection(VDB_NAME, URL);
+        Connection second = pool.getConnection(VDB_NAME, URL);
+        first.close();
+        second.close();
+
+        pool.evictIdle(System.currentTimeMillis());
+        assertEquals(2, pool.getIdleCount());
+
+        pool.evictIdle(System.currentTimeMillis() + IDLE_TIMEOUT);
+        assertEquals(0, pool.getIdleCount());
+        Mockito.verify(opened.get(0)).close();
+        Mockito.verify(opened.get(1)).close();
+    }
+
+    @Test
+    public void shouldNotReuseConnectionLeftInTransaction() throws Exception {
+        Connection connection = pool.getConnection(VDB_NAME, URL);
+        Mockito.when(opened.get(0).getAutoCommit()).thenReturn(false);
+        connection.close();
+
+        assertEquals(0, pool.getIdleCount());
+        Mockito.verify(opened.get(0)).close();
+    }
+
+    @Test
+    public void shouldCloseIdleConnectionsWhenPoolIsClosed() throws Exception {
+        pool.getConnection(VDB_NAME, URL).close();
+        pool.close();
+
+        Mockito.verify(opened.get(0)).close();
+
+        try {
+            pool.getConnection(VDB_NAME, URL);
+            fail("Expected a closed pool to refuse connections");
+        } catch (SQLException ex) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.metadata;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.spi.runtime.TeiidVdb;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.teiid.adminapi.Admin;
+import org.teiid.adminapi.VDB;
+import org.teiid.adminapi.impl.VDBMetaData;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestVdbDeploymentWait {
+
+    private static final String VDB_NAME = "MyVdb";
+
+    private static final long TIMEOUT = 10000;
+
+    private Admin admin;
+    private VDBMetaData vdb;
+    private volatile boolean deployed = true;
+    private VdbStatusListener listener;
+    private DefaultMetadataInstance metadataInstance;
+
+    @Before
+    public void setup() throws Exception {
+        vdb = new VDBMetaData();
+        vdb.setName(VDB_NAME);
+        vdb.setVersion(1);
+        vdb.setXmlDeployment(true);
+        vdb.setStatus(VDB.Status.LOADING);
+
+        admin = Mockito.mock(Admin.class);
+        Mockito.when(admin.getVDB(VDB_NAME, "1")).thenAnswer(invocation -> deployed ? vdb : null);
+
+        TeiidConnectionProvider provider = Mockito.mock(TeiidConnectionProvider.class);
+        Mockito.when(provider.getAdmin()).thenReturn(admin);
+        metadataInstance = new DefaultMetadataInstance(provider);
+
+        ArgumentCaptor<VdbStatusListener> captor = ArgumentCaptor.forClass(VdbStatusListener.class);
+        Mockito.verify(provider).addVdbStatusListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    private void later(final Runnable event) {
+        Thread thread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                event.run();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Test
+    public void shouldReturnAsSoonAsVdbIsActive() throws Exception {
+        later(new Runnable() {
+
+            @Override
+            public void run() {
+                vdb.setStatus(VDB.Status.ACTIVE);
+                listener.vdbStatusChanged(VDB_NAME, VDB.Status.ACTIVE);
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        TeiidVdb teiidVdb = metadataInstance.waitForVdbDeployment(VDB_NAME, TIMEOUT);
+
+        assertNotNull(teiidVdb);
+        assertTrue(teiidVdb.isActive());
+        assertTrue(System.currentTimeMillis() - start < TIMEOUT / 2);
+    }
+
+    @Test
+    public void shouldReturnAsSoonAsVdbHasFailed() throws Exception {
+        later(new Runnable() {
+
+            @Override
+            public void run() {
+                vdb.setStatus(VDB.Status.FAILED);
+                listener.vdbStatusChanged(VDB_NAME, VDB.Status.FAILED);
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        TeiidVdb teiidVdb = metadataInstance.waitForVdbDeployment(VDB_NAME, TIMEOUT);
+
+        assertNotNull(teiidVdb);
+        assertTrue(teiidVdb.hasFailed());
+        assertTrue(System.currentTimeMillis() - start < TIMEOUT / 2);
+    }
+
+    @Test
+    public void shouldStopWaitingWhenTimeoutElapses() throws Exception {
+        long start = System.currentTimeMillis();
+        TeiidVdb teiidVdb = metadataInstance.waitForVdbDeployment(VDB_NAME, 300);
+
+        assertNotNull(teiidVdb);
+        assertTrue(teiidVdb.isLoading());
+        assertTrue(System.currentTimeMillis() - start >= 300);
+    }
+
+    @Test
+    public void shouldReturnAsSoonAsVdbIsRemoved() throws Exception {
+        vdb.setStatus(VDB.Status.ACTIVE);
+        later(new Runnable() {
+
+            @Override
+            public void run() {
+                deployed = false;
+                listener.vdbRemoved(VDB_NAME);
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        assertTrue(metadataInstance.waitForVdbUndeployment(VDB_NAME, TIMEOUT));
+        assertTrue(System.currentTimeMillis() - start < TIMEOUT / 2);
+    }
+
+    @Test
+    public void shouldReportVdbStillDeployedWhenUndeployTimesOut() throws Exception {
+        vdb.setStatus(VDB.Status.ACTIVE);
+        assertFalse(metadataInstance.waitForVdbUndeployment(VDB_NAME, 300));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.metadata;
+
+import static org.junit.Assert.assertEquals;
+import java.io.InputStream;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.teiid.adminapi.Admin;
+import org.teiid.adminapi.VDB;
+import org.teiid.adminapi.impl.ModelMetaData;
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.adminapi.impl.VDBMetadataParser;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestVdbMetaDataDeployment {
+
+    private static final String VDB_NAME = "MyVdb";
+
+    private static final String DEPLOYMENT_NAME = VDB_NAME + "-vdb.xml";
+
+    private VDBMetaData createVdb() {
+        VDBMetaData vdb = new VDBMetaData();
+        vdb.setName(VDB_NAME);
+        vdb.setVersion(1);
+        vdb.setXmlDeployment(true);
+        vdb.setStatus(VDB.Status.ACTIVE);
+
+        ModelMetaData model = new ModelMetaData();
+        model.setName("MyModel");
+        model.setModelType("VIRTUAL");
+        model.addSourceMetadata("DDL", "CREATE VIEW v (col string) AS SELECT 'a';");
+        vdb.addModel(model);
+
+        return vdb;
+    }
+
+    private DefaultMetadataInstance metadataInstance(Admin admin) throws Exception {
+        TeiidConnectionProvider provider = Mockito.mock(TeiidConnectionProvider.class);
+        Mockito.when(provider.getAdmin()).thenReturn(admin);
+        return new DefaultMetadataInstance(provider);
+    }
+
+    @Test
+    public void shouldDeployVdbDirectlyWhenSupported() throws Exception {
+        VDBMetaData vdb = createVdb();
+        Admin admin = Mockito.mock(Admin.class, Mockito.withSettings().extraInterfaces(VdbDeployer.class));
+        Mockito.when(admin.getVDB(VDB_NAME, "1")).thenReturn(vdb);
+
+        metadataInstance(admin).deployDynamicVdb(VDB_NAME, DEPLOYMENT_NAME, vdb);
+
+        Mockito.verify((VdbDeployer)admin).deploy(DEPLOYMENT_NAME, vdb);
+        Mockito.verify(admin, Mockito.never()).deploy(Mockito.anyString(), Mockito.any(InputStream.class));
+    }
+
+    @Test
+    public void shouldDeployVdbAsXmlOtherwise() throws Exception {
+        VDBMetaData vdb = createVdb();
+        Admin admin = Mockito.mock(Admin.class);
+        Mockito.when(admin.getVDB(VDB_NAME, "1")).thenReturn(vdb);
+
+        metadataInstance(admin).deployDynamicVdb(VDB_NAME, DEPLOYMENT_NAME, vdb);
+
+        ArgumentCaptor<InputStream> captor = ArgumentCaptor.forClass(InputStream.class);
+        Mockito.verify(admin).deploy(Mockito.eq(DEPLOYMENT_NAME), captor.capture());
+
+        VDBMetaData deployed = VDBMetadataParser.unmarshell(captor.getValue());
+        assertEquals(VDB_NAME, deployed.getName());
+        assertEquals(1, deployed.getModelMetaDatas().size());
+    }
+}
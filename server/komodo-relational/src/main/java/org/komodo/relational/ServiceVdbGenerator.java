@@ -113,6 +113,9 @@ public final class ServiceVdbGenerator implements TeiidSqlConstants.Tokens {
      * All views will end up in a new view model added to the vdb
      * 1 or more source models will be generated and added to the vdb
      * 
+     * The generated DDL is compared with the DDL already in the vdb so that only the view DDL and source models
+     * that have changed are rewritten. Models left untouched are not sequenced again when the transaction commits.
+     * 
      * @param uow
      * 		the transaction
      * @param serviceVdb the vdb
@@ -142,7 +145,9 @@ public final class ServiceVdbGenerator implements TeiidSqlConstants.Tokens {
             		String viewDdl = null;
             		if(!viewDef.isUserDefined(uow)) {
                 		viewDdl = getODataViewDdl(uow, viewDef, tableInfos);
-                		viewDef.setDdl(uow, viewDdl);
+                		if (!viewDdl.equals(viewDef.getDdl(uow))) {
+                			viewDef.setDdl(uow, viewDdl);
+                		}
             		} else {
             			viewDdl = viewDef.getDdl(uow);
             		}
@@ -158,14 +163,11 @@ public final class ServiceVdbGenerator implements TeiidSqlConstants.Tokens {
             	}
         	}
             // Set the generated DDL on the service VDB view model
-            viewModel.setModelDefinition(uow, allViewDdl.toString());
+            setModelDefinitionIfChanged(uow, viewModel, allViewDdl.toString());
         } else { 
-        	viewModel.setModelDefinition(uow, ""); //$NON-NLS-1$
+        	setModelDefinitionIfChanged(uow, viewModel, ""); //$NON-NLS-1$
         }
 
-        // remove all source models from current service VDB
-        clearSourceModels(uow, serviceVdb);
-
         // Build a Mapping of the unique schemaModel to it's tables
         Map< Model, List<Table> > schemaTableMap = new HashMap<Model, List<Table>>();
         for ( Table tbl : allSourceTables ) {
@@ -181,6 +183,14 @@ public final class ServiceVdbGenerator implements TeiidSqlConstants.Tokens {
         	}
         }
         
+        // Index the current source models of the service VDB by name
+        Map< String, Model > currentSourceModels = new HashMap<String, Model>();
+        for( Model model : serviceVdb.getModels(uow) ) {
+        	if( model.getModelType(uow) == Type.PHYSICAL ) {
+        		currentSourceModels.put(model.getName(uow), model);
+        	}
+        }
+
         // Iterate each schemaModel, generating a source for it.
         for ( Model currentSchemaModel: schemaTableMap.keySet() ) {
         	// Iterate tables for this schema, generating DDL
@@ -194,13 +204,26 @@ public final class ServiceVdbGenerator implements TeiidSqlConstants.Tokens {
     			iTbls++;
         	}
         	
-        	// Create a source model and set the DDL string via setModelDeinition(DDL)
-            Model srcModel = serviceVdb.addModel(uow, currentSchemaModel.getName(uow));
-            srcModel.setModelType(uow, Type.PHYSICAL);
-            srcModel.setModelDefinition(uow, sb.toString());
+        	// Reuse the existing source model, only rewriting the DDL if it has changed
+        	String srcModelName = currentSchemaModel.getName(uow);
+        	Model srcModel = currentSourceModels.remove(srcModelName);
+        	if ( srcModel == null ) {
+        		// Create a source model and set the DDL string via setModelDeinition(DDL)
+        		srcModel = serviceVdb.addModel(uow, srcModelName);
+        		srcModel.setModelType(uow, Type.PHYSICAL);
+        	}
+        	setModelDefinitionIfChanged(uow, srcModel, sb.toString());
         	
             // Add ModelSource based on currentSchemaModel ModelSource info
             ModelSource[] schemaModelSources = currentSchemaModel.getSources(uow);
+            if ( sourcesMatch(uow, srcModel.getSources(uow), schemaModelSources) ) {
+            	continue;
+            }
+
+            for( ModelSource tgtModelSource : srcModel.getSources(uow) ) {
+            	srcModel.removeSource(uow, tgtModelSource.getName(uow));
+            }
+
             for( ModelSource srcModelSource : schemaModelSources) {
             	// create the ModelSource
 	            ModelSource tgtModelSource = srcModel.addSource(uow, srcModelSource.getName(uow));
@@ -213,6 +236,51 @@ public final class ServiceVdbGenerator implements TeiidSqlConstants.Tokens {
 	            }
             }
         }
+
+        // remove the source models no longer used by any view
+        for( Model model : currentSourceModels.values() ) {
+        	model.remove(uow);
+        }
+    }
+
+    /*
+     * Sets the model definition unless it is unchanged, in which case the model is left untouched so that it is
+     * not sequenced again
+     */
+    private void setModelDefinitionIfChanged(final UnitOfWork uow, Model model, String modelDefinition) throws KException {
+    	if ( !modelDefinition.equals(model.getModelDefinition(uow)) ) {
+    		model.setModelDefinition(uow, modelDefinition);
+    	}
+    }
+
+    /*
+     * Determines if the service VDB model sources have the same names, jndi names, translators and connections as
+     * the schema model sources
+     */
+    private boolean sourcesMatch(final UnitOfWork uow, ModelSource[] tgtSources, ModelSource[] schemaSources) throws KException {
+    	if ( tgtSources.length != schemaSources.length ) {
+    		return false;
+    	}
+
+    	for ( int i = 0; i < tgtSources.length; i++ ) {
+    		ModelSource tgt = tgtSources[i];
+    		ModelSource src = schemaSources[i];
+    		if ( !StringUtils.equals(tgt.getName(uow), src.getName(uow))
+    				|| !StringUtils.equals(tgt.getJndiName(uow), src.getJndiName(uow))
+    				|| !StringUtils.equals(tgt.getTranslatorName(uow), src.getTranslatorName(uow)) ) {
+    			return false;
+    		}
+
+    		Connection srcConnection = src.getOriginConnection(uow);
+    		Connection tgtConnection = tgt.getOriginConnection(uow);
+    		String srcPath = (srcConnection == null) ? null : srcConnection.getAbsolutePath();
+    		String tgtPath = (tgtConnection == null) ? null : tgtConnection.getAbsolutePath();
+    		if ( !StringUtils.equals(tgtPath, srcPath) ) {
+    			return false;
+    		}
+    	}
+
+    	return true;
     }
     
     /*
@@ -491,23 +559,6 @@ public final class ServiceVdbGenerator implements TeiidSqlConstants.Tokens {
 	}
 	
     
-	/*
-	 * Simple method that removes all source models from a VDB
-	 */
-    private void clearSourceModels(final UnitOfWork uow, Vdb serviceVdb) throws KException {
-    	List<Model> modelsToRemove = new ArrayList<Model>();
-    	
-    	for( Model model : serviceVdb.getModels(uow) ) {
-    		if( model.getModelType(uow) == Type.PHYSICAL ) {
-    			modelsToRemove.add(model);
-    		}
-    	}
-    	
-    	for( Model model : modelsToRemove) {
-    		model.remove(uow);
-    	}
-    }
-
     /*
      * constructs a simple column string for a view definition
      * 
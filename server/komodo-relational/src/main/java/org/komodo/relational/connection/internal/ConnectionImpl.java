@@ -17,6 +17,12 @@
  */
 package org.komodo.relational.connection.internal;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Properties;
 import org.komodo.core.KomodoLexicon;
@@ -351,6 +357,22 @@ public class ConnectionImpl extends RelationalObjectImpl implements Connection,
         return xmlResult.getBytes();
     }
 
+    /* (non-Javadoc)
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties, java.io.OutputStream)
+     */
+    @Override
+    public void export(UnitOfWork transaction,
+                       Properties exportProperties,
+                       OutputStream stream) throws KException {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+            new ConnectionNodeVisitor(transaction, this, exportProperties, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new KException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
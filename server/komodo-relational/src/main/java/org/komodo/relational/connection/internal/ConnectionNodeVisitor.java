@@ -18,6 +18,7 @@
 package org.komodo.relational.connection.internal;
 
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Properties;
 
 import javax.xml.stream.XMLOutputFactory;
@@ -42,7 +43,7 @@ public class ConnectionNodeVisitor implements StringConstants {
     private static final int TAB2 = 2;
     private static final int NEW_LINE1 = 1;
 
-    private final StringWriter strWriter;
+    private final Writer output;
     private XMLStreamWriter writer;
     private final Connection connection;
     private boolean showTabs = false;
@@ -56,6 +57,20 @@ public class ConnectionNodeVisitor implements StringConstants {
      * @throws KException if error
      */
     public ConnectionNodeVisitor(final UnitOfWork uow, final Connection connection, final Properties exportProperties) throws KException {
+        this(uow, connection, exportProperties, new StringWriter());
+    }
+
+    /**
+     * Create new visitor that writes the xml to the given output as it is generated
+     *
+     * @param uow the transaction
+     * @param connection the connection
+     * @param exportProperties the properties for export
+     * @param output the destination of the xml (cannot be <code>null</code>)
+     * @throws KException if error
+     */
+    public ConnectionNodeVisitor(final UnitOfWork uow, final Connection connection, final Properties exportProperties,
+                                 final Writer output) throws KException {
         super();
         this.connection = connection;
 
@@ -64,11 +79,11 @@ public class ConnectionNodeVisitor implements StringConstants {
             setShowTabs(useTabs);
         }
 
-        this.strWriter = new StringWriter();
+        this.output = output;
         this.writer = null;
         try {
 			final XMLOutputFactory xof = XMLOutputFactory.newInstance();
-			this.writer = xof.createXMLStreamWriter(strWriter);
+			this.writer = xof.createXMLStreamWriter(output);
 
 	        connection(uow, this.connection);
 		} catch (Exception e) {
@@ -94,11 +109,11 @@ public class ConnectionNodeVisitor implements StringConstants {
 
     /**
      * Get the XML representation of the Connection
-     * @return the xml string
+     * @return the xml string (empty if the xml was written to a supplied output)
      */
     public String getXml() {
-    	if( strWriter != null ) {
-    		return this.strWriter.toString();
+    	if( output instanceof StringWriter ) {
+    		return this.output.toString();
     	}
 
     	return EMPTY_STRING;
@@ -59,6 +59,19 @@ public interface DataServiceResource extends Exportable, RelationalObject {
      */
     default void setContent( final UnitOfWork transaction,
                              final byte[] content ) throws KException {
+        setContent( transaction, new ByteArrayInputStream( content ) );
+    }
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param content
+     *        the content, read until exhausted into the repository binary but not closed (cannot be <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    default void setContent( final UnitOfWork transaction,
+                             final InputStream content ) throws KException {
         KomodoObject fileNode = null;
 
         if ( !hasChild( transaction, JcrLexicon.JCR_CONTENT ) ) {
@@ -67,8 +80,7 @@ public interface DataServiceResource extends Exportable, RelationalObject {
             fileNode = getChild( transaction, JcrLexicon.JCR_CONTENT );
         }
 
-        final ByteArrayInputStream stream = new ByteArrayInputStream( content );
-        fileNode.setProperty( transaction, JcrLexicon.JCR_DATA, stream );
+        fileNode.setProperty( transaction, JcrLexicon.JCR_DATA, content );
     }
 
 }
@@ -17,6 +17,7 @@
  */
 package org.komodo.relational.dataservice.internal;
 
+import java.io.OutputStream;
 import java.util.Properties;
 
 import org.komodo.relational.Messages;
@@ -73,6 +74,25 @@ public class ConnectionEntryImpl extends RelationalObjectImpl implements Connect
         return connection.export( transaction, properties );
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.OutputStream)
+     */
+    @Override
+    public void export( final UnitOfWork transaction,
+                        final Properties properties,
+                        final OutputStream stream ) throws KException {
+        final Connection connection = getReference( transaction );
+
+        if ( connection == null ) {
+            throw new KException( Messages.getString( Relational.EXPORT_FAILED_NO_CONTENT, getAbsolutePath() ) );
+        }
+
+        connection.export( transaction, properties, stream );
+    }
+
     /**
      * {@inheritDoc}
      *
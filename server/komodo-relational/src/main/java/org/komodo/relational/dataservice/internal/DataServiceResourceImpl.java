@@ -19,6 +19,7 @@ package org.komodo.relational.dataservice.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Properties;
 
 import org.komodo.relational.Messages;
@@ -81,4 +82,34 @@ public abstract class DataServiceResourceImpl< T extends DataServiceResource > e
         return contents;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The content is copied from the repository to the stream in chunks.
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.OutputStream)
+     */
+    @Override
+    public void export( final UnitOfWork transaction,
+                        final Properties properties,
+                        final OutputStream stream ) throws KException {
+        try ( final InputStream content = getContent( transaction ) ) {
+            if ( content == null ) {
+                throw new KException( Messages.getString( Relational.EXPORT_FAILED_NO_CONTENT, getAbsolutePath() ) );
+            }
+
+            final byte[] buffer = new byte[ FileUtils.DEFAULT_BUFFER_SIZE ];
+            int count;
+
+            while ( ( count = content.read( buffer ) ) != -1 ) {
+                stream.write( buffer, 0, count );
+            }
+
+            stream.flush();
+        } catch ( final IOException e ) {
+            throw handleError( e );
+        }
+    }
+
 }
@@ -17,13 +17,13 @@
  */
 package org.komodo.relational.dataservice.internal;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
-import java.util.Enumeration;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
@@ -138,61 +138,23 @@ public class DataserviceConveyor implements StringConstants {
     }
 
     private String extractDsName(File zFile) throws KException {
-        ZipFile zipFile = null;
-
-        try {
-            zipFile = new ZipFile(zFile);
-            Enumeration<? extends ZipEntry> entries = zipFile.entries();
-            if (!entries.hasMoreElements())
+        //
+        // Only the manifest is needed so it is found from the central
+        // directory and read straight from the zip. No other entry is inflated.
+        //
+        try (ZipFile zipFile = new ZipFile(zFile)) {
+            ZipEntry entry = zipFile.getEntry(DataserviceManifest.MANIFEST);
+            if (entry == null)
                 return null;
 
-            while (entries.hasMoreElements()) {
-                ZipEntry entry = entries.nextElement();
-                ByteArrayOutputStream bos = null;
-                InputStream zipStream = null;
-
-                try {
-                    String name = entry.getName();
-                    if (!DataserviceManifest.MANIFEST.equals(name)) {
-                        continue;
-                    }
-
-                    bos = new ByteArrayOutputStream();
-                    final byte[] buf = new byte[BUFFER_SIZE];
-                    int length;
-
-                    zipStream = zipFile.getInputStream(entry);
-                    while ((length = zipStream.read(buf, 0, buf.length)) >= 0) {
-                        bos.write(buf, 0, length);
-                    }
-
-                    byte[] content = bos.toByteArray();
-                    ByteArrayInputStream entryStream = new ByteArrayInputStream(content);
-
-                    DataServiceManifestReader reader = new DataServiceManifestReader();
-                    DataServiceManifest manifest = reader.read(entryStream);
-                    return manifest.getName();
-
-                } finally {
-                    if (bos != null)
-                        bos.close();
-
-                    if (zipStream != null)
-                        zipStream.close();
-                }
+            try (InputStream entryStream = zipFile.getInputStream(entry)) {
+                DataServiceManifestReader reader = new DataServiceManifestReader();
+                DataServiceManifest manifest = reader.read(entryStream);
+                return manifest.getName();
             }
-
         } catch (Exception ex) {
             throw new KException(ex);
-        } finally {
-            try {
-                if (zipFile != null)
-                    zipFile.close();
-            } catch (IOException e) {
-            }
         }
-
-        return null;
     }
 
     private void overrideName(File zipFile, ImportOptions importOptions) throws Exception {
@@ -230,7 +192,7 @@ public class DataserviceConveyor implements StringConstants {
         zipFile.deleteOnExit();
 
         try {
-            FileUtils.write(srcStream, zipFile);
+            FileUtils.write(srcStream, zipFile, BUFFER_SIZE);
             overrideName(zipFile, importOptions);
 
             String dsName = importOptions.getOption(OptionKeys.NAME).toString();
@@ -249,11 +211,15 @@ public class DataserviceConveyor implements StringConstants {
                                                              parent,
                                                              ( String )importOptions.getOption( ImportOptions.OptionKeys.NAME ) );
 
-            // save content so that sequencer will start
+            // save content so that sequencer will start, streaming the zip into the repository binary
             final KomodoObject fileNode = dataservice.addChild( transaction, JcrLexicon.JCR_CONTENT, NTLexicon.NT_RESOURCE );
-            fileNode.setProperty( transaction, JcrLexicon.JCR_DATA, new FileInputStream(zipFile) );
+            try (InputStream zipStream = new BufferedInputStream(new FileInputStream(zipFile), BUFFER_SIZE)) {
+                fileNode.setProperty( transaction, JcrLexicon.JCR_DATA, zipStream );
+            }
         } catch (Exception ex) {
             throw new KException(ex);
+        } finally {
+            zipFile.delete();
         }
     }
 
@@ -273,67 +239,72 @@ public class DataserviceConveyor implements StringConstants {
     public byte[] export( final UnitOfWork transaction,
                           final Dataservice dataService,
                           final Properties exportProperties ) throws KException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        export( transaction, dataService, exportProperties, bos );
+        return bos.toByteArray();
+    }
+
+    /**
+     * Export the given data service, writing the zip to the stream as each entry is exported. The stream is not closed.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param dataService
+     *        the data service to export
+     * @param exportProperties
+     *        export properties to be used during the export procedure
+     * @param stream
+     *        the stream the zip is written to (cannot be <code>null</code>)
+     * @throws KException
+     *         if errors occurs
+     */
+    public void export( final UnitOfWork transaction,
+                        final Dataservice dataService,
+                        final Properties exportProperties,
+                        final OutputStream stream ) throws KException {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( stream, "stream" ); //$NON-NLS-1$
 
-        ZipOutputStream zipStream = null;
-
-        try ( final ByteArrayOutputStream bos = new ByteArrayOutputStream() ) {
+        try {
             final DataServiceEntry< ? >[] entries = dataService.getChildren( transaction );
 
             if ( entries.length == 0 ) {
-                return bos.toByteArray();
+                return;
             }
 
-            zipStream = new ZipOutputStream(bos);
+            final ZipOutputStream zipStream = new ZipOutputStream( stream );
 
             //
             // Generate manifest for data service
             //
             DataserviceManifest manifest = new DataserviceManifest( transaction, dataService );
-            byte[] manifestBytes = manifest.export( transaction, new Properties() );
 
             ZipEntry manZipEntry = new ZipEntry( DataserviceManifest.MANIFEST );
             zipStream.putNextEntry( manZipEntry );
-            zipStream.write( manifestBytes );
+            manifest.export( transaction, new Properties(), zipStream );
             zipStream.closeEntry();
 
             for ( final DataServiceEntry< ? > entry : entries ) {
-                final byte[] content = entry.export( transaction, new Properties() );
                 final String entryName = entry.getEntryPath( transaction );
                 final ZipEntry zipEntry = new ZipEntry( entryName );
 
                 zipStream.putNextEntry( zipEntry );
-                zipStream.write( content );
-                zipStream.flush();
+                entry.export( transaction, new Properties(), zipStream );
                 zipStream.closeEntry();
             }
 
             //
-            // Required to ensure the zip is not corrupt
+            // Required to ensure the zip is not corrupt. The zip stream is
+            // not closed as that would close the caller's stream.
             //
-            zipStream.flush();
             zipStream.finish();
-            zipStream.close();
-
-            return bos.toByteArray();
+            zipStream.flush();
 
-        } catch ( Exception ex ) {
+        } catch ( final KException ex ) {
+            throw ex;
+        } catch ( final Exception ex ) {
             throw new KException( ex );
-        } finally {
-            if ( zipStream != null ) {
-                try {
-                    zipStream.finish();
-                } catch ( IOException e ) {
-                    // nothing to do
-                }
-
-                try {
-                    zipStream.close();
-                } catch ( IOException e ) {
-                    // nothing to do
-                }
-            }
         }
     }
 
@@ -17,6 +17,7 @@
  */
 package org.komodo.relational.dataservice.internal;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
@@ -130,6 +131,16 @@ public class DataserviceImpl extends RelationalObjectImpl implements Dataservice
         return conveyor.export(transaction, this, exportProperties);
     }
 
+    /* (non-Javadoc)
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties, java.io.OutputStream)
+     */
+    @Override
+    public void export(UnitOfWork transaction, Properties exportProperties, OutputStream stream) throws KException {
+        MetadataInstance metadata = getRepository().getMetadataInstance();
+        DataserviceConveyor conveyor = new DataserviceConveyor(getRepository(), metadata);
+        conveyor.export(transaction, this, exportProperties, stream);
+    }
+
     @Override
     public DocumentType getDocumentType(UnitOfWork transaction) {
         return DocumentType.ZIP;
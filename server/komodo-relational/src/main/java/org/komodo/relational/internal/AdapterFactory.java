@@ -79,6 +79,9 @@ public class AdapterFactory {
                 // and iterate through all resolvers to check this object is really
                 // not resolvable.
                 for (final TypeResolver< ? > aResolver : registry.getResolvers()) {
+                    if (aResolver == resolver)
+                        continue; // already tried
+
                     if (aResolver.resolvable(transaction, kObject)) {
                         result = aResolver.resolve(transaction, kObject);
                         break;
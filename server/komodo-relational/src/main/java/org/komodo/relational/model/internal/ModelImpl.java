@@ -17,6 +17,11 @@
  */
 package org.komodo.relational.model.internal;
 
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -818,6 +823,28 @@ public final class ModelImpl extends RelationalObjectImpl implements Model {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The DDL is encoded straight onto the stream rather than being copied into an intermediate byte array.
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.OutputStream)
+     */
+    @Override
+    public void export( final UnitOfWork transaction, final Properties exportProperties, final OutputStream stream ) throws KException {
+        ArgCheck.isNotNull(transaction);
+        ArgCheck.isNotNull(stream);
+
+        try {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+            writer.write(exportDdl(transaction, exportProperties));
+            writer.flush();
+        } catch (final Exception e) {
+            throw handleError(e);
+        }
+    }
+
     @Override
     public DocumentType getDocumentType(UnitOfWork transaction) throws KException {
         return DocumentType.DDL;
@@ -17,8 +17,19 @@
  */
 package org.komodo.relational.vdb.internal;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -26,7 +37,9 @@ import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamWriter;
 import org.komodo.core.repository.DescriptorImpl;
 import org.komodo.core.repository.PropertyDescriptorImpl;
+import org.komodo.core.visitor.VdbMetaDataVisitor;
 import org.komodo.core.visitor.VdbNodeVisitor;
+import org.komodo.metadata.DefaultMetadataInstance;
 import org.komodo.relational.DeployStatus;
 import org.komodo.relational.Messages;
 import org.komodo.relational.Messages.Relational;
@@ -56,6 +69,7 @@ import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.FileUtils;
+import org.teiid.adminapi.impl.VDBMetaData;
 import org.w3c.dom.Document;
 
 /**
@@ -150,20 +164,7 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
         VdbManifestImpl( final UnitOfWork transaction,
                          final VdbImpl vdb, final Properties exportProperties ) throws KException {
             final StringWriter writer = new StringWriter();
-
-            try {
-                final XMLOutputFactory xof = XMLOutputFactory.newInstance();
-                final XMLStreamWriter xsw = xof.createXMLStreamWriter(writer);
-                MetadataInstance metadata = getRepository().getMetadataInstance();
-                final VdbNodeVisitor visitor = new VdbNodeVisitor(metadata.getVersion(), metadata.getDataTypeService(), xsw);
-                if( exportProperties != null && !exportProperties.isEmpty() ) {
-                	boolean useTabs = exportProperties.containsKey(ExportConstants.USE_TABS_PROP_KEY);
-                	visitor.setShowTabs(useTabs);
-                }
-                visitor.visit(transaction, vdb);
-            } catch (final Exception e) {
-                throw new KException(e);
-            }
+            vdb.writeXml(transaction, exportProperties, writer);
 
             // Create an XML Document from the filled writer
             this.xml = writer.toString().trim();
@@ -206,6 +207,27 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
         }
     }
 
+    /**
+     * Writes the VDB XML to the writer as it is generated.
+     */
+    private void writeXml( final UnitOfWork transaction,
+                           final Properties exportProperties,
+                           final Writer writer ) throws KException {
+        try {
+            final XMLOutputFactory xof = XMLOutputFactory.newInstance();
+            final XMLStreamWriter xsw = xof.createXMLStreamWriter(writer);
+            MetadataInstance metadata = getRepository().getMetadataInstance();
+            final VdbNodeVisitor visitor = new VdbNodeVisitor(metadata.getVersion(), metadata.getDataTypeService(), xsw);
+            if( exportProperties != null && !exportProperties.isEmpty() ) {
+            	boolean useTabs = exportProperties.containsKey(ExportConstants.USE_TABS_PROP_KEY);
+            	visitor.setShowTabs(useTabs);
+            }
+            visitor.visit(transaction, this);
+        } catch (final Exception e) {
+            throw new KException(e);
+        }
+    }
+
     /**
      * @param uow
      *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
@@ -316,6 +338,31 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The XML is written to the stream as it is generated rather than being built up in memory.
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.OutputStream)
+     */
+    @Override
+    public void export( final UnitOfWork transaction,
+                        final Properties properties,
+                        final OutputStream stream ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( stream, "stream" ); //$NON-NLS-1$
+
+        try {
+            final Writer writer = new BufferedWriter( new OutputStreamWriter( stream, StandardCharsets.UTF_8 ) );
+            writeXml( transaction, properties, writer );
+            writer.flush();
+        } catch ( final IOException e ) {
+            throw new KException( e );
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1217,6 +1264,31 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
         return DocumentType.VDB_XML;
     }
     
+    /**
+     * Deploys the vdb's xml, spooling it to a file so that it is never held in memory in its entirety
+     *
+     * @return <code>false</code> if the vdb had no content to deploy
+     */
+    private boolean deployXml(UnitOfWork uow, MetadataInstance metadata, String vdbName, String vdbDeploymentName) throws Exception {
+        File vdbFile = File.createTempFile("deploy-", VDB_DEPLOYMENT_SUFFIX); //$NON-NLS-1$
+        try {
+            try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(vdbFile))) {
+                export(uow, null, stream);
+            }
+
+            if (vdbFile.length() == 0)
+                return false;
+
+            try (InputStream stream = new BufferedInputStream(new FileInputStream(vdbFile))) {
+                metadata.deployDynamicVdb(vdbName, vdbDeploymentName, stream);
+            }
+
+            return true;
+        } finally {
+            vdbFile.delete();
+        }
+    }
+
     @Override
     public DeployStatus deploy(UnitOfWork uow) {
         ArgCheck.isNotNull( uow, "transaction" ); //$NON-NLS-1$
@@ -1230,18 +1302,21 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
 
             status.addProgressMessage("Attempting to deploy VDB " + vdbName + " to teiid"); //$NON-NLS-1$ //$NON-NLS-2$
 
-            // Get VDB content
-            byte[] vdbXml = export(uow, null);
-            if (vdbXml == null || vdbXml.length == 0) {
+            String vdbDeploymentName = vdbName + VDB_DEPLOYMENT_SUFFIX;
+            MetadataInstance metadata = getRepository().getMetadataInstance();
+            if (metadata instanceof DefaultMetadataInstance) {
+                //
+                // Build the teiid vdb straight from the repository objects,
+                // skipping the export to xml and the server parsing it back
+                //
+                VdbMetaDataVisitor visitor = new VdbMetaDataVisitor(metadata.getVersion(), metadata.getDataTypeService());
+                VDBMetaData vdb = (VDBMetaData)visitor.visit(uow, this);
+                ((DefaultMetadataInstance)metadata).deployDynamicVdb(vdbName, vdbDeploymentName, vdb);
+            } else if (!deployXml(uow, metadata, vdbName, vdbDeploymentName)) {
                 status.addErrorMessage("VDB " + vdbName + " content is empty"); //$NON-NLS-1$ //$NON-NLS-2$
                 return status;
             }
 
-            String vdbToDeployName = getName(uow);
-            String vdbDeploymentName = vdbToDeployName + VDB_DEPLOYMENT_SUFFIX;
-            MetadataInstance metadata = getRepository().getMetadataInstance();
-            metadata.deployDynamicVdb(getName(uow), vdbDeploymentName, new ByteArrayInputStream(vdbXml));
-
             status.addProgressMessage("VDB deployed " + vdbName + " to teiid"); //$NON-NLS-1$ //$NON-NLS-2$
         } catch (Exception ex) {
             status.addErrorMessage(ex);
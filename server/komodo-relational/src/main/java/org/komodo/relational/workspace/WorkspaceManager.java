@@ -17,15 +17,17 @@
  */
 package org.komodo.relational.workspace;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.core.repository.ObjectImpl;
 import org.komodo.core.repository.RepositoryImpl;
+import org.komodo.core.repository.WorkspaceTypeIndex;
 import org.komodo.importer.ImportMessages;
 import org.komodo.importer.ImportOptions;
 import org.komodo.importer.ImportOptions.OptionKeys;
@@ -95,14 +97,14 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
     public static final int TYPE_ID = WorkspaceManager.class.hashCode();
 
     // @formatter:off
-    private static final String FIND_ALL_QUERY_PATTERN = "SELECT [jcr:path] FROM [%s]" //$NON-NLS-1$
-                                                         + " WHERE ISDESCENDANTNODE('%s')" //$NON-NLS-1$
-                                                         + " ORDER BY [jcr:path] ASC"; //$NON-NLS-1$
-
-    private static final String FIND_MATCHING_QUERY_PATTERN = "SELECT [jcr:path] FROM [%s]"  //$NON-NLS-1$
-                                                              + " WHERE ISDESCENDANTNODE('%s')" //$NON-NLS-1$
-                                                              + " AND [jcr:name] LIKE '%s'" //$NON-NLS-1$
-                                                              + " ORDER BY [jcr:path] ASC"; //$NON-NLS-1$
+    private static final String FIND_QUERY_PATTERN = "SELECT [jcr:path] FROM [%s]" //$NON-NLS-1$
+                                                     + " WHERE ISDESCENDANTNODE('%s')"; //$NON-NLS-1$
+
+    private static final String MATCHING_NAME_CRITERIA_PATTERN = " AND [jcr:name] LIKE '%s'"; //$NON-NLS-1$
+
+    private static final String MATCHING_PRIMARY_TYPE_CRITERIA_PATTERN = " AND [jcr:primaryType] = '%s'"; //$NON-NLS-1$
+
+    private static final String ORDER_BY_PATH = " ORDER BY [jcr:path] ASC"; //$NON-NLS-1$
     // @formatter:on
 
     private static class CacheKey {
@@ -527,6 +529,68 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         }
     }
 
+    private static String findByTypeQuery( final String type,
+                                           final String parentPath,
+                                           final String namePattern,
+                                           final boolean includeSubTypes ) {
+        final StringBuilder queryText = new StringBuilder( String.format( FIND_QUERY_PATTERN, type, parentPath ) );
+
+        if ( !StringUtils.isBlank( namePattern ) ) {
+            queryText.append( String.format( MATCHING_NAME_CRITERIA_PATTERN, namePattern ) );
+        }
+
+        if ( !includeSubTypes ) {
+            queryText.append( String.format( MATCHING_PRIMARY_TYPE_CRITERIA_PATTERN, type ) );
+        }
+
+        return queryText.toString();
+    }
+
+    /**
+     * Finds the objects using the workspace type index. The index only holds exact primary types and only reflects committed
+     * changes, so searches for sub types or by name and searches made by transactions with uncommitted changes are not
+     * answered. The first search for a type in a workspace queries all the objects of that type to prime the index.
+     *
+     * @return the paths, in path order, of the objects found or <code>null</code> if the search must be done by a query
+     */
+    private List< String > findIndexed( final UnitOfWork transaction,
+                                        final String type,
+                                        final String parentPath,
+                                        final String namePattern,
+                                        final boolean includeSubTypes ) throws Exception {
+        if ( includeSubTypes || !StringUtils.isBlank( namePattern ) || !( getRepository() instanceof RepositoryImpl ) ) {
+            return null;
+        }
+
+        final WorkspaceTypeIndex index = ( ( RepositoryImpl )getRepository() ).getTypeIndex();
+        final String workspacePath = RepositoryImpl.komodoWorkspacePath( transaction );
+
+        if ( ( index == null )
+             || !( parentPath.equals( workspacePath ) || parentPath.startsWith( workspacePath + FORWARD_SLASH ) )
+             || transaction.hasChanges() ) {
+            return null;
+        }
+
+        List< String > paths = index.find( workspacePath, type, parentPath );
+
+        if ( paths == null ) {
+            final long version = index.version( workspacePath );
+            final List< KomodoObject > objects = getRepository().query( transaction,
+                                                                        findByTypeQuery( type, workspacePath, null, false ) );
+            final List< String > allPaths = new ArrayList<>( objects.size() );
+
+            for ( final KomodoObject kobject : objects ) {
+                allPaths.add( kobject.getAbsolutePath() );
+            }
+
+            if ( index.prime( workspacePath, type, allPaths, version ) ) {
+                paths = index.find( workspacePath, type, parentPath );
+            }
+        }
+
+        return paths;
+    }
+
     /**
      * @param transaction
      *        the transaction (cannot be <code>null</code> and must have a state of
@@ -544,53 +608,122 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
      * @throws KException
      *         if an error occurs
      */
+    public String[] findByType( final UnitOfWork transaction,
+                                final String type,
+                                final String parentPath,
+                                final String namePattern,
+                                final boolean includeSubTypes ) throws KException {
+        return findByType( transaction, type, parentPath, namePattern, includeSubTypes, 0, -1 );
+    }
+
+    /**
+     * Finds one page of the objects of a type. The paging is done by the query so the cost depends on the size of the page
+     * and not on the total number of objects.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param type
+     *        the lexicon node type name of objects being found (cannot be empty)
+     * @param parentPath
+     *        the parent path whose children recursively will be checked (can be empty if searching from the workspace root)
+     * @param namePattern
+     *        the regex used to match object names (can be empty if all objects of the given type are being requested)
+     * @param includeSubTypes
+     *        determines whether sub types are included in the return
+     * @param start
+     *        the index, in path order, of the first object returned (cannot be negative)
+     * @param size
+     *        the maximum number of objects returned or a negative number if all remaining objects should be returned
+     * @return the paths of the requested page of the objects under the specified parent path with the specified type (never
+     *         <code>null</code> but can be empty)
+     * @throws KException
+     *         if an error occurs
+     * @see #countByType(UnitOfWork, String, String, String, boolean)
+     */
     public String[] findByType( final UnitOfWork transaction,
                                 final String type,
                                 String parentPath,
                                 final String namePattern,
-                                boolean includeSubTypes) throws KException {
+                                final boolean includeSubTypes,
+                                final int start,
+                                final int size ) throws KException {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state must be NOT_STARTED and was " + transaction.getState() ); //$NON-NLS-1$
         ArgCheck.isNotEmpty( type, "type" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( start >= 0 ), "start cannot be negative" ); //$NON-NLS-1$
 
         if ( StringUtils.isBlank( parentPath ) ) {
             parentPath = RepositoryImpl.komodoWorkspacePath(transaction);
         }
 
         try {
-            String queryText = null;
+            final List< String > indexed = findIndexed( transaction, type, parentPath, namePattern, includeSubTypes );
 
-            if ( StringUtils.isBlank( namePattern ) ) {
-                queryText = String.format( FIND_ALL_QUERY_PATTERN, type, parentPath );
-            } else {
-                queryText = String.format( FIND_MATCHING_QUERY_PATTERN, type, parentPath, namePattern );
+            if ( indexed != null ) {
+                final int from = Math.min( start, indexed.size() );
+                final int to = ( size < 0 ) ? indexed.size() : ( int )Math.min( ( long )start + size, indexed.size() );
+                return indexed.subList( from, to ).toArray( new String[ to - from ] );
             }
 
-            final List< KomodoObject > kObjs = getRepository().query( transaction, queryText );
-            List< KomodoObject > results = new ArrayList< > ();
-            for( final KomodoObject kObj : kObjs ) {
-                if(includeSubTypes) {
-                    results.add(kObj);
-                } else if ( type.equals(kObj.getPrimaryType(transaction).getName()) ) {
-                    results.add(kObj);
-                }
+            final String queryText = findByTypeQuery( type, parentPath, namePattern, includeSubTypes ) + ORDER_BY_PATH;
+            final Iterator< KomodoObject > itr = getRepository().query( transaction, queryText, start, size );
+
+            if ( !itr.hasNext() ) {
+                return StringConstants.EMPTY_ARRAY;
             }
 
-            final int numPaths = results.size();
+            final List< String > result = new ArrayList<>();
 
-            if ( numPaths == 0 ) {
-                return StringConstants.EMPTY_ARRAY;
+            while ( itr.hasNext() ) {
+                result.add( itr.next().getAbsolutePath() );
             }
 
-            final String[] result = new String[ numPaths ];
-            int i = 0;
+            return result.toArray( new String[ result.size() ] );
+        } catch ( final Exception e ) {
+            throw handleError( e );
+        }
+    }
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param type
+     *        the lexicon node type name of objects being counted (cannot be empty)
+     * @param parentPath
+     *        the parent path whose children recursively will be checked (can be empty if searching from the workspace root)
+     * @param namePattern
+     *        the regex used to match object names (can be empty if all objects of the given type are being counted)
+     * @param includeSubTypes
+     *        determines whether sub types are counted
+     * @return the number of objects under the specified parent path with the specified type
+     * @throws KException
+     *         if an error occurs
+     */
+    public long countByType( final UnitOfWork transaction,
+                             final String type,
+                             String parentPath,
+                             final String namePattern,
+                             final boolean includeSubTypes ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
+                         "transaction state must be NOT_STARTED and was " + transaction.getState() ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( type, "type" ); //$NON-NLS-1$
+
+        if ( StringUtils.isBlank( parentPath ) ) {
+            parentPath = RepositoryImpl.komodoWorkspacePath(transaction);
+        }
+
+        try {
+            final List< String > indexed = findIndexed( transaction, type, parentPath, namePattern, includeSubTypes );
 
-            for ( final KomodoObject kObject : results ) {
-                result[ i++ ] = kObject.getAbsolutePath();
+            if ( indexed != null ) {
+                return indexed.size();
             }
 
-            return result;
+            return getRepository().count( transaction, findByTypeQuery( type, parentPath, namePattern, includeSubTypes ) );
         } catch ( final Exception e ) {
             throw handleError( e );
         }
@@ -959,16 +1092,6 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
                 conveyor.dsImport(transaction, stream, parent, importOptions, importMessages);
             }
             else if (DocumentType.JAR.equals(storageRef.getDocumentType())) {
-                ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                final byte[] buf = new byte[8192];
-                int length;
-
-                while ((length = stream.read(buf, 0, buf.length)) >= 0) {
-                    bos.write(buf, 0, length);
-                }
-
-                byte[] content = bos.toByteArray();
-                
                 String driverName = storageRef.getParameters().getProperty(StorageReference.DRIVER_NAME_KEY);
                 if(StringUtils.isBlank(driverName)) {
                     driverName = StorageReference.DRIVER_NAME_DEFAULT;
@@ -981,8 +1104,9 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
                     return importMessages;
                 }
 
+                // stream the jar straight into the repository binary
                 Driver driver = RelationalModelFactory.createDriver(transaction, getRepository(), parent, driverName);
-                driver.setContent(transaction, content);
+                driver.setContent(transaction, stream);
             }
             else {
                 throw new KException(Messages.getString(Relational.STORAGE_DOCUMENT_TYPE_INVALID,
@@ -1040,4 +1164,36 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
             throw handleError(e);
         }
     }
+
+    /**
+     * Exports all the artifacts to the storage as a single change, eg. one commit and push for git storage.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param artifacts the artifacts to be exported mapped to their own parameters, such as the file path
+     * @param storageType the type of storage to export to
+     * @param parameters the parameters for the storage, appropriate to the storage type
+     *
+     * @throws KException if error occurs
+     */
+    public void exportArtifacts(final UnitOfWork transaction, final Map<Exportable, Properties> artifacts,
+                                       final String storageType, final Properties parameters) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
+                         "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty(artifacts, "artifacts"); //$NON-NLS-1$
+
+        try {
+            StorageService storageService = StorageServiceProvider.getInstance().getStorageService(storageType);
+            if (storageService == null)
+                throw new KException(Messages.getString(Relational.STORAGE_TYPE_INVALID, storageType));
+
+            StorageConnector connector = storageService.getConnector(parameters);
+            connector.write(artifacts, transaction);
+
+        } catch (Exception e) {
+            throw handleError(e);
+        }
+    }
 }
@@ -645,4 +645,33 @@ public class ServiceVdbGeneratorTest extends RelationalModelTest {
 //    	}
     }
     
+    @Test
+    public void shouldNotRewriteUnchangedModelsOnRefresh() throws Exception {
+    	ViewEditorState[] states = helpCreateViewEditorState(2);
+    	Vdb[] vdbs = WorkspaceManager.getInstance(_repo, getTransaction()).findVdbs(getTransaction());
+    	
+    	Vdb serviceVdb = null;
+    	for( Vdb vdb : vdbs ) {
+    		if( vdb.getName(getTransaction()).equals(viewDefinitionName)) {
+    			serviceVdb = vdb;
+    			break;
+    		}
+    	}
+    	
+    	ServiceVdbGenerator vdbGenerator = new ServiceVdbGenerator(WorkspaceManager.getInstance(_repo, getTransaction()));
+    	vdbGenerator.refreshServiceVdb(getTransaction(), serviceVdb, states);
+    	commit();
+    	
+    	Model viewModel = ServiceVdbGenerator.getViewModel(getTransaction(), serviceVdb);
+    	String viewModelDdl = viewModel.getModelDefinition(getTransaction());
+    	
+    	// nothing has changed so the refresh should not write anything
+    	vdbGenerator.refreshServiceVdb(getTransaction(), serviceVdb, states);
+    	assertThat(getTransaction().hasChanges(), is(false));
+    	
+    	assertThat(serviceVdb.getModels(getTransaction()).length, is(3));
+    	assertThat(ServiceVdbGenerator.getViewModel(getTransaction(), serviceVdb).getModelDefinition(getTransaction()),
+    	           is(viewModelDdl));
+    }
+    
 }
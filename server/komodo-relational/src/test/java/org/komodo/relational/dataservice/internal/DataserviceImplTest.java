@@ -31,7 +31,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -673,6 +675,47 @@ public final class DataserviceImplTest extends RelationalModelTest {
         }
     }
 
+    private Map<String, String> zipContents(InputStream stream) throws Exception {
+        Map<String, String> contents = new HashMap<>();
+
+        try (ZipInputStream zipStream = new ZipInputStream(stream)) {
+            ZipEntry entry;
+            while ((entry = zipStream.getNextEntry()) != null) {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                final byte[] buf = new byte[DataserviceConveyor.BUFFER_SIZE];
+                int length;
+
+                while ((length = zipStream.read(buf, 0, buf.length)) >= 0) {
+                    bos.write(buf, 0, length);
+                }
+
+                contents.put(entry.getName(), new String(bos.toByteArray()));
+                zipStream.closeEntry();
+            }
+        }
+
+        return contents;
+    }
+
+    @Test
+    public void shouldStreamSameContentAsExport() throws Exception {
+        final Vdb vdb = this.mgr.createVdb(getTransaction(), null, "childVdb", "externalFilePath");
+        this.dataservice.addVdb(getTransaction(), vdb);
+
+        final Vdb serviceVdb = this.mgr.createVdb(getTransaction(), null, SERVICE_NAME, "externalSvcPath");
+        this.dataservice.setServiceVdb( getTransaction(), serviceVdb );
+        commit(); // needed so that searching for reference will work
+
+        byte[] dsBytes = this.dataservice.export(getTransaction(), new Properties());
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        this.dataservice.export(getTransaction(), new Properties(), streamed);
+
+        Map<String, String> expected = zipContents(new ByteArrayInputStream(dsBytes));
+        assertEquals(3, expected.size());
+        assertEquals(expected, zipContents(new ByteArrayInputStream(streamed.toByteArray())));
+    }
+
     @Test
     public void shouldRoundTripDataService() throws Exception {
         InputStream importStream = TestUtilities.sampleDataserviceExample();
@@ -27,9 +27,12 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import java.io.File;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
@@ -39,6 +42,7 @@ import org.junit.Test;
 import org.komodo.core.repository.ObjectImpl;
 import org.komodo.core.repository.RepositoryImpl;
 import org.komodo.core.repository.SynchronousCallback;
+import org.komodo.core.repository.WorkspaceTypeIndex;
 import org.komodo.relational.RelationalModelTest;
 import org.komodo.relational.connection.Connection;
 import org.komodo.relational.dataservice.Dataservice;
@@ -62,6 +66,7 @@ import org.komodo.relational.model.UniqueConstraint;
 import org.komodo.relational.model.UserDefinedFunction;
 import org.komodo.relational.model.View;
 import org.komodo.relational.model.VirtualProcedure;
+import org.komodo.relational.resource.Driver;
 import org.komodo.relational.vdb.Condition;
 import org.komodo.relational.vdb.DataRole;
 import org.komodo.relational.vdb.Entry;
@@ -242,6 +247,37 @@ public final class WorkspaceManagerTest extends RelationalModelTest {
         assertThat( this.wsMgr.findByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, null, "a*", false ).length, is( 0 ) );
     }
 
+    @Test
+    public void shouldFindPageOfObjects() throws Exception {
+        final String prefix = this.name.getMethodName();
+        final int count = 10;
+
+        for ( int i = 0; i < count; ++i ) {
+            createVdb( ( prefix + i ), ( VDB_PATH + i ) );
+        }
+
+        commit(); // must save before running a query
+
+        final String[] all = this.wsMgr.findByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, null, null, false );
+        assertThat( all.length, is( count ) );
+        assertThat( this.wsMgr.countByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, null, null, false ),
+                    is( ( long )count ) );
+
+        // pages are in the same order as the full result
+        final String[] page = this.wsMgr.findByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, null, null, false, 3, 4 );
+        assertThat( Arrays.asList( page ), is( Arrays.asList( all ).subList( 3, 7 ) ) );
+
+        // past the end
+        assertThat( this.wsMgr.findByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, null, null, false, 8, 4 ).length,
+                    is( 2 ) );
+        assertThat( this.wsMgr.findByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, null, null, false, count, 4 ).length,
+                    is( 0 ) );
+
+        // all remaining
+        assertThat( this.wsMgr.findByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, null, null, false, 5, -1 ).length,
+                    is( count - 5 ) );
+    }
+
     @Test
     public void shouldFindModels() throws Exception {
         Vdb parent = createVdb();
@@ -307,6 +343,42 @@ public final class WorkspaceManagerTest extends RelationalModelTest {
         assertThat(this.wsMgr.findVdbs(getTransaction()).length, is(vdbCount));
     }
 
+    @Test
+    public void shouldFindVdbsFromTypeIndexAfterCommits() throws Exception {
+        final WorkspaceTypeIndex index = _repo.getTypeIndex();
+        assertNotNull( index );
+
+        final Vdb first = createVdb( "first" );
+        final Vdb second = createVdb( "second" );
+        commit(); // must save before running a query
+
+        // primes the index
+        assertThat( this.wsMgr.findVdbs( getTransaction() ).length, is( 2 ) );
+        final long misses = index.getMisses();
+        final long hits = index.getHits();
+
+        final KomodoObject folder = _repo.add( getTransaction(), null, "folder", null );
+        final Vdb third = createVdb( "third", folder, VDB_PATH );
+        commit();
+
+        assertThat( this.wsMgr.findVdbs( getTransaction() ).length, is( 3 ) );
+        assertThat( this.wsMgr.findByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, folder.getAbsolutePath(), null, false ),
+                    is( new String[] { third.getAbsolutePath() } ) );
+
+        second.rename( getTransaction(), "renamed" );
+        this.wsMgr.delete( getTransaction(), first );
+        commit();
+
+        final String[] paths = this.wsMgr.findByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, null, null, false );
+        assertThat( Arrays.asList( paths ), hasItems( second.getAbsolutePath(), third.getAbsolutePath() ) );
+        assertThat( paths.length, is( 2 ) );
+        assertThat( this.wsMgr.countByType( getTransaction(), VdbLexicon.Vdb.VIRTUAL_DATABASE, null, null, false ), is( 2L ) );
+
+        // answered without priming again
+        assertThat( index.getMisses(), is( misses ) );
+        assertTrue( index.getHits() > hits );
+    }
+
     @Test
     public void shouldHaveCorrectChildTypes() {
         KomodoType[] types = { Folder.IDENTIFIER, Connection.IDENTIFIER, Dataservice.IDENTIFIER, Vdb.IDENTIFIER, Schema.IDENTIFIER};
@@ -673,6 +745,7 @@ public final class WorkspaceManagerTest extends RelationalModelTest {
         Vdb vdb = mock(Vdb.class);
         String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
         when(vdb.export(getTransaction(), parameters)).thenReturn(sampleExample.getBytes());
+        doCallRealMethod().when(vdb).export(any(UnitOfWork.class), any(Properties.class), any(OutputStream.class));
         when(vdb.getName(getTransaction())).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
         wsMgr.exportArtifact(getTransaction(), vdb, StorageConnector.Types.FILE.id(), parameters);
@@ -708,6 +781,36 @@ public final class WorkspaceManagerTest extends RelationalModelTest {
         assertTrue(parent.hasChild(getTransaction(), TestUtilities.SAMPLE_VDB_NAME));
     }
 
+    @Test
+    public void shouldImportDriverJar() throws Exception {
+        String tmpDirPath = System.getProperty("java.io.tmpdir");
+        File tmpDir = new File(tmpDirPath);
+
+        long timestamp = System.currentTimeMillis();
+        myFileDir = new File(tmpDir, "myfile-" + timestamp);
+        assertTrue(myFileDir.mkdir());
+
+        File driverSrcFile = new File(myFileDir, TestUtilities.MYSQL_DRIVER_FILENAME);
+        FileUtils.write(TestUtilities.mySqlDriver(), driverSrcFile);
+        assertTrue(driverSrcFile.exists());
+
+        Properties parameters = new Properties();
+        parameters.setProperty(StorageConnector.FILES_HOME_PATH_PROPERTY, myFileDir.getAbsolutePath());
+        parameters.setProperty(StorageConnector.FILE_PATH_PROPERTY, driverSrcFile.getName());
+        parameters.setProperty(StorageReference.DRIVER_NAME_KEY, "mysql-driver");
+
+        KomodoObject parent = _repo.komodoWorkspace(getTransaction());
+        StorageReference reference = new StorageReference(StorageConnector.Types.FILE.id(), parameters, DocumentType.JAR);
+        wsMgr.importArtifact(getTransaction(), parent, reference);
+
+        assertTrue(parent.hasChild(getTransaction(), "mysql-driver"));
+        Driver driver = wsMgr.resolve(getTransaction(), parent.getChild(getTransaction(), "mysql-driver"), Driver.class);
+        assertNotNull(driver);
+
+        byte[] expected = FileUtils.streamToByteArray(TestUtilities.mySqlDriver());
+        assertTrue(Arrays.equals(expected, FileUtils.streamToByteArray(driver.getContent(getTransaction()))));
+    }
+
     @Test
     public void shouldCreateWorkspaceForNewUser() throws Exception {
             String newUser = "newUser";
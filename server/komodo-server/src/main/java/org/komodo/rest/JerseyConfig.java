@@ -5,6 +5,7 @@ import javax.annotation.PostConstruct;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.komodo.rest.cors.KCorsFilter;
 import org.komodo.rest.cors.KCorsHandler;
+import org.komodo.rest.service.KomodoChangeService;
 import org.komodo.rest.service.KomodoConnectionService;
 import org.komodo.rest.service.KomodoDataserviceService;
 import org.komodo.rest.service.KomodoDriverService;
@@ -52,6 +53,7 @@ public class JerseyConfig extends ResourceConfig {
        register(KomodoDriverService.class);
        register(KomodoVdbService.class);
        register(KomodoSearchService.class);
+       register(KomodoChangeService.class);
        register(KomodoMetadataService.class);
        register(KomodoImportExportService.class);
        register(AuthHandlingFilter.class);
@@ -38,6 +38,7 @@ import org.komodo.openshift.EncryptionComponent;
 import org.komodo.openshift.TeiidOpenShiftClient;
 import org.komodo.rest.connections.SyndesisConnectionMonitor;
 import org.komodo.rest.connections.SyndesisConnectionSynchronizer;
+import org.komodo.rest.service.KomodoMetadataService;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.repository.ApplicationProperties;
@@ -114,23 +115,22 @@ public class KomodoAutoConfiguration {
 
         if ( !started ) {
             throw new RuntimeException(Messages.getString( KOMODO_ENGINE_STARTUP_TIMEOUT, 1, TimeUnit.MINUTES));
-        } else {
-            try {
-	        	// monitor to track connections from the syndesis
-				TeiidOpenShiftClient TOSClient = new TeiidOpenShiftClient(
-						(TeiidMetadataInstance) kengine.getMetadataInstance(),
-						new EncryptionComponent(getTextEncryptor()), this.config);
-	        	SyndesisConnectionSynchronizer sync = new SyndesisConnectionSynchronizer(TOSClient);
-	        	SyndesisConnectionMonitor scm = new SyndesisConnectionMonitor(sync);
-	        	ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
-	        	executor.schedule(scm, 15, TimeUnit.SECONDS);
-            } catch (KException e) {
-                throw new WebApplicationException( e, Status.INTERNAL_SERVER_ERROR );
-            }
         }
         return kengine;
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public SyndesisConnectionMonitor syndesisConnectionMonitor(@Autowired TeiidOpenShiftClient openShiftClient,
+                                                               @Autowired KomodoMetadataService metadataService) {
+        // monitor to track connections from the syndesis
+        SyndesisConnectionSynchronizer sync = new SyndesisConnectionSynchronizer(openShiftClient, metadataService);
+        SyndesisConnectionMonitor scm = new SyndesisConnectionMonitor(sync);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.schedule(scm, 15, TimeUnit.SECONDS);
+        return scm;
+    }
+
     @Bean
     @ConditionalOnMissingBean    
     public TeiidServer teiidServer() {
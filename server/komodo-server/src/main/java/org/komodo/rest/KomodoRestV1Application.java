@@ -429,6 +429,11 @@ public class KomodoRestV1Application implements SystemConstants {
          */
         String SEARCH_SEGMENT = "search"; //$NON-NLS-1$
 
+        /**
+         * The name of the URI path segment for the changes committed to the workspace
+         */
+        String CHANGES_SEGMENT = "changes"; //$NON-NLS-1$
+
         /**
          * The name of the URI search saved search parameter
          */
@@ -524,6 +529,11 @@ public class KomodoRestV1Application implements SystemConstants {
          */
         String EXPORT_TO_GIT = "exportToGit"; //$NON-NLS-1$
 
+        /**
+         * The export operation of the import export service that returns the exported artifact as the response body
+         */
+        String EXPORT_STREAM = "exportStream"; //$NON-NLS-1$
+
         /**
          * The available storage types of the import export service
          */
@@ -534,6 +544,11 @@ public class KomodoRestV1Application implements SystemConstants {
          */
         String QUERY_SEGMENT = "query"; //$NON-NLS-1$
 
+        /**
+         * The teiid segment for running a query against the teiid server, streaming the results
+         */
+        String STREAM_QUERY_SEGMENT = "streamQuery"; //$NON-NLS-1$
+
         /**
          * The teiid segment for running a ping against the teiid server
          */
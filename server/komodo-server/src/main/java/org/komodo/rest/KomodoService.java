@@ -23,10 +23,14 @@ import static org.komodo.rest.Messages.General.GET_OPERATION_NAME;
 
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -57,6 +61,7 @@ import org.komodo.spi.KException;
 import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.lexicon.datavirt.DataVirtLexicon;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.spi.repository.ApplicationProperties;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
@@ -96,6 +101,17 @@ public abstract class KomodoService implements V1Constants {
     private static final int TIMEOUT = 30;
     private static final TimeUnit UNIT = TimeUnit.SECONDS;
 
+    /**
+     * Builds the responses of asynchronous commits so neither request threads nor repository threads are held
+     */
+    private static final ExecutorService ASYNC_RESPONSE_EXECUTOR = Executors.newFixedThreadPool(
+        ApplicationProperties.getIntProperty(SystemConstants.REST_ASYNC_RESPONSE_THREADS, 4),
+        runnable -> {
+            Thread thread = new Thread(runnable, "Komodo Async Response"); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        });
+
     /**
      * Query parameter keys used by the service methods.
      */
@@ -120,6 +136,11 @@ public abstract class KomodoService implements V1Constants {
          * The Komodo Type required.
          */
         String KTYPE = "ktype"; //$NON-NLS-1$
+
+        /**
+         * The sequence number of the last change already seen. Defaults to zero.
+         */
+        String SINCE = "since"; //$NON-NLS-1$
     }
 
     private class ErrorResponse {
@@ -519,6 +540,60 @@ public abstract class KomodoService implements V1Constants {
         return commit(acceptableMediaTypes, entity);
     }
 
+    /**
+     * Commits the transaction without holding the calling request thread while the commit and any sequencing
+     * completes. The suspended response is resumed with the entity once the commit has finished, or with an
+     * error if the commit fails or does not finish within the commit timeout.
+     *
+     * @param transaction
+     *        the transaction to commit (cannot be <code>null</code>)
+     * @param acceptableMediaTypes
+     *        the media types acceptable to the client
+     * @param entity
+     *        the entity returned once the commit has finished
+     * @param asyncResponse
+     *        the suspended response (cannot be <code>null</code>)
+     */
+    protected void commitAsync( final UnitOfWork transaction, final List<MediaType> acceptableMediaTypes,
+                                final KRestEntity entity, final AsyncResponse asyncResponse ) {
+        asyncResponse.setTimeout( TIMEOUT, UNIT );
+        asyncResponse.setTimeoutHandler( response -> {
+            // callback timeout occurred
+            String errorMessage = Messages.getString( COMMIT_TIMEOUT, transaction.getName(), TIMEOUT, UNIT );
+            Object responseEntity = createErrorResponseEntity(acceptableMediaTypes, errorMessage);
+            response.resume( Response.status( Status.INTERNAL_SERVER_ERROR )
+                                     .entity(responseEntity)
+                                     .build() );
+        });
+
+        transaction.commitAsync().whenCompleteAsync( ( uow, error ) -> {
+            Response response;
+
+            if ( error != null ) {
+                Throwable cause = ( error instanceof CompletionException && error.getCause() != null ) ? error.getCause() : error;
+                Object responseEntity = createErrorResponseEntity(acceptableMediaTypes, cause.getLocalizedMessage());
+                response = Response.status( Status.INTERNAL_SERVER_ERROR )
+                                   .entity(responseEntity)
+                                   .build();
+            } else {
+                LOGGER.debug( "commitAsync: successfully committed '{0}', rollbackOnly = '{1}'", //$NON-NLS-1$
+                              transaction.getName(),
+                              transaction.isRollbackOnly() );
+
+                try {
+                    response = commit(acceptableMediaTypes, entity);
+                } catch ( final Exception e ) {
+                    Object responseEntity = createErrorResponseEntity(acceptableMediaTypes, e.getLocalizedMessage());
+                    response = Response.status( Status.INTERNAL_SERVER_ERROR )
+                                       .entity(responseEntity)
+                                       .build();
+                }
+            }
+
+            asyncResponse.resume( response );
+        }, ASYNC_RESPONSE_EXECUTOR );
+    }
+
     protected Response commit(UnitOfWork transaction, List<MediaType> acceptableMediaTypes) throws Exception {
         assert( transaction.getCallback() instanceof SynchronousCallback );
         final int timeout = TIMEOUT;
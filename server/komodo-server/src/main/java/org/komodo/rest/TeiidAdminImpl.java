@@ -36,6 +36,7 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import javax.sql.DataSource;
 import javax.xml.stream.XMLStreamException;
 
+import org.komodo.metadata.VdbDeployer;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceBuilder;
 import org.teiid.adminapi.Admin;
 import org.teiid.adminapi.AdminException;
@@ -55,13 +56,14 @@ import org.teiid.adminapi.impl.PropertyDefinitionMetadata;
 import org.teiid.adminapi.impl.SourceMappingMetadata;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.adminapi.impl.VDBMetadataParser;
+import org.teiid.deployers.VirtualDatabaseException;
 import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository.ConnectorManagerException;
 import org.teiid.translator.TranslatorException;
 
 import com.zaxxer.hikari.HikariDataSource;
 
 @SuppressWarnings("deprecation")
-public class TeiidAdminImpl implements Admin {
+public class TeiidAdminImpl implements Admin, VdbDeployer {
     private Admin delegate;
     private TeiidServer server;
     private HashMap<String, Object> datasources = new HashMap<>();
@@ -164,14 +166,7 @@ public class TeiidAdminImpl implements Admin {
         }
         try {
             VDBMetaData vdb =  VDBMetadataParser.unmarshell(arg1);
-            for (ModelMetaData model : vdb.getModelMetaDatas().values()) {
-                for (SourceMappingMetadata smm : model.getSourceMappings()) {
-                    addTranslator(smm.getTranslatorName());
-                    if (smm.getConnectionJndiName() != null && this.datasources.get(smm.getConnectionJndiName()) != null) {
-                        server.addConnectionFactory(smm.getName(), this.datasources.get(smm.getConnectionJndiName()));
-                    }
-                }
-            }
+            addSources(vdb);
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             VDBMetadataParser.marshell(vdb, baos);
             delegate.deploy(deployName, new ByteArrayInputStream(baos.toByteArray()));
@@ -180,6 +175,30 @@ public class TeiidAdminImpl implements Admin {
         }
     }
 
+    /**
+     * Deploys the vdb straight to the server, without it being written to and parsed from xml
+     */
+    @Override
+    public void deploy(String deployName, VDBMetaData vdb) throws AdminException {
+        try {
+            addSources(vdb);
+            server.deployVDB(vdb);
+        } catch (ConnectorManagerException | VirtualDatabaseException | TranslatorException e) {
+            throw new AdminProcessingException("Failed to deploy the VDB " + vdb.getName(), e);
+        }
+    }
+
+    private void addSources(VDBMetaData vdb) {
+        for (ModelMetaData model : vdb.getModelMetaDatas().values()) {
+            for (SourceMappingMetadata smm : model.getSourceMappings()) {
+                addTranslator(smm.getTranslatorName());
+                if (smm.getConnectionJndiName() != null && this.datasources.get(smm.getConnectionJndiName()) != null) {
+                    server.addConnectionFactory(smm.getName(), this.datasources.get(smm.getConnectionJndiName()));
+                }
+            }
+        }
+    }
+
     void addTranslator(String translatorname) {
         try {
             if (server.getExecutionFactory(translatorname) == null) {
@@ -21,14 +21,19 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Properties;
 
+import org.komodo.metadata.TeiidConnectionPool;
 import org.komodo.metadata.TeiidConnectionProvider;
+import org.komodo.metadata.VdbStatusListener;
+import org.komodo.spi.metadata.MetadataInstance;
 import org.komodo.spi.metadata.MetadataInstance.ConnectivityType;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.outcome.OutcomeFactory;
+import org.komodo.spi.repository.ApplicationProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.teiid.adminapi.Admin;
 import org.teiid.adminapi.AdminException;
+import org.teiid.adminapi.VDB;
 
 @Configuration
 public class TeiidConnectionProviderImpl implements TeiidConnectionProvider {
@@ -38,10 +43,60 @@ public class TeiidConnectionProviderImpl implements TeiidConnectionProvider {
 
     private Admin admin;
 
+    private TeiidConnectionPool connectionPool;
+
+    private boolean poolListening = false;
+
     protected synchronized void connect() throws AdminException {
     }
 
     protected synchronized void disconnect() throws AdminException {
+        if (this.connectionPool != null) {
+            this.connectionPool.close();
+            this.connectionPool = null;
+        }
+    }
+
+    /**
+     * @return the pool of connections to the deployed vdbs, created on first use
+     */
+    protected synchronized TeiidConnectionPool getConnectionPool() {
+        if (this.connectionPool == null) {
+            this.connectionPool = new TeiidConnectionPool(new TeiidConnectionPool.ConnectionFactory() {
+
+                @Override
+                public Connection connect(String url) throws SQLException {
+                    //TODO: when security working the user name needs to be passed in we need to work delegation model for security
+                    return server.getDriver().connect(url, new Properties());
+                }
+            }, ApplicationProperties.getConnectionPoolMaxPerVdb(), ApplicationProperties.getConnectionPoolIdleTimeout());
+
+            if (!this.poolListening) {
+                // discard connections to vdbs that are redeployed or undeployed
+                server.addVdbStatusListener(new VdbStatusListener() {
+
+                    @Override
+                    public void vdbStatusChanged(String vdbName, VDB.Status status) {
+                        TeiidConnectionPool pool = currentConnectionPool();
+                        if (pool != null)
+                            pool.vdbStatusChanged(vdbName, status);
+                    }
+
+                    @Override
+                    public void vdbRemoved(String vdbName) {
+                        TeiidConnectionPool pool = currentConnectionPool();
+                        if (pool != null)
+                            pool.vdbRemoved(vdbName);
+                    }
+                });
+                this.poolListening = true;
+            }
+        }
+        return this.connectionPool;
+    }
+
+    private synchronized TeiidConnectionPool currentConnectionPool() {
+        return this.connectionPool;
     }
 
 	@Override
@@ -54,9 +109,7 @@ public class TeiidConnectionProviderImpl implements TeiidConnectionProvider {
 
 	@Override
 	public Connection getConnection(String vdb, String version) throws SQLException {
-		Properties props = new Properties();
-		//TODO: when security working the user name needs to be passed in we need to work delegation model for security
-		return server.getDriver().connect("jdbc:teiid:"+vdb+"."+version, props);
+		return getConnectionPool().getConnection(vdb, "jdbc:teiid:"+vdb+"."+version);
 	}
 
 	@Override
@@ -65,7 +118,9 @@ public class TeiidConnectionProviderImpl implements TeiidConnectionProvider {
 			if (connectivityType == ConnectivityType.ADMIN) {
 				getAdmin().getSessions();
 			} else {
-			    server.getDriver().connect("jdbc:teiid:ping", new Properties());
+			    try (Connection connection = getConnectionPool().getConnection(MetadataInstance.PING_VDB_NAME, "jdbc:teiid:ping")) {
+			        // only checking the connection can be opened
+			    }
 			}
 		} catch (AdminException | SQLException e) {
 			return OutcomeFactory.getInstance().createError(e.getLocalizedMessage(), e);
@@ -93,5 +148,15 @@ public class TeiidConnectionProviderImpl implements TeiidConnectionProvider {
 
 	@Override
 	public void onShutdown() {
+	    try {
+	        disconnect();
+	    } catch (AdminException e) {
+	        // nothing to do
+	    }
+	}
+
+	@Override
+	public void addVdbStatusListener(VdbStatusListener listener) {
+	    server.addVdbStatusListener(listener);
 	}
 }
@@ -16,7 +16,14 @@
 package org.komodo.rest;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.komodo.metadata.VdbStatusListener;
+import org.teiid.adminapi.VDB;
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.deployers.CompositeVDB;
+import org.teiid.deployers.VDBLifeCycleListener;
+import org.teiid.deployers.VirtualDatabaseException;
 import org.teiid.dqp.internal.datamgr.ConnectorManager;
 import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository;
 import org.teiid.runtime.EmbeddedServer;
@@ -25,9 +32,15 @@ import org.teiid.translator.TranslatorException;
 
 public class TeiidServer extends EmbeddedServer {
 	private ConcurrentHashMap<String, ConnectionFactoryProvider<?>> connectionFactoryProviders = new ConcurrentHashMap<String, ConnectionFactoryProvider<?>>();
+	private CopyOnWriteArrayList<VdbStatusListener> vdbStatusListeners = new CopyOnWriteArrayList<VdbStatusListener>();
 	
     public TeiidServer() {
         this.cmr = new SBConnectorManagerRepository();
+        this.repo.addListener(new VdbStatusNotifier());
+    }
+
+    public void addVdbStatusListener(VdbStatusListener listener) {
+        this.vdbStatusListeners.add(listener);
     }
 
     @Override
@@ -43,7 +56,47 @@ public class TeiidServer extends EmbeddedServer {
     public ConnectionFactoryProvider<?> removeConnectionFactoryProvider(String jndiName) {
         return this.connectionFactoryProviders.remove(jndiName);
     }
+
+    /**
+     * Deploys a vdb that has already been built, skipping the xml parsing done when deploying from a stream.
+     */
+    public void deployVDB(VDBMetaData vdb) throws ConnectorManagerException, VirtualDatabaseException, TranslatorException {
+        deployVDB(vdb, null);
+    }
     
+    /**
+     * Forwards the lifecycle events of the embedded vdb repository to the {@link VdbStatusListener}s.
+     */
+    protected class VdbStatusNotifier implements VDBLifeCycleListener {
+        @Override
+        public void added(String name, CompositeVDB vdb) {
+            statusChanged(name, vdb);
+        }
+
+        @Override
+        public void finishedDeployment(String name, CompositeVDB vdb) {
+            statusChanged(name, vdb);
+        }
+
+        @Override
+        public void beforeRemove(String name, CompositeVDB vdb) {
+        }
+
+        @Override
+        public void removed(String name, CompositeVDB vdb) {
+            for (VdbStatusListener listener : vdbStatusListeners) {
+                listener.vdbRemoved(name);
+            }
+        }
+
+        private void statusChanged(String name, CompositeVDB vdb) {
+            VDB.Status status = vdb.getVDB().getStatus();
+            for (VdbStatusListener listener : vdbStatusListeners) {
+                listener.vdbStatusChanged(name, status);
+            }
+        }
+    }
+
     @SuppressWarnings("serial")
 	protected class SBConnectorManagerRepository extends ConnectorManagerRepository {
         public SBConnectorManagerRepository() {
@@ -17,12 +17,15 @@
  */
 package org.komodo.rest.connections;
 
-import java.io.IOException;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,32 +35,39 @@ import org.komodo.rest.AuthHandlingFilter.OAuthCredentials;
 import org.komodo.rest.connections.SyndesisConnectionMonitor.EventMsg;
 import org.komodo.rest.relational.response.metadata.RestSyndesisSourceStatus;
 import org.komodo.spi.KException;
+import org.komodo.spi.repository.ApplicationProperties;
 import org.teiid.adminapi.AdminException;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
-
 /**
  * This class provides the communication and hooks
  *
  */
 public class SyndesisConnectionSynchronizer {
 	private static final Log LOGGER = LogFactory.getLog(SyndesisConnectionSynchronizer.class);
-	private static final String LOCAL_REST = "http://localhost:8080/vdb-builder/v1";
+	private static final String SYNC_USER = "user";
+	private static final String PREVIEW_VDB = "PreviewVdb";
+	private static final long SYNC_TIMEOUT = 5 * 60 * 1000;
 	
 	private ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+	private ExecutorService syncExecutor;
 	private TeiidOpenShiftClient openshiftClient;
-	private OkHttpClient client;
+	private SyndesisMetadataOperations metadata;
 
 	OAuthCredentials bogusCredentials = new OAuthCredentials("supersecret", "developer");
 
-	public SyndesisConnectionSynchronizer(TeiidOpenShiftClient toc) {
+	public SyndesisConnectionSynchronizer(TeiidOpenShiftClient toc, SyndesisMetadataOperations metadata) {
+		this(toc, metadata, ApplicationProperties.getSyndesisSyncThreads());
+	}
+
+	/**
+	 * @param toc the openshift client used to find the syndesis sources
+	 * @param metadata the metadata operations used to deploy the sources and generate their schema
+	 * @param syncThreads the number of sources synchronized at the same time
+	 */
+	public SyndesisConnectionSynchronizer(TeiidOpenShiftClient toc, SyndesisMetadataOperations metadata, int syncThreads) {
 		this.openshiftClient = toc;
-		this.client = buildHttpClient();
+		this.metadata = metadata;
+		this.syncExecutor = Executors.newFixedThreadPool(syncThreads);
 	}
 
 	/*
@@ -90,7 +100,8 @@ public class SyndesisConnectionSynchronizer {
 
 	/*
 	 * This method checks each applicable syndesis connection and updates all
-	 * associated syndesisSource vdbs and schema
+	 * associated syndesisSource vdbs and schema. The sources are synchronized
+	 * concurrently, and the preview vdb is updated once they have all completed.
 	 */
 	public Future<Boolean> synchronizeConnections() {
 		 return executor.submit(new Callable<Boolean>() {
@@ -99,11 +110,29 @@ public class SyndesisConnectionSynchronizer {
 					// Get syndesis sources
 					Collection<DefaultSyndesisDataSource> dataSources = openshiftClient
 							.getSyndesisSources(bogusCredentials);
-					for (DefaultSyndesisDataSource sds : dataSources) {
-						addConnection(sds);
+
+					Map<String, Future<Void>> tasks = new LinkedHashMap<>();
+					for (final DefaultSyndesisDataSource sds : dataSources) {
+						tasks.put(sds.getName(), syncExecutor.submit(new Callable<Void>() {
+							public Void call() throws Exception {
+								addConnection(sds);
+								return null;
+							}
+						}));
 					}
+
+					boolean success = true;
+					for (Map.Entry<String, Future<Void>> task : tasks.entrySet()) {
+						try {
+							task.getValue().get();
+						} catch (ExecutionException e) {
+							LOGGER.error("Failed to synchronize connection " + task.getKey(), e.getCause());
+							success = false;
+						}
+					}
+
 					synchronzePreviewVDB();
-					return true;
+					return success;
 				} catch (Exception e) {
 					LOGGER.error(e);
 				}
@@ -112,6 +141,14 @@ public class SyndesisConnectionSynchronizer {
 		});
 	}
 
+	/**
+	 * Stops the synchronization of connections
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+		syncExecutor.shutdownNow();
+	}
+
 	private void handleAddConnection(EventMsg event) throws KException {
 		DefaultSyndesisDataSource sds = this.openshiftClient.getSyndesisDataSourceByEventId(bogusCredentials,
 				event.getId());
@@ -152,110 +189,65 @@ public class SyndesisConnectionSynchronizer {
 		}
 	}	
 	
+	/*
+	 * Deploys the source vdb and then generates the schema, each metadata operation
+	 * returning once it has completed, so the status only needs to be checked between them.
+	 * Throws an exception if the metadata of the source could not be made available.
+	 */
 	private void addConnection(DefaultSyndesisDataSource sds) throws KException {
 		if (!sds.isBound()) {
 			this.openshiftClient.bindToSyndesisSource(bogusCredentials, sds);
 		}
 
-		// check if the metadata is already available, then skip it.
-		RestSyndesisSourceStatus status = checkMetadataStatus(sds.getName());
-		if (status != null && status.getSchemaState() == RestSyndesisSourceStatus.EntityState.ACTIVE
-				&& status.getVdbState() == RestSyndesisSourceStatus.EntityState.ACTIVE) {
-			LOGGER.info("Schema already in repo for source " + sds.getName() +" skipping refresh");
-			return;
-		}
-
-		// check for 5 mins
 		boolean schemaRequestSubmitted = false;
 		boolean vdbRequestSubmitted = false;
-		long start = System.currentTimeMillis();
-		while (System.currentTimeMillis() - start < (5 * 60 * 1000)) {
-			status = checkMetadataStatus(sds.getName());
+		long deadline = System.currentTimeMillis() + SYNC_TIMEOUT;
+		while (true) {
+			RestSyndesisSourceStatus status = this.metadata.getSyndesisSourceStatus(SYNC_USER, sds.getName());
 			if (status.getSchemaState() == RestSyndesisSourceStatus.EntityState.ACTIVE
 					&& status.getVdbState() == RestSyndesisSourceStatus.EntityState.ACTIVE) {
 				// we are done.
-				LOGGER.info("Schema Generation Success for source " + sds.getName());
-				break;
+				if (!vdbRequestSubmitted && !schemaRequestSubmitted) {
+					LOGGER.info("Schema already in repo for source " + sds.getName() +" skipping refresh");
+				} else {
+					LOGGER.info("Schema Generation Success for source " + sds.getName());
+				}
+				return;
 			} else if (status.getSchemaState() == RestSyndesisSourceStatus.EntityState.FAILED) {
-				LOGGER.warn("Schema Generation Failed for fetching metadata for source " + sds.getName());
-				break;
+				throw new KException("Schema Generation Failed for fetching metadata for source " + sds.getName());
 			} else if (status.getVdbState() == RestSyndesisSourceStatus.EntityState.FAILED) {
-				LOGGER.warn("VDB deployment Failed for fetching metadata for source " + sds.getName());
-				break;
+				throw new KException("VDB deployment Failed for fetching metadata for source " + sds.getName());
 			} else if (status.getVdbState() == RestSyndesisSourceStatus.EntityState.MISSING && !vdbRequestSubmitted) {
-				requestMetadataForDataSource(sds, false);
+				LOGGER.info("Deploying source vdb for connection " + sds.getName());
+				this.metadata.refreshSchema(SYNC_USER, sds.getName(), true, false);
 				vdbRequestSubmitted = true;
 			} else if (status.getVdbState() == RestSyndesisSourceStatus.EntityState.ACTIVE
-					&& status.getSchemaState() == RestSyndesisSourceStatus.EntityState.MISSING
+					&& status.getSchemaState() != RestSyndesisSourceStatus.EntityState.ACTIVE
 					&& !schemaRequestSubmitted) {
-				// request to read metadata and add to komodo repo
-				requestMetadataForDataSource(sds, true);
+				// read metadata and add to komodo repo
+				LOGGER.info("Generating schema for connection " + sds.getName());
+				this.metadata.refreshSchema(SYNC_USER, sds.getName(), false, true);
 				schemaRequestSubmitted = true;
-			}
-			
-			// sleep for 5 seconds
-			try {
-				Thread.sleep(3000);
-			} catch (InterruptedException e) {
-				break;
-			}			
-		}
-	}
-
-	private RestSyndesisSourceStatus checkMetadataStatus(String dsName) throws KException {
-		ObjectMapper mapper = new ObjectMapper();
-		
-		Request request = SyndesisConnectionMonitor.buildRequest().url(LOCAL_REST + "/metadata/syndesisSourceStatuses/"+dsName)
-				.get().build();
-		try (Response response = client.newCall(request).execute()) {
-			if (response.isSuccessful()) {
-				String r = new String(response.body().bytes());
-				LOGGER.debug("status :" + r);
-				RestSyndesisSourceStatus status = mapper.readValue(r,RestSyndesisSourceStatus.class);
-				return status;
-			}
-			response.close();
-		} catch (IOException e) {
-			LOGGER.warn("Failed to submitted request to fetch metadata for connection " + dsName, e);
-			throw handleError(e);
-		}
-		return null;
-	}
-
-	private void requestMetadataForDataSource(DefaultSyndesisDataSource sds, boolean generateSchema) {
-		String query = "?redeploy=true&generate-schema=false";
-		if (generateSchema) {
-			query = "?redeploy=false&generate-schema=true";
-		}
-		Request request = SyndesisConnectionMonitor.buildRequest()
-				.url(LOCAL_REST + "/metadata/refresh-schema/" + sds.getName() + query)
-				.post(RequestBody.create(null, "")).build();
-		try (Response response = this.client.newCall(request).execute()) {
-			if (response.isSuccessful()) {
-				LOGGER.info("submitted request to fetch metadata of connection " + sds.getName()
-						+ " with schema-generation " + generateSchema);
+			} else if (status.getVdbState() == RestSyndesisSourceStatus.EntityState.LOADING
+					&& System.currentTimeMillis() < deadline) {
+				// wait for the deployment to signal it is active or has failed
+				this.metadata.awaitSourceVdbDeployment(sds.getName(), deadline - System.currentTimeMillis());
 			} else {
-				LOGGER.warn("Failed to submitted request to fetch metadata for connection " + sds.getName());
+				// the requested work has completed without making the metadata available
+				throw new KException("Failed to fetch metadata for source " + sds.getName() + ", vdb state = "
+						+ status.getVdbState() + ", schema state = " + status.getSchemaState());
 			}
-		} catch (IOException e) {
-			LOGGER.warn("Failed to submitted request to fetch metadata for connection " + sds.getName(), e);
 		}
 	}
 
-	private OkHttpClient buildHttpClient() {
-		OkHttpClient client = new OkHttpClient.Builder().connectTimeout(10, TimeUnit.SECONDS)
-				.writeTimeout(10, TimeUnit.SECONDS).readTimeout(30, TimeUnit.SECONDS).build();
-		return client;
-	}
-
 	private boolean deleteConnection(String dsName) throws KException {
 		try {
-			RestSyndesisSourceStatus status = checkMetadataStatus(dsName);
-			if (status != null && status.getSchemaVdbName() != null) {
+			RestSyndesisSourceStatus status = this.metadata.getSyndesisSourceStatus(SYNC_USER, dsName);
+			if (status.getSchemaVdbName() != null) {
 				deleteSchemaVDB(status);
 			}
 	
-			if (status != null && status.getVdbName() != null) {
+			if (status.getVdbName() != null) {
 				deleteSourceVDB(status);
 			}
 	
@@ -268,31 +260,13 @@ public class SyndesisConnectionSynchronizer {
 	}
 
 	private void deleteSchemaVDB(RestSyndesisSourceStatus status) throws KException {
-		Request request = SyndesisConnectionMonitor.buildRequest()
-				.url(LOCAL_REST + "/workspace/vdbs/" + status.getSchemaVdbName()).delete().build();
-		try (Response response = this.client.newCall(request).execute()) {
-			if (response.isSuccessful()) {
-				LOGGER.info("Workspace VDB " + status.getSchemaVdbName() + " deleted.");
-			} else {
-				LOGGER.info("Failed to delete Workspace VDB " + status.getSchemaVdbName());
-			}
-		} catch (IOException e) {
-			throw handleError(e);
-		}
+		this.metadata.deleteWorkspaceVdb(SYNC_USER, status.getSchemaVdbName());
+		LOGGER.info("Workspace VDB " + status.getSchemaVdbName() + " deleted.");
 	}
 
 	private void deleteSourceVDB(RestSyndesisSourceStatus status) throws KException {
-		Request request = SyndesisConnectionMonitor.buildRequest()
-				.url(LOCAL_REST + "/metadata/vdbs/" + status.getVdbName()).delete().build();
-		try (Response response = this.client.newCall(request).execute()) {
-			if (response.isSuccessful()) {
-				LOGGER.info("Source VDB " + status.getVdbName() + " deleted.");
-			} else {
-				LOGGER.info("Failed to delete Source VDB " + status.getVdbName());
-			}
-		} catch (IOException e) {
-			throw handleError(e);
-		}
+		this.metadata.undeployVdb(status.getVdbName());
+		LOGGER.info("Source VDB " + status.getVdbName() + " deleted.");
 	}
 	
     protected static KException handleError(Throwable e) {
@@ -305,18 +279,13 @@ public class SyndesisConnectionSynchronizer {
 
 	private boolean synchronzePreviewVDB() {
 		LOGGER.info("Preview VDB update Request being submitted.");
-		Request request = SyndesisConnectionMonitor.buildRequest()
-				.url(LOCAL_REST + "/metadata/refreshPreviewVdb/PreviewVdb").post(RequestBody.create(null, "")).build();
-		try (Response response = this.client.newCall(request).execute()) {
-			if (response.isSuccessful()) {
-				LOGGER.info("Preview VDB Updated");
-			} else {
-				LOGGER.info("Failed to Update Preview VDB");
-			}
+		try {
+			this.metadata.refreshPreviewVdb(SYNC_USER, PREVIEW_VDB);
+			LOGGER.info("Preview VDB Updated");
 			return true;
-		} catch (IOException e) {
+		} catch (KException e) {
 			LOGGER.error("Failed to Update Preview VDB", e);
 		}
 		return false;
 	}	
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.rest.connections;
+
+import org.komodo.rest.relational.response.metadata.RestSyndesisSourceStatus;
+import org.komodo.spi.KException;
+
+/**
+ * The metadata operations used by the {@link SyndesisConnectionSynchronizer}. These are called in-process
+ * rather than through the REST api. Each operation only returns once its work has finished.
+ */
+public interface SyndesisMetadataOperations {
+
+    /**
+     * @param user
+     *        the user whose workspace holds the schema (cannot be empty)
+     * @param sourceName
+     *        the syndesis source name (cannot be empty)
+     * @return the status of the source vdb and schema (never <code>null</code>)
+     * @throws KException
+     *         if the status cannot be determined
+     */
+    RestSyndesisSourceStatus getSyndesisSourceStatus(String user, String sourceName) throws KException;
+
+    /**
+     * Deploys the source vdb, or generates the workspace schema from the deployed source vdb. When the schema is
+     * generated this returns once the schema DDL has been sequenced.
+     *
+     * @param user
+     *        the user whose workspace holds the schema (cannot be empty)
+     * @param sourceName
+     *        the syndesis source name (cannot be empty)
+     * @param redeploy
+     *        <code>true</code> if the source vdb should be redeployed if it already exists
+     * @param generateSchema
+     *        <code>true</code> if the workspace schema should be generated if it doesn't exist
+     * @throws KException
+     *         if the refresh fails
+     */
+    void refreshSchema(String user, String sourceName, boolean redeploy, boolean generateSchema) throws KException;
+
+    /**
+     * Waits for the deployed source vdb to become active or fail.
+     *
+     * @param sourceName
+     *        the syndesis source name (cannot be empty)
+     * @param timeout
+     *        the maximum time to wait in milliseconds
+     * @throws KException
+     *         if an error occurs
+     */
+    void awaitSourceVdbDeployment(String sourceName, long timeout) throws KException;
+
+    /**
+     * @param user
+     *        the user whose workspace holds the vdb (cannot be empty)
+     * @param vdbName
+     *        the name of the workspace vdb to delete (cannot be empty)
+     * @throws KException
+     *         if the vdb cannot be deleted
+     */
+    void deleteWorkspaceVdb(String user, String vdbName) throws KException;
+
+    /**
+     * Undeploys the vdb and waits for it to be removed.
+     *
+     * @param vdbName
+     *        the name of the deployed vdb (cannot be empty)
+     * @throws KException
+     *         if the vdb cannot be undeployed
+     */
+    void undeployVdb(String vdbName) throws KException;
+
+    /**
+     * Updates the imports of the preview vdb to match the workspace connection vdbs, deploying it if required.
+     *
+     * @param user
+     *        the user whose workspace holds the preview vdb (cannot be empty)
+     * @param vdbName
+     *        the name of the preview vdb (cannot be empty)
+     * @throws KException
+     *         if the preview vdb cannot be refreshed
+     */
+    void refreshPreviewVdb(String user, String vdbName) throws KException;
+}
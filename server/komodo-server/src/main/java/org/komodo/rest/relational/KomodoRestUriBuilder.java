@@ -324,6 +324,22 @@ public final class KomodoRestUriBuilder implements KomodoRestV1Application.V1Con
                                    .path(VDBS_SEGMENT).build();
     }
 
+    /**
+     * @param properties the since and size parameter properties
+     * @return the URI to use when requesting the changes committed to the workspace (never <code>null</code>)
+     */
+    public URI workspaceChangesUri(KomodoProperties properties) {
+        UriBuilder builder = UriBuilder.fromUri(this.baseUri)
+                                    .path(WORKSPACE_SEGMENT)
+                                    .path(CHANGES_SEGMENT);
+
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            builder.queryParam(entry.getKey(), entry.getValue().toString());
+        }
+
+        return builder.build();
+    }
+
     /**
      * @return the URI to use when requesting the metadata server  (never <code>null</code>)
      */
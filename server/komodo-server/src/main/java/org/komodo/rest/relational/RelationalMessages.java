@@ -1049,6 +1049,21 @@ public final class RelationalMessages {
          */
         SEARCH_SERVICE_REQUEST_PARSING_ERROR,
 
+        /**
+         * An error indicating a request for the workspace changes failed
+         */
+        CHANGE_SERVICE_GET_CHANGES_ERROR,
+
+        /**
+         * The repository does not journal its changes
+         */
+        CHANGE_SERVICE_NO_JOURNAL,
+
+        /**
+         * Changes after the requested sequence number are no longer retained
+         */
+        CHANGE_SERVICE_CHANGES_MISSING,
+
         /**
          * An error indicating a teiid status error
          */
@@ -20,10 +20,14 @@ package org.komodo.rest.relational.json;
 import static org.komodo.rest.Messages.Error.UNEXPECTED_JSON_TOKEN;
 import static org.komodo.rest.relational.json.KomodoJsonMarshaller.BUILDER;
 import java.io.IOException;
+import java.util.List;
 import org.komodo.rest.Messages;
 import org.komodo.rest.relational.response.RestQueryColumn;
 import org.komodo.rest.relational.response.RestQueryResult;
 import org.komodo.rest.relational.response.RestQueryRow;
+import org.komodo.spi.query.QSColumn;
+import org.komodo.spi.query.QSResultHandler;
+import org.komodo.spi.query.QSRow;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
@@ -33,6 +37,60 @@ import com.google.gson.stream.JsonWriter;
  */
 public class QueryResultSerializer extends TypeAdapter<RestQueryResult> {
 
+    /**
+     * Writes query results in the same format as the serializer as they are read, so that the rows are never all
+     * held in memory.
+     */
+    public static class StreamingWriter implements QSResultHandler {
+
+        private final JsonWriter out;
+
+        private boolean hasRows;
+
+        /**
+         * @param out
+         *        the writer of the JSON (cannot be <code>null</code>)
+         */
+        public StreamingWriter(JsonWriter out) {
+            this.out = out;
+        }
+
+        @Override
+        public void start(List<QSColumn> columns) throws IOException {
+            out.beginObject();
+
+            if (!columns.isEmpty()) {
+                RestQueryColumn[] restColumns = new RestQueryColumn[columns.size()];
+                for (int i = 0; i < restColumns.length; ++i) {
+                    restColumns[i] = new RestQueryColumn(columns.get(i));
+                }
+
+                out.name(RestQueryResult.COLUMNS_LABEL);
+                BUILDER.toJson(restColumns, RestQueryColumn[].class, out);
+            }
+        }
+
+        @Override
+        public void row(QSRow row) throws IOException {
+            if (!hasRows) {
+                out.name(RestQueryResult.ROWS_LABEL);
+                out.beginArray();
+                hasRows = true;
+            }
+
+            BUILDER.toJson(new RestQueryRow(row), RestQueryRow.class, out);
+        }
+
+        @Override
+        public void end() throws IOException {
+            if (hasRows)
+                out.endArray();
+
+            out.endObject();
+            out.flush();
+        }
+    }
+
     @Override
     public RestQueryResult read(JsonReader in) throws IOException {
         final RestQueryResult queryResult = new RestQueryResult();
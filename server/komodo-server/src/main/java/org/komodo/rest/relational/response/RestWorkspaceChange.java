@@ -0,0 +1,152 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.rest.relational.response;
+
+import javax.ws.rs.core.MediaType;
+import org.komodo.core.repository.ChangeJournal.Change;
+import org.komodo.rest.KRestEntity;
+
+/**
+ * A change committed to the workspace, as recorded by the change journal.
+ */
+public class RestWorkspaceChange implements KRestEntity {
+
+    public static final String SEQUENCE_LABEL = "sequence";
+
+    public static final String COMMIT_LABEL = "commit";
+
+    public static final String TIMESTAMP_LABEL = "timestamp";
+
+    public static final String OPERATION_LABEL = "operation";
+
+    public static final String PATH_LABEL = "path";
+
+    public static final String PREVIOUS_PATH_LABEL = "previousPath";
+
+    public static final String TYPE_LABEL = "type";
+
+    public static final String USER_LABEL = "user";
+
+    private long sequence;
+
+    private long commit;
+
+    private long timestamp;
+
+    private String operation;
+
+    private String path;
+
+    private String previousPath;
+
+    private String type;
+
+    private String user;
+
+    /**
+     * Constructor for use when deserializing
+     */
+    public RestWorkspaceChange() {
+        super();
+    }
+
+    public RestWorkspaceChange(Change change) {
+        this.sequence = change.getSequence();
+        this.commit = change.getCommit();
+        this.timestamp = change.getTimestamp();
+        this.operation = change.getOperation().name();
+        this.path = change.getPath();
+        this.previousPath = change.getPreviousPath();
+        this.type = change.getType();
+        this.user = change.getUser();
+    }
+
+    @Override
+    public Object getXml() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean supports(MediaType mediaType) {
+        return MediaType.APPLICATION_JSON_TYPE.equals(mediaType);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getCommit() {
+        return commit;
+    }
+
+    public void setCommit(long commit) {
+        this.commit = commit;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getPreviousPath() {
+        return previousPath;
+    }
+
+    public void setPreviousPath(String previousPath) {
+        this.previousPath = previousPath;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+}
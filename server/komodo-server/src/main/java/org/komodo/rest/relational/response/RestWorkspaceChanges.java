@@ -0,0 +1,131 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.rest.relational.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.ws.rs.core.MediaType;
+import org.komodo.core.repository.ChangeJournal.Change;
+import org.komodo.core.repository.ChangeJournal.Changes;
+import org.komodo.rest.KRestEntity;
+
+/**
+ * The changes committed to the workspace since those a client last saw, together with the sequence numbers
+ * the client uses to request the next changes.
+ */
+public class RestWorkspaceChanges implements KRestEntity {
+
+    public static final String CHANGES_LABEL = "changes";
+
+    public static final String OLDEST_SEQUENCE_LABEL = "oldestSequence";
+
+    public static final String LAST_SEQUENCE_LABEL = "lastSequence";
+
+    public static final String NEXT_SEQUENCE_LABEL = "nextSequence";
+
+    private List<RestWorkspaceChange> changes = new ArrayList<>();
+
+    private long oldestSequence;
+
+    private long lastSequence;
+
+    private long nextSequence;
+
+    /**
+     * Constructor for use when deserializing
+     */
+    public RestWorkspaceChanges() {
+        super();
+    }
+
+    /**
+     * @param changes
+     *        the changes found in the journal (cannot be <code>null</code>)
+     * @param limit
+     *        the maximum number of changes that were asked for
+     */
+    public RestWorkspaceChanges(Changes changes, int limit) {
+        for (Change change : changes.getChanges()) {
+            this.changes.add(new RestWorkspaceChange(change));
+        }
+
+        this.oldestSequence = changes.getOldestSequence();
+        this.lastSequence = changes.getLastSequence();
+
+        // when the limit cut the changes short the client carries on from the last one it was given
+        if (this.changes.size() >= limit && ! this.changes.isEmpty())
+            this.nextSequence = this.changes.get(this.changes.size() - 1).getSequence();
+        else
+            this.nextSequence = this.lastSequence;
+    }
+
+    @Override
+    public Object getXml() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean supports(MediaType mediaType) {
+        return MediaType.APPLICATION_JSON_TYPE.equals(mediaType);
+    }
+
+    /**
+     * @return the changes in sequence order (never <code>null</code>)
+     */
+    public List<RestWorkspaceChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<RestWorkspaceChange> changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * @return the sequence number of the oldest change still retained
+     */
+    public long getOldestSequence() {
+        return oldestSequence;
+    }
+
+    public void setOldestSequence(long oldestSequence) {
+        this.oldestSequence = oldestSequence;
+    }
+
+    /**
+     * @return the sequence number of the last change committed to any workspace when the changes were found
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * @return the sequence number to pass as <code>since</code> when next asking for changes, which advances
+     *         even when none of the changes were made in the client's workspace
+     */
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    public void setNextSequence(long nextSequence) {
+        this.nextSequence = nextSequence;
+    }
+}
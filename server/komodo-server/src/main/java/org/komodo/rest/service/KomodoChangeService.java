@@ -0,0 +1,190 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.rest.service;
+
+import static org.komodo.rest.relational.RelationalMessages.Error.CHANGE_SERVICE_CHANGES_MISSING;
+import static org.komodo.rest.relational.RelationalMessages.Error.CHANGE_SERVICE_GET_CHANGES_ERROR;
+import static org.komodo.rest.relational.RelationalMessages.Error.CHANGE_SERVICE_NO_JOURNAL;
+
+import java.util.List;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.UriInfo;
+
+import org.komodo.core.repository.ChangeJournal;
+import org.komodo.core.repository.ChangeJournal.Changes;
+import org.komodo.core.repository.RepositoryImpl;
+import org.komodo.rest.KomodoRestException;
+import org.komodo.rest.KomodoRestV1Application.V1Constants;
+import org.komodo.rest.KomodoService;
+import org.komodo.rest.relational.response.RestWorkspaceChanges;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.springframework.stereotype.Component;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+/**
+ * A Komodo REST service for obtaining the changes committed to the workspace since those a client last saw.
+ */
+@Component
+@Path(V1Constants.WORKSPACE_SEGMENT + StringConstants.FORWARD_SLASH +
+           V1Constants.CHANGES_SEGMENT)
+@Api(tags = {V1Constants.CHANGES_SEGMENT})
+public final class KomodoChangeService extends KomodoService {
+
+    /**
+     * The maximum number of changes returned when no size is requested
+     */
+    private static final int DEFAULT_SIZE = 1000;
+
+    /**
+     * @param headers
+     *        the request headers (never <code>null</code>)
+     * @param uriInfo
+     *        the request URI information (never <code>null</code>)
+     * @return a JSON document representing the changes made to the user's workspace after the requested sequence number,
+     *         together with the sequence number to ask for the following changes from, or a gone status if some of
+     *         those changes are no longer retained and the workspace must be reloaded (never <code>null</code>)
+     * @throws KomodoRestException
+     *         if there is a problem reading the changes
+     */
+    @GET
+    @Produces( MediaType.APPLICATION_JSON )
+    @ApiOperation(value = "Return the changes committed to the workspace in sequence order",
+                            response = RestWorkspaceChanges.class)
+    @ApiImplicitParams({
+        @ApiImplicitParam(
+                          name = QueryParamKeys.SINCE,
+                          value = "The sequence number of the last change already seen. If not present, the changes from the oldest are returned.",
+                          required = false,
+                          dataType = "long",
+                          paramType = "query"),
+        @ApiImplicitParam(
+                          name = QueryParamKeys.SIZE,
+                          value = "The maximum number of changes to return. If not present, at most 1000 are returned",
+                          required = false,
+                          dataType = "integer",
+                          paramType = "query")
+    })
+    @ApiResponses(value = {
+        @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
+        @ApiResponse(code = 410, message = "Changes after the sequence number are no longer retained so the workspace must be reloaded"),
+        @ApiResponse(code = 403, message = "An error has occurred.")
+    })
+    public Response getChanges( final @Context HttpHeaders headers,
+                                final @Context UriInfo uriInfo ) throws KomodoRestException {
+
+        SecurityPrincipal principal = checkSecurityContext(headers);
+        if (principal.hasErrorResponse())
+            return principal.getErrorResponse();
+
+        List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
+        if (! isAcceptable(mediaTypes, MediaType.APPLICATION_JSON_TYPE))
+            return notAcceptableMediaTypesBuilder().build();
+
+        long since = 0;
+
+        { // since query parameter
+            final String qparam = uriInfo.getQueryParameters().getFirst( QueryParamKeys.SINCE );
+
+            if ( qparam != null ) {
+
+                try {
+                    since = Long.parseLong( qparam );
+
+                    if ( since < 0 ) {
+                        since = 0;
+                    }
+                } catch ( final Exception e ) {
+                    since = 0;
+                }
+            }
+        }
+
+        int size = DEFAULT_SIZE;
+
+        { // size query parameter
+            final String qparam = uriInfo.getQueryParameters().getFirst( QueryParamKeys.SIZE );
+
+            if ( qparam != null ) {
+
+                try {
+                    size = Integer.parseInt( qparam );
+
+                    if ( size <= 0 ) {
+                        size = DEFAULT_SIZE;
+                    }
+                } catch ( final Exception e ) {
+                    size = DEFAULT_SIZE;
+                }
+            }
+        }
+
+        UnitOfWork uow = null;
+
+        try {
+            Repository repo = this.kengine.getDefaultRepository();
+            ChangeJournal journal = ( repo instanceof RepositoryImpl ) ? ( ( RepositoryImpl )repo ).getChangeJournal() : null;
+
+            if ( journal == null )
+                return createErrorResponseWithForbidden(mediaTypes, CHANGE_SERVICE_NO_JOURNAL);
+
+            uow = createTransaction(principal, "getChanges", true ); //$NON-NLS-1$
+
+            // only the changes within the user's own workspace are returned
+            final Changes changes = journal.since( since, RepositoryImpl.komodoWorkspacePath( uow ), size );
+
+            if ( changes.isMissingChanges() ) {
+                uow.rollback();
+                return createErrorResponse(Status.GONE, mediaTypes, CHANGE_SERVICE_CHANGES_MISSING,
+                                           since, changes.getOldestSequence(), changes.getLastSequence());
+            }
+
+            final RestWorkspaceChanges entity = new RestWorkspaceChanges( changes, size );
+
+            LOGGER.debug( "getChanges:found '{0}' changes since '{1}'", entity.getChanges().size(), since ); //$NON-NLS-1$
+            return commit( uow, mediaTypes, entity );
+
+        } catch ( final Exception e ) {
+            if ( ( uow != null ) && ( uow.getState() != State.ROLLED_BACK ) ) {
+                uow.rollback();
+            }
+
+            if ( e instanceof KomodoRestException ) {
+                throw ( KomodoRestException )e;
+            }
+
+            return createErrorResponseWithForbidden(mediaTypes, e, CHANGE_SERVICE_GET_CHANGES_ERROR);
+        }
+    }
+}
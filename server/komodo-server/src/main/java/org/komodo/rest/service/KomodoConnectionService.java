@@ -198,29 +198,8 @@ public final class KomodoConnectionService extends KomodoService {
             uow = createTransaction(principal, txId, true );
 
             final Collection< TeiidVdb > vdbs = includeSchemaStatus ? getMetadataInstance().getVdbs() : null;
-            Connection[] connections = null;
 
             if ( includeConnection ) {
-	            if ( StringUtils.isBlank( searchPattern ) ) {
-	                connections = getWorkspaceManager(uow).findConnections( uow );
-	                LOGGER.debug( "getConnections:found '{0}' Connections", connections.length ); //$NON-NLS-1$
-	            } else {
-	                final String[] connectionPaths = getWorkspaceManager(uow).findByType( uow, DataVirtLexicon.Connection.NODE_TYPE, null, searchPattern, false );
-
-	                if ( connectionPaths.length == 0 ) {
-	                    connections = Connection.NO_CONNECTIONS;
-	                } else {
-	                    connections = new Connection[ connectionPaths.length ];
-	                    int i = 0;
-
-	                    for ( final String path : connectionPaths ) {
-	                        connections[ i++ ] = getWorkspaceManager(uow).resolve( uow, new ObjectImpl( getWorkspaceManager(uow).getRepository(), path, 0 ), Connection.class );
-	                    }
-
-	                    LOGGER.debug( "getConnections:found '{0}' Connections using pattern '{1}'", connections.length, searchPattern ); //$NON-NLS-1$
-	                }
-	            }
-
 	            int start = 0;
 
 	            { // start query parameter
@@ -259,32 +238,27 @@ public final class KomodoConnectionService extends KomodoService {
 	                }
 	            }
 
-	            int i = 0;
+	            // find the requested page of connections
+	            final WorkspaceManager wsMgr = getWorkspaceManager(uow);
+	            final String[] connectionPaths = wsMgr.findByType( uow, DataVirtLexicon.Connection.NODE_TYPE, null, searchPattern, false, start, size );
+	            LOGGER.debug( "getConnections:found '{0}' Connections using pattern '{1}' starting at {2}", connectionPaths.length, searchPattern, start ); //$NON-NLS-1$
 
 	            KomodoProperties properties = new KomodoProperties();
-	            for ( final Connection connection : connections ) {
-	                if ( ( start == 0 ) || ( i >= start ) ) {
-	                	RestConnection restConnection = null;
-	                	RestMetadataConnectionStatus restStatus = null;
-
-	                	if ( ( size == KomodoService.ALL_AVAILABLE ) || ( summaries.size() < size ) ) {
-	                        restConnection = entityFactory.create(connection, uriInfo.getBaseUri(), uow, properties);
-	                        LOGGER.debug("getConnections:Connection '{0}' entity was constructed", connection.getName(uow)); //$NON-NLS-1$
+	            for ( final String path : connectionPaths ) {
+	                final Connection connection = wsMgr.resolve( uow, new ObjectImpl( wsMgr.getRepository(), path, 0 ), Connection.class );
+	                final RestConnection restConnection = entityFactory.create(connection, uriInfo.getBaseUri(), uow, properties);
+	                LOGGER.debug("getConnections:Connection '{0}' entity was constructed", connection.getName(uow)); //$NON-NLS-1$
 
-	                        if ( includeSchemaStatus ) {
-	                           	restStatus = createStatusRestEntity( uow, vdbs, connection );
-	                        }
+	                RestMetadataConnectionStatus restStatus = null;
 
-	                        summaries.add( new RestConnectionSummary( uriInfo.getBaseUri(), restConnection, restStatus ) );
-	                	} else {
-	                        break;
-	                    }
+	                if ( includeSchemaStatus ) {
+	                    restStatus = createStatusRestEntity( uow, vdbs, connection );
 	                }
 
-	                ++i;
+	                summaries.add( new RestConnectionSummary( uriInfo.getBaseUri(), restConnection, restStatus ) );
 	            }
             } else if ( includeSchemaStatus ) { // include schema status and no connections
-            	connections = getWorkspaceManager(uow).findConnections( uow );
+            	final Connection[] connections = getWorkspaceManager(uow).findConnections( uow );
 
                 for ( final Connection connection: connections ) {
                     final RestMetadataConnectionStatus restStatus = createStatusRestEntity( uow, vdbs, connection );
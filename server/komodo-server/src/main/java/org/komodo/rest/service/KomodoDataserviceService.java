@@ -46,6 +46,8 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -156,33 +158,6 @@ public final class KomodoDataserviceService extends KomodoService
         try {
             final String searchPattern = uriInfo.getQueryParameters().getFirst(QueryParamKeys.PATTERN);
 
-            // find Data services
-            uow = createTransaction(principal, "getDataservices", true); //$NON-NLS-1$
-            Dataservice[] dataServices = null;
-
-            if (StringUtils.isBlank(searchPattern)) {
-                dataServices = getWorkspaceManager(uow).findDataservices(uow);
-                LOGGER.debug("getDataservices:found '{0}' Dataservices", dataServices.length); //$NON-NLS-1$
-            } else {
-                final String[] dataservicePaths = getWorkspaceManager(uow).findByType(uow,
-                        DataVirtLexicon.DataService.NODE_TYPE, null, searchPattern, false);
-
-                if (dataservicePaths.length == 0) {
-                    dataServices = Dataservice.NO_DATASERVICES;
-                } else {
-                    dataServices = new Dataservice[dataservicePaths.length];
-                    int i = 0;
-
-                    for (final String path : dataservicePaths) {
-                        dataServices[i++] = getWorkspaceManager(uow).resolve(uow,
-                                new ObjectImpl(getWorkspaceManager(uow).getRepository(), path, 0), Dataservice.class);
-                    }
-
-                    LOGGER.debug("getDataservices:found '{0}' DataServices using pattern '{1}'", dataServices.length, //$NON-NLS-1$
-                            searchPattern);
-                }
-            }
-
             int start = 0;
 
             { // start query parameter
@@ -221,32 +196,34 @@ public final class KomodoDataserviceService extends KomodoService
                 }
             }
 
+            // find the requested page of Data services
+            uow = createTransaction(principal, "getDataservices", true); //$NON-NLS-1$
+
+            final WorkspaceManager wsMgr = getWorkspaceManager(uow);
+            final String[] dataservicePaths = wsMgr.findByType(uow, DataVirtLexicon.DataService.NODE_TYPE, null, searchPattern,
+                                                               false, start, size);
+            LOGGER.debug("getDataservices:found '{0}' DataServices using pattern '{1}' starting at {2}", //$NON-NLS-1$
+                         dataservicePaths.length, searchPattern, start);
+
             final List<RestDataservice> entities = new ArrayList<>();
-            int i = 0;
 
             KomodoProperties properties = new KomodoProperties();
-            for (final Dataservice dataService : dataServices) {
-                if ((start == 0) || (i >= start)) {
-                    if ((size == ALL_AVAILABLE) || (entities.size() < size)) {
-                        RestDataservice entity = entityFactory.create(dataService, uriInfo.getBaseUri(), uow,
-                                properties);
-                        
-                        // Set published status of dataservice
-                        BuildStatus status = this.openshiftClient.getVirtualizationStatus(dataService.getServiceVdb(uow).getName(uow));
-                        entity.setPublishedState(status.status().name());
-                        entity.setPublishPodName(status.publishPodName());
-                        entity.setPodNamespace(status.namespace());
-                        entity.setOdataHostName(getOdataHost(status));
-
-                        entities.add(entity);
-                        LOGGER.debug("getDataservices:Dataservice '{0}' entity was constructed", //$NON-NLS-1$
-                                dataService.getName(uow));
-                    } else {
-                        break;
-                    }
-                }
+            for (final String path : dataservicePaths) {
+                final Dataservice dataService = wsMgr.resolve(uow, new ObjectImpl(wsMgr.getRepository(), path, 0),
+                                                              Dataservice.class);
+                RestDataservice entity = entityFactory.create(dataService, uriInfo.getBaseUri(), uow,
+                        properties);
+                
+                // Set published status of dataservice
+                BuildStatus status = this.openshiftClient.getVirtualizationStatus(dataService.getServiceVdb(uow).getName(uow));
+                entity.setPublishedState(status.status().name());
+                entity.setPublishPodName(status.publishPodName());
+                entity.setPodNamespace(status.namespace());
+                entity.setOdataHostName(getOdataHost(status));
 
-                ++i;
+                entities.add(entity);
+                LOGGER.debug("getDataservices:Dataservice '{0}' entity was constructed", //$NON-NLS-1$
+                        dataService.getName(uow));
             }
 
             // create response
@@ -1650,13 +1627,14 @@ public final class KomodoDataserviceService extends KomodoService
     /**
      * Refresh the dataservice views, using the userProfile ViewDefinitions
      *
+     * @param asyncResponse
+     *        the suspended response, resumed once the commit has completed
      * @param headers
      *            the request headers (never <code>null</code>)
      * @param uriInfo
      *            the request URI information (never <code>null</code>)
      * @param dataserviceName
      *            the dataservice name (cannot be empty)
-     * @return a JSON representation of the new connection (never <code>null</code>)
      * @throws KomodoRestException
      *             if there is an error creating the Connection
      */
@@ -1667,9 +1645,18 @@ public final class KomodoDataserviceService extends KomodoService
     @ApiOperation(value = "Refresh the dataservice views from user profile states")
     @ApiResponses(value = { @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
             @ApiResponse(code = 403, message = "An error has occurred.") })
-    public Response refreshViews(final @Context HttpHeaders headers, final @Context UriInfo uriInfo,
+    public void refreshViews( final @Suspended AsyncResponse asyncResponse,
+                              final @Context HttpHeaders headers, final @Context UriInfo uriInfo,
             @ApiParam(value = "Name of the dataservice", required = true) final @PathParam("dataserviceName") String dataserviceName)
             throws KomodoRestException {
+        Response response = refreshViews(headers, dataserviceName, asyncResponse);
+        if (response != null)
+            asyncResponse.resume(response);
+    }
+
+    private Response refreshViews(final HttpHeaders headers,
+                                  final String dataserviceName,
+                                  final AsyncResponse asyncResponse) throws KomodoRestException {
 
         SecurityPrincipal principal = checkSecurityContext(headers);
         if (principal.hasErrorResponse())
@@ -1709,7 +1696,8 @@ public final class KomodoDataserviceService extends KomodoService
             KomodoStatusObject kso = new KomodoStatusObject("Refresh Status"); //$NON-NLS-1$
             kso.addAttribute(dataserviceName, "View Successfully refreshed"); //$NON-NLS-1$
 
-            return commit(uow, mediaTypes, kso);
+            commitAsync(uow, mediaTypes, kso, asyncResponse);
+            return null; // resumed once the commit has completed
         } catch (final Exception e) {
             if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
                 uow.rollback();
@@ -28,9 +28,17 @@ import static org.komodo.spi.storage.git.GitStorageConnectorConstants.REPO_PASSW
 import static org.komodo.spi.storage.git.GitStorageConnectorConstants.REPO_PATH_PROPERTY;
 import static org.komodo.spi.storage.git.GitStorageConnectorConstants.REPO_USERNAME;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -41,11 +49,14 @@ import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.komodo.importer.ImportMessages;
@@ -278,36 +289,158 @@ public class KomodoImportExportService extends KomodoService {
         if (downloadable == null)
             return;
 
-        FileInputStream stream = null;
+        File downloadableFile = new File(downloadable);
+        status.setDownloadableSize(downloadableFile.length());
+
+        //
+        // Encode the file as it is read rather than reading it all into memory first
+        //
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (InputStream stream = new FileInputStream(downloadableFile);
+             OutputStream encoder = Base64.getEncoder().wrap(encoded)) {
+            copy(stream, encoder);
+        }
+
+        status.setContent(encoded.toString(StandardCharsets.US_ASCII.name()));
+
+        KLog.getLogger().debug("Encoded content of {0} SIZE: {1}", //$NON-NLS-1$
+                               downloadableFile.getAbsolutePath(), downloadableFile.length());
+    }
+
+    private static void copy(InputStream from, OutputStream to) throws IOException {
+        byte[] buffer = new byte[FileUtils.DEFAULT_BUFFER_SIZE];
+        int count;
+        while ((count = from.read(buffer)) != -1)
+            to.write(buffer, 0, count);
+    }
+
+    /**
+     * Exports an artifact from the workspace, returning it as the body of the response rather than
+     * as Base64 content embedded in a JSON document. The artifact is spooled to a temporary file so
+     * the memory used does not depend on its size.
+     *
+     * @param headers
+     *        the request headers (never <code>null</code>)
+     * @param uriInfo
+     *        the request URI information (never <code>null</code>)
+     * @param export attributes
+     *        the export attributes JSON representation (cannot be <code>null</code>)
+     * @return the exported artifact (never <code>null</code>)
+     * @throws KomodoRestException
+     *         if there is a problem with the export
+     */
+    @POST
+    @Path(V1Constants.EXPORT_STREAM)
+    @Produces( MediaType.APPLICATION_OCTET_STREAM )
+    @Consumes ( { MediaType.APPLICATION_JSON } )
+    @ApiOperation(value = "Exports an artifact, returning it as the body of the response. " +
+                          "Accepts the same JSON as the export operation though no storage type is required.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 406, message = "Only binary content is returned by this operation"),
+        @ApiResponse(code = 403, message = "An error has occurred.")
+    })
+    public Response exportArtifactStream( final @Context HttpHeaders headers,
+                                          final @Context UriInfo uriInfo,
+                                          @ApiParam(value = "JSON of the storage attributes", required = true)
+                                          final String storageAttributes) throws KomodoRestException {
+        SecurityPrincipal principal = checkSecurityContext(headers);
+        if (principal.hasErrorResponse())
+            return principal.getErrorResponse();
+
+        List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
+        if (! isAcceptable(mediaTypes, MediaType.APPLICATION_OCTET_STREAM_TYPE))
+            return notAcceptableMediaTypesBuilder().build();
+
+        KomodoStorageAttributes sta;
         try {
-            File downloadableFile = new File(downloadable);
-            stream = new FileInputStream(downloadableFile);
+            sta = KomodoJsonMarshaller.unmarshall(storageAttributes, KomodoStorageAttributes.class);
+            if (sta == null || sta.getArtifactPath() == null)
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.IMPORT_EXPORT_SERVICE_NO_PARAMETERS_ERROR);
 
-            status.setDownloadableSize(downloadableFile.length());
+        } catch (Exception ex) {
+            return createErrorResponseWithForbidden(mediaTypes, ex, RelationalMessages.Error.IMPORT_EXPORT_SERVICE_REQUEST_PARSING_ERROR);
+        }
 
-            byte content[] = new byte[(int)downloadableFile.length()];
-            stream.read(content);
-            String encContent = encode(content);
-            status.setContent(encContent);
+        UnitOfWork uow = null;
+        File exportFile = null;
+        try {
+            uow = createTransaction(principal, "streamExportFromWorkspace", true); //$NON-NLS-1$
+            Repository repo = this.kengine.getDefaultRepository();
+            String artifactPath = sta.getArtifactPath();
+            KomodoObject kObject = repo.getFromWorkspace(uow, artifactPath);
+            if (kObject == null) {
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.IMPORT_EXPORT_SERVICE_NO_ARTIFACT_ERROR, artifactPath);
+            }
 
-            KLog.getLogger().debug("Encrypted content of " + downloadableFile.getAbsolutePath() + ": " + encContent + " SIZE: "
-                                  + downloadableFile.length());
+            Exportable artifact = getWorkspaceManager(uow).resolve(uow, kObject, Exportable.class);
+            if (artifact == null) {
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.IMPORT_EXPORT_SERVICE_ARTIFACT_NOT_EXPORTABLE_ERROR, artifactPath);
+            }
 
-        } finally {
-            stream.close();
+            Properties parameters = sta.convertParameters();
+            String fileName = parameters.getProperty(FILE_PATH_PROPERTY);
+            if (fileName == null)
+                fileName = artifact.getDocumentType(uow).fileName(artifact.getName(uow));
+
+            //
+            // The artifact must be exported while the transaction is open so it
+            // is spooled to a file that is then streamed as the response body
+            //
+            exportFile = File.createTempFile("export-", null); //$NON-NLS-1$
+            try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(exportFile))) {
+                artifact.export(uow, parameters, stream);
+            }
+
+            Response response = commit(uow, mediaTypes);
+            if (response.getStatus() != Status.OK.getStatusCode()) {
+                exportFile.delete();
+                return response;
+            }
+
+            final File content = exportFile;
+            StreamingOutput output = new StreamingOutput() {
+
+                @Override
+                public void write(OutputStream stream) throws IOException {
+                    try (InputStream in = new FileInputStream(content)) {
+                        copy(in, stream);
+                        stream.flush();
+                    } finally {
+                        content.delete();
+                    }
+                }
+            };
+
+            return Response.ok(output, MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                           .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + new File(fileName).getName() + "\"") //$NON-NLS-1$ //$NON-NLS-2$
+                           .header(HttpHeaders.CONTENT_LENGTH, content.length())
+                           .build();
+
+        } catch (final Exception e) {
+            if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
+                uow.rollback();
+            }
+
+            if (exportFile != null)
+                exportFile.delete();
+
+            return createErrorResponse(Status.FORBIDDEN, mediaTypes, e,
+                                       RelationalMessages.Error.IMPORT_EXPORT_SERVICE_EXPORT_ERROR,
+                                       sta.getArtifactPath(), sta.getStorageType());
         }
     }
 
     /**
      * Imports an artifact into the workspace.
      *
+     * @param asyncResponse
+     *        the suspended response, resumed once the commit has completed
      * @param headers
      *        the request headers (never <code>null</code>)
      * @param uriInfo
      *        the request URI information (never <code>null</code>)
      * @param import attributes
      *        the import attributes JSON representation (cannot be <code>null</code>)
-     * @return a status object indicating success / failure of the import
      * @throws KomodoRestException
      *         if there is a problem with the import
      */
@@ -321,7 +454,8 @@ public class KomodoImportExportService extends KomodoService {
         @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
         @ApiResponse(code = 403, message = "An error has occurred.")
     })
-    public Response importArtifact( final @Context HttpHeaders headers,
+    public void importArtifact( final @Suspended AsyncResponse asyncResponse,
+                                final @Context HttpHeaders headers,
                              final @Context UriInfo uriInfo,
                              @ApiParam(
                                        value = "" +
@@ -348,6 +482,14 @@ public class KomodoImportExportService extends KomodoService {
                                        required = true
                              )
                              final String storageAttributes) throws KomodoRestException {
+        Response response = importArtifact(headers, storageAttributes, asyncResponse);
+        if (response != null)
+            asyncResponse.resume(response);
+    }
+
+    private Response importArtifact(final HttpHeaders headers,
+                                    final String storageAttributes,
+                                    final AsyncResponse asyncResponse) throws KomodoRestException {
         SecurityPrincipal principal = checkSecurityContext(headers);
         if (principal.hasErrorResponse())
             return principal.getErrorResponse();
@@ -446,7 +588,8 @@ public class KomodoImportExportService extends KomodoService {
 
             status.setType(sta.getDocumentType().toString());
 
-            return commit( uow, mediaTypes, status );
+            commitAsync( uow, mediaTypes, status, asyncResponse );
+            return null; // resumed once the commit has completed
 
         } catch (final Exception e) {
             if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
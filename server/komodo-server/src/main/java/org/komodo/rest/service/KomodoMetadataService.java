@@ -18,7 +18,11 @@
 package org.komodo.rest.service;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -45,6 +49,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.komodo.datasources.DefaultSyndesisDataSource;
@@ -69,11 +74,13 @@ import org.komodo.rest.CallbackTimeoutException;
 import org.komodo.rest.KomodoRestException;
 import org.komodo.rest.KomodoRestV1Application.V1Constants;
 import org.komodo.rest.KomodoService;
+import org.komodo.rest.connections.SyndesisMetadataOperations;
 import org.komodo.rest.relational.KomodoProperties;
 import org.komodo.rest.relational.RelationalMessages;
 import org.komodo.rest.relational.connection.RestConnection;
 import org.komodo.rest.relational.connection.RestSchemaNode;
 import org.komodo.rest.relational.json.KomodoJsonMarshaller;
+import org.komodo.rest.relational.json.QueryResultSerializer;
 import org.komodo.rest.relational.request.KomodoFileAttributes;
 import org.komodo.rest.relational.request.KomodoPathAttribute;
 import org.komodo.rest.relational.request.KomodoQueryAttribute;
@@ -99,6 +106,7 @@ import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
 import org.komodo.spi.metadata.MetadataInstance;
 import org.komodo.spi.query.QSResult;
+import org.komodo.spi.repository.ApplicationProperties;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
@@ -117,6 +125,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import com.google.gson.stream.JsonWriter;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
@@ -131,7 +140,7 @@ import io.swagger.annotations.ApiResponses;
 @Component
 @Path( V1Constants.METADATA_SEGMENT )
 @Api( tags = {V1Constants.METADATA_SEGMENT} )
-public class KomodoMetadataService extends KomodoService {
+public class KomodoMetadataService extends KomodoService implements SyndesisMetadataOperations {
 
     private interface OptionalParam {
 
@@ -179,11 +188,6 @@ public class KomodoMetadataService extends KomodoService {
      */
     private final static String TABLE_OPTION_FQN = "teiid_rel:fqn"; //$NON-NLS-1$
 
-    /**
-     * Time to wait after deploying/undeploying an artifact from the metadata instance
-     */
-    private final static int DEPLOYMENT_WAIT_TIME = 10000;
-
     private static final String[] PRIORITY_TEMPLATE_NAMES = {"connection-url", "user-name", "password", "port"};  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
     private static class TeiidPropertyDefinitionComparator implements Comparator<TeiidPropertyDefinition> {
@@ -287,6 +291,20 @@ public class KomodoMetadataService extends KomodoService {
         return Response.ok().build();
     }
 
+    /**
+     * Waits for the vdbs to become active or fail, sharing the deployment timeout between them.
+     *
+     * @param vdbNames the names of the deployed vdbs
+     */
+    private void awaitDeployment(String... vdbNames) throws KException {
+        final long deadline = System.currentTimeMillis() + ApplicationProperties.getDeploymentTimeout();
+
+        for (String vdbName : vdbNames) {
+            final long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            getMetadataInstance().waitForVdbDeployment(vdbName, remaining);
+        }
+    }
+
     private boolean hasDriver(String driverName) throws Exception {
         boolean hasDriver = false;
 
@@ -592,7 +610,7 @@ public class KomodoMetadataService extends KomodoService {
             getMetadataInstance().undeployDynamicVdb(vdbName);
 
             // Await the undeployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
+            getMetadataInstance().waitForVdbUndeployment(vdbName, ApplicationProperties.getDeploymentTimeout());
 
             String title = RelationalMessages.getString(RelationalMessages.Info.VDB_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
@@ -667,9 +685,6 @@ public class KomodoMetadataService extends KomodoService {
 
             getMetadataInstance().deleteDataSource(connectionName);
 
-            // Await the undeployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
-
             if (! hasDataSource(connectionName)) {
                 status.addAttribute(connectionName,
                                     RelationalMessages.getString(RelationalMessages.Info.CONNECTION_SUCCESSFULLY_UNDEPLOYED, connectionName));
@@ -1259,9 +1274,6 @@ public class KomodoMetadataService extends KomodoService {
 
             getMetadataInstance().deployDataSourceDriver(driverName, driverFile);
 
-            // Await the deployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
-
             String title = RelationalMessages.getString(RelationalMessages.Info.DRIVER_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
             status.addAttribute("deploymentSuccess", Boolean.FALSE.toString()); //$NON-NLS-1$
@@ -1329,9 +1341,6 @@ public class KomodoMetadataService extends KomodoService {
 
             getMetadataInstance().undeployDataSourceDriver(driverName);
 
-            // Await the undeployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
-
             String title = RelationalMessages.getString(RelationalMessages.Info.DRIVER_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
             if (! hasDriver(driverName)) {
@@ -1531,7 +1540,18 @@ public class KomodoMetadataService extends KomodoService {
             DeployStatus deployStatus = dataService.deploy(uow);
 
             // Await the deployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
+            if (deployStatus.ok()) {
+                List<String> vdbNames = new ArrayList<>();
+                Vdb serviceVdb = dataService.getServiceVdb(uow);
+                if (serviceVdb != null)
+                    vdbNames.add(serviceVdb.getName(uow));
+
+                for (Vdb vdb : dataService.getVdbs(uow)) {
+                    vdbNames.add(vdb.getName(uow));
+                }
+
+                awaitDeployment(vdbNames.toArray(new String[vdbNames.size()]));
+            }
 
             String title = RelationalMessages.getString(RelationalMessages.Info.DATA_SERVICE_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
@@ -1650,9 +1670,6 @@ public class KomodoMetadataService extends KomodoService {
             //
             DeployStatus deployStatus = connection.deploy(uow);
 
-            // Await the deployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
-
             String title = RelationalMessages.getString(RelationalMessages.Info.CONNECTION_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
 
@@ -1918,7 +1935,8 @@ public class KomodoMetadataService extends KomodoService {
             DeployStatus deployStatus = vdb.deploy(uow);
 
             // Await the deployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
+            if (deployStatus.ok())
+                awaitDeployment(vdb.getName(uow));
 
             String title = RelationalMessages.getString(RelationalMessages.Info.VDB_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
@@ -2004,102 +2022,117 @@ public class KomodoMetadataService extends KomodoService {
         try {
             uow = createTransaction(principal, "refreshPreviewVdb", false ); //$NON-NLS-1$
 
-            WorkspaceManager wMgr = getWorkspaceManager(uow);
+            return commit(uow, mediaTypes, refreshPreviewVdb(uow, vdbName));
+        } catch (final Exception e) {
+            if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
+                uow.rollback();
+            }
 
-            // if workspace does not have preview vdb, then create it.
-            if ( !wMgr.hasChild( uow, vdbName, VdbLexicon.Vdb.VIRTUAL_DATABASE ) ) {
-            	wMgr.createVdb( uow, null, vdbName, vdbName );
+            if (e instanceof KomodoRestException) {
+                throw (KomodoRestException)e;
             }
 
-            // Get the preview VDB.
-            final KomodoObject kobject = wMgr.getChild( uow, vdbName, VdbLexicon.Vdb.VIRTUAL_DATABASE );
-            Vdb previewVdb = wMgr.resolve( uow, kobject, Vdb.class );
+            return createErrorResponseWithForbidden(mediaTypes, e, RelationalMessages.Error.METADATA_SERVICE_REFRESH_PREVIEW_VDB_ERROR);
+        }
+    }
+
+    /**
+     * Updates the imports of the preview vdb to match the workspace connection vdbs, deploying it if the imports
+     * changed or it is not deployed.
+     *
+     * @param uow the transaction (cannot be <code>null</code> and must be not started)
+     * @param vdbName the name of the preview vdb (cannot be empty)
+     * @return the refresh status (never <code>null</code>)
+     * @throws Exception if an error occurs
+     */
+    private KomodoStatusObject refreshPreviewVdb( final UnitOfWork uow,
+                                                  final String vdbName ) throws Exception {
+        WorkspaceManager wMgr = getWorkspaceManager(uow);
 
-            // Get the list of current preview VDB import names
-            List<String> currentVdbImportNames = new ArrayList<String>();
-            VdbImport[] currentVdbImports = previewVdb.getImports(uow);
-            for( VdbImport vdbImport: currentVdbImports ) {
-            	currentVdbImportNames.add(vdbImport.getName(uow));
-            }
+        // if workspace does not have preview vdb, then create it.
+        if ( !wMgr.hasChild( uow, vdbName, VdbLexicon.Vdb.VIRTUAL_DATABASE ) ) {
+        	wMgr.createVdb( uow, null, vdbName, vdbName );
+        }
 
-            // Get the current workspace connection VDB names
-            List<String> connectionVdbNames = new ArrayList<String>();
-            KomodoObject[] connVdbObjs = wMgr.getChildrenOfType(uow, VdbLexicon.Vdb.VIRTUAL_DATABASE, "*btlconn"); //$NON-NLS-1$
-            for( KomodoObject kObj: connVdbObjs) {
-           		connectionVdbNames.add(kObj.getName(uow));
-            }
+        // Get the preview VDB.
+        final KomodoObject kobject = wMgr.getChild( uow, vdbName, VdbLexicon.Vdb.VIRTUAL_DATABASE );
+        Vdb previewVdb = wMgr.resolve( uow, kobject, Vdb.class );
 
-            // Add import for connectionVdb if it is missing
-            boolean importAdded = false;
-            for(String connVdbName: connectionVdbNames) {
-            	if(!currentVdbImportNames.contains(connVdbName)) {
-            		previewVdb.addImport(uow, connVdbName);
-            		importAdded = true;
-            	}
-            }
+        // Get the list of current preview VDB import names
+        List<String> currentVdbImportNames = new ArrayList<String>();
+        VdbImport[] currentVdbImports = previewVdb.getImports(uow);
+        for( VdbImport vdbImport: currentVdbImports ) {
+        	currentVdbImportNames.add(vdbImport.getName(uow));
+        }
 
-            // Remove extra imports
-            boolean importRemoved = false;
-            for(String currentVdbImportName: currentVdbImportNames) {
-            	if(!connectionVdbNames.contains(currentVdbImportName)) {
-            		previewVdb.removeImport(uow, currentVdbImportName);
-            		importRemoved = true;
-            	}
-            }
+        // Get the current workspace connection VDB names
+        List<String> connectionVdbNames = new ArrayList<String>();
+        KomodoObject[] connVdbObjs = wMgr.getChildrenOfType(uow, VdbLexicon.Vdb.VIRTUAL_DATABASE, "*btlconn"); //$NON-NLS-1$
+        for( KomodoObject kObj: connVdbObjs) {
+       		connectionVdbNames.add(kObj.getName(uow));
+        }
 
-            // check if there is a VDB already deployed in the instance
-            TeiidVdb vdb = getMetadataInstance().getVdb(previewVdb.getName(uow));
-             
-            // The updated VDB is deployed if imports were added or removed
-            if(vdb == null || importAdded || importRemoved) {
-                //
-                // Deploy the VDB
-                //
-                DeployStatus deployStatus = previewVdb.deploy(uow);
+        // Add import for connectionVdb if it is missing
+        boolean importAdded = false;
+        for(String connVdbName: connectionVdbNames) {
+        	if(!currentVdbImportNames.contains(connVdbName)) {
+        		previewVdb.addImport(uow, connVdbName);
+        		importAdded = true;
+        	}
+        }
 
-                // Await the deployment to end
-                Thread.sleep(DEPLOYMENT_WAIT_TIME);
+        // Remove extra imports
+        boolean importRemoved = false;
+        for(String currentVdbImportName: currentVdbImportNames) {
+        	if(!connectionVdbNames.contains(currentVdbImportName)) {
+        		previewVdb.removeImport(uow, currentVdbImportName);
+        		importRemoved = true;
+        	}
+        }
 
-                String title = RelationalMessages.getString(RelationalMessages.Info.VDB_DEPLOYMENT_STATUS_TITLE);
-                KomodoStatusObject status = new KomodoStatusObject(title);
+        // check if there is a VDB already deployed in the instance
+        TeiidVdb vdb = getMetadataInstance().getVdb(previewVdb.getName(uow));
+         
+        // The updated VDB is deployed if imports were added or removed
+        if(vdb == null || importAdded || importRemoved) {
+            //
+            // Deploy the VDB
+            //
+            DeployStatus deployStatus = previewVdb.deploy(uow);
 
-                List<String> progressMessages = deployStatus.getProgressMessages();
-                for (int i = 0; i < progressMessages.size(); ++i) {
-                    status.addAttribute("ProgressMessage" + (i + 1), progressMessages.get(i)); //$NON-NLS-1$
-                }
+            // Await the deployment to end
+            if (deployStatus.ok())
+                awaitDeployment(previewVdb.getName(uow));
 
-                if (deployStatus.ok()) {
-                    status.addAttribute("deploymentSuccess", Boolean.TRUE.toString()); //$NON-NLS-1$
-                    status.addAttribute(previewVdb.getName(uow),
-                                        RelationalMessages.getString(RelationalMessages.Info.VDB_SUCCESSFULLY_DEPLOYED));
-                } else {
-                    status.addAttribute("deploymentSuccess", Boolean.FALSE.toString()); //$NON-NLS-1$
-                    List<String> errorMessages = deployStatus.getErrorMessages();
-                    for (int i = 0; i < errorMessages.size(); ++i) {
-                        status.addAttribute("ErrorMessage" + (i + 1), errorMessages.get(i)); //$NON-NLS-1$
-                    }
+            String title = RelationalMessages.getString(RelationalMessages.Info.VDB_DEPLOYMENT_STATUS_TITLE);
+            KomodoStatusObject status = new KomodoStatusObject(title);
 
-                    status.addAttribute(previewVdb.getName(uow),
-                                        RelationalMessages.getString(RelationalMessages.Info.VDB_DEPLOYED_WITH_ERRORS));
-                }
+            List<String> progressMessages = deployStatus.getProgressMessages();
+            for (int i = 0; i < progressMessages.size(); ++i) {
+                status.addAttribute("ProgressMessage" + (i + 1), progressMessages.get(i)); //$NON-NLS-1$
+            }
 
-               return commit(uow, mediaTypes, status);
+            if (deployStatus.ok()) {
+                status.addAttribute("deploymentSuccess", Boolean.TRUE.toString()); //$NON-NLS-1$
+                status.addAttribute(previewVdb.getName(uow),
+                                    RelationalMessages.getString(RelationalMessages.Info.VDB_SUCCESSFULLY_DEPLOYED));
             } else {
-            	KomodoStatusObject kso = new KomodoStatusObject("Preview VDB Status"); //$NON-NLS-1$
-            	kso.addAttribute(vdbName, "No refresh required"); //$NON-NLS-1$
+                status.addAttribute("deploymentSuccess", Boolean.FALSE.toString()); //$NON-NLS-1$
+                List<String> errorMessages = deployStatus.getErrorMessages();
+                for (int i = 0; i < errorMessages.size(); ++i) {
+                    status.addAttribute("ErrorMessage" + (i + 1), errorMessages.get(i)); //$NON-NLS-1$
+                }
 
-            	return commit(uow, mediaTypes, kso);
-            }
-        } catch (final Exception e) {
-            if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
-                uow.rollback();
+                status.addAttribute(previewVdb.getName(uow),
+                                    RelationalMessages.getString(RelationalMessages.Info.VDB_DEPLOYED_WITH_ERRORS));
             }
 
-            if (e instanceof KomodoRestException) {
-                throw (KomodoRestException)e;
-            }
+           return status;
+        } else {
+        	KomodoStatusObject kso = new KomodoStatusObject("Preview VDB Status"); //$NON-NLS-1$
+        	kso.addAttribute(vdbName, "No refresh required"); //$NON-NLS-1$
 
-            return createErrorResponseWithForbidden(mediaTypes, e, RelationalMessages.Error.METADATA_SERVICE_REFRESH_PREVIEW_VDB_ERROR);
+        	return kso;
         }
     }
 
@@ -2234,6 +2267,118 @@ public class KomodoMetadataService extends KomodoService {
         }
     }
 
+    /**
+     * Query the teiid server, writing each row of the results to the response as it is read
+     * @param headers
+     *        the request headers (never <code>null</code>)
+     * @param uriInfo
+     *        the request URI information (never <code>null</code>)
+     * @param queryAttribute
+     *        the query attribute (never <code>null</code>)
+     * @return a JSON representation of the Query results (never <code>null</code>)
+     * @throws KomodoRestException
+     *         if there is an error getting results
+     */
+    @POST
+    @Path(V1Constants.STREAM_QUERY_SEGMENT)
+    @Produces( MediaType.APPLICATION_JSON )
+    @Consumes ( { MediaType.APPLICATION_JSON } )
+    @ApiOperation(value = "Pass a query to the teiid server, streaming the results. Accepts the same JSON as the query operation.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
+        @ApiResponse(code = 400, message = "An error has occurred.")
+    })
+    public Response streamQuery(final @Context HttpHeaders headers,
+                                final @Context UriInfo uriInfo,
+                                @ApiParam(value = "JSON of the properties of the query", required = true)
+                                final String queryAttribute)
+                                throws KomodoRestException {
+
+        SecurityPrincipal principal = checkSecurityContext(headers);
+        if (principal.hasErrorResponse())
+            return principal.getErrorResponse();
+
+        List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
+        if (! isAcceptable(mediaTypes, MediaType.APPLICATION_JSON_TYPE))
+            return notAcceptableMediaTypesBuilder().build();
+
+        //
+        // Error if there is no query attribute defined
+        //
+        KomodoQueryAttribute kqa;
+        try {
+            kqa = KomodoJsonMarshaller.unmarshall(queryAttribute, KomodoQueryAttribute.class);
+            if (kqa.getQuery() == null) {
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.METADATA_SERVICE_QUERY_MISSING_QUERY);
+            }
+
+            if (kqa.getTarget() == null) {
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.METADATA_SERVICE_QUERY_MISSING_TARGET);
+            }
+        } catch (Exception ex) {
+            return createErrorResponseWithForbidden(mediaTypes, ex, RelationalMessages.Error.METADATA_SERVICE_REQUEST_PARSING_ERROR);
+        }
+
+        UnitOfWork uow = null;
+
+        try {
+            uow = createTransaction(principal, "streamQueryTeiidservice", true); //$NON-NLS-1$
+            WorkspaceManager mgr = getWorkspaceManager(uow);
+            String target = kqa.getTarget();
+
+            //
+            // Is target a deployed vdb or a dataservice in the workspace that has had its vdbs deployed?
+            //
+            String serviceVdbName = extractServiceVdbName(uow, mgr, target);
+            final String vdbName = (serviceVdbName == null) ? target : serviceVdbName;
+
+            TeiidVdb vdb = getMetadataInstance().getVdb(vdbName);
+            if (vdb == null) {
+                return createErrorResponse(Status.BAD_REQUEST, mediaTypes,
+                                           RelationalMessages.Error.METADATA_SERVICE_QUERY_TARGET_NOT_DEPLOYED);
+            }
+
+            // the workspace is no longer needed once the vdb is known
+            Response response = commit(uow, mediaTypes);
+            if (response.getStatus() != Status.OK.getStatusCode())
+                return response;
+
+            final MetadataInstance metadata = getMetadataInstance();
+            final String query = kqa.getQuery();
+            final int offset = kqa.getOffset();
+            final int limit = kqa.getLimit();
+
+            StreamingOutput output = new StreamingOutput() {
+
+                @Override
+                public void write(OutputStream stream) throws IOException {
+                    LOGGER.debug("Establishing streaming query service for query {0} on vdb {1}", query, vdbName); //$NON-NLS-1$
+                    JsonWriter writer = KomodoJsonMarshaller.BUILDER.newJsonWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+
+                    try {
+                        metadata.query(vdbName, query, offset, limit, new QueryResultSerializer.StreamingWriter(writer));
+                    } catch (KException ex) {
+                        // the response has started so the error can only be reported by failing the stream
+                        throw new IOException(ex);
+                    }
+                }
+            };
+
+            return Response.ok(output, MediaType.APPLICATION_JSON_TYPE).build();
+
+        } catch (final Exception e) {
+            if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
+                uow.rollback();
+            }
+
+            if (e instanceof KomodoRestException) {
+                throw (KomodoRestException)e;
+            }
+
+            return createErrorResponse(Status.FORBIDDEN, mediaTypes, RelationalMessages.Error.METADATA_SERVICE_QUERY_ERROR, e.getLocalizedMessage());
+        }
+    }
+
     /*
      * Loads driver name - translator mappings from resource file
      */
@@ -2695,55 +2840,7 @@ public class KomodoMetadataService extends KomodoService {
             if (teiidSource == null)
                 return commitNoConnectionFound(uow, mediaTypes, syndesisSourceName);
 
-            final KomodoStatusObject kso = new KomodoStatusObject( "Refresh schema" ); //$NON-NLS-1$
-            final TeiidVdb deployedVdb = findDeployedVdb( syndesisSourceName );
-            boolean doDeploy = false;
-
-            // If no deployed VDB is found for the source, it is deployed regardless of other settings
-            if ( deployedVdb == null ) {
-                doDeploy = true;
-            } else {
-                doDeploy = redeployServerVdb;
-            }
-
-            // Initiate the VDB deployment
-            if ( doDeploy ) {
-                doDeploySourceVdb(uow, teiidSource); // this will delete workspace VDB first
-                kso.addAttribute(syndesisSourceName, "Delete workspace VDB, recreate, and redeploy"); //$NON-NLS-1$
-            } else if ( generateSchema ) {
-                Vdb schemaVdb = findWorkspaceSchemaVdb( uow, teiidSource );
-                final String schemaModelName = getSchemaModelName( syndesisSourceName );
-                Model schemaModel = null;
-
-                // create if necessary
-                if ( schemaVdb == null ) {
-                    final WorkspaceManager wkspMgr = getWorkspaceManager( uow );
-                    final String schemaVdbName = getSchemaVdbName( syndesisSourceName );
-                    schemaVdb = wkspMgr.createVdb( uow, null, schemaVdbName, schemaVdbName );
-
-                    // Add schema model to schema vdb
-                    schemaModel = addModelToSchemaVdb(uow, schemaVdb, teiidSource, schemaModelName);
-                } else {
-                    final Model[] models = schemaVdb.getModels( uow, schemaModelName );
-
-                    if ( models.length != 0 ) {
-                        schemaModel = models[ 0 ];
-                    } else {
-                        // should never happen but just in case
-                        schemaModel = addModelToSchemaVdb(uow, schemaVdb, teiidSource, schemaModelName);
-                    }
-                }
-
-                final String modelDdl = getMetadataInstance().getSchema( deployedVdb.getName(), "1", schemaModelName ); //$NON-NLS-1$
-                schemaModel.setModelDefinition( uow, modelDdl );
-                kso.addAttribute(syndesisSourceName, "Generate schema"); //$NON-NLS-1$
-                // after transaction is committed this will trigger the DDL sequencer which will create
-                // the model objects.
-            } else {
-                kso.addAttribute( syndesisSourceName, "Neither redeploy or generate schema requested" ); //$NON-NLS-1$
-            }
-
-            return commit(uow, mediaTypes, kso);
+            return commit(uow, mediaTypes, refreshSchema(uow, syndesisSourceName, teiidSource, redeployServerVdb, generateSchema));
         } catch (final Exception e) {
             if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
                 uow.rollback();
@@ -2757,6 +2854,74 @@ public class KomodoMetadataService extends KomodoService {
         }
     }
 
+    /**
+     * Deploys the source vdb if it is not deployed or a redeploy is requested, otherwise generates the workspace schema
+     * from the deployed source vdb if requested.
+     *
+     * @param uow the transaction (cannot be <code>null</code> and must be not started)
+     * @param sourceName the syndesis source name (cannot be empty)
+     * @param teiidSource the teiid source bound to the syndesis source (cannot be <code>null</code>)
+     * @param redeploy <code>true</code> if the source vdb should be redeployed if it already exists
+     * @param generateSchema <code>true</code> if the workspace schema should be generated if it doesn't exist
+     * @return the refresh status (never <code>null</code>)
+     * @throws Exception if an error occurs
+     */
+    private KomodoStatusObject refreshSchema( final UnitOfWork uow,
+                                              final String sourceName,
+                                              final TeiidDataSource teiidSource,
+                                              final boolean redeploy,
+                                              final boolean generateSchema ) throws Exception {
+        final KomodoStatusObject kso = new KomodoStatusObject( "Refresh schema" ); //$NON-NLS-1$
+        final TeiidVdb deployedVdb = findDeployedVdb( sourceName );
+        boolean doDeploy = false;
+
+        // If no deployed VDB is found for the source, it is deployed regardless of other settings
+        if ( deployedVdb == null ) {
+            doDeploy = true;
+        } else {
+            doDeploy = redeploy;
+        }
+
+        // Initiate the VDB deployment
+        if ( doDeploy ) {
+            doDeploySourceVdb(uow, teiidSource); // this will delete workspace VDB first
+            kso.addAttribute(sourceName, "Delete workspace VDB, recreate, and redeploy"); //$NON-NLS-1$
+        } else if ( generateSchema ) {
+            Vdb schemaVdb = findWorkspaceSchemaVdb( uow, teiidSource );
+            final String schemaModelName = getSchemaModelName( sourceName );
+            Model schemaModel = null;
+
+            // create if necessary
+            if ( schemaVdb == null ) {
+                final WorkspaceManager wkspMgr = getWorkspaceManager( uow );
+                final String schemaVdbName = getSchemaVdbName( sourceName );
+                schemaVdb = wkspMgr.createVdb( uow, null, schemaVdbName, schemaVdbName );
+
+                // Add schema model to schema vdb
+                schemaModel = addModelToSchemaVdb(uow, schemaVdb, teiidSource, schemaModelName);
+            } else {
+                final Model[] models = schemaVdb.getModels( uow, schemaModelName );
+
+                if ( models.length != 0 ) {
+                    schemaModel = models[ 0 ];
+                } else {
+                    // should never happen but just in case
+                    schemaModel = addModelToSchemaVdb(uow, schemaVdb, teiidSource, schemaModelName);
+                }
+            }
+
+            final String modelDdl = getMetadataInstance().getSchema( deployedVdb.getName(), "1", schemaModelName ); //$NON-NLS-1$
+            schemaModel.setModelDefinition( uow, modelDdl );
+            kso.addAttribute(sourceName, "Generate schema"); //$NON-NLS-1$
+            // after transaction is committed this will trigger the DDL sequencer which will create
+            // the model objects.
+        } else {
+            kso.addAttribute( sourceName, "Neither redeploy or generate schema requested" ); //$NON-NLS-1$
+        }
+
+        return kso;
+    }
+
     /**
      * @param headers
      *        the request headers (never <code>null</code>)
@@ -3111,21 +3276,7 @@ public class KomodoMetadataService extends KomodoService {
         try {
             uow = createTransaction(principal, "getSyndesisSourceStatus", true ); //$NON-NLS-1$
 
-            TeiidDataSource teiidSource = getMetadataInstance().getDataSource(syndesisSourceName);
-            RestSyndesisSourceStatus status = new RestSyndesisSourceStatus(syndesisSourceName);
-            if (teiidSource != null) {
-            	status.setHasTeiidSource(true);
-            }
-
-            // Name of vdb based on source name
-            String vdbName = getWorkspaceSourceVdbName(syndesisSourceName);
-            TeiidVdb teiidVdb = getMetadataInstance().getVdb(vdbName);
-            if (teiidVdb != null) {
-            	status.setTeiidVdbDetails(teiidVdb);
-            }
-
-            // For each syndesis source, set the schema availability status
-            setSchemaStatus(uow, status);
+            RestSyndesisSourceStatus status = getSyndesisSourceStatus(uow, syndesisSourceName);
             return commit( uow, mediaTypes, status );
         } catch ( final Exception e ) {
             if ( ( uow != null ) && ( uow.getState() != State.ROLLED_BACK ) ) {
@@ -3139,6 +3290,25 @@ public class KomodoMetadataService extends KomodoService {
         }
     }    
 
+    private RestSyndesisSourceStatus getSyndesisSourceStatus(final UnitOfWork uow, final String syndesisSourceName) throws Exception {
+        TeiidDataSource teiidSource = getMetadataInstance().getDataSource(syndesisSourceName);
+        RestSyndesisSourceStatus status = new RestSyndesisSourceStatus(syndesisSourceName);
+        if (teiidSource != null) {
+        	status.setHasTeiidSource(true);
+        }
+
+        // Name of vdb based on source name
+        String vdbName = getWorkspaceSourceVdbName(syndesisSourceName);
+        TeiidVdb teiidVdb = getMetadataInstance().getVdb(vdbName);
+        if (teiidVdb != null) {
+        	status.setTeiidVdbDetails(teiidVdb);
+        }
+
+        // For each syndesis source, set the schema availability status
+        setSchemaStatus(uow, status);
+        return status;
+    }
+
     @GET
     @Path(V1Constants.PUBLISH)
     @Produces(MediaType.APPLICATION_JSON)
@@ -3461,7 +3631,8 @@ public class KomodoMetadataService extends KomodoService {
         DeployStatus deployStatus = vdb.deploy(uow);
         
         // Wait for deployment to complete
-        Thread.sleep(DEPLOYMENT_WAIT_TIME);
+        if (deployStatus.ok())
+            awaitDeployment(vdbName);
         
         return deployStatus;
     }
@@ -3788,6 +3959,108 @@ public class KomodoMetadataService extends KomodoService {
         return parts[0].trim();
     }
     
+    /**
+     * Completes a transaction of an in-process operation, returning once the commit and any sequencing have finished.
+     */
+    private void commitAndAwait( final UnitOfWork uow ) throws KException {
+        uow.commit();
+        awaitCallback( uow );
+    }
+
+    private KException rollback( final UnitOfWork uow,
+                                 final Exception e ) {
+        if ( ( uow != null ) && ( uow.getState() == State.NOT_STARTED ) ) {
+            uow.rollback();
+        }
+
+        return ( e instanceof KException ) ? ( KException )e : new KException( e );
+    }
+
+    @Override
+    public RestSyndesisSourceStatus getSyndesisSourceStatus( final String user,
+                                                             final String sourceName ) throws KException {
+        UnitOfWork uow = null;
+
+        try {
+            uow = createTransaction( new SecurityPrincipal( user, null ), "getSyndesisSourceStatus", true ); //$NON-NLS-1$
+            final RestSyndesisSourceStatus status = getSyndesisSourceStatus( uow, sourceName );
+            commitAndAwait( uow );
+            return status;
+        } catch ( final Exception e ) {
+            throw rollback( uow, e );
+        }
+    }
+
+    @Override
+    public void refreshSchema( final String user,
+                               final String sourceName,
+                               final boolean redeploy,
+                               final boolean generateSchema ) throws KException {
+        UnitOfWork uow = null;
+
+        try {
+            final String txId = "refreshSchema?redeploy=" + redeploy + "&generate-schema=" + generateSchema;   //$NON-NLS-1$//$NON-NLS-2$
+            uow = createTransaction( new SecurityPrincipal( user, null ), txId, false );
+
+            final TeiidDataSource teiidSource = findTeiidSource( sourceName );
+            if ( teiidSource == null ) {
+                throw new KException( "No teiid source found for syndesis source " + sourceName ); //$NON-NLS-1$
+            }
+
+            final KomodoStatusObject status = refreshSchema( uow, sourceName, teiidSource, redeploy, generateSchema );
+            commitAndAwait( uow );
+            LOGGER.debug( "refreshSchema '{0}': {1}", sourceName, status.getAttributes() ); //$NON-NLS-1$
+        } catch ( final Exception e ) {
+            throw rollback( uow, e );
+        }
+    }
+
+    @Override
+    public void awaitSourceVdbDeployment( final String sourceName,
+                                          final long timeout ) throws KException {
+        getMetadataInstance().waitForVdbDeployment( getWorkspaceSourceVdbName( sourceName ), timeout );
+    }
+
+    @Override
+    public void deleteWorkspaceVdb( final String user,
+                                    final String vdbName ) throws KException {
+        UnitOfWork uow = null;
+
+        try {
+            uow = createTransaction( new SecurityPrincipal( user, null ), "removeVdbFromWorkspace", false ); //$NON-NLS-1$
+
+            final Vdb vdb = findVdb( uow, vdbName );
+            if ( vdb != null ) {
+                getWorkspaceManager( uow ).delete( uow, vdb );
+            }
+
+            commitAndAwait( uow );
+        } catch ( final Exception e ) {
+            throw rollback( uow, e );
+        }
+    }
+
+    @Override
+    public void undeployVdb( final String vdbName ) throws KException {
+        getMetadataInstance().undeployDynamicVdb( vdbName );
+        getMetadataInstance().waitForVdbUndeployment( vdbName, ApplicationProperties.getDeploymentTimeout() );
+    }
+
+    @Override
+    public void refreshPreviewVdb( final String user,
+                                   final String vdbName ) throws KException {
+        UnitOfWork uow = null;
+
+        try {
+            uow = createTransaction( new SecurityPrincipal( user, null ), "refreshPreviewVdb", false ); //$NON-NLS-1$
+            final KomodoStatusObject status = refreshPreviewVdb( uow, vdbName );
+            commitAndAwait( uow );
+            LOGGER.debug( "refreshPreviewVdb '{0}': {1}", vdbName, status.getAttributes() ); //$NON-NLS-1$
+        } catch ( final Exception e ) {
+            throw rollback( uow, e );
+        }
+    }
+
     /**
      * Set the schema availability for the provided RestSyndesisSourceStatus 
      * @param uow the transaction
@@ -63,6 +63,8 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -810,31 +812,6 @@ public final class KomodoVdbService extends KomodoService {
         try {
             final String searchPattern = uriInfo.getQueryParameters().getFirst( QueryParamKeys.PATTERN );
 
-            // find VDBs
-            uow = createTransaction(principal, "getVdbs", true ); //$NON-NLS-1$
-            Vdb[] vdbs = null;
-
-            WorkspaceManager wsMgr = getWorkspaceManager(uow);
-            if ( StringUtils.isBlank( searchPattern ) ) {
-                vdbs = wsMgr.findVdbs( uow );
-                LOGGER.debug( "getVdbs:found '{0}' VDBs", vdbs.length ); //$NON-NLS-1$
-            } else {
-                final String[] vdbPaths = wsMgr.findByType( uow, VdbLexicon.Vdb.VIRTUAL_DATABASE, null, searchPattern, false );
-
-                if ( vdbPaths.length == 0 ) {
-                    vdbs = Vdb.NO_VDBS;
-                } else {
-                    vdbs = new Vdb[ vdbPaths.length ];
-                    int i = 0;
-
-                    for ( final String path : vdbPaths ) {
-                        vdbs[ i++ ] = wsMgr.resolve( uow, new ObjectImpl( wsMgr.getRepository(), path, 0 ), Vdb.class );
-                    }
-
-                    LOGGER.debug( "getVdbs:found '{0}' VDBs using pattern '{1}'", vdbs.length, searchPattern ); //$NON-NLS-1$
-                }
-            }
-
             int start = 0;
 
             { // start query parameter
@@ -873,23 +850,22 @@ public final class KomodoVdbService extends KomodoService {
                 }
             }
 
+            // find the requested page of VDBs
+            uow = createTransaction(principal, "getVdbs", true ); //$NON-NLS-1$
+
+            WorkspaceManager wsMgr = getWorkspaceManager(uow);
+            final String[] vdbPaths = wsMgr.findByType( uow, VdbLexicon.Vdb.VIRTUAL_DATABASE, null, searchPattern, false, start, size );
+            LOGGER.debug( "getVdbs:found '{0}' VDBs using pattern '{1}' starting at {2}", vdbPaths.length, searchPattern, start ); //$NON-NLS-1$
+
             final List< RestVdb > entities = new ArrayList< >();
-            int i = 0;
 
             KomodoProperties properties = new KomodoProperties();
             properties.addProperty(VDB_EXPORT_XML_PROPERTY, false);
-            for ( final Vdb vdb : vdbs ) {
-                if ( ( start == 0 ) || ( i >= start ) ) {
-                    if ( ( size == ALL_AVAILABLE ) || ( entities.size() < size ) ) {
-                        RestVdb entity = entityFactory.create(vdb, uriInfo.getBaseUri(), uow, properties);
-                        entities.add(entity);
-                        LOGGER.debug("getVdbs:VDB '{0}' entity was constructed", vdb.getName(uow)); //$NON-NLS-1$
-                    } else {
-                        break;
-                    }
-                }
-
-                ++i;
+            for ( final String path : vdbPaths ) {
+                final Vdb vdb = wsMgr.resolve( uow, new ObjectImpl( wsMgr.getRepository(), path, 0 ), Vdb.class );
+                RestVdb entity = entityFactory.create(vdb, uriInfo.getBaseUri(), uow, properties);
+                entities.add(entity);
+                LOGGER.debug("getVdbs:VDB '{0}' entity was constructed", vdb.getName(uow)); //$NON-NLS-1$
             }
 
             // create response
@@ -4207,6 +4183,8 @@ public final class KomodoVdbService extends KomodoService {
 
     /**
      * Sets the model views as specified by the supplied inputs
+     * @param asyncResponse
+     *        the suspended response, resumed once the commit has completed
      * @param headers
      *        the request headers (never <code>null</code>)
      * @param uriInfo
@@ -4217,7 +4195,6 @@ public final class KomodoVdbService extends KomodoService {
      *        the id of the model being retrieved (cannot be empty)
      * @param viewsInfo
      *        the Views info JSON representation (cannot be <code>null</code>)
-     * @return the JSON representation of the Model view (never <code>null</code>)
      * @throws KomodoRestException
      *         if there is a problem finding the specified workspace VDB model or constructing the JSON representation
      */
@@ -4233,7 +4210,8 @@ public final class KomodoVdbService extends KomodoService {
         @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
         @ApiResponse(code = 403, message = "An error has occurred.")
     })
-    public Response createModelViews( final @Context HttpHeaders headers,
+    public void createModelViews( final @Suspended AsyncResponse asyncResponse,
+                                  final @Context HttpHeaders headers,
                                      final @Context UriInfo uriInfo,
                                      @ApiParam(value = "Name of the Vdb", required = true)
                                      final @PathParam( "vdbName" ) String vdbName,
@@ -4252,6 +4230,16 @@ public final class KomodoVdbService extends KomodoService {
                                              required = true
                                      )
                                      final String vdbViewsInfo) throws KomodoRestException {
+        Response response = createModelViews(headers, vdbName, modelName, vdbViewsInfo, asyncResponse);
+        if (response != null)
+            asyncResponse.resume(response);
+    }
+
+    private Response createModelViews(final HttpHeaders headers,
+                                      final String vdbName,
+                                      final String modelName,
+                                      final String vdbViewsInfo,
+                                      final AsyncResponse asyncResponse) throws KomodoRestException {
 
         SecurityPrincipal principal = checkSecurityContext(headers);
         if (principal.hasErrorResponse())
@@ -4414,7 +4402,8 @@ public final class KomodoVdbService extends KomodoService {
             KomodoStatusObject kso = new KomodoStatusObject("Views updated successfully"); //$NON-NLS-1$
             kso.addAttribute(vdbName, "Successfully updated"); //$NON-NLS-1$
 
-            return commit(uow, mediaTypes, kso);
+            commitAsync(uow, mediaTypes, kso, asyncResponse);
+            return null; // resumed once the commit has completed
         } catch (final Exception e) {
             if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
                 uow.rollback();
@@ -0,0 +1,248 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.rest.connections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.datasources.DefaultSyndesisDataSource;
+import org.komodo.openshift.TeiidOpenShiftClient;
+import org.komodo.rest.AuthHandlingFilter.OAuthCredentials;
+import org.komodo.rest.relational.response.metadata.RestSyndesisSourceStatus;
+import org.komodo.rest.relational.response.metadata.RestSyndesisSourceStatus.EntityState;
+import org.komodo.spi.KException;
+import org.mockito.Mockito;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class SyndesisConnectionSynchronizerTest {
+
+    private static final int SYNC_THREADS = 4;
+
+    private static final long WORK_MILLIS = 100;
+
+    /**
+     * Stand-in for the metadata service. Deployments finish loading in the background and signal their waiters,
+     * schema generation completes before returning.
+     */
+    private static class StandInMetadata implements SyndesisMetadataOperations {
+
+        private final Map< String, EntityState > vdbStates = new ConcurrentHashMap<>();
+        private final Map< String, EntityState > schemaStates = new ConcurrentHashMap<>();
+        private final Map< String, CountDownLatch > deployments = new ConcurrentHashMap<>();
+        private final Set< String > failingSources = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final AtomicInteger refreshes = new AtomicInteger();
+        private final AtomicInteger previewRefreshes = new AtomicInteger();
+
+        private void work() {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(WORK_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        @Override
+        public RestSyndesisSourceStatus getSyndesisSourceStatus(String user, String sourceName) {
+            RestSyndesisSourceStatus status = new RestSyndesisSourceStatus(sourceName);
+            status.setVdbState(vdbStates.getOrDefault(sourceName, EntityState.MISSING));
+            status.setSchemaState(schemaStates.getOrDefault(sourceName, EntityState.MISSING));
+            return status;
+        }
+
+        @Override
+        public void refreshSchema(String user, final String sourceName, boolean redeploy, boolean generateSchema) throws KException {
+            refreshes.incrementAndGet();
+            work();
+
+            if (failingSources.contains(sourceName)) {
+                throw new KException("Failed to deploy " + sourceName);
+            }
+
+            if (redeploy) {
+                final CountDownLatch loaded = new CountDownLatch(1);
+                deployments.put(sourceName, loaded);
+                vdbStates.put(sourceName, EntityState.LOADING);
+
+                Thread loader = new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        try {
+                            Thread.sleep(WORK_MILLIS);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        vdbStates.put(sourceName, EntityState.ACTIVE);
+                        loaded.countDown();
+                    }
+                });
+                loader.setDaemon(true);
+                loader.start();
+            } else if (generateSchema) {
+                schemaStates.put(sourceName, EntityState.ACTIVE);
+            }
+        }
+
+        @Override
+        public void awaitSourceVdbDeployment(String sourceName, long timeout) throws KException {
+            CountDownLatch loaded = deployments.get(sourceName);
+            try {
+                if (loaded != null)
+                    loaded.await(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                throw new KException(e);
+            }
+        }
+
+        @Override
+        public void deleteWorkspaceVdb(String user, String vdbName) {
+            // not used
+        }
+
+        @Override
+        public void undeployVdb(String vdbName) {
+            // not used
+        }
+
+        @Override
+        public void refreshPreviewVdb(String user, String vdbName) {
+            previewRefreshes.incrementAndGet();
+        }
+    }
+
+    private TeiidOpenShiftClient openshiftClient;
+    private StandInMetadata metadata;
+    private SyndesisConnectionSynchronizer synchronizer;
+    private Set< DefaultSyndesisDataSource > sources;
+
+    @Before
+    public void setup() throws Exception {
+        sources = new LinkedHashSet<>();
+        openshiftClient = Mockito.mock(TeiidOpenShiftClient.class);
+        Mockito.when(openshiftClient.getSyndesisSources(Mockito.any(OAuthCredentials.class))).thenReturn(sources);
+
+        metadata = new StandInMetadata();
+        synchronizer = new SyndesisConnectionSynchronizer(openshiftClient, metadata, SYNC_THREADS);
+    }
+
+    @After
+    public void cleanup() {
+        synchronizer.shutdown();
+    }
+
+    private DefaultSyndesisDataSource addSource(String name, boolean bound) {
+        DefaultSyndesisDataSource source = new DefaultSyndesisDataSource();
+        source.setId(name + "-id");
+        source.setName(name);
+        source.setBound(bound);
+        sources.add(source);
+        return source;
+    }
+
+    private void assertAvailable(String sourceName) {
+        RestSyndesisSourceStatus status = metadata.getSyndesisSourceStatus("user", sourceName);
+        assertEquals(EntityState.ACTIVE, status.getVdbState());
+        assertEquals(EntityState.ACTIVE, status.getSchemaState());
+    }
+
+    @Test( timeout = 30000 )
+    public void shouldSynchronizeSourcesConcurrently() throws Exception {
+        final int count = SYNC_THREADS * 3;
+        for (int i = 0; i < count; ++i) {
+            addSource("source" + i, true);
+        }
+
+        long start = System.currentTimeMillis();
+        assertTrue(synchronizer.synchronizeConnections().get());
+        long elapsed = System.currentTimeMillis() - start;
+
+        for (int i = 0; i < count; ++i) {
+            assertAvailable("source" + i);
+        }
+
+        // each source deploys, loads and generates its schema
+        assertEquals(count * 2, metadata.refreshes.get());
+        assertTrue("Expected sources to be synchronized concurrently", metadata.maxRunning.get() > 1);
+        assertTrue("Expected at most " + SYNC_THREADS + " sources at a time", metadata.maxRunning.get() <= SYNC_THREADS);
+        assertTrue("Took " + elapsed + "ms", elapsed < count * 3 * WORK_MILLIS);
+        assertEquals(1, metadata.previewRefreshes.get());
+    }
+
+    @Test( timeout = 30000 )
+    public void shouldBindUnboundSources() throws Exception {
+        DefaultSyndesisDataSource unbound = addSource("unbound", false);
+        DefaultSyndesisDataSource bound = addSource("bound", true);
+
+        assertTrue(synchronizer.synchronizeConnections().get());
+
+        Mockito.verify(openshiftClient).bindToSyndesisSource(Mockito.any(OAuthCredentials.class), Mockito.eq(unbound));
+        Mockito.verify(openshiftClient, Mockito.never()).bindToSyndesisSource(Mockito.any(OAuthCredentials.class), Mockito.eq(bound));
+        assertAvailable("unbound");
+        assertAvailable("bound");
+    }
+
+    @Test( timeout = 30000 )
+    public void shouldSkipSourcesAlreadyAvailable() throws Exception {
+        addSource("available", true);
+        metadata.vdbStates.put("available", EntityState.ACTIVE);
+        metadata.schemaStates.put("available", EntityState.ACTIVE);
+
+        assertTrue(synchronizer.synchronizeConnections().get());
+
+        assertEquals(0, metadata.refreshes.get());
+        assertEquals(1, metadata.previewRefreshes.get());
+    }
+
+    @Test( timeout = 30000 )
+    public void shouldContinueWhenSourceFails() throws Exception {
+        addSource("good", true);
+        addSource("bad", true);
+        metadata.failingSources.add("bad");
+
+        assertFalse(synchronizer.synchronizeConnections().get());
+
+        assertAvailable("good");
+        assertEquals(EntityState.MISSING, metadata.getSyndesisSourceStatus("user", "bad").getVdbState());
+        assertEquals(1, metadata.previewRefreshes.get());
+    }
+
+    @Test( timeout = 30000 )
+    public void shouldStopWhenDeploymentFails() throws Exception {
+        addSource("failed", true);
+        metadata.vdbStates.put("failed", EntityState.FAILED);
+
+        assertFalse(synchronizer.synchronizeConnections().get());
+
+        assertEquals(0, metadata.refreshes.get());
+    }
+}
@@ -18,6 +18,7 @@
 package org.komodo.rest.relational.json;
 
 import static org.junit.Assert.assertEquals;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
@@ -26,6 +27,11 @@ import org.komodo.rest.relational.response.RestQueryColumn;
 import org.komodo.rest.relational.response.RestQueryResult;
 import org.komodo.rest.relational.response.RestQueryRow;
 import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.query.QSColumn;
+import org.komodo.spi.query.QSResult;
+import org.komodo.spi.query.QSRow;
+import org.komodo.spi.type.DataTypeService.DataTypeName;
+import com.google.gson.stream.JsonWriter;
 
 public class QueryResultSerializerTest implements StringConstants {
 
@@ -182,4 +188,46 @@ public class QueryResultSerializerTest implements StringConstants {
         assertEquals(columnsData.length, queryResult.getColumns().length);
         assertEquals(rowsData.length, queryResult.getRows().length);
     }
+
+    @Test
+    public void shouldStreamSameJsonAsExport() throws Exception {
+        QSResult result = new QSResult();
+        for (String[] columnData : columnsData) {
+            result.addColumn(new QSColumn(DataTypeName.STRING, columnData[COLUMN_NAME], columnData[COLUMN_LABEL]));
+        }
+
+        for (Object[] rowData : rowsData) {
+            QSRow row = new QSRow();
+            for (Object value : rowData) {
+                row.add(value);
+            }
+            result.addRow(row);
+        }
+
+        StringWriter json = new StringWriter();
+        JsonWriter writer = KomodoJsonMarshaller.PRETTY_BUILDER.newJsonWriter(json);
+        QueryResultSerializer.StreamingWriter streamingWriter = new QueryResultSerializer.StreamingWriter(writer);
+
+        streamingWriter.start(result.getColumns());
+        for (QSRow row : result.getRows()) {
+            streamingWriter.row(row);
+        }
+        streamingWriter.end();
+
+        assertEquals(KomodoJsonMarshaller.marshall(new RestQueryResult(result)), json.toString());
+    }
+
+    @Test
+    public void shouldStreamResultWithoutRows() throws Exception {
+        QSResult result = new QSResult();
+        result.addColumn(new QSColumn(DataTypeName.STRING, "Name", "Name"));
+
+        StringWriter json = new StringWriter();
+        QueryResultSerializer.StreamingWriter streamingWriter =
+            new QueryResultSerializer.StreamingWriter(KomodoJsonMarshaller.PRETTY_BUILDER.newJsonWriter(json));
+        streamingWriter.start(result.getColumns());
+        streamingWriter.end();
+
+        assertEquals(KomodoJsonMarshaller.marshall(new RestQueryResult(result)), json.toString());
+    }
 }
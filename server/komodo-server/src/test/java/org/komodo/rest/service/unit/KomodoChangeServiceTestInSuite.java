@@ -0,0 +1,132 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.rest.service.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.Test;
+import org.komodo.core.repository.RepositoryImpl;
+import org.komodo.rest.KomodoService.QueryParamKeys;
+import org.komodo.rest.relational.KomodoProperties;
+import org.komodo.rest.relational.json.KomodoJsonMarshaller;
+import org.komodo.rest.relational.response.RestWorkspaceChange;
+import org.komodo.rest.relational.response.RestWorkspaceChanges;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class KomodoChangeServiceTestInSuite extends AbstractKomodoServiceTest {
+
+    public KomodoChangeServiceTestInSuite() throws Exception {
+        super();
+    }
+
+    private long lastSequence() {
+        return ((RepositoryImpl)this.engine.getDefaultRepository()).getChangeJournal().getLastSequence();
+    }
+
+    private RestWorkspaceChanges getChanges(long since, Integer size) throws Exception {
+        KomodoProperties properties = new KomodoProperties();
+        properties.addProperty(QueryParamKeys.SINCE, since);
+        if (size != null)
+            properties.addProperty(QueryParamKeys.SIZE, size);
+
+        URI uri = uriBuilder().workspaceChangesUri(properties);
+        HttpGet request = jsonRequest(uri, RequestType.GET);
+        HttpResponse response = executeOk(request);
+
+        String entity = extractResponse(response);
+        // System.out.println("Response:\n" + entity);
+        return KomodoJsonMarshaller.unmarshall(entity, RestWorkspaceChanges.class);
+    }
+
+    private static boolean hasChange(RestWorkspaceChanges changes, String name) {
+        for (RestWorkspaceChange change : changes.getChanges()) {
+            if (change.getPath().endsWith(FORWARD_SLASH + name))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Test
+    public void shouldGetChangesSinceSequence() throws Exception {
+        long since = lastSequence();
+        createVdb("changesVdb");
+
+        RestWorkspaceChanges changes = getChanges(since, null);
+        assertTrue(hasChange(changes, "changesVdb"));
+
+        for (RestWorkspaceChange change : changes.getChanges()) {
+            assertTrue(change.getSequence() > since);
+            assertTrue(change.getPath().startsWith(serviceTestUtilities.getWorkspace(USER_NAME)));
+        }
+
+        assertTrue(changes.getLastSequence() > since);
+        assertTrue(changes.getOldestSequence() <= since + 1);
+        assertEquals(changes.getLastSequence(), changes.getNextSequence());
+    }
+
+    @Test
+    public void shouldAdvanceSequenceWithoutChanges() throws Exception {
+        long since = lastSequence();
+
+        RestWorkspaceChanges changes = getChanges(since, null);
+        assertTrue(changes.getChanges().isEmpty());
+
+        // the sequence moves on with commits outside of the workspace too
+        assertTrue(changes.getLastSequence() >= since);
+        assertEquals(changes.getLastSequence(), changes.getNextSequence());
+    }
+
+    @Test
+    public void shouldLimitChangesToSize() throws Exception {
+        long since = lastSequence();
+        createVdb("firstChangesVdb");
+        createVdb("secondChangesVdb");
+
+        RestWorkspaceChanges first = getChanges(since, 1);
+        assertEquals(1, first.getChanges().size());
+        assertEquals(first.getChanges().get(0).getSequence(), first.getNextSequence());
+        assertTrue(first.getNextSequence() < first.getLastSequence());
+
+        // carrying on from the next sequence returns the remaining changes
+        RestWorkspaceChanges rest = getChanges(first.getNextSequence(), null);
+        assertTrue(rest.getChanges().size() > 0);
+        assertTrue(rest.getChanges().get(0).getSequence() > first.getNextSequence());
+        assertTrue(hasChange(first, "firstChangesVdb") || hasChange(rest, "firstChangesVdb"));
+        assertTrue(hasChange(rest, "secondChangesVdb"));
+    }
+
+    @Test
+    public void shouldBeGoneForUnknownSequence() throws Exception {
+        // a sequence beyond the last change, as held by a client from before the journal was started again
+        KomodoProperties properties = new KomodoProperties();
+        properties.addProperty(QueryParamKeys.SINCE, lastSequence() + 1000);
+
+        URI uri = uriBuilder().workspaceChangesUri(properties);
+        HttpGet request = jsonRequest(uri, RequestType.GET);
+        HttpResponse response = execute(request);
+
+        assertResponse(response, HttpStatus.SC_GONE);
+    }
+}
@@ -95,4 +95,83 @@ public interface SystemConstants extends StringConstants {
      * The default value of the password for connection to the persistence database
      */
     String REPOSITORY_PERSISTENCE_CONNECTION_PASSWORD_DEFAULT = "komodo";
+
+    /**
+     * The environment variable that defines the maximum number of idle read-only repository sessions
+     * kept for reuse by read-only units of work. Default is twice the number of available processors.
+     */
+    String REPOSITORY_READ_SESSION_POOL_SIZE = "komodo.readSessionPoolSize";
+
+    /**
+     * The environment variable that defines the number of lanes used by the repository engine to process
+     * commits. Commits are assigned to a lane by user workspace so ordering within a workspace is preserved.
+     * Default is 1, processing all commits on the engine thread.
+     */
+    String REPOSITORY_COMMIT_LANES = "komodo.commitLanes";
+
+    /**
+     * The environment variable that enables the cache of resolved nodes, properties and node types kept by each
+     * unit of work. Default is true.
+     */
+    String REPOSITORY_NODE_CACHE_ENABLED = "komodo.nodeCacheEnabled";
+
+    /**
+     * The environment variable that defines the number of threads used to evaluate independent subtrees when fully
+     * validating an object. Default is 1, validating the whole tree on the calling thread.
+     */
+    String VALIDATION_PARALLELISM = "komodo.validationParallelism";
+
+    /**
+     * The environment variable that defines the maximum time, in milliseconds, to wait for a VDB to become active
+     * or fail after being deployed, or to be removed after being undeployed. Default is 10000.
+     */
+    String DEPLOYMENT_TIMEOUT = "komodo.deploymentTimeout";
+
+    /**
+     * The environment variable that defines the maximum number of JDBC connections open to a single VDB, used by
+     * preview queries. Default is 4.
+     */
+    String CONNECTION_POOL_MAX_PER_VDB = "komodo.connectionPoolMaxPerVdb";
+
+    /**
+     * The environment variable that defines the time, in milliseconds, that a pooled JDBC connection can remain idle
+     * before it is closed. Default is 300000.
+     */
+    String CONNECTION_POOL_IDLE_TIMEOUT = "komodo.connectionPoolIdleTimeout";
+
+    /**
+     * The environment variable that defines the number of threads used to build REST responses for
+     * asynchronous commits. Default is 4.
+     */
+    String REST_ASYNC_RESPONSE_THREADS = "komodo.restAsyncResponseThreads";
+
+    /**
+     * The environment variable that defines the number of syndesis sources synchronized at the same time
+     * when connecting to syndesis. Default is 4.
+     */
+    String SYNDESIS_SYNC_THREADS = "komodo.syndesisSyncThreads";
+
+    /**
+     * The environment variable that defines the maximum number of sequenced nodes held by the cache of DDL and
+     * Teiid SQL sequencer output. Default is 100000.
+     */
+    String SEQUENCER_CACHE_NODES = "komodo.sequencerCacheNodes";
+
+    /**
+     * The environment variable that defines the number of threads sequencing the independent properties of one
+     * commit. Default is 4.
+     */
+    String SEQUENCER_THREADS = "komodo.sequencerThreads";
+
+    /**
+     * The environment variable that defines the number of recent changes the repository change journal holds in memory.
+     * Default is 10000.
+     */
+    String CHANGE_JOURNAL_ENTRIES = "komodo.changeJournalEntries";
+
+    /**
+     * The environment variable that defines the number of most recent changes the repository change journal file retains.
+     * Default is 100000.
+     */
+    String CHANGE_JOURNAL_RETENTION = "komodo.changeJournalRetention";
 }
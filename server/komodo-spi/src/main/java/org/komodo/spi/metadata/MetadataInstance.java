@@ -27,6 +27,7 @@ import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.query.QSResult;
+import org.komodo.spi.query.QSResultHandler;
 import org.komodo.spi.runtime.ConnectionDriver;
 import org.komodo.spi.runtime.TeiidDataSource;
 import org.komodo.spi.runtime.TeiidPropertyDefinition;
@@ -206,6 +207,18 @@ public interface MetadataInstance extends StringConstants {
      */
     QSResult query(String vdbName, String query, int offset, int limit) throws KException;
 
+    /**
+     * Query the vdb, passing each row to the handler as it is read rather than collecting the results.
+     *
+     * @param vdbName the name of the vdb to query
+     * @param query the SQL query
+     * @param offset an offset of the results to return
+     * @param limit a limit on the number of results to return
+     * @param handler receives the columns and rows of the results
+     * @throws KException
+     */
+    void query(String vdbName, String query, int offset, int limit, QSResultHandler handler) throws KException;
+
     /**
      * @return the collection of deployed vdbs
      * @throws KException 
@@ -297,6 +310,26 @@ public interface MetadataInstance extends StringConstants {
      */
     void undeployDynamicVdb(String name) throws KException;
 
+    /**
+     * Waits for the vdb with the given name to finish deploying, returning as soon as it is active or has failed.
+     *
+     * @param vdbName the name of the vdb
+     * @param timeout the maximum time to wait in milliseconds
+     * @return the deployed vdb, which is still loading if the timeout elapsed, or <code>null</code> if it is not deployed
+     * @throws KException
+     */
+    TeiidVdb waitForVdbDeployment(String vdbName, long timeout) throws KException;
+
+    /**
+     * Waits for the vdb with the given name to be removed.
+     *
+     * @param vdbName the name of the vdb
+     * @param timeout the maximum time to wait in milliseconds
+     * @return <code>true</code> if the vdb is no longer deployed
+     * @throws KException
+     */
+    boolean waitForVdbUndeployment(String vdbName, long timeout) throws KException;
+
     /**
      * @return the collection of translators
      * @throws KException 
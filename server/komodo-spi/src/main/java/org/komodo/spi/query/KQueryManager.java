@@ -17,6 +17,7 @@
  */
 package org.komodo.spi.query;
 
+import java.util.Iterator;
 import java.util.List;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.KomodoObject;
@@ -34,4 +35,29 @@ public interface KQueryManager {
      */
     List<KomodoObject> execute(UnitOfWork transaction, Repository repository, String queryStmt) throws KException;
 
+    /**
+     * Executes the query returning only a page of its results. The offset and limit are applied by the query engine so the
+     * cost does not depend on the total number of results. The results are resolved lazily as the iterator is advanced so it
+     * must be consumed before the transaction completes.
+     *
+     * @param transaction
+     * @param repository
+     * @param queryStmt
+     * @param offset the number of results to skip (cannot be negative)
+     * @param limit the maximum number of results to return or a negative number if all remaining results should be returned
+     * @return an iterator over the {@link KomodoObject}s of the requested page of results (never <code>null</code>)
+     * @throws KException
+     */
+    Iterator<KomodoObject> execute(UnitOfWork transaction, Repository repository, String queryStmt,
+                                   long offset, long limit) throws KException;
+
+    /**
+     * @param transaction
+     * @param repository
+     * @param queryStmt
+     * @return the number of results of the query statement, obtained without resolving the results
+     * @throws KException
+     */
+    long count(UnitOfWork transaction, Repository repository, String queryStmt) throws KException;
+
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.spi.query;
+
+import java.util.List;
+
+/**
+ * Receives the results of a query as they are read, so that the rows need not all be held in memory.
+ */
+public interface QSResultHandler {
+
+    /**
+     * Called once, before any rows.
+     *
+     * @param columns the columns of the results
+     * @throws Exception if the columns cannot be handled
+     */
+    void start(List<QSColumn> columns) throws Exception;
+
+    /**
+     * Called for each row of the results.
+     *
+     * @param row the row
+     * @throws Exception if the row cannot be handled
+     */
+    void row(QSRow row) throws Exception;
+
+    /**
+     * Called once, after the last row.
+     *
+     * @throws Exception if the end of the results cannot be handled
+     */
+    void end() throws Exception;
+}
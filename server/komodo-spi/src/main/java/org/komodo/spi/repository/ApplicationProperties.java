@@ -178,6 +178,123 @@ public class ApplicationProperties implements SystemConstants {
         System.setProperty(REPOSITORY_PERSISTENCE_CONNECTION_PASSWORD, password);
     }
 
+    /**
+     * Gets the maximum number of idle read-only sessions kept by the repository for reuse.
+     * If none is defined, or the value is not a positive integer, then twice the number of
+     * available processors is returned.
+     */
+    public static int getRepositoryReadSessionPoolSize() {
+        return getIntProperty(REPOSITORY_READ_SESSION_POOL_SIZE, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Gets the number of lanes used by the repository engine to process commits.
+     * If none is defined, or the value is not a positive integer, then 1 is returned.
+     */
+    public static int getRepositoryCommitLanes() {
+        return getIntProperty(REPOSITORY_COMMIT_LANES, 1);
+    }
+
+    /**
+     * Gets whether units of work cache the nodes, properties and node types they resolve.
+     * If none is defined then true is returned.
+     */
+    public static boolean isRepositoryNodeCacheEnabled() {
+        return Boolean.parseBoolean(getProperty(REPOSITORY_NODE_CACHE_ENABLED, Boolean.TRUE.toString()).trim());
+    }
+
+    /**
+     * Gets the number of threads used to evaluate independent subtrees when fully validating an object.
+     * If none is defined, or the value is not a positive integer, then 1 is returned.
+     */
+    public static int getValidationParallelism() {
+        return getIntProperty(VALIDATION_PARALLELISM, 1);
+    }
+
+    /**
+     * Gets the maximum time, in milliseconds, to wait for a VDB deployment or undeployment to finish.
+     * If none is defined, or the value is not a positive integer, then 10000 is returned.
+     */
+    public static int getDeploymentTimeout() {
+        return getIntProperty(DEPLOYMENT_TIMEOUT, 10000);
+    }
+
+    /**
+     * Gets the maximum number of JDBC connections open to a single VDB.
+     * If none is defined, or the value is not a positive integer, then 4 is returned.
+     */
+    public static int getConnectionPoolMaxPerVdb() {
+        return getIntProperty(CONNECTION_POOL_MAX_PER_VDB, 4);
+    }
+
+    /**
+     * Gets the time, in milliseconds, that a pooled JDBC connection can remain idle before it is closed.
+     * If none is defined, or the value is not a positive integer, then 300000 is returned.
+     */
+    public static int getConnectionPoolIdleTimeout() {
+        return getIntProperty(CONNECTION_POOL_IDLE_TIMEOUT, 300000);
+    }
+
+    /**
+     * Gets the number of syndesis sources synchronized at the same time.
+     * If none is defined, or the value is not a positive integer, then 4 is returned.
+     */
+    public static int getSyndesisSyncThreads() {
+        return getIntProperty(SYNDESIS_SYNC_THREADS, 4);
+    }
+
+    /**
+     * Gets the maximum number of sequenced nodes held by the cache of DDL and Teiid SQL sequencer output.
+     * If none is defined, or the value is not a positive integer, then 100000 is returned.
+     */
+    public static int getSequencerCacheNodes() {
+        return getIntProperty(SEQUENCER_CACHE_NODES, 100000);
+    }
+
+    /**
+     * Gets the number of threads sequencing the independent properties of one commit.
+     * If none is defined, or the value is not a positive integer, then 4 is returned.
+     */
+    public static int getSequencerThreads() {
+        return getIntProperty(SEQUENCER_THREADS, 4);
+    }
+
+    /**
+     * Gets the number of recent changes the repository change journal holds in memory.
+     * If none is defined, or the value is not a positive integer, then 10000 is returned.
+     */
+    public static int getChangeJournalEntries() {
+        return getIntProperty(CHANGE_JOURNAL_ENTRIES, 10000);
+    }
+
+    /**
+     * Gets the number of most recent changes the repository change journal file retains.
+     * If none is defined, or the value is not a positive integer, then 100000 is returned.
+     */
+    public static int getChangeJournalRetention() {
+        return getIntProperty(CHANGE_JOURNAL_RETENTION, 100000);
+    }
+
+    /**
+     * Get a positive integer property given by the name, first looking in environment properties
+     * then in system properties.
+     *
+     * @param property Name of the property
+     * @param defalt the value returned if the property is not defined or is not a positive integer
+     */
+    public static int getIntProperty(String property, int defalt) {
+        String propValue = getProperty(property, null);
+        if (propValue == null)
+            return defalt;
+
+        try {
+            int value = Integer.parseInt(propValue.trim());
+            return value > 0 ? value : defalt;
+        } catch (NumberFormatException ex) {
+            return defalt;
+        }
+    }
+
     /**
      * Replaces in the target any instances of the given system property with its value
      *
@@ -17,6 +17,8 @@
  */
 package org.komodo.spi.repository;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Properties;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.Repository.UnitOfWork;
@@ -54,4 +56,25 @@ public interface Exportable {
      */
     byte[] export( final UnitOfWork transaction, Properties properties ) throws KException;
 
+    /**
+     * Writes the current object state to the stream. Implementations should override this to write as they go so that
+     * large objects are never held in memory in their entirety.
+     *
+     * @param transaction
+     *        the transaction (can be <code>null</code> if update should be automatically committed)
+     * @param properties (can be <code>null</code> or empty)
+     * @param stream
+     *        the stream to write to, which is flushed but not closed (cannot be <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    default void export( final UnitOfWork transaction, final Properties properties, final OutputStream stream ) throws KException {
+        try {
+            stream.write( export( transaction, properties ) );
+            stream.flush();
+        } catch ( final IOException e ) {
+            throw new KException( e );
+        }
+    }
+
 }
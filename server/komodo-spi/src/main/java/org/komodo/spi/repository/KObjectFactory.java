@@ -94,6 +94,14 @@ public interface KObjectFactory extends StringConstants, RepositoryConstants {
      */
     Descriptor getType(UnitOfWork transaction, KomodoObject kObject) throws KException;
 
+    /**
+     * @param transaction
+     * @param kObject
+     * @return the komodo type of this node, resolved from its primary type and mixins
+     * @throws KException 
+     */
+    KomodoType getTypeIdentifier(UnitOfWork transaction, KomodoObject kObject) throws KException;
+
     /**
      * @param transaction
      * @param kObject
@@ -17,6 +17,9 @@
  */
 package org.komodo.spi.repository;
 
+import java.util.List;
+
+import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.query.KQueryManager;
 
@@ -88,6 +91,43 @@ public interface RepoEngine extends StringConstants {
 
     }
 
+    /**
+     * A lane of the engine processing commit and rollback requests, together with its load metrics.
+     */
+    interface CommitLane {
+
+        /**
+         * @return the index of this lane
+         */
+        int getIndex();
+
+        /**
+         * @return the number of requests waiting to be processed
+         */
+        int getQueueDepth();
+
+        /**
+         * @return the number of requests processed
+         */
+        long getProcessedCount();
+
+        /**
+         * @return the average time in milliseconds requests waited in the queue
+         */
+        double getAverageWaitMillis();
+
+        /**
+         * @return the average time in milliseconds taken to process a request once dequeued
+         */
+        double getAverageServiceMillis();
+
+        /**
+         * @return the longest time in milliseconds between a request being queued and processed
+         */
+        long getMaxLatencyMillis();
+
+    }
+
     /**
      * Request crafted by wishing to be notified of a request outcome.
      */
@@ -142,6 +182,23 @@ public interface RepoEngine extends StringConstants {
      */
     KQueryManager getQueryManager();
 
+    /**
+     * Obtains a session directly on the calling thread, bypassing the request queue. The session
+     * is intended for read-only units of work and must never be saved. Calling {@link UnitOfWorkDelegate#complete()}
+     * discards any transient changes and releases the session back to the engine.
+     *
+     * @return a read-only session (never <code>null</code>)
+     * @throws KException
+     *         if the engine is not running or a session could not be created
+     */
+    UnitOfWorkDelegate createReadOnlySession() throws KException;
+
+    /**
+     * @return the commit lanes of this engine (never <code>null</code> but empty if commits are processed
+     *         by the engine thread)
+     */
+    List<? extends CommitLane> getCommitLanes();
+
     /**
      * Pass a request to the engine
      *
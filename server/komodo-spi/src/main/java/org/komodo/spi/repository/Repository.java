@@ -18,7 +18,9 @@
 package org.komodo.spi.repository;
 
 import java.net.URL;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import org.komodo.spi.KClient;
 import org.komodo.spi.KException;
 import org.komodo.spi.metadata.MetadataInstance;
@@ -194,6 +196,16 @@ public interface Repository {
          */
         void commit();
 
+        /**
+         * Saves all changes made during the transaction without blocking the calling thread until the save, including any
+         * sequencing, has finished. If this is a roll back transaction then {@link #rollback()} is called. The
+         * {@link #getCallback() callback} is notified as it is by {@link #commit()}.
+         *
+         * @return a stage completed with this transaction once the commit has finished or completed exceptionally with the
+         *         error that occurred (never <code>null</code>)
+         */
+        CompletionStage< UnitOfWork > commitAsync();
+
         /**
          * @return the listener being notified when the transaction is finished (can be <code>null</code>)
          */
@@ -356,6 +368,35 @@ public interface Repository {
      */
     List<KomodoObject> query(UnitOfWork transaction, String query) throws KException;
 
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param query
+     *        the SQL query
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results or a negative number if all remaining results should be returned
+     *
+     * @return the requested page of the {@link KomodoObject}s resulting from the search, resolved as the iterator is
+     *         advanced (never <code>null</code>)
+     * @throws KException if error occurs
+     */
+    Iterator<KomodoObject> query(UnitOfWork transaction, String query, long offset, long limit) throws KException;
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param query
+     *        the SQL query
+     *
+     * @return the number of {@link KomodoObject}s resulting from the search
+     * @throws KException if error occurs
+     */
+    long count(UnitOfWork transaction, String query) throws KException;
+
     /**
      * @param transaction
      *        the transaction (cannot be <code>null</code> or have a state that is not
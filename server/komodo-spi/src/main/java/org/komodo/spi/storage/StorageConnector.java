@@ -18,6 +18,7 @@
 package org.komodo.spi.storage;
 
 import java.io.InputStream;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import org.komodo.spi.repository.Exportable;
@@ -93,6 +94,17 @@ public interface StorageConnector extends StorageConnectorConstants {
      */
     void write(Exportable artifact, UnitOfWork transaction, Properties parameters) throws Exception;
 
+    /**
+     * Write all the {@link Exportable}s to the storage as a single change,
+     * each according to its own parameters
+     *
+     * @param artifacts the artifacts, in the order they should be written, mapped to their parameters
+     * @param transaction
+     *
+     * @throws Exception if error occurs
+     */
+    void write(Map<Exportable, Properties> artifacts, UnitOfWork transaction) throws Exception;
+
     /**
      * Refreshes the connection and any cached files from the storage location
      * @return true if refresh was successful, false otherwise
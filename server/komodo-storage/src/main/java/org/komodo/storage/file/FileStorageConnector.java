@@ -17,11 +17,15 @@
  */
 package org.komodo.storage.file;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import org.komodo.spi.repository.Exportable;
@@ -132,14 +136,31 @@ public class FileStorageConnector implements StorageConnector {
         File destFile = new File(getPath(), filePath);
 
         //
-        // Write the file contents
+        // Write the file contents, streaming them straight to disk
         //
-        byte[] contents = artifact.export(transaction, parameters);
-        FileUtils.write(contents, destFile);
+        destFile.delete();
+        File parentDir = destFile.getParentFile();
+        if (parentDir != null)
+            parentDir.mkdirs();
+
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(destFile))) {
+            artifact.export(transaction, parameters, stream);
+        }
 
         setDownloadable(destFile.getAbsolutePath());
     }
 
+    @Override
+    public void write(Map<Exportable, Properties> artifacts, UnitOfWork transaction) throws Exception {
+        ArgCheck.isNotEmpty(artifacts, "artifacts");
+
+        //
+        // Files are independent so there is no single change to make
+        //
+        for (Map.Entry<Exportable, Properties> entry : artifacts.entrySet())
+            write(entry.getKey(), transaction, entry.getValue());
+    }
+
     @Override
     public boolean refresh() throws Exception {
         return true; // Not applicable to static filesystem
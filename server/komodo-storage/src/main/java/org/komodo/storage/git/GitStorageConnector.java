@@ -17,22 +17,33 @@
  */
 package org.komodo.storage.git;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.RebaseResult;
 import org.eclipse.jgit.api.RebaseResult.Status;
 import org.eclipse.jgit.api.TransportConfigCallback;
 import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectLoader;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
@@ -220,16 +231,33 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
         }
     }
 
+    /**
+     * The tree last browsed and the commit it was walked from
+     */
+    private static class BrowseCache {
+
+        private final ObjectId commitId;
+
+        private final StorageTree<String> storageTree;
+
+        BrowseCache(ObjectId commitId, StorageTree<String> storageTree) {
+            this.commitId = commitId;
+            this.storageTree = storageTree;
+        }
+    }
+
     private final Properties parameters;
 
     private final StorageConnectorId id;
 
-    private Git git;
+    private volatile Git git;
 
     private final CustomTransportConfigCallback transportConfigCallback;
 
     private Set<String> filesForDisposal;
 
+    private volatile BrowseCache browseCache;
+
     public GitStorageConnector(Properties parameters) {
         ArgCheck.isNotNull(parameters);
         ArgCheck.isNotEmpty(parameters.getProperty(REPO_PATH_PROPERTY));
@@ -252,14 +280,20 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
         this.transportConfigCallback = new CustomTransportConfigCallback();
     }
 
-    private void addToDisposalCache(File disposalFile) {
+    private synchronized void addToDisposalCache(File disposalFile) {
         if (filesForDisposal == null)
             filesForDisposal = new HashSet<String>();
 
         filesForDisposal .add(disposalFile.getAbsolutePath());
     }
 
-    private void cloneRepository() throws Exception {
+    private synchronized void cloneRepository() throws Exception {
+        //
+        // Keep the repository open between operations
+        //
+        if (git != null)
+            return;
+
         File destination = new File(getDestination());
         File destGitDir = new File(destination, ".git");
         if (destGitDir.exists()) {
@@ -325,6 +359,12 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
         return parameters.getProperty(FILE_PATH_PROPERTY);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Only the remote branch is fetched. Reads and browsing resolve against it
+     * so the working tree is left untouched.
+     */
     @Override
     public boolean refresh() throws Exception {
         cloneRepository();
@@ -335,6 +375,17 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
             .setTransportConfigCallback(transportConfigCallback)
             .call();
 
+        return true;
+    }
+
+    /**
+     * Brings the branch up to date with the remote branch prior to merging a change into it
+     *
+     * @return true if the rebase was successful
+     */
+    private boolean rebase() throws Exception {
+        refresh();
+
         // Ensure the original branch is checked out
         git.checkout()
             .setName(getBranch())
@@ -347,6 +398,23 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
         return status.isSuccessful();
     }
 
+    /**
+     * @return the commit at the tip of the branch, preferring the remote branch as last fetched,
+     *                  or <code>null</code> if the repository has no commits
+     */
+    private RevCommit branchCommit(Repository repository, RevWalk walk) throws Exception {
+        Ref ref = repository.findRef(Constants.R_REMOTES + "origin" + FORWARD_SLASH + getBranch());
+        if (ref == null)
+            ref = repository.findRef(Constants.R_HEADS + getBranch());
+        if (ref == null)
+            ref = repository.findRef(Constants.HEAD);
+
+        if (ref == null || ref.getObjectId() == null)
+            return null;
+
+        return walk.parseCommit(ref.getObjectId());
+    }
+
     private String directory(String path, DocumentType documentType) {
         if (! path.endsWith(documentType.toString()))
             return path;
@@ -357,15 +425,86 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
     @Override
     public void write(Exportable artifact, UnitOfWork transaction, Properties parameters) throws Exception {
         ArgCheck.isNotNull(parameters);
+        ArgCheck.isNotEmpty(getFilePath(parameters));
+
+        Map<Exportable, Properties> artifacts = new LinkedHashMap<>();
+        artifacts.put(artifact, parameters);
+        write(artifacts, transaction);
+    }
+
+    private void exportToFile(Exportable artifact, UnitOfWork transaction, Properties parameters, File destFile) throws Exception {
+        destFile.delete();
+        File parentDir = destFile.getParentFile();
+        if (parentDir != null)
+            parentDir.mkdirs();
+
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(destFile))) {
+            artifact.export(transaction, parameters, stream);
+        }
+    }
+
+    /**
+     * Writes the artifact into the working tree of the local clone
+     *
+     * @return the path, relative to the working tree, of the written file or directory
+     */
+    private String writeToWorkTree(Exportable artifact, UnitOfWork transaction, Properties parameters) throws Exception {
         String destination = getFilePath(parameters);
-        ArgCheck.isNotEmpty(destination);
+
+        File destFile;
+        DocumentType documentType = artifact.getDocumentType(transaction);
+        if (DocumentType.ZIP.equals(documentType)) {
+            //
+            // Do not want to add binary zip files to a git repository
+            //
+            destination = directory(destination, documentType);
+            destFile = new File(git.getRepository().getWorkTree(), destination);
+
+            Files.createDirectories(destFile.toPath());
+
+            //
+            // Spool the zip to a temporary file rather than holding it in memory
+            //
+            File zipFile = File.createTempFile("export-", ZIP_SUFFIX); //$NON-NLS-1$
+            try {
+                exportToFile(artifact, transaction, parameters, zipFile);
+                try (InputStream zipStream = new BufferedInputStream(new FileInputStream(zipFile))) {
+                    FileUtils.zipExtract(zipStream, destFile);
+                }
+            } finally {
+                zipFile.delete();
+            }
+        }
+        else {
+            destFile = new File(git.getRepository().getWorkTree(), destination);
+            exportToFile(artifact, transaction, parameters, destFile);
+        }
+
+        return destination;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * All the artifacts are committed together then pushed to the remote once.
+     * The author of the commit is taken from the parameters of the first artifact.
+     */
+    @Override
+    public synchronized void write(Map<Exportable, Properties> artifacts, UnitOfWork transaction) throws Exception {
+        ArgCheck.isNotEmpty(artifacts, "artifacts");
+        for (Properties parameters : artifacts.values()) {
+            ArgCheck.isNotNull(parameters);
+            ArgCheck.isNotEmpty(getFilePath(parameters));
+        }
 
         cloneRepository();
 
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss_SSS");
         Date now = new Date();
         String timestamp = sdf.format(now);
-        String artifactName = artifact.getName(transaction);
+
+        Map.Entry<Exportable, Properties> first = artifacts.entrySet().iterator().next();
+        String artifactName = first.getKey().getName(transaction);
 
         //
         // Checkout a throw away branch for committing then
@@ -380,42 +519,28 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
             .call();
 
         //
-        // Write the file contents
+        // Write the file contents and stage the file(s) for committing
         //
-        byte[] contents = artifact.export(transaction, parameters);
-
-        File destFile;
-        DocumentType documentType = artifact.getDocumentType(transaction);
-        if (DocumentType.ZIP.equals(documentType)) {
-            //
-            // Do not want to add binary zip files to a git repository
-            //
-            destination = directory(destination, documentType);
-            destFile = new File(git.getRepository().getWorkTree(), destination);
-
-            Files.createDirectories(destFile.toPath());
-            ByteArrayInputStream byteStream = new ByteArrayInputStream(contents);
-            FileUtils.zipExtract(byteStream, destFile);
-        }
-        else {
-            destFile = new File(git.getRepository().getWorkTree(), destination);
-            FileUtils.write(contents, destFile);
+        AddCommand addCommand = git.add();
+        for (Map.Entry<Exportable, Properties> entry : artifacts.entrySet()) {
+            String destination = writeToWorkTree(entry.getKey(), transaction, entry.getValue());
+            addCommand.addFilepattern(destination);
         }
-
-        // Stage the file(s) for committing
-        git.add()
-            .addFilepattern(destination)
-            .call();
+        addCommand.call();
 
         //
         // Commit the file(s)
         //
+        Properties parameters = first.getValue();
         String author = parameters.getProperty(GitStorageConnector.AUTHOR_NAME_PROPERTY, "anonymous");
         String authorEmail = parameters.getProperty(GitStorageConnector.AUTHOR_EMAIL_PROPERTY, "anon@komodo.org");
+        String message = artifacts.size() == 1 ?
+                                        "Change to artifact " + artifactName + " at " + timestamp :
+                                        "Change to " + artifacts.size() + " artifacts at " + timestamp;
         RevCommit mergeCommit = git.commit()
                                                                 .setAuthor(author, authorEmail)
                                                                 .setCommitter(author, authorEmail)
-                                                                .setMessage("Change to artifact " + artifactName + " at " + timestamp)
+                                                                .setMessage(message)
                                                                 .call();
 
         //
@@ -428,9 +553,9 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
             .call();
 
         //
-        // Ensure the later push would succeed by refreshing now
+        // Ensure the later push would succeed by rebasing now
         //
-        refresh();
+        rebase();
 
         //
         // Merge the branch into the main branch
@@ -454,34 +579,85 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
         String fileRef = getFilePath(parameters);
         ArgCheck.isNotNull(fileRef, "RelativeFileRef");
 
-        File gitFile = new File(git.getRepository().getWorkTree(), fileRef);
-        if (! gitFile.exists())
-            throw new FileNotFoundException();
+        String path = fileRef;
+        while (path.startsWith(FORWARD_SLASH))
+            path = path.substring(1);
+        while (path.endsWith(FORWARD_SLASH))
+            path = path.substring(0, path.length() - 1);
 
-        FileInputStream fileStream;
-        if (gitFile.isDirectory()) {
-            File zipFileDest = File.createTempFile(gitFile.getName(), ZIP_SUFFIX);
-            File zipFile = FileUtils.zipFromDirectory(gitFile, zipFileDest);
-            addToDisposalCache(zipFile);
-            fileStream = new FileInputStream(zipFile);
-        } else {
-            fileStream = new FileInputStream(gitFile);
+        //
+        // Read the file from the object database rather than the
+        // working tree so that concurrent writes cannot affect it
+        //
+        Repository repository = git.getRepository();
+        try (RevWalk walk = new RevWalk(repository)) {
+            RevCommit commit = branchCommit(repository, walk);
+            if (commit == null || path.isEmpty())
+                throw new FileNotFoundException(fileRef);
+
+            try (TreeWalk treeWalk = TreeWalk.forPath(repository, path, commit.getTree())) {
+                if (treeWalk == null)
+                    throw new FileNotFoundException(fileRef);
+
+                if (treeWalk.isSubtree()) {
+                    File zipFileDest = File.createTempFile(treeWalk.getNameString(), ZIP_SUFFIX);
+                    addToDisposalCache(zipFileDest);
+                    zipFromTree(repository, treeWalk.getObjectId(0), zipFileDest);
+                    return new FileInputStream(zipFileDest);
+                }
+
+                ObjectLoader loader = repository.open(treeWalk.getObjectId(0), Constants.OBJ_BLOB);
+                return loader.openStream();
+            }
         }
+    }
+
+    /**
+     * Creates a zip file from the contents of the given tree, in the same layout
+     * as {@link FileUtils#zipFromDirectory(File, File)}
+     */
+    private void zipFromTree(Repository repository, ObjectId treeId, File zipFile) throws Exception {
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile));
+             TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.addTree(treeId);
+            treeWalk.setRecursive(false);
+
+            while (treeWalk.next()) {
+                if (treeWalk.isSubtree()) {
+                    zos.putNextEntry(new ZipEntry(treeWalk.getPathString() + FORWARD_SLASH));
+                    zos.closeEntry();
+                    treeWalk.enterSubtree();
+                    continue;
+                }
 
-        return fileStream;
+                zos.putNextEntry(new ZipEntry(treeWalk.getPathString()));
+                ObjectLoader loader = repository.open(treeWalk.getObjectId(0), Constants.OBJ_BLOB);
+                loader.copyTo(zos);
+                zos.closeEntry();
+            }
+        }
     }
 
     @Override
     public StorageTree<String> browse() throws Exception {
         cloneRepository();
 
-        StorageTree<String> storageTree = new StorageTree<String>();
-
         Repository repository = git.getRepository();
-        Ref head = repository.findRef(Constants.HEAD);
 
         try (RevWalk walk = new RevWalk(repository)) {
-            RevCommit commit = walk.parseCommit(head.getObjectId());
+            RevCommit commit = branchCommit(repository, walk);
+            if (commit == null)
+                return new StorageTree<String>();
+
+            //
+            // The tree of a commit never changes so only walk
+            // it again when the branch has moved
+            //
+            BrowseCache cache = browseCache;
+            if (cache != null && cache.commitId.equals(commit.getId()))
+                return cache.storageTree;
+
+            StorageTree<String> storageTree = new StorageTree<String>();
             RevTree tree = commit.getTree();
 
             try (TreeWalk treeWalk = new TreeWalk(repository)) {
@@ -515,15 +691,20 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
                     }
                 }
             }
-        }
 
-        return storageTree;
+            browseCache = new BrowseCache(commit.getId(), storageTree);
+            return storageTree;
+        }
     }
 
     @Override
     public void dispose() {
-        if (git != null)
+        if (git != null) {
             git.close();
+            git = null;
+        }
+
+        browseCache = null;
 
         String destination = getDestination();
         File destFile = new File(destination);
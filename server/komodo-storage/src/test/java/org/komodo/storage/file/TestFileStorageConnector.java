@@ -21,10 +21,13 @@ package org.komodo.storage.file;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import java.io.File;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Properties;
 import org.junit.After;
 import org.junit.Before;
@@ -185,6 +188,7 @@ public class TestFileStorageConnector implements StringConstants {
         Exportable artifact = mock(Exportable.class);
         String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
         when(artifact.export(transaction, parameters)).thenReturn(sampleExample.getBytes());
+        doCallRealMethod().when(artifact).export(any(UnitOfWork.class), any(Properties.class), any(OutputStream.class));
         when(artifact.getName(transaction)).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
         connector.write(artifact, transaction, parameters);
@@ -18,9 +18,14 @@
 package org.komodo.storage.git;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import java.io.BufferedReader;
@@ -29,8 +34,11 @@ import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.lib.Constants;
@@ -319,6 +327,7 @@ public class TestGitStorageConnector implements StringConstants {
         Exportable artifact = mock(Exportable.class);
         String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
         when(artifact.export(transaction, parameters)).thenReturn(sampleExample.getBytes());
+        doCallRealMethod().when(artifact).export(any(UnitOfWork.class), any(Properties.class), any(OutputStream.class));
         when(artifact.getName(transaction)).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
         connector.write(artifact, transaction, parameters);
@@ -377,6 +386,7 @@ public class TestGitStorageConnector implements StringConstants {
         parameters.setProperty(GitStorageConnector.FILE_PATH_PROPERTY, DocumentType.ZIP.fileName(dsName));
 
         when(artifact.export(transaction, parameters)).thenReturn(usStatesArr);
+        doCallRealMethod().when(artifact).export(any(UnitOfWork.class), any(Properties.class), any(OutputStream.class));
         when(artifact.getName(transaction)).thenReturn(dsName);
         when(artifact.getDocumentType(transaction)).thenReturn(DocumentType.ZIP);
 
@@ -413,6 +423,143 @@ public class TestGitStorageConnector implements StringConstants {
         }
     }
 
+    @Test
+    public void testReadRemoteChangeWithoutCheckout() throws Exception {
+        localTmpDir = new File(tmpDir, "localTmpDir-" + timestamp);
+        Properties parameters = new Properties();
+        parameters.setProperty(GitStorageConnector.REPO_DEST_PROPERTY, localTmpDir.getAbsolutePath());
+        parameters.setProperty(GitStorageConnector.REPO_PATH_PROPERTY, myGitDir.getAbsolutePath());
+
+        connector = new GitStorageConnector(parameters);
+        StorageTree<String> structure = connector.browse();
+        assertSame(structure, connector.browse());
+
+        //
+        // Push a new file to the origin from another clone
+        //
+        String newFileName = "remote-vdb.xml";
+        File otherDir = new File(tmpDir, "otherDir-" + timestamp);
+        try (Git otherGit = Git.cloneRepository()
+                                            .setURI(myGitDir.getAbsolutePath())
+                                            .setDirectory(otherDir)
+                                            .call()) {
+            File vdbFile = new File(otherDir, newFileName);
+            FileUtils.write(TestUtilities.sampleExample(), vdbFile);
+            otherGit.add().addFilepattern(newFileName).call();
+            otherGit.commit().setMessage("Adds Remote File").call();
+            otherGit.push().call();
+        } finally {
+            FileUtils.removeDirectoryAndChildren(otherDir);
+        }
+
+        // Until fetched the change is not visible
+        assertSame(structure, connector.browse());
+
+        assertTrue(connector.refresh());
+
+        parameters.setProperty(StorageConnector.FILE_PATH_PROPERTY, newFileName);
+        InputStream is = connector.read(parameters);
+        assertNotNull(is);
+
+        File fileToCompare = createTempFile("remote-vdb", XML_SUFFIX);
+        FileUtils.write(is, fileToCompare);
+
+        File original = createTempFile("sampleExampleFile", XML_SUFFIX);
+        FileUtils.write(TestUtilities.sampleExample(), original);
+        compareFileContents(original, fileToCompare);
+
+        // The working tree has not been updated
+        assertFalse(new File(localTmpDir, newFileName).exists());
+
+        // Browsing walks the newly fetched commit
+        StorageTree<String> refreshed = connector.browse();
+        assertNotSame(structure, refreshed);
+        assertTrue(refreshed.printTree().contains(FORWARD_SLASH + newFileName + NEW_LINE));
+    }
+
+    @Test
+    public void testBatchWriteToRepository() throws Exception {
+        localTmpDir = new File(tmpDir, "localTmpDir-" + timestamp);
+        Properties parameters = new Properties();
+        parameters.setProperty(GitStorageConnector.REPO_DEST_PROPERTY, localTmpDir.getAbsolutePath());
+        parameters.setProperty(GitStorageConnector.REPO_PATH_PROPERTY, myGitDir.getAbsolutePath());
+
+        connector = new GitStorageConnector(parameters);
+        connector.refresh();
+
+        Repository repository = myGit.getRepository();
+        ObjectId seedCommitId = repository.resolve(Constants.HEAD);
+
+        UnitOfWork transaction = mock(UnitOfWork.class);
+        when(transaction.getState()).thenReturn(State.NOT_STARTED);
+
+        Map<Exportable, Properties> artifacts = new LinkedHashMap<>();
+        String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
+        String[] paths = { TEST_VDB_2_XML, "batch-vdb.xml", SUB_DIR + FORWARD_SLASH + "batch-vdb2.xml" };
+        for (String path : paths) {
+            Properties artifactParameters = new Properties();
+            artifactParameters.setProperty(GitStorageConnector.FILE_PATH_PROPERTY, path);
+
+            Exportable artifact = mock(Exportable.class);
+            when(artifact.export(transaction, artifactParameters)).thenReturn(sampleExample.getBytes());
+            doCallRealMethod().when(artifact).export(any(UnitOfWork.class), any(Properties.class), any(OutputStream.class));
+            when(artifact.getName(transaction)).thenReturn(path);
+            artifacts.put(artifact, artifactParameters);
+        }
+
+        String dsName = TestUtilities.US_STATES_VDB_NAME + "Batch";
+        Properties dsParameters = new Properties();
+        dsParameters.setProperty(GitStorageConnector.FILE_PATH_PROPERTY, DocumentType.ZIP.fileName(dsName));
+
+        Exportable dataservice = mock(Exportable.class);
+        byte[] usStatesArr = FileUtils.streamToByteArray(TestUtilities.usStatesDataserviceExample());
+        when(dataservice.export(transaction, dsParameters)).thenReturn(usStatesArr);
+        doCallRealMethod().when(dataservice).export(any(UnitOfWork.class), any(Properties.class), any(OutputStream.class));
+        when(dataservice.getName(transaction)).thenReturn(dsName);
+        when(dataservice.getDocumentType(transaction)).thenReturn(DocumentType.ZIP);
+        artifacts.put(dataservice, dsParameters);
+
+        connector.write(artifacts, transaction);
+
+        //
+        // All the artifacts should have been pushed in a single commit
+        //
+        ObjectId commitId = repository.resolve(Constants.HEAD);
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            RevCommit commit = revWalk.parseCommit(commitId);
+            assertEquals(1, commit.getParentCount());
+            assertEquals(seedCommitId, commit.getParent(0).getId());
+
+            RevTree tree = commit.getTree();
+            for (String path : paths) {
+                try (TreeWalk treeWalk = TreeWalk.forPath(repository, path, tree)) {
+                    assertNotNull("Missing " + path, treeWalk);
+                }
+            }
+
+            String dsFile = dsName + FORWARD_SLASH + TestUtilities.US_STATES_VDB_NAME + "-vdb.xml";
+            try (TreeWalk treeWalk = TreeWalk.forPath(repository, dsFile, tree)) {
+                assertNotNull("Missing " + dsFile, treeWalk);
+            }
+        }
+
+        //
+        // A further write reuses the open repository and adds one more commit
+        //
+        Properties nextParameters = new Properties();
+        nextParameters.setProperty(GitStorageConnector.FILE_PATH_PROPERTY, "batch-vdb3.xml");
+        Exportable next = mock(Exportable.class);
+        when(next.export(transaction, nextParameters)).thenReturn(sampleExample.getBytes());
+        doCallRealMethod().when(next).export(any(UnitOfWork.class), any(Properties.class), any(OutputStream.class));
+        when(next.getName(transaction)).thenReturn("batch-vdb3.xml");
+        connector.write(next, transaction, nextParameters);
+
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            RevCommit commit = revWalk.parseCommit(repository.resolve(Constants.HEAD));
+            assertEquals(commitId, commit.getParent(0).getId());
+        }
+    }
+
     @Test
     public void testBrowse() throws Exception {
         localTmpDir = new File(tmpDir, "localTmpDir-" + timestamp);
@@ -498,6 +645,7 @@ public class TestGitStorageConnector implements StringConstants {
         Exportable artifact = mock(Exportable.class);
         String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
         when(artifact.export(transaction, parameters)).thenReturn(sampleExample.getBytes());
+        doCallRealMethod().when(artifact).export(any(UnitOfWork.class), any(Properties.class), any(OutputStream.class));
         when(artifact.getName(transaction)).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
         connector.write(artifact, transaction, parameters);
@@ -586,6 +734,7 @@ public class TestGitStorageConnector implements StringConstants {
       Exportable artifact = mock(Exportable.class);
       String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
       when(artifact.export(transaction, parameters)).thenReturn(sampleExample.getBytes());
+      doCallRealMethod().when(artifact).export(any(UnitOfWork.class), any(Properties.class), any(OutputStream.class));
       when(artifact.getName(transaction)).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
       connector.write(artifact, transaction, parameters);
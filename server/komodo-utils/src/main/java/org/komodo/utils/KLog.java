@@ -20,91 +20,142 @@ package org.komodo.utils;
 import org.apache.commons.logging.LogFactory;
 import org.komodo.logging.i18n.TextI18n;
 
+/**
+ * Logger shared by the komodo modules. The logger does not lock and each method checks its level before
+ * the message is formatted. The debug and trace methods also have fixed argument overloads so that calls
+ * with up to two arguments do not allocate an argument array when the level is disabled.
+ */
 public class KLog {
 
-    private static KLog instance;
+    private static final KLog INSTANCE = new KLog();
 
     /**
      * @return singleton instance of this logger
      */
     public static KLog getLogger() {
-        if (instance == null)
-            instance = new KLog();
-
-        return instance;
+        return INSTANCE;
     }
 
     private final org.apache.commons.logging.Log kLogger = LogFactory.getLog(KLog.class);
 
-    private TextI18n getI18n(String message) {
-        TextI18n ti18n = new TextI18n(message);
-        return ti18n;
+    private static String format(String message, Object... args) {
+        return new TextI18n(message).text(args);
     }
 
-    public synchronized void info(String message, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.info(ti18n.text(args));
+    public void info(String message, Object... args) {
+        if (kLogger.isInfoEnabled())
+            kLogger.info(format(message, args));
     }
 
-    public synchronized void info(String message, Throwable throwable, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.info(ti18n.text(args), throwable);
+    public void info(String message, Throwable throwable, Object... args) {
+        if (kLogger.isInfoEnabled())
+            kLogger.info(format(message, args), throwable);
     }
 
     public boolean isInfoEnabled() {
         return this.kLogger.isInfoEnabled();
     }
 
-    public synchronized void warn(String message, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.warn(ti18n.text(args));
+    public void warn(String message, Object... args) {
+        if (kLogger.isWarnEnabled())
+            kLogger.warn(format(message, args));
     }
 
-    public synchronized void warn(String message, Throwable throwable, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.warn(ti18n.text(args), throwable);
+    public void warn(String message, Throwable throwable, Object... args) {
+        if (kLogger.isWarnEnabled())
+            kLogger.warn(format(message, args), throwable);
     }
 
     public boolean isWarnEnabled() {
         return this.kLogger.isWarnEnabled();
     }
 
-    public synchronized void error(String message, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.error(ti18n.text(args));
+    public void error(String message, Object... args) {
+        if (kLogger.isErrorEnabled())
+            kLogger.error(format(message, args));
     }
 
-    public synchronized void error(String message, Throwable throwable, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.error(ti18n.text(args), throwable);
+    public void error(String message, Throwable throwable, Object... args) {
+        if (kLogger.isErrorEnabled())
+            kLogger.error(format(message, args), throwable);
     }
 
     public boolean isErrorEnabled() {
         return this.kLogger.isErrorEnabled();
     }
 
-    public synchronized void debug(String message, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.debug(ti18n.text(args));
+    public void debug(String message) {
+        if (kLogger.isDebugEnabled())
+            kLogger.debug(format(message));
+    }
+
+    public void debug(String message, Object arg) {
+        if (kLogger.isDebugEnabled())
+            kLogger.debug(format(message, arg));
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        if (kLogger.isDebugEnabled())
+            kLogger.debug(format(message, arg1, arg2));
+    }
+
+    public void debug(String message, Object... args) {
+        if (kLogger.isDebugEnabled())
+            kLogger.debug(format(message, args));
+    }
+
+    public void debug(String message, Throwable throwable) {
+        if (kLogger.isDebugEnabled())
+            kLogger.debug(format(message), throwable);
+    }
+
+    public void debug(String message, Throwable throwable, Object arg) {
+        if (kLogger.isDebugEnabled())
+            kLogger.debug(format(message, arg), throwable);
     }
 
-    public synchronized void debug(String message, Throwable throwable, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.debug(ti18n.text(args), throwable);
+    public void debug(String message, Throwable throwable, Object... args) {
+        if (kLogger.isDebugEnabled())
+            kLogger.debug(format(message, args), throwable);
     }
 
     public boolean isDebugEnabled() {
         return this.kLogger.isDebugEnabled();
     }
 
-    public synchronized void trace(String message, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.trace(ti18n.text(args));
+    public void trace(String message) {
+        if (kLogger.isTraceEnabled())
+            kLogger.trace(format(message));
+    }
+
+    public void trace(String message, Object arg) {
+        if (kLogger.isTraceEnabled())
+            kLogger.trace(format(message, arg));
+    }
+
+    public void trace(String message, Object arg1, Object arg2) {
+        if (kLogger.isTraceEnabled())
+            kLogger.trace(format(message, arg1, arg2));
+    }
+
+    public void trace(String message, Object... args) {
+        if (kLogger.isTraceEnabled())
+            kLogger.trace(format(message, args));
+    }
+
+    public void trace(String message, Throwable throwable) {
+        if (kLogger.isTraceEnabled())
+            kLogger.trace(format(message), throwable);
+    }
+
+    public void trace(String message, Throwable throwable, Object arg) {
+        if (kLogger.isTraceEnabled())
+            kLogger.trace(format(message, arg), throwable);
     }
 
-    public synchronized void trace(String message, Throwable throwable, Object... args) {
-        TextI18n ti18n = getI18n(message);
-        kLogger.trace(ti18n.text(args), throwable);
+    public void trace(String message, Throwable throwable, Object... args) {
+        if (kLogger.isTraceEnabled())
+            kLogger.trace(format(message, args), throwable);
     }
 
     public boolean isTraceEnabled() {
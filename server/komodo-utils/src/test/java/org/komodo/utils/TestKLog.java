@@ -18,7 +18,9 @@
 package org.komodo.utils;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
 
 import java.io.File;
 import java.io.IOException;
@@ -26,12 +28,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.FileAttribute;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.komodo.logging.i18n.TextI18n;
 import org.komodo.spi.constants.SystemConstants;
 
 @SuppressWarnings( {"javadoc", "nls"} )
@@ -71,6 +75,101 @@ public class TestKLog {
         logger = KLog.getLogger();
     }
 
+    private static final int THREADS = 8;
+
+    private static final int ITERATIONS = 200000;
+
+    /**
+     * Stands in for the previous logger, which was synchronized and formatted the message before logging it
+     */
+    private static class SynchronizedLog {
+
+        private final org.apache.commons.logging.Log log = org.apache.commons.logging.LogFactory.getLog(KLog.class);
+
+        public synchronized void debug(String message, Object... args) {
+            log.debug(new TextI18n(message).text(args));
+        }
+    }
+
+    private interface LogCall {
+        void log(int i);
+    }
+
+    private long runThreads(final LogCall call) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(THREADS);
+
+        for (int t = 0; t < THREADS; ++t) {
+            Thread thread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < ITERATIONS; ++i) {
+                            call.log(i);
+                        }
+                    } catch (InterruptedException e) {
+                        // finish
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - startTime;
+    }
+
+    @Test
+    public void shouldReturnSameLogger() {
+        assertSame(logger, KLog.getLogger());
+    }
+
+    /**
+     * Benchmark of debug calls from many threads while debug is disabled
+     */
+    @Test( timeout = 300000 )
+    public void shouldLogDisabledDebugConcurrently() throws Exception {
+        assumeFalse(logger.isDebugEnabled());
+
+        final SynchronizedLog synchronizedLog = new SynchronizedLog();
+        final String path = "/tko:komodo/tko:workspace/user/vdb";
+
+        // warm up
+        for (int i = 0; i < ITERATIONS; ++i) {
+            logger.debug("objectimpl-getProperty: transaction = {0}, path = {1}", path, i);
+            synchronizedLog.debug("objectimpl-getProperty: transaction = {0}, path = {1}", path, i);
+        }
+
+        long synchronizedNanos = runThreads(new LogCall() {
+
+            @Override
+            public void log(int i) {
+                synchronizedLog.debug("objectimpl-getProperty: transaction = {0}, path = {1}", path, i);
+            }
+        });
+
+        long lockFreeNanos = runThreads(new LogCall() {
+
+            @Override
+            public void log(int i) {
+                logger.debug("objectimpl-getProperty: transaction = {0}, path = {1}", path, i);
+            }
+        });
+
+        long calls = (long)THREADS * ITERATIONS;
+        logger.info(String.format("Disabled debug calls from %d threads: %.0f calls/ms synchronized, %.0f calls/ms lock-free",
+                                  THREADS,
+                                  calls / (synchronizedNanos / 1000000.0),
+                                  calls / (lockFreeNanos / 1000000.0)));
+    }
+
     @Test
     public void testLogInit() {
         try {